@@ -73,6 +73,9 @@ ${settings.build.command}
     dir(path) {
         try {
             sh "${settings.build.command}"
+            if (settings.build.artifacts) {
+                archiveArtifacts artifacts: settings.build.artifacts, fingerprint: true
+            }
             checksUtil.success name: name, summary: summary
             successRet = true
         } catch (err) {
@@ -0,0 +1,21 @@
+package com.example.gateway.cache;
+
+import org.springframework.http.HttpHeaders;
+
+import java.time.Instant;
+
+/**
+ * A downstream response held in the gateway cache.
+ *
+ * @param status    the HTTP status code
+ * @param headers   the backend's end-to-end response headers, read-only
+ * @param etag      the entity tag sent to clients for revalidation
+ * @param body      the response body
+ * @param expiresAt when the entry stops being served
+ */
+public record CachedResponse(int status, HttpHeaders headers, String etag, byte[] body, Instant expiresAt) {
+
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.gateway.cache;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Memory-bounded store of downstream GET responses keyed by path and query string.
+ * When the total size goes over {@code gateway.cache.max-bytes}, entries are evicted in
+ * least-recently-used or least-frequently-used order until the cache is back under 90% of the bound.
+ */
+@Component
+public class ResponseCache {
+
+    private final ResponseCacheProperties properties;
+    private final Clock clock;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong totalBytes = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong accessCounter = new AtomicLong();
+
+    @Autowired
+    public ResponseCache(ResponseCacheProperties properties) {
+        this(properties, Clock.systemUTC());
+    }
+
+    ResponseCache(ResponseCacheProperties properties, Clock clock) {
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    /**
+     * Looks up a fresh entry. Expired entries are removed on the way.
+     *
+     * @param key the cache key
+     * @return the cached response, or empty on a miss
+     */
+    public Optional<CachedResponse> get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses.incrementAndGet();
+            return Optional.empty();
+        }
+        if (entry.response.isExpired(clock.instant())) {
+            remove(key, entry);
+            misses.incrementAndGet();
+            return Optional.empty();
+        }
+        entry.touch(accessCounter.incrementAndGet());
+        hits.incrementAndGet();
+        return Optional.of(entry.response);
+    }
+
+    /**
+     * Stores a response, evicting older entries if the memory bound would be exceeded.
+     * Responses larger than {@code gateway.cache.max-entry-bytes} are ignored.
+     *
+     * @param key      the cache key
+     * @param response the response to store
+     */
+    public void put(String key, CachedResponse response) {
+        long size = sizeOf(key, response);
+        if (size > properties.getMaxEntryBytes() || size > properties.getMaxBytes()) {
+            return;
+        }
+
+        Entry entry = new Entry(response, size, accessCounter.incrementAndGet());
+        Entry previous = entries.put(key, entry);
+        if (previous != null) {
+            totalBytes.addAndGet(-previous.size);
+        }
+        if (totalBytes.addAndGet(size) > properties.getMaxBytes()) {
+            evict();
+        }
+    }
+
+    /**
+     * Removes every entry whose key starts with the given path prefix.
+     *
+     * @param pathPrefix the request path prefix, e.g. {@code /api/cards}; blank purges everything
+     * @return the number of entries removed
+     */
+    public int purge(String pathPrefix) {
+        int removed = 0;
+        for (Map.Entry<String, Entry> e : entries.entrySet()) {
+            if (pathPrefix == null || pathPrefix.isBlank() || e.getKey().startsWith(pathPrefix)) {
+                if (remove(e.getKey(), e.getValue())) {
+                    removed++;
+                }
+            }
+        }
+        return removed;
+    }
+
+    public Map<String, Object> stats() {
+        return Map.of(
+                "entries", entries.size(),
+                "bytes", totalBytes.get(),
+                "maxBytes", properties.getMaxBytes(),
+                "eviction", properties.getEviction().name(),
+                "hits", hits.get(),
+                "misses", misses.get(),
+                "evictions", evictions.get());
+    }
+
+    private synchronized void evict() {
+        long target = properties.getMaxBytes() * 9 / 10;
+        if (totalBytes.get() <= properties.getMaxBytes()) {
+            return;
+        }
+
+        Instant now = clock.instant();
+        entries.forEach((key, entry) -> {
+            if (entry.response.isExpired(now)) {
+                remove(key, entry);
+            }
+        });
+
+        Comparator<Map.Entry<String, Entry>> order = properties.getEviction() == ResponseCacheProperties.Eviction.LFU
+                ? Comparator.comparingLong((Map.Entry<String, Entry> e) -> e.getValue().hits)
+                        .thenComparingLong(e -> e.getValue().lastAccess)
+                : Comparator.comparingLong(e -> e.getValue().lastAccess);
+
+        List<Map.Entry<String, Entry>> candidates = new ArrayList<>(entries.entrySet());
+        candidates.sort(order);
+        for (Map.Entry<String, Entry> candidate : candidates) {
+            if (totalBytes.get() <= target) {
+                break;
+            }
+            if (remove(candidate.getKey(), candidate.getValue())) {
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    private boolean remove(String key, Entry entry) {
+        if (entries.remove(key, entry)) {
+            totalBytes.addAndGet(-entry.size);
+            return true;
+        }
+        return false;
+    }
+
+    private static long sizeOf(String key, CachedResponse response) {
+        long headerChars = 0;
+        for (var header : response.headers().headerSet()) {
+            headerChars += header.getKey().length();
+            for (String value : header.getValue()) {
+                headerChars += value.length();
+            }
+        }
+        return 2L * (key.length() + headerChars) + response.body().length + 128;
+    }
+
+    private static final class Entry {
+        private final CachedResponse response;
+        private final long size;
+        private volatile long lastAccess;
+        private volatile long hits;
+
+        private Entry(CachedResponse response, long size, long lastAccess) {
+            this.response = response;
+            this.size = size;
+            this.lastAccess = lastAccess;
+        }
+
+        private void touch(long tick) {
+            lastAccess = tick;
+            hits++;
+        }
+    }
+}
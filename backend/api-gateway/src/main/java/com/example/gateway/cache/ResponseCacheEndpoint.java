@@ -0,0 +1,35 @@
+package com.example.gateway.cache;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Actuator endpoint for inspecting and purging the gateway response cache.
+ * {@code DELETE /actuator/responsecache?prefix=/api/cards} drops every cached card response,
+ * e.g. after a card sync.
+ */
+@Component
+@Endpoint(id = "responsecache")
+public class ResponseCacheEndpoint {
+
+    private final ResponseCache cache;
+
+    public ResponseCacheEndpoint(ResponseCache cache) {
+        this.cache = cache;
+    }
+
+    @ReadOperation
+    public Map<String, Object> stats() {
+        return cache.stats();
+    }
+
+    @DeleteOperation
+    public Map<String, Object> purge(@Nullable String prefix) {
+        return Map.of("purged", cache.purge(prefix));
+    }
+}
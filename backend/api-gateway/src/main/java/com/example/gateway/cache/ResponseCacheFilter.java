@@ -0,0 +1,275 @@
+package com.example.gateway.cache;
+
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Read-through cache for GET requests on the routes configured under {@code gateway.cache.routes}.
+ * Hits are answered from memory, with the backend's original headers, without calling the backend;
+ * clients whose {@code If-None-Match} matches the entry (weakly, a listed tag or {@code *}, as in
+ * RFC 9110) get a 304. Misses are forwarded and the 200 response is stored on the way back,
+ * unless the backend marked it {@code Cache-Control: no-store} or {@code private}.
+ */
+@Component
+public class ResponseCacheFilter implements GlobalFilter, Ordered {
+
+    /**
+     * Runs shortly before the response is written so the decorator sees the downstream body,
+     * leaving room for the request coalescing filter between it and the write filter.
+     */
+    public static final int ORDER = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 2;
+
+    static final String CACHE_HEADER = "X-Cache";
+
+    /**
+     * Response headers that are never stored: hop-by-hop headers (RFC 9110 section 7.6.1), headers
+     * the gateway sets per request, and cookies, which must not reach other callers. Headers named in
+     * {@code Connection} and CORS headers are skipped as well.
+     */
+    private static final Set<String> UNSTORED_HEADERS = Set.of(
+            "connection",
+            "keep-alive",
+            "proxy-connection",
+            "proxy-authenticate",
+            "proxy-authorization",
+            "te",
+            "trailer",
+            "transfer-encoding",
+            "upgrade",
+            "content-length",
+            "set-cookie",
+            "x-cache",
+            "x-ratelimit-remaining");
+
+    private final ResponseCache cache;
+    private final ResponseCacheProperties properties;
+    private final Clock clock;
+
+    @Autowired
+    public ResponseCacheFilter(ResponseCache cache, ResponseCacheProperties properties) {
+        this(cache, properties, Clock.systemUTC());
+    }
+
+    ResponseCacheFilter(ResponseCache cache, ResponseCacheProperties properties, Clock clock) {
+        this.cache = cache;
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+
+        if (!properties.isEnabled() || route == null || request.getMethod() != HttpMethod.GET) {
+            return chain.filter(exchange);
+        }
+
+        Duration ttl = properties.getRoutes().get(route.getId());
+        if (ttl == null) {
+            return chain.filter(exchange);
+        }
+
+        String key = cacheKey(request);
+        boolean noCache = request.getHeaders().getCacheControl() != null
+                && request.getHeaders().getCacheControl().contains("no-cache");
+
+        if (!noCache) {
+            var hit = cache.get(key);
+            if (hit.isPresent()) {
+                return writeCached(exchange, hit.get());
+            }
+        }
+
+        ServerHttpResponse response = exchange.getResponse();
+        response.getHeaders().set(CACHE_HEADER, "MISS");
+        return chain.filter(exchange.mutate()
+                .response(new CachingResponseDecorator(response, key, ttl))
+                .build());
+    }
+
+    /**
+     * Builds the cache key from the raw path and query string. The key starts with the path so that
+     * entries can be purged by path prefix.
+     */
+    static String cacheKey(ServerHttpRequest request) {
+        String query = request.getURI().getRawQuery();
+        String path = request.getURI().getRawPath();
+        return query == null ? path : path + "?" + query;
+    }
+
+    private Mono<Void> writeCached(ServerWebExchange exchange, CachedResponse cached) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        replayHeaders(cached.headers(), headers);
+        headers.set(CACHE_HEADER, "HIT");
+        headers.setETag(cached.etag());
+
+        if (notModified(exchange.getRequest().getHeaders().get(HttpHeaders.IF_NONE_MATCH), cached.etag())) {
+            headers.remove(HttpHeaders.CONTENT_TYPE);
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+
+        response.setStatusCode(HttpStatusCode.valueOf(cached.status()));
+        headers.setContentLength(cached.body().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.body())));
+    }
+
+    /**
+     * Evaluates {@code If-None-Match} as RFC 9110 section 13.1.2 describes: {@code *} matches any
+     * entry, otherwise the header is a comma-separated list of entity tags compared weakly, i.e.
+     * ignoring any {@code W/} prefix.
+     */
+    static boolean notModified(List<String> ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String opaqueTag = opaqueTag(etag);
+        for (String value : ifNoneMatch) {
+            for (String candidate : value.split(",")) {
+                String tag = candidate.trim();
+                if (tag.equals("*") || (!tag.isEmpty() && opaqueTag(tag).equals(opaqueTag))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static String opaqueTag(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    /**
+     * Copies stored headers onto a response, keeping headers this request already has (such as
+     * CORS headers) and merging {@code Vary}.
+     */
+    private static void replayHeaders(HttpHeaders stored, HttpHeaders headers) {
+        for (var header : stored.headerSet()) {
+            String name = header.getKey();
+            if (HttpHeaders.VARY.equalsIgnoreCase(name)) {
+                Set<String> vary = new LinkedHashSet<>(headers.getVary());
+                vary.addAll(stored.getVary());
+                headers.setVary(List.copyOf(vary));
+            } else if (!headers.containsHeader(name)) {
+                headers.put(name, header.getValue());
+            }
+        }
+    }
+
+    /** The end-to-end headers of a backend response, as a read-only copy for the cache. */
+    static HttpHeaders storedHeaders(HttpHeaders headers) {
+        Set<String> connectionOptions = headers.getConnection().stream()
+                .map(option -> option.trim().toLowerCase(Locale.ROOT))
+                .collect(Collectors.toSet());
+        HttpHeaders stored = new HttpHeaders();
+        for (var header : headers.headerSet()) {
+            String name = header.getKey().toLowerCase(Locale.ROOT);
+            if (!UNSTORED_HEADERS.contains(name)
+                    && !connectionOptions.contains(name)
+                    && !name.startsWith("access-control-")) {
+                stored.put(header.getKey(), List.copyOf(header.getValue()));
+            }
+        }
+        return HttpHeaders.readOnlyHttpHeaders(stored);
+    }
+
+    private static boolean isStorable(HttpHeaders headers) {
+        String cacheControl = headers.getCacheControl();
+        return cacheControl == null || !(cacheControl.contains("no-store") || cacheControl.contains("private"));
+    }
+
+    private static String etagOf(byte[] body) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + HexFormat.of().formatHex(hash, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Collects the downstream body, stores successful responses and then writes the body unchanged.
+     */
+    private class CachingResponseDecorator extends ServerHttpResponseDecorator {
+
+        private final String key;
+        private final Duration ttl;
+
+        CachingResponseDecorator(ServerHttpResponse delegate, String key, Duration ttl) {
+            super(delegate);
+            this.key = key;
+            this.ttl = ttl;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            HttpStatusCode status = getStatusCode();
+            if (status == null || status.value() != HttpStatus.OK.value() || !isStorable(getHeaders())) {
+                return super.writeWith(body);
+            }
+
+            return DataBufferUtils.join(Flux.from(body)).flatMap(joined -> {
+                byte[] bytes = new byte[joined.readableByteCount()];
+                joined.read(bytes);
+                DataBufferUtils.release(joined);
+
+                HttpHeaders headers = getHeaders();
+                String etag = headers.getETag() != null ? headers.getETag() : etagOf(bytes);
+                headers.setETag(etag);
+
+                cache.put(
+                        key,
+                        new CachedResponse(
+                                status.value(),
+                                storedHeaders(headers),
+                                etag,
+                                bytes,
+                                clock.instant().plus(ttl)));
+
+                return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+            });
+        }
+
+        @Override
+        public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            return writeWith(Flux.from(body).flatMapSequential(p -> p));
+        }
+    }
+}
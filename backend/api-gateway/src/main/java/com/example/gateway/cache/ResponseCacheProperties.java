@@ -0,0 +1,74 @@
+package com.example.gateway.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Settings for the gateway response cache.
+ * Only GET requests on routes listed in {@code routes} are cached, each with its own time-to-live.
+ */
+@ConfigurationProperties(prefix = "gateway.cache")
+public class ResponseCacheProperties {
+
+    /** Which entry to drop first when the cache is over its memory bound. */
+    public enum Eviction {
+        LRU,
+        LFU
+    }
+
+    private boolean enabled = true;
+
+    /** Upper bound on the total size of cached bodies and keys, in bytes. */
+    private long maxBytes = 64L * 1024 * 1024;
+
+    /** Responses larger than this are passed through without being cached. */
+    private long maxEntryBytes = 2L * 1024 * 1024;
+
+    private Eviction eviction = Eviction.LRU;
+
+    /** Route ID to time-to-live. Routes missing from this map are never cached. */
+    private Map<String, Duration> routes = new LinkedHashMap<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public void setMaxBytes(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    public long getMaxEntryBytes() {
+        return maxEntryBytes;
+    }
+
+    public void setMaxEntryBytes(long maxEntryBytes) {
+        this.maxEntryBytes = maxEntryBytes;
+    }
+
+    public Eviction getEviction() {
+        return eviction;
+    }
+
+    public void setEviction(Eviction eviction) {
+        this.eviction = eviction;
+    }
+
+    public Map<String, Duration> getRoutes() {
+        return routes;
+    }
+
+    public void setRoutes(Map<String, Duration> routes) {
+        this.routes = routes;
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.gateway.coalesce;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Settings for collapsing concurrent identical GET requests into one upstream call.
+ */
+@ConfigurationProperties(prefix = "gateway.coalescing")
+public class CoalescingProperties {
+
+    private boolean enabled = true;
+
+    /** Maximum requests that may wait on one in-flight call; further ones go upstream themselves. */
+    private int maxWaiters = 256;
+
+    /** Path patterns (Spring {@code PathPattern} syntax) whose GETs are coalesced. */
+    private List<String> paths = new ArrayList<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxWaiters() {
+        return maxWaiters;
+    }
+
+    public void setMaxWaiters(int maxWaiters) {
+        this.maxWaiters = maxWaiters;
+    }
+
+    public List<String> getPaths() {
+        return paths;
+    }
+
+    public void setPaths(List<String> paths) {
+        this.paths = paths;
+    }
+}
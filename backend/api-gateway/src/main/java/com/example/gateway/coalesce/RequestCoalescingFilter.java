@@ -0,0 +1,215 @@
+package com.example.gateway.coalesce;
+
+import com.example.gateway.cache.ResponseCacheFilter;
+import com.example.gateway.security.JwtAuthenticationFilter;
+import com.example.gateway.security.VerifiedToken;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Collapses concurrent identical GETs into a single upstream call (single flight). The first request
+ * for a key goes upstream; requests with the same key that arrive while it is in flight wait for its
+ * response and get a copy of it. Requests are identical when method, path, query string and the
+ * caller's role match. Once a flight has {@code maxWaiters} waiters, further requests go upstream
+ * on their own, and waiters also fall back to their own call if the leading request fails.
+ */
+@Component
+public class RequestCoalescingFilter implements GlobalFilter, Ordered {
+
+    /** Runs after the response cache, so only cache misses are coalesced. */
+    public static final int ORDER = ResponseCacheFilter.ORDER + 1;
+
+    static final String COALESCED_HEADER = "X-Coalesced";
+
+    private final CoalescingProperties properties;
+    private final List<PathPattern> patterns;
+    private final Map<String, Flight> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter leaders;
+    private final Counter coalesced;
+    private final Counter overflow;
+    private final Counter fallbacks;
+
+    public RequestCoalescingFilter(CoalescingProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.patterns = properties.getPaths().stream()
+                .map(PathPatternParser.defaultInstance::parse)
+                .toList();
+
+        this.leaders = counter(meterRegistry, "leader");
+        this.coalesced = counter(meterRegistry, "coalesced");
+        this.overflow = counter(meterRegistry, "overflow");
+        this.fallbacks = counter(meterRegistry, "fallback");
+        Gauge.builder("gateway.coalescing.in.flight", inFlight, Map::size)
+                .description("Upstream calls currently shared by coalesced requests")
+                .register(meterRegistry);
+        Gauge.builder("gateway.coalescing.ratio", this, RequestCoalescingFilter::coalescingRatio)
+                .description("Share of coalescable requests answered without their own upstream call")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (!properties.isEnabled() || request.getMethod() != HttpMethod.GET || !matches(request)) {
+            return chain.filter(exchange);
+        }
+
+        String key = coalescingKey(exchange);
+        Flight flight = new Flight();
+        Flight existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            return follow(existing, exchange, chain);
+        }
+
+        leaders.increment();
+        return chain.filter(exchange.mutate()
+                        .response(new CapturingResponseDecorator(exchange.getResponse(), flight))
+                        .build())
+                .doFinally(signal -> {
+                    inFlight.remove(key, flight);
+                    flight.result.tryEmitEmpty();
+                });
+    }
+
+    /**
+     * Builds the key from method, raw path, query string and the caller's role, so that callers who
+     * may see different responses are never merged.
+     */
+    static String coalescingKey(ServerWebExchange exchange) {
+        ServerHttpRequest request = exchange.getRequest();
+        VerifiedToken token = exchange.getAttribute(JwtAuthenticationFilter.VERIFIED_TOKEN_ATTR);
+        String scope = token == null ? "anonymous" : "role:" + token.role();
+        String query = request.getURI().getRawQuery();
+        return request.getMethod().name() + " " + request.getURI().getRawPath() + (query == null ? "" : "?" + query)
+                + " " + scope;
+    }
+
+    double coalescingRatio() {
+        double shared = coalesced.count();
+        double total = shared + leaders.count() + overflow.count();
+        return total == 0 ? 0 : shared / total;
+    }
+
+    private boolean matches(ServerHttpRequest request) {
+        PathContainer path = request.getPath().pathWithinApplication();
+        for (PathPattern pattern : patterns) {
+            if (pattern.matches(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Mono<Void> follow(Flight flight, ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (flight.waiters.incrementAndGet() > properties.getMaxWaiters()) {
+            flight.waiters.decrementAndGet();
+            overflow.increment();
+            return chain.filter(exchange);
+        }
+
+        coalesced.increment();
+        return flight.result
+                .asMono()
+                .flatMap(shared -> replay(exchange, shared).thenReturn(true))
+                .switchIfEmpty(Mono.defer(() -> {
+                    fallbacks.increment();
+                    return chain.filter(exchange).thenReturn(true);
+                }))
+                .doFinally(signal -> flight.waiters.decrementAndGet())
+                .then();
+    }
+
+    private static Mono<Void> replay(ServerWebExchange exchange, SharedResponse shared) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatusCode.valueOf(shared.status()));
+        HttpHeaders headers = response.getHeaders();
+        shared.headers().forEach((name, values) -> {
+            if (!headers.containsHeader(name) && !HttpHeaders.TRANSFER_ENCODING.equalsIgnoreCase(name)) {
+                headers.put(name, values);
+            }
+        });
+        headers.setContentLength(shared.body().length);
+        headers.set(COALESCED_HEADER, "true");
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(shared.body())));
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("gateway.coalescing.requests")
+                .description("Coalescable GET requests by how they were served")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static final class Flight {
+        private final Sinks.One<SharedResponse> result = Sinks.one();
+        private final AtomicInteger waiters = new AtomicInteger();
+    }
+
+    /**
+     * Collects the leading request's body, publishes it to the waiters and then writes it unchanged.
+     */
+    private static class CapturingResponseDecorator extends ServerHttpResponseDecorator {
+
+        private final Flight flight;
+
+        CapturingResponseDecorator(ServerHttpResponse delegate, Flight flight) {
+            super(delegate);
+            this.flight = flight;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            return DataBufferUtils.join(Flux.from(body)).flatMap(joined -> {
+                byte[] bytes = new byte[joined.readableByteCount()];
+                joined.read(bytes);
+                DataBufferUtils.release(joined);
+
+                HttpStatusCode status = getStatusCode();
+                if (status != null) {
+                    HttpHeaders headers = new HttpHeaders();
+                    headers.putAll(getHeaders());
+                    flight.result.tryEmitValue(
+                            new SharedResponse(status.value(), HttpHeaders.readOnlyHttpHeaders(headers), bytes));
+                }
+                return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+            });
+        }
+
+        @Override
+        public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            return writeWith(Flux.from(body).flatMapSequential(p -> p));
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.gateway.coalesce;
+
+import org.springframework.http.HttpHeaders;
+
+/**
+ * A response captured from the leading request of a coalesced group and replayed to the others.
+ *
+ * @param status  the HTTP status code
+ * @param headers the response headers, read-only
+ * @param body    the response body
+ */
+record SharedResponse(int status, HttpHeaders headers, byte[] body) {}
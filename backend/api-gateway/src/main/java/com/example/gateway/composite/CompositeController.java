@@ -0,0 +1,30 @@
+package com.example.gateway.composite;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+/**
+ * Server-side aggregation endpoints that save the frontend several sequential round-trips.
+ */
+@RestController
+@RequestMapping("/api/composite")
+public class CompositeController {
+
+    private final ListingDetailService listingDetailService;
+
+    public CompositeController(ListingDetailService listingDetailService) {
+        this.listingDetailService = listingDetailService;
+    }
+
+    /**
+     * Returns a listing with its card and owner. If the card or owner cannot be fetched in time
+     * the response is still 200, with {@code partial} set and the reason in {@code errors}.
+     */
+    @GetMapping("/listings/{listingId}")
+    public Mono<ListingDetail> getListingDetail(@PathVariable Long listingId) {
+        return listingDetailService.getListingDetail(listingId);
+    }
+}
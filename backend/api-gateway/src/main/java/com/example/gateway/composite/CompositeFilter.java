@@ -0,0 +1,51 @@
+package com.example.gateway.composite;
+
+import com.example.gateway.metrics.RouteMetricsFilter;
+import com.example.gateway.ratelimit.RateLimitFilter;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+
+/**
+ * Applies the gateway's rate limit and route metrics to the composite endpoints. They are served by
+ * {@link CompositeController} rather than routed, so the global filters never run for them. Their
+ * downstream calls take concurrency limit slots in {@link ListingDetailService}.
+ */
+@Component
+public class CompositeFilter implements WebFilter, Ordered {
+
+    /** Route ID the composite endpoints are rate limited and timed under. */
+    public static final String ROUTE_ID = "composite-route";
+
+    /** Runs after the security chain, so the caller's verified token is on the exchange. */
+    public static final int ORDER = 0;
+
+    private static final PathPattern PATH = PathPatternParser.defaultInstance.parse("/api/composite/**");
+
+    private final RateLimitFilter rateLimitFilter;
+    private final RouteMetricsFilter routeMetricsFilter;
+
+    public CompositeFilter(RateLimitFilter rateLimitFilter, RouteMetricsFilter routeMetricsFilter) {
+        this.rateLimitFilter = rateLimitFilter;
+        this.routeMetricsFilter = routeMetricsFilter;
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!PATH.matches(exchange.getRequest().getPath().pathWithinApplication())) {
+            return chain.filter(exchange);
+        }
+        return routeMetricsFilter.time(
+                exchange, ROUTE_ID, () -> rateLimitFilter.limit(exchange, ROUTE_ID, () -> chain.filter(exchange)));
+    }
+}
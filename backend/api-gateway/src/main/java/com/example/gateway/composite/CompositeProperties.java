@@ -0,0 +1,71 @@
+package com.example.gateway.composite;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Downstream locations and per-branch timeouts for the composite endpoints.
+ * URLs use Eureka service IDs and are resolved through the client-side load balancer.
+ */
+@ConfigurationProperties(prefix = "gateway.composite")
+public class CompositeProperties {
+
+    private String listingServiceUrl = "http://listing-service";
+    private String cardServiceUrl = "http://card-service";
+    private String userServiceUrl = "http://user-service";
+
+    /** The listing is required, so it gets the longest budget. */
+    private Duration listingTimeout = Duration.ofSeconds(2);
+
+    private Duration cardTimeout = Duration.ofSeconds(1);
+    private Duration ownerTimeout = Duration.ofSeconds(1);
+
+    public String getListingServiceUrl() {
+        return listingServiceUrl;
+    }
+
+    public void setListingServiceUrl(String listingServiceUrl) {
+        this.listingServiceUrl = listingServiceUrl;
+    }
+
+    public String getCardServiceUrl() {
+        return cardServiceUrl;
+    }
+
+    public void setCardServiceUrl(String cardServiceUrl) {
+        this.cardServiceUrl = cardServiceUrl;
+    }
+
+    public String getUserServiceUrl() {
+        return userServiceUrl;
+    }
+
+    public void setUserServiceUrl(String userServiceUrl) {
+        this.userServiceUrl = userServiceUrl;
+    }
+
+    public Duration getListingTimeout() {
+        return listingTimeout;
+    }
+
+    public void setListingTimeout(Duration listingTimeout) {
+        this.listingTimeout = listingTimeout;
+    }
+
+    public Duration getCardTimeout() {
+        return cardTimeout;
+    }
+
+    public void setCardTimeout(Duration cardTimeout) {
+        this.cardTimeout = cardTimeout;
+    }
+
+    public Duration getOwnerTimeout() {
+        return ownerTimeout;
+    }
+
+    public void setOwnerTimeout(Duration ownerTimeout) {
+        this.ownerTimeout = ownerTimeout;
+    }
+}
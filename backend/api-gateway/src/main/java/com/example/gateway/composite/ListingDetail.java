@@ -0,0 +1,19 @@
+package com.example.gateway.composite;
+
+import java.util.Map;
+
+/**
+ * Everything needed to render a listing page in one response.
+ *
+ * @param listing the listing as returned by listing-service
+ * @param card    the listed card, or {@code null} if card-service did not answer in time
+ * @param owner   the listing owner's user ID and username only, or {@code null} if user-service did not answer in time
+ * @param partial whether any branch is missing
+ * @param errors  why each missing branch is missing, keyed by branch name
+ */
+public record ListingDetail(
+        Map<String, Object> listing,
+        Map<String, Object> card,
+        Map<String, Object> owner,
+        boolean partial,
+        Map<String, String> errors) {}
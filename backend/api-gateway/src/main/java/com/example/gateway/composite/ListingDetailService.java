@@ -0,0 +1,160 @@
+package com.example.gateway.composite;
+
+import com.example.gateway.concurrency.ConcurrencyLimitFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactorLoadBalancerExchangeFilterFunction;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Builds a {@link ListingDetail} by fetching the listing and then its card and owner concurrently.
+ * The listing is required; the card and owner each have their own timeout, and if either fails
+ * the detail is returned without it and marked as partial.
+ */
+@Service
+public class ListingDetailService {
+
+    private static final Logger log = LoggerFactory.getLogger(ListingDetailService.class);
+
+    private static final ParameterizedTypeReference<Map<String, Object>> JSON_OBJECT =
+            new ParameterizedTypeReference<>() {};
+
+    /** Owner fields passed through to the composite response. */
+    private static final List<String> OWNER_FIELDS = List.of("userId", "username");
+
+    private final WebClient webClient;
+    private final CompositeProperties properties;
+    private final ConcurrencyLimitFilter concurrencyLimitFilter;
+
+    @Autowired
+    public ListingDetailService(
+            ReactorLoadBalancerExchangeFilterFunction loadBalancer,
+            CompositeProperties properties,
+            ConcurrencyLimitFilter concurrencyLimitFilter) {
+        this(WebClient.builder().filter(loadBalancer).build(), properties, concurrencyLimitFilter);
+    }
+
+    ListingDetailService(
+            WebClient webClient, CompositeProperties properties, ConcurrencyLimitFilter concurrencyLimitFilter) {
+        this.webClient = webClient;
+        this.properties = properties;
+        this.concurrencyLimitFilter = concurrencyLimitFilter;
+    }
+
+    /**
+     * Fetches a listing together with its card and owner.
+     *
+     * @param listingId the listing ID
+     * @return the combined detail
+     * @throws ResponseStatusException 404 if the listing does not exist, 503 if listing-service is at its
+     *                                 concurrency limit, 504 or 502 if listing-service fails
+     */
+    public Mono<ListingDetail> getListingDetail(Long listingId) {
+        return fetch(properties.getListingServiceUrl(), "/api/listings/{id}", listingId, properties.getListingTimeout())
+                .onErrorMap(
+                        TimeoutException.class,
+                        e -> new ResponseStatusException(
+                                HttpStatus.GATEWAY_TIMEOUT, "listing-service did not respond in time"))
+                .onErrorMap(
+                        e -> !(e instanceof ResponseStatusException),
+                        e -> new ResponseStatusException(HttpStatus.BAD_GATEWAY, "listing-service request failed", e))
+                .switchIfEmpty(Mono.error(
+                        new ResponseStatusException(HttpStatus.NOT_FOUND, "Listing not found: " + listingId)))
+                .flatMap(listing -> Mono.zip(
+                                branch(
+                                        "card",
+                                        properties.getCardServiceUrl(),
+                                        "/api/cards/{id}",
+                                        listing.get("cardId"),
+                                        properties.getCardTimeout()),
+                                branch(
+                                        "owner",
+                                        properties.getUserServiceUrl(),
+                                        "/api/users/{id}",
+                                        listing.get("ownerUserId"),
+                                        properties.getOwnerTimeout()))
+                        .map(branches -> combine(listing, branches.getT1(), branches.getT2())));
+    }
+
+    /**
+     * Fetches one resource, holding a slot of the service's concurrency limit like a routed browse
+     * request would. A service at its limit is not called and fails with 503.
+     */
+    private Mono<Map<String, Object>> fetch(String serviceUrl, String path, Object id, Duration timeout) {
+        Mono<Map<String, Object>> call = webClient
+                .get()
+                .uri(serviceUrl + path, id)
+                .exchangeToMono(response -> {
+                    if (response.statusCode().value() == HttpStatus.NOT_FOUND.value()) {
+                        return response.releaseBody().then(Mono.empty());
+                    }
+                    if (response.statusCode().is2xxSuccessful()) {
+                        return response.bodyToMono(JSON_OBJECT);
+                    }
+                    return response.createError();
+                })
+                .timeout(timeout);
+        return concurrencyLimitFilter.limit(URI.create(serviceUrl).getHost(), false, call);
+    }
+
+    /**
+     * Fetches an optional part of the page. Failures are turned into an error message rather
+     * than failing the whole request.
+     */
+    private Mono<Branch> branch(String name, String serviceUrl, String path, Object id, Duration timeout) {
+        if (id == null) {
+            return Mono.just(new Branch(name, null, "missing id"));
+        }
+        return fetch(serviceUrl, path, id, timeout)
+                .map(body -> new Branch(name, body, null))
+                .defaultIfEmpty(new Branch(name, null, "not found"))
+                .onErrorResume(e -> {
+                    String reason = e instanceof TimeoutException ? "timed out" : "unavailable";
+                    log.warn("Composite branch {} for id {} {}: {}", name, id, reason, e.toString());
+                    return Mono.just(new Branch(name, null, reason));
+                });
+    }
+
+    private static ListingDetail combine(Map<String, Object> listing, Branch card, Branch owner) {
+        Map<String, String> errors = new LinkedHashMap<>();
+        for (Branch branch : new Branch[] {card, owner}) {
+            if (branch.error() != null) {
+                errors.put(branch.name(), branch.error());
+            }
+        }
+
+        return new ListingDetail(listing, card.body(), publicOwner(owner.body()), !errors.isEmpty(), errors);
+    }
+
+    /**
+     * Keeps only the owner fields anyone who can view the listing may see; user-service also
+     * returns the owner's email, location and role.
+     */
+    private static Map<String, Object> publicOwner(Map<String, Object> owner) {
+        if (owner == null) {
+            return null;
+        }
+        Map<String, Object> publicFields = new LinkedHashMap<>();
+        for (String field : OWNER_FIELDS) {
+            if (owner.containsKey(field)) {
+                publicFields.put(field, owner.get(field));
+            }
+        }
+        return publicFields;
+    }
+
+    private record Branch(String name, Map<String, Object> body, String error) {}
+}
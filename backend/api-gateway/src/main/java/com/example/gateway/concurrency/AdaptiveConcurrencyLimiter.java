@@ -0,0 +1,89 @@
+package com.example.gateway.concurrency;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * In-flight counter for one downstream service, admitting requests up to the current
+ * {@link GradientLimit}. Browse traffic may only fill {@code browseShare} of the limit, so priority
+ * requests still get through while browse requests are already being shed.
+ */
+class AdaptiveConcurrencyLimiter {
+
+    private final GradientLimit limit;
+    private final double browseShare;
+    private final LongSupplier nanoClock;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    AdaptiveConcurrencyLimiter(ConcurrencyLimitProperties properties, LongSupplier nanoClock) {
+        this.limit = new GradientLimit(properties);
+        this.browseShare = properties.getBrowseShare();
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Takes an in-flight slot, or returns {@code null} if the request should be shed. The caller
+     * must complete the returned permit exactly once.
+     */
+    Permit tryAcquire(boolean priority) {
+        int current = limit.getLimit();
+        int allowed = priority ? current : Math.max(1, (int) (current * browseShare));
+        while (true) {
+            int taken = inFlight.get();
+            if (taken >= allowed) {
+                return null;
+            }
+            if (inFlight.compareAndSet(taken, taken + 1)) {
+                return new Permit(nanoClock.getAsLong(), taken + 1);
+            }
+        }
+    }
+
+    int getLimit() {
+        return limit.getLimit();
+    }
+
+    int getInFlight() {
+        return inFlight.get();
+    }
+
+    /** Slot held by one admitted request. */
+    final class Permit {
+
+        private final long startNanos;
+        private final int inFlightAtStart;
+        private final AtomicInteger done = new AtomicInteger();
+
+        private Permit(long startNanos, int inFlightAtStart) {
+            this.startNanos = startNanos;
+            this.inFlightAtStart = inFlightAtStart;
+        }
+
+        /** The service answered; its latency feeds the limit. */
+        void onSuccess() {
+            if (release()) {
+                limit.onSample(nanoClock.getAsLong() - startNanos, inFlightAtStart);
+            }
+        }
+
+        /** The service timed out or reported overload. */
+        void onDropped() {
+            if (release()) {
+                limit.onDropped();
+            }
+        }
+
+        /** The request ended without telling anything about the service, e.g. the client went away. */
+        void onIgnore() {
+            release();
+        }
+
+        private boolean release() {
+            if (done.compareAndSet(0, 1)) {
+                inFlight.decrementAndGet();
+                return true;
+            }
+            return false;
+        }
+    }
+}
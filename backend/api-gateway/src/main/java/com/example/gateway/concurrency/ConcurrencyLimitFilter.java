@@ -0,0 +1,210 @@
+package com.example.gateway.concurrency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Caps the requests in flight to each {@code lb://} service at a limit learned from its latency
+ * (see {@link GradientLimit}), and answers requests over the limit with 503 straight away instead of
+ * queueing them onto a service that is already slow. Priority requests, i.e. those using a priority
+ * method (trade and listing changes are POST/PUT/DELETE) or on a priority path such as
+ * {@code /api/auth/**}, may use the whole limit; browse traffic to the same service only part of it.
+ */
+@Component
+public class ConcurrencyLimitFilter implements GlobalFilter, Ordered {
+
+    /**
+     * Runs just before the load balancer, after the response cache and request coalescing, so only
+     * requests that really go to a service take a slot. The chain completes once response headers
+     * arrive, so the measured latency is time to first byte.
+     */
+    public static final int ORDER = ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER - 1;
+
+    private static final Logger log = LoggerFactory.getLogger(ConcurrencyLimitFilter.class);
+
+    private final ConcurrencyLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Set<HttpMethod> priorityMethods;
+    private final List<PathPattern> priorityPatterns;
+    private final Map<String, ServiceLimiter> limiters = new ConcurrentHashMap<>();
+
+    public ConcurrencyLimitFilter(ConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.priorityMethods = properties.getPriorityMethods().stream()
+                .map(HttpMethod::valueOf)
+                .collect(Collectors.toSet());
+        this.priorityPatterns = properties.getPriorityPaths().stream()
+                .map(PathPatternParser.defaultInstance::parse)
+                .toList();
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (!properties.isEnabled()
+                || route == null
+                || !"lb".equals(route.getUri().getScheme())) {
+            return chain.filter(exchange);
+        }
+
+        String service = route.getUri().getHost();
+        boolean priority = isPriority(exchange);
+        ServiceLimiter serviceLimiter = limiters.computeIfAbsent(service, this::newLimiter);
+        AdaptiveConcurrencyLimiter.Permit permit = serviceLimiter.limiter().tryAcquire(priority);
+
+        if (permit == null) {
+            reject(service, serviceLimiter, priority);
+
+            var response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+            response.getHeaders().set(HttpHeaders.RETRY_AFTER, "1");
+            return response.setComplete();
+        }
+
+        return chain.filter(exchange)
+                .doOnSuccess(ignored -> {
+                    if (isOverload(exchange.getResponse().getStatusCode())) {
+                        permit.onDropped();
+                    } else {
+                        permit.onSuccess();
+                    }
+                })
+                .doOnError(error -> {
+                    if (isOverload(error)) {
+                        permit.onDropped();
+                    } else {
+                        permit.onIgnore();
+                    }
+                })
+                .doOnCancel(permit::onIgnore);
+    }
+
+    /**
+     * Runs a call the gateway makes to {@code service} itself, such as a composite endpoint's
+     * fan-out, under the same limiter as requests routed to that service.
+     *
+     * @param service  the Eureka service ID
+     * @param priority whether the call may use the whole limit rather than the browse share
+     * @param call     the call, subscribed to only if a slot is free
+     * @return the call's result, or a 503 {@link ResponseStatusException} if the service is at its limit
+     */
+    public <T> Mono<T> limit(String service, boolean priority, Mono<T> call) {
+        if (!properties.isEnabled()) {
+            return call;
+        }
+        return Mono.defer(() -> {
+            ServiceLimiter serviceLimiter = limiters.computeIfAbsent(service, this::newLimiter);
+            AdaptiveConcurrencyLimiter.Permit permit = serviceLimiter.limiter().tryAcquire(priority);
+            if (permit == null) {
+                reject(service, serviceLimiter, priority);
+                return Mono.error(new ResponseStatusException(
+                        HttpStatus.SERVICE_UNAVAILABLE, service + " is at its concurrency limit"));
+            }
+            return call.doOnSuccess(ignored -> permit.onSuccess())
+                    .doOnError(error -> {
+                        if (isOverload(error)) {
+                            permit.onDropped();
+                        } else {
+                            permit.onIgnore();
+                        }
+                    })
+                    .doOnCancel(permit::onIgnore);
+        });
+    }
+
+    private void reject(String service, ServiceLimiter serviceLimiter, boolean priority) {
+        (priority ? serviceLimiter.priorityRejected() : serviceLimiter.browseRejected()).increment();
+        log.warn(
+                "Shedding request to {} at {} in flight (limit {})",
+                service,
+                serviceLimiter.limiter().getInFlight(),
+                serviceLimiter.limiter().getLimit());
+    }
+
+    private boolean isPriority(ServerWebExchange exchange) {
+        if (priorityMethods.contains(exchange.getRequest().getMethod())) {
+            return true;
+        }
+        var path = exchange.getRequest().getPath().pathWithinApplication();
+        return priorityPatterns.stream().anyMatch(pattern -> pattern.matches(path));
+    }
+
+    private ServiceLimiter newLimiter(String service) {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties, System::nanoTime);
+        Gauge.builder("gateway.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive in-flight limit of a service")
+                .tag("service", service)
+                .register(meterRegistry);
+        Gauge.builder("gateway.concurrency.in.flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Requests currently in flight to a service")
+                .tag("service", service)
+                .register(meterRegistry);
+        return new ServiceLimiter(limiter, rejectedCounter(service, true), rejectedCounter(service, false));
+    }
+
+    private Counter rejectedCounter(String service, boolean priority) {
+        return Counter.builder("gateway.concurrency.rejected")
+                .description("Requests shed because their service was at its concurrency limit")
+                .tag("service", service)
+                .tag("priority", Boolean.toString(priority))
+                .register(meterRegistry);
+    }
+
+    static boolean isOverload(HttpStatusCode status) {
+        return status != null
+                && (status.value() == HttpStatus.BAD_GATEWAY.value()
+                        || status.value() == HttpStatus.SERVICE_UNAVAILABLE.value()
+                        || status.value() == HttpStatus.GATEWAY_TIMEOUT.value());
+    }
+
+    /**
+     * Timeouts and connection failures count against the service. Other status errors, such as the
+     * load balancer finding no instance, say nothing about its capacity. A response the gateway's
+     * own client turned into an error counts by its status.
+     */
+    static boolean isOverload(Throwable error) {
+        if (error instanceof WebClientResponseException responseException) {
+            return isOverload(responseException.getStatusCode());
+        }
+        if (error instanceof ResponseStatusException statusException) {
+            return statusException.getStatusCode().value() == HttpStatus.GATEWAY_TIMEOUT.value();
+        }
+        return true;
+    }
+
+    /** Limiter of one service with its rejection counters, registered once when it is created. */
+    private record ServiceLimiter(
+            AdaptiveConcurrencyLimiter limiter, Counter priorityRejected, Counter browseRejected) {}
+}
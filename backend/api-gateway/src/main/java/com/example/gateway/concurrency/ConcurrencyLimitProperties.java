@@ -0,0 +1,131 @@
+package com.example.gateway.concurrency;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Settings for the adaptive in-flight limits applied to each load-balanced downstream service.
+ */
+@ConfigurationProperties(prefix = "gateway.concurrency")
+public class ConcurrencyLimitProperties {
+
+    private boolean enabled = true;
+
+    /** Limit a service starts with before any latency has been observed. */
+    private int initialLimit = 20;
+
+    private int minLimit = 4;
+
+    private int maxLimit = 200;
+
+    /** Completed requests per limit update; the average latency of a window is its sample. */
+    private int windowSize = 20;
+
+    /** How far latency may rise above the long-term baseline before the limit starts to shrink. */
+    private double tolerance = 1.5;
+
+    /** Weight of each new estimate when updating the limit (0-1); lower values react more slowly. */
+    private double smoothing = 0.2;
+
+    /** Factor the limit is multiplied by when the service times out or answers 502/503/504. */
+    private double backoffRatio = 0.9;
+
+    /** Share of a service's limit that browse traffic may use; the rest is kept for priority paths. */
+    private double browseShare = 0.8;
+
+    /** HTTP methods whose requests may use the full limit, e.g. POST for trade and listing changes. */
+    private List<String> priorityMethods = new ArrayList<>();
+
+    /** Path patterns (Spring {@code PathPattern} syntax) whose requests may use the full limit. */
+    private List<String> priorityPaths = new ArrayList<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getInitialLimit() {
+        return initialLimit;
+    }
+
+    public void setInitialLimit(int initialLimit) {
+        this.initialLimit = initialLimit;
+    }
+
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    public void setMinLimit(int minLimit) {
+        this.minLimit = minLimit;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    public void setMaxLimit(int maxLimit) {
+        this.maxLimit = maxLimit;
+    }
+
+    public int getWindowSize() {
+        return windowSize;
+    }
+
+    public void setWindowSize(int windowSize) {
+        this.windowSize = windowSize;
+    }
+
+    public double getTolerance() {
+        return tolerance;
+    }
+
+    public void setTolerance(double tolerance) {
+        this.tolerance = tolerance;
+    }
+
+    public double getSmoothing() {
+        return smoothing;
+    }
+
+    public void setSmoothing(double smoothing) {
+        this.smoothing = smoothing;
+    }
+
+    public double getBackoffRatio() {
+        return backoffRatio;
+    }
+
+    public void setBackoffRatio(double backoffRatio) {
+        this.backoffRatio = backoffRatio;
+    }
+
+    public double getBrowseShare() {
+        return browseShare;
+    }
+
+    public void setBrowseShare(double browseShare) {
+        this.browseShare = browseShare;
+    }
+
+    public List<String> getPriorityMethods() {
+        return priorityMethods;
+    }
+
+    public void setPriorityMethods(List<String> priorityMethods) {
+        this.priorityMethods = priorityMethods;
+    }
+
+    public List<String> getPriorityPaths() {
+        return priorityPaths;
+    }
+
+    public void setPriorityPaths(List<String> priorityPaths) {
+        this.priorityPaths = priorityPaths;
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.gateway.concurrency;
+
+/**
+ * Gradient-style estimate of how many requests a service can have in flight. Latency is averaged
+ * over windows of completed requests and compared with a slowly moving baseline: while a window is
+ * within {@code tolerance} of the baseline the limit grows by roughly its square root, and once
+ * latency rises past it the limit shrinks in proportion. Timeouts and overload responses cut the
+ * limit straight away.
+ */
+class GradientLimit {
+
+    /** Baseline moves by 1/LONG_WINDOW of the difference per window, so it tracks the unloaded latency. */
+    private static final double LONG_WINDOW = 100;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final int windowSize;
+    private final double tolerance;
+    private final double smoothing;
+    private final double backoffRatio;
+
+    private volatile int limit;
+    private double estimate;
+    private double longRtt;
+
+    private long windowRttSum;
+    private int windowCount;
+    private int windowMaxInFlight;
+
+    GradientLimit(ConcurrencyLimitProperties properties) {
+        this.minLimit = properties.getMinLimit();
+        this.maxLimit = properties.getMaxLimit();
+        this.windowSize = Math.max(1, properties.getWindowSize());
+        this.tolerance = properties.getTolerance();
+        this.smoothing = properties.getSmoothing();
+        this.backoffRatio = properties.getBackoffRatio();
+        this.estimate = Math.clamp(properties.getInitialLimit(), minLimit, maxLimit);
+        this.limit = (int) estimate;
+    }
+
+    int getLimit() {
+        return limit;
+    }
+
+    /** Records a request that the service answered, with its latency and the in-flight count it started at. */
+    synchronized void onSample(long rttNanos, int inFlight) {
+        windowRttSum += rttNanos;
+        windowCount++;
+        windowMaxInFlight = Math.max(windowMaxInFlight, inFlight);
+        if (windowCount < windowSize) {
+            return;
+        }
+
+        double shortRtt = (double) windowRttSum / windowCount;
+        boolean appLimited = windowMaxInFlight * 2 < estimate;
+        windowRttSum = 0;
+        windowCount = 0;
+        windowMaxInFlight = 0;
+
+        if (longRtt == 0) {
+            longRtt = shortRtt;
+        } else {
+            longRtt += (shortRtt - longRtt) / LONG_WINDOW;
+        }
+        // After a long slow spell the baseline itself has drifted up; pull it back towards recent latency
+        if (longRtt / shortRtt > 2) {
+            longRtt *= 0.95;
+        }
+
+        double gradient = Math.clamp(tolerance * longRtt / shortRtt, 0.5, 1.0);
+        double target = estimate * gradient + Math.sqrt(estimate);
+        // Traffic never came close to the limit, so the window says nothing about whether it can grow
+        if (appLimited && target > estimate) {
+            return;
+        }
+        update(estimate * (1 - smoothing) + target * smoothing);
+    }
+
+    /** Records a request that timed out or was refused because the service is overloaded. */
+    synchronized void onDropped() {
+        update(estimate * backoffRatio);
+    }
+
+    private void update(double newEstimate) {
+        estimate = Math.clamp(newEstimate, minLimit, maxLimit);
+        limit = (int) estimate;
+    }
+}
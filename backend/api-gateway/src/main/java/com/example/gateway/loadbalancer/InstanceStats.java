@@ -0,0 +1,53 @@
+package com.example.gateway.loadbalancer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Outstanding requests and peak-EWMA latency of one service instance. A sample slower than the
+ * current average replaces it at once, so a pausing instance is avoided straight away; faster
+ * samples pull the average down gradually, weighted by the time since the last sample.
+ */
+class InstanceStats {
+
+    private final double decayNanos;
+    private final AtomicInteger outstanding = new AtomicInteger();
+
+    private double ewmaNanos;
+    private long lastSampleNanos;
+
+    InstanceStats(long decayNanos, long defaultLatencyNanos) {
+        this.decayNanos = decayNanos;
+        this.ewmaNanos = defaultLatencyNanos;
+    }
+
+    void requestStarted() {
+        outstanding.incrementAndGet();
+    }
+
+    void requestFinished() {
+        outstanding.updateAndGet(current -> Math.max(0, current - 1));
+    }
+
+    synchronized void recordLatency(long latencyNanos, long nowNanos) {
+        if (lastSampleNanos == 0 || latencyNanos > ewmaNanos) {
+            ewmaNanos = latencyNanos;
+        } else {
+            double weight = Math.exp(-(nowNanos - lastSampleNanos) / decayNanos);
+            ewmaNanos = ewmaNanos * weight + latencyNanos * (1 - weight);
+        }
+        lastSampleNanos = nowNanos;
+    }
+
+    int outstanding() {
+        return outstanding.get();
+    }
+
+    synchronized double latencyNanos() {
+        return ewmaNanos;
+    }
+
+    /** Expected wait on this instance: its latency times the requests ahead, including this one. */
+    double score() {
+        return latencyNanos() * (outstanding() + 1);
+    }
+}
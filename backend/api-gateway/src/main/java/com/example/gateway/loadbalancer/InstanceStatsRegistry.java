@@ -0,0 +1,141 @@
+package com.example.gateway.loadbalancer;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.TimeGauge;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.TimedRequestContext;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps {@link InstanceStats} for every instance the gateway sends requests to. Registered as a
+ * load-balancer lifecycle, so it sees each request start and finish whichever strategy picked the
+ * instance, and exports each instance's score, outstanding requests and latency as gauges.
+ */
+@Component
+public class InstanceStatsRegistry implements LoadBalancerLifecycle<Object, Object, ServiceInstance> {
+
+    private final LoadBalancingProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final LongSupplier nanoClock;
+    private final Map<String, Map<String, Tracked>> services = new ConcurrentHashMap<>();
+
+    @Autowired
+    public InstanceStatsRegistry(LoadBalancingProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, System::nanoTime);
+    }
+
+    InstanceStatsRegistry(LoadBalancingProperties properties, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public boolean supports(Class requestContextClass, Class responseClass, Class serverTypeClass) {
+        return ServiceInstance.class.isAssignableFrom(serverTypeClass);
+    }
+
+    @Override
+    public void onStart(Request<Object> request) {}
+
+    @Override
+    public void onStartRequest(Request<Object> request, Response<ServiceInstance> lbResponse) {
+        if (request.getContext() instanceof TimedRequestContext timed) {
+            timed.setRequestStartTime(nanoClock.getAsLong());
+        }
+        if (lbResponse != null && lbResponse.hasServer()) {
+            statsFor(lbResponse.getServer()).requestStarted();
+        }
+    }
+
+    @Override
+    public void onComplete(CompletionContext<Object, ServiceInstance, Object> completionContext) {
+        Response<ServiceInstance> lbResponse = completionContext.getLoadBalancerResponse();
+        if (lbResponse == null
+                || !lbResponse.hasServer()
+                || completionContext.status() == CompletionContext.Status.DISCARD) {
+            return;
+        }
+
+        InstanceStats stats = statsFor(lbResponse.getServer());
+        stats.requestFinished();
+
+        long now = nanoClock.getAsLong();
+        if (completionContext.status() == CompletionContext.Status.FAILED) {
+            stats.recordLatency(properties.getFailurePenalty().toNanos(), now);
+        } else if (completionContext.getLoadBalancerRequest().getContext() instanceof TimedRequestContext timed
+                && timed.getRequestStartTime() > 0) {
+            stats.recordLatency(now - timed.getRequestStartTime(), now);
+        }
+    }
+
+    InstanceStats statsFor(ServiceInstance instance) {
+        return services.computeIfAbsent(instance.getServiceId(), id -> new ConcurrentHashMap<>())
+                .computeIfAbsent(key(instance), key -> track(instance.getServiceId(), key))
+                .stats();
+    }
+
+    /** Drops instances of a service that are no longer registered, along with their gauges. */
+    void retain(String serviceId, Collection<ServiceInstance> current) {
+        Map<String, Tracked> tracked = services.get(serviceId);
+        if (tracked == null || tracked.size() <= current.size()) {
+            return;
+        }
+        Set<String> keys = current.stream().map(InstanceStatsRegistry::key).collect(Collectors.toSet());
+        tracked.entrySet().removeIf(entry -> {
+            if (keys.contains(entry.getKey())) {
+                return false;
+            }
+            entry.getValue().meters().forEach(meterRegistry::remove);
+            return true;
+        });
+    }
+
+    private Tracked track(String serviceId, String key) {
+        InstanceStats stats = new InstanceStats(
+                properties.getDecay().toNanos(), properties.getDefaultLatency().toNanos());
+        Tags tags = Tags.of("service", serviceId, "instance", key);
+        List<Meter> meters = List.of(
+                Gauge.builder("gateway.loadbalancer.score", stats, tracked -> tracked.score() / 1e9)
+                        .description(
+                                "Expected wait in seconds on an instance (latency times outstanding requests); lower is preferred")
+                        .tags(tags)
+                        .register(meterRegistry),
+                Gauge.builder("gateway.loadbalancer.outstanding", stats, InstanceStats::outstanding)
+                        .description("Requests the gateway has in flight to an instance")
+                        .tags(tags)
+                        .register(meterRegistry),
+                TimeGauge.builder(
+                                "gateway.loadbalancer.latency",
+                                stats,
+                                TimeUnit.NANOSECONDS,
+                                InstanceStats::latencyNanos)
+                        .description("Peak-EWMA latency of an instance")
+                        .tags(tags)
+                        .register(meterRegistry));
+        return new Tracked(stats, meters);
+    }
+
+    static String key(ServiceInstance instance) {
+        return instance.getHost() + ":" + instance.getPort();
+    }
+
+    private record Tracked(InstanceStats stats, List<Meter> meters) {}
+}
@@ -0,0 +1,34 @@
+package com.example.gateway.loadbalancer;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.RoundRobinLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+/**
+ * Load-balancer configuration applied to every service's child context (see
+ * {@link LoadBalancingConfig}). Deliberately not a {@code @Configuration}: it must only be picked up
+ * by the load-balancer client factory, never by component scanning.
+ */
+public class LoadBalancerStrategyConfiguration {
+
+    @Bean
+    public ReactorLoadBalancer<ServiceInstance> reactorServiceInstanceLoadBalancer(
+            Environment environment,
+            LoadBalancerClientFactory clientFactory,
+            LoadBalancingProperties properties,
+            InstanceStatsRegistry statsRegistry) {
+        String serviceId = LoadBalancerClientFactory.getName(environment);
+        ObjectProvider<ServiceInstanceListSupplier> supplier =
+                clientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class);
+
+        return switch (properties.strategyFor(serviceId)) {
+            case POWER_OF_TWO_CHOICES -> new PowerOfTwoChoicesLoadBalancer(supplier, serviceId, statsRegistry);
+            case ROUND_ROBIN -> new RoundRobinLoadBalancer(supplier, serviceId);
+        };
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.gateway.loadbalancer;
+
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Lets each {@code lb://} service use the strategy chosen under {@code gateway.load-balancing}.
+ */
+@Configuration
+@LoadBalancerClients(defaultConfiguration = LoadBalancerStrategyConfiguration.class)
+public class LoadBalancingConfig {}
@@ -0,0 +1,80 @@
+package com.example.gateway.loadbalancer;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Chooses the load-balancing strategy for each {@code lb://} service and tunes the latency
+ * tracking used by {@link Strategy#POWER_OF_TWO_CHOICES}.
+ */
+@ConfigurationProperties(prefix = "gateway.load-balancing")
+public class LoadBalancingProperties {
+
+    public enum Strategy {
+        ROUND_ROBIN,
+        /** Picks the lower-scoring of two random instances (outstanding requests times latency). */
+        POWER_OF_TWO_CHOICES
+    }
+
+    /** Strategy for services not listed in {@link #strategies}. */
+    private Strategy defaultStrategy = Strategy.ROUND_ROBIN;
+
+    /** Strategy per service ID, e.g. {@code card-service: power-of-two-choices}. */
+    private Map<String, Strategy> strategies = new HashMap<>();
+
+    /** Time for the latency average to forget roughly two thirds of an old sample. */
+    private Duration decay = Duration.ofSeconds(10);
+
+    /** Latency assumed for an instance that has not answered yet. */
+    private Duration defaultLatency = Duration.ofMillis(100);
+
+    /** Latency recorded for a request that failed, so that failing instances are avoided. */
+    private Duration failurePenalty = Duration.ofSeconds(1);
+
+    public Strategy strategyFor(String serviceId) {
+        return strategies.getOrDefault(serviceId, defaultStrategy);
+    }
+
+    public Strategy getDefaultStrategy() {
+        return defaultStrategy;
+    }
+
+    public void setDefaultStrategy(Strategy defaultStrategy) {
+        this.defaultStrategy = defaultStrategy;
+    }
+
+    public Map<String, Strategy> getStrategies() {
+        return strategies;
+    }
+
+    public void setStrategies(Map<String, Strategy> strategies) {
+        this.strategies = strategies;
+    }
+
+    public Duration getDecay() {
+        return decay;
+    }
+
+    public void setDecay(Duration decay) {
+        this.decay = decay;
+    }
+
+    public Duration getDefaultLatency() {
+        return defaultLatency;
+    }
+
+    public void setDefaultLatency(Duration defaultLatency) {
+        this.defaultLatency = defaultLatency;
+    }
+
+    public Duration getFailurePenalty() {
+        return failurePenalty;
+    }
+
+    public void setFailurePenalty(Duration failurePenalty) {
+        this.failurePenalty = failurePenalty;
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.gateway.metrics;
+
+import com.example.gateway.security.IdentityHeadersFilter;
+import com.example.gateway.security.JwtAuthenticationFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.function.Supplier;
+
+/**
+ * Times every routed request and records it in the {@value #METRIC_NAME} timer, tagged with the
+ * route ID, the status class, the downstream instance that served it and whether the caller was
+ * authenticated. The timer publishes a percentile histogram so that latency quantiles can be
+ * aggregated across gateway instances in Prometheus.
+ */
+@Component
+public class RouteMetricsFilter implements GlobalFilter, Ordered {
+
+    /** Runs first, so requests answered by the rate limiter or the response cache are timed too. */
+    public static final int ORDER = IdentityHeadersFilter.ORDER - 100;
+
+    public static final String METRIC_NAME = "gateway.route.requests";
+
+    static final String NONE = "none";
+
+    private final MeterRegistry meterRegistry;
+    private final RouteMetricsProperties properties;
+    private final double[] percentiles;
+
+    public RouteMetricsFilter(MeterRegistry meterRegistry, RouteMetricsProperties properties) {
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+        this.percentiles = properties.getPercentiles().stream()
+                .mapToDouble(Double::doubleValue)
+                .toArray();
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        return time(exchange, route != null ? route.getId() : NONE, () -> chain.filter(exchange));
+    }
+
+    /**
+     * Runs {@code next} and records it in the timer under {@code routeId}. Handlers served by the
+     * gateway itself rather than routed, such as the composite endpoints, call this directly
+     * because global filters never run for them.
+     *
+     * @param exchange the current exchange
+     * @param routeId  value of the {@code route} tag
+     * @param next     the rest of the request handling
+     * @return completion of {@code next}
+     */
+    public Mono<Void> time(ServerWebExchange exchange, String routeId, Supplier<Mono<Void>> next) {
+        if (!properties.isEnabled()) {
+            return next.get();
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        return next.get()
+                .doOnSuccess(ignored -> record(sample, routeId, exchange, statusClass(exchange, null)))
+                .doOnError(error -> record(sample, routeId, exchange, statusClass(exchange, error)))
+                .doOnCancel(() -> record(sample, routeId, exchange, "cancelled"));
+    }
+
+    private void record(Timer.Sample sample, String routeId, ServerWebExchange exchange, String statusClass) {
+        Tags tags = Tags.of(
+                "route",
+                routeId,
+                "status",
+                statusClass,
+                "instance",
+                instance(exchange),
+                "authenticated",
+                Boolean.toString(exchange.getAttribute(JwtAuthenticationFilter.VERIFIED_TOKEN_ATTR) != null));
+
+        sample.stop(Timer.builder(METRIC_NAME)
+                .description("Requests handled by the gateway, per route")
+                .tags(tags)
+                .publishPercentiles(percentiles)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(properties.getMinimumExpected())
+                .maximumExpectedValue(properties.getMaximumExpected())
+                .register(meterRegistry));
+    }
+
+    /**
+     * Status class of the response, e.g. {@code 2xx}. An error that has not been turned into a
+     * response yet counts by its status if it carries one and as {@code 5xx} otherwise.
+     */
+    static String statusClass(ServerWebExchange exchange, Throwable error) {
+        HttpStatusCode status = exchange.getResponse().getStatusCode();
+        if (error instanceof ResponseStatusException statusException) {
+            status = statusException.getStatusCode();
+        } else if (error != null) {
+            return "5xx";
+        }
+        if (status == null) {
+            return "unknown";
+        }
+        return (status.value() / 100) + "xx";
+    }
+
+    /**
+     * Host and port of the instance the request was sent to. Only set once the load balancer has
+     * picked an instance, so requests that never left the gateway are tagged {@code none}.
+     */
+    static String instance(ServerWebExchange exchange) {
+        URI url = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR);
+        if (url == null || url.getHost() == null || "lb".equals(url.getScheme())) {
+            return NONE;
+        }
+        return url.getPort() == -1 ? url.getHost() : url.getHost() + ":" + url.getPort();
+    }
+}
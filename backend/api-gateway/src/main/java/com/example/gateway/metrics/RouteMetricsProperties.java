@@ -0,0 +1,56 @@
+package com.example.gateway.metrics;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Settings for the per-route request timers scraped from {@code /actuator/prometheus}.
+ */
+@ConfigurationProperties(prefix = "gateway.metrics")
+public class RouteMetricsProperties {
+
+    private boolean enabled = true;
+
+    /** Percentiles computed in the gateway itself, in addition to the Prometheus histogram buckets. */
+    private List<Double> percentiles = new ArrayList<>(List.of(0.5, 0.95, 0.99));
+
+    /** Lower and upper bounds of the histogram buckets; fewer buckets means fewer time series. */
+    private Duration minimumExpected = Duration.ofMillis(1);
+
+    private Duration maximumExpected = Duration.ofSeconds(30);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public List<Double> getPercentiles() {
+        return percentiles;
+    }
+
+    public void setPercentiles(List<Double> percentiles) {
+        this.percentiles = percentiles;
+    }
+
+    public Duration getMinimumExpected() {
+        return minimumExpected;
+    }
+
+    public void setMinimumExpected(Duration minimumExpected) {
+        this.minimumExpected = minimumExpected;
+    }
+
+    public Duration getMaximumExpected() {
+        return maximumExpected;
+    }
+
+    public void setMaximumExpected(Duration maximumExpected) {
+        this.maximumExpected = maximumExpected;
+    }
+}
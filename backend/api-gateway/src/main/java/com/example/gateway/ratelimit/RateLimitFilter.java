@@ -0,0 +1,104 @@
+package com.example.gateway.ratelimit;
+
+import com.example.gateway.security.JwtAuthenticationFilter;
+import com.example.gateway.security.VerifiedToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.util.function.Supplier;
+
+/**
+ * Rejects requests with 429 once a caller has used up its token bucket for a route.
+ * Authenticated callers are keyed by JWT subject; anonymous ones (e.g. login) by the socket peer
+ * address. Forwarded headers are client-controlled and never used, which is why the gateway runs
+ * with {@code server.forward-headers-strategy: none}.
+ */
+@Component
+public class RateLimitFilter implements GlobalFilter, Ordered {
+
+    /** Runs before the response cache so that cached responses also count against the limit. */
+    public static final int ORDER = -200;
+
+    static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+
+    private static final Logger log = LoggerFactory.getLogger(RateLimitFilter.class);
+
+    private final TokenBucketRateLimiter rateLimiter;
+    private final RateLimitProperties properties;
+
+    public RateLimitFilter(TokenBucketRateLimiter rateLimiter, RateLimitProperties properties) {
+        this.rateLimiter = rateLimiter;
+        this.properties = properties;
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (route == null) {
+            return chain.filter(exchange);
+        }
+        return limit(exchange, route.getId(), () -> chain.filter(exchange));
+    }
+
+    /**
+     * Applies the limit configured for {@code routeId} and runs {@code next} only if the caller is
+     * within it. Handlers served by the gateway itself rather than routed, such as the composite
+     * endpoints, call this directly because global filters never run for them.
+     *
+     * @param exchange the current exchange
+     * @param routeId  key of the limit under {@code gateway.rate-limit.routes}
+     * @param next     the rest of the request handling
+     * @return completion of {@code next}, or of the 429 response if the caller is over the limit
+     */
+    public Mono<Void> limit(ServerWebExchange exchange, String routeId, Supplier<Mono<Void>> next) {
+        RateLimitProperties.Limit limit = properties.getRoutes().get(routeId);
+        if (!properties.isEnabled() || limit == null) {
+            return next.get();
+        }
+
+        String caller = callerKey(exchange);
+        TokenBucketRateLimiter.Decision decision = rateLimiter.tryAcquire(routeId + "|" + caller, limit);
+
+        if (decision.allowed()) {
+            exchange.getResponse().getHeaders().set(REMAINING_HEADER, Long.toString(decision.remaining()));
+            return next.get();
+        }
+
+        long retrySeconds = Math.max(1, (decision.retryAfter().toMillis() + 999) / 1000);
+        log.warn("Rate limit exceeded on route {} by {}", routeId, caller);
+
+        var response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(retrySeconds));
+        response.getHeaders().set(REMAINING_HEADER, "0");
+        return response.setComplete();
+    }
+
+    static String callerKey(ServerWebExchange exchange) {
+        VerifiedToken token = exchange.getAttribute(JwtAuthenticationFilter.VERIFIED_TOKEN_ATTR);
+        if (token != null) {
+            return "sub:" + token.subject();
+        }
+        InetSocketAddress remote = exchange.getRequest().getRemoteAddress();
+        if (remote != null && remote.getAddress() != null) {
+            return "ip:" + remote.getAddress().getHostAddress();
+        }
+        return "ip:unknown";
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.gateway.ratelimit;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lock-free token bucket. Tokens are refilled lazily from the elapsed time on each call,
+ * and the state is swapped with compare-and-set so concurrent requests never block each other.
+ */
+final class TokenBucket {
+
+    private record State(double tokens, long updatedAt) {}
+
+    private final long capacity;
+    private final double tokensPerNano;
+    private final AtomicReference<State> state;
+
+    TokenBucket(long capacity, double refillPerSecond, long nowNanos) {
+        this.capacity = capacity;
+        this.tokensPerNano = refillPerSecond / 1_000_000_000d;
+        this.state = new AtomicReference<>(new State(capacity, nowNanos));
+    }
+
+    /**
+     * Takes one token if available.
+     *
+     * @param nowNanos the current monotonic time
+     * @return the tokens left (zero or more) on success, or minus the nanoseconds until a token is available
+     */
+    long tryConsume(long nowNanos) {
+        while (true) {
+            State current = state.get();
+            double available = refill(current, nowNanos);
+            if (available < 1) {
+                return -(long) Math.ceil((1 - available) / tokensPerNano);
+            }
+            State next = new State(available - 1, Math.max(nowNanos, current.updatedAt));
+            if (state.compareAndSet(current, next)) {
+                return (long) next.tokens;
+            }
+        }
+    }
+
+    /**
+     * A bucket that has refilled completely behaves exactly like a new one, so it can be dropped.
+     */
+    boolean isFullAndIdle(long nowNanos, long idleNanos) {
+        State current = state.get();
+        return nowNanos - current.updatedAt >= idleNanos && refill(current, nowNanos) >= capacity;
+    }
+
+    private double refill(State current, long nowNanos) {
+        long elapsed = Math.max(0, nowNanos - current.updatedAt);
+        return Math.min(capacity, current.tokens + elapsed * tokensPerNano);
+    }
+}
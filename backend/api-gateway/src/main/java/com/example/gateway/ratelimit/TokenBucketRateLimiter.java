@@ -0,0 +1,76 @@
+package com.example.gateway.ratelimit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Keeps one token bucket per route and caller in memory, so every gateway replica enforces its
+ * limits locally without Redis. Buckets live in a {@link ConcurrentHashMap}, whose per-bin locking
+ * only applies when a bucket is first created; consuming a token is a compare-and-set on the bucket.
+ * Idle buckets are swept opportunistically, at most once per idle timeout.
+ */
+@Component
+public class TokenBucketRateLimiter {
+
+    /**
+     * Outcome of one acquire attempt.
+     *
+     * @param allowed    whether the request may proceed
+     * @param remaining  tokens left after this request
+     * @param retryAfter how long the caller should wait when the request is rejected
+     */
+    public record Decision(boolean allowed, long remaining, Duration retryAfter) {}
+
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final long idleNanos;
+    private final LongSupplier nanoClock;
+    private final AtomicLong lastSweep;
+
+    @Autowired
+    public TokenBucketRateLimiter(RateLimitProperties properties) {
+        this(properties.getIdleTimeout(), System::nanoTime);
+    }
+
+    TokenBucketRateLimiter(Duration idleTimeout, LongSupplier nanoClock) {
+        this.idleNanos = idleTimeout.toNanos();
+        this.nanoClock = nanoClock;
+        this.lastSweep = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    /**
+     * Takes a token from the caller's bucket for a route.
+     *
+     * @param key   identifies the route and caller
+     * @param limit the route's bucket settings
+     * @return whether the request is allowed
+     */
+    public Decision tryAcquire(String key, RateLimitProperties.Limit limit) {
+        long now = nanoClock.getAsLong();
+        sweepIfDue(now);
+
+        TokenBucket bucket = buckets.computeIfAbsent(
+                key, k -> new TokenBucket(limit.getCapacity(), limit.getRefillPerSecond(), now));
+        long result = bucket.tryConsume(now);
+        if (result >= 0) {
+            return new Decision(true, result, Duration.ZERO);
+        }
+        return new Decision(false, 0, Duration.ofNanos(-result));
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    private void sweepIfDue(long now) {
+        long last = lastSweep.get();
+        if (now - last >= idleNanos && lastSweep.compareAndSet(last, now)) {
+            buckets.values().removeIf(bucket -> bucket.isFullAndIdle(now, idleNanos));
+        }
+    }
+}
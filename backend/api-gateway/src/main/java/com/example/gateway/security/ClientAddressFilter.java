@@ -0,0 +1,49 @@
+package com.example.gateway.security;
+
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+
+/**
+ * Replaces any client address headers sent by the client with the socket peer address, so
+ * services behind the gateway (auth-service's failed-login throttle) see the real client in
+ * {@code X-Forwarded-For} rather than whatever the caller claimed.
+ */
+@Component
+public class ClientAddressFilter implements GlobalFilter, Ordered {
+
+    /** Runs alongside {@link IdentityHeadersFilter}, before any filter that forwards the request. */
+    public static final int ORDER = IdentityHeadersFilter.ORDER - 10;
+
+    public static final String FORWARDED_FOR_HEADER = "X-Forwarded-For";
+
+    private static final List<String> CLIENT_ADDRESS_HEADERS = List.of(FORWARDED_FOR_HEADER, "Forwarded", "X-Real-IP");
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        InetSocketAddress remote = exchange.getRequest().getRemoteAddress();
+        String clientAddress = remote != null && remote.getAddress() != null
+                ? remote.getAddress().getHostAddress()
+                : null;
+
+        return chain.filter(exchange.mutate()
+                .request(request -> request.headers(headers -> {
+                    CLIENT_ADDRESS_HEADERS.forEach(headers::remove);
+                    if (clientAddress != null) {
+                        headers.set(FORWARDED_FOR_HEADER, clientAddress);
+                    }
+                }))
+                .build());
+    }
+}
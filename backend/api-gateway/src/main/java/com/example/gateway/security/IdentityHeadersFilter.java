@@ -0,0 +1,107 @@
+package com.example.gateway.security;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.util.Base64;
+import java.util.List;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Replaces any identity headers sent by the client with ones taken from the verified JWT.
+ * Downstream services check the HMAC signature and timestamp and then trust the caller's
+ * user ID, username and role without asking user-service.
+ */
+@Component
+public class IdentityHeadersFilter implements GlobalFilter, Ordered {
+
+    /** Runs first so that no other filter sees client-supplied identity headers. */
+    public static final int ORDER = -300;
+
+    public static final String USER_ID_HEADER = "X-User-Id";
+    public static final String USERNAME_HEADER = "X-User-Name";
+    public static final String ROLE_HEADER = "X-User-Role";
+    public static final String TIMESTAMP_HEADER = "X-Identity-Timestamp";
+    public static final String SIGNATURE_HEADER = "X-Identity-Signature";
+
+    private static final List<String> IDENTITY_HEADERS =
+            List.of(USER_ID_HEADER, USERNAME_HEADER, ROLE_HEADER, TIMESTAMP_HEADER, SIGNATURE_HEADER);
+
+    private final SecretKeySpec signingKey;
+    private final Clock clock;
+
+    @Autowired
+    public IdentityHeadersFilter(@Value("${gateway.identity.secret}") String secret) {
+        this(secret, Clock.systemUTC());
+    }
+
+    IdentityHeadersFilter(String secret, Clock clock) {
+        this.signingKey = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+        this.clock = clock;
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        VerifiedToken token = exchange.getAttribute(JwtAuthenticationFilter.VERIFIED_TOKEN_ATTR);
+        boolean trusted = token != null && token.userId() != null;
+
+        if (!trusted
+                && IDENTITY_HEADERS.stream().noneMatch(exchange.getRequest().getHeaders()::containsHeader)) {
+            return chain.filter(exchange);
+        }
+
+        return chain.filter(exchange.mutate()
+                .request(request -> request.headers(headers -> {
+                    IDENTITY_HEADERS.forEach(headers::remove);
+                    if (trusted) {
+                        setIdentity(headers, token);
+                    }
+                }))
+                .build());
+    }
+
+    private void setIdentity(HttpHeaders headers, VerifiedToken token) {
+        String userId = token.userId().toString();
+        String role = token.role() == null ? "" : token.role();
+        String timestamp = Long.toString(clock.instant().getEpochSecond());
+
+        headers.set(USER_ID_HEADER, userId);
+        headers.set(USERNAME_HEADER, token.subject());
+        headers.set(ROLE_HEADER, role);
+        headers.set(TIMESTAMP_HEADER, timestamp);
+        headers.set(SIGNATURE_HEADER, sign(userId, token.subject(), role, timestamp));
+    }
+
+    /**
+     * Signs the identity fields with HMAC-SHA256. Services compute the same value over the same
+     * newline-separated fields to check that the headers came from the gateway.
+     */
+    String sign(String userId, String username, String role, String timestamp) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(signingKey);
+            byte[] payload =
+                    String.join("\n", userId, username, role, timestamp).getBytes(StandardCharsets.UTF_8);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(mac.doFinal(payload));
+        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.example.gateway.security;
 import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.ReactiveSecurityContextHolder;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.stereotype.Component;
@@ -12,15 +13,23 @@ import org.springframework.web.server.WebFilterChain;
 import reactor.core.publisher.Mono;
 
 import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
 
 @Component
 @Order(-100)
 public class JwtAuthenticationFilter implements WebFilter {
 
-    private final JwtUtil jwtUtil;
+    /**
+     * Exchange attribute holding the {@link VerifiedToken} of an authenticated request,
+     * so later filters can read the caller's identity without parsing the token again.
+     */
+    public static final String VERIFIED_TOKEN_ATTR = JwtAuthenticationFilter.class.getName() + ".verifiedToken";
 
-    public JwtAuthenticationFilter(JwtUtil jwtUtil) {
-        this.jwtUtil = jwtUtil;
+    private final JwtVerifier jwtVerifier;
+
+    public JwtAuthenticationFilter(JwtVerifier jwtVerifier) {
+        this.jwtVerifier = jwtVerifier;
     }
 
     @Override
@@ -45,24 +54,22 @@ public class JwtAuthenticationFilter implements WebFilter {
 
         String jwt = authHeader.substring(7);
 
-        try {
-            String listenerId = jwtUtil.extractListenerId(jwt);
-
-            if (jwtUtil.validateToken(jwt, listenerId)) {
+        Optional<VerifiedToken> verified = jwtVerifier.verify(jwt);
 
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(listenerId, null, Collections.emptyList());
+        if (verified.isPresent()) {
+            exchange.getAttributes().put(VERIFIED_TOKEN_ATTR, verified.get());
 
-                SecurityContext context =
-                        new org.springframework.security.core.context.SecurityContextImpl(authentication);
+            // The token's role becomes ROLE_<role>, so access rules can use hasRole
+            String role = verified.get().role();
+            UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                    verified.get().subject(),
+                    null,
+                    role == null ? Collections.emptyList() : List.of(new SimpleGrantedAuthority("ROLE_" + role)));
 
-                return chain.filter(exchange)
-                        .contextWrite(ReactiveSecurityContextHolder.withSecurityContext(Mono.just(context)));
-            }
+            SecurityContext context = new org.springframework.security.core.context.SecurityContextImpl(authentication);
 
-        } catch (Exception e) {
-            // invalid token → continue unauthenticated
-            System.out.println("Invalid token to protected route at gateway: " + e.getMessage());
+            return chain.filter(exchange)
+                    .contextWrite(ReactiveSecurityContextHolder.withSecurityContext(Mono.just(context)));
         }
 
         return chain.filter(exchange);
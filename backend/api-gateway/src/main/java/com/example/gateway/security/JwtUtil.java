@@ -1,6 +1,7 @@
 package com.example.gateway.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
@@ -13,26 +14,25 @@ import javax.crypto.SecretKey;
 @Component
 public class JwtUtil {
 
-    private String secretKey;
+    private final SecretKey signingKey;
+
+    private final JwtParser parser;
 
     private Long expiration;
 
     public JwtUtil(@Value("${jwt.secret}") String secretKey, @Value("${jwt.expiration}") Long expiration) {
-        this.secretKey = secretKey;
+        this.signingKey = Keys.hmacShaKeyFor(secretKey.getBytes());
+        this.parser = Jwts.parser().verifyWith(signingKey).build();
         this.expiration = expiration;
     }
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secretKey.getBytes());
-    }
-
     public String generateToken(String listenerId) {
 
         return Jwts.builder()
                 .subject(listenerId)
                 .issuedAt(new Date())
                 .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
@@ -42,29 +42,25 @@ public class JwtUtil {
     }
 
     public Boolean validateToken(String token, String listenerId) {
-        final String extractId = extractListenerId(token);
-        return (extractId.equals(listenerId) && !isTokenExpired(token));
+        final Claims claims = parseClaims(token);
+        return (claims.getSubject().equals(listenerId)
+                && !claims.getExpiration().before(new Date()));
     }
 
-    private <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+    /**
+     * Verifies the token signature and returns its claims in a single parse.
+     * The parser rejects expired tokens, so callers do not need a separate expiry check.
+     *
+     * @param token the compact JWT
+     * @return the verified claims
+     */
+    public Claims parseClaims(String token) {
+        return parser.parseSignedClaims(token).getPayload();
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-    }
-
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    private <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
+        final Claims claims = parseClaims(token);
+        return claimsResolver.apply(claims);
     }
 
     public String generateRefreshToken(String listenerId) {
@@ -0,0 +1,119 @@
+package com.example.gateway.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Verifies bearer tokens once and remembers the result.
+ * Verified claims are cached under a SHA-256 digest of the token until the token expires,
+ * so repeat requests carrying the same token skip parsing and HMAC verification.
+ */
+@Component
+public class JwtVerifier {
+
+    private static final Logger log = LoggerFactory.getLogger(JwtVerifier.class);
+
+    private final JwtUtil jwtUtil;
+    private final int maxEntries;
+    private final Clock clock;
+    private final Map<String, VerifiedToken> cache = new ConcurrentHashMap<>();
+
+    @Autowired
+    public JwtVerifier(JwtUtil jwtUtil, @Value("${jwt.cache.max-entries:10000}") int maxEntries) {
+        this(jwtUtil, maxEntries, Clock.systemUTC());
+    }
+
+    JwtVerifier(JwtUtil jwtUtil, int maxEntries, Clock clock) {
+        this.jwtUtil = jwtUtil;
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the verified claims for a token, parsing it only on a cache miss.
+     *
+     * @param token the compact JWT without the "Bearer " prefix
+     * @return the verified token, or empty when the token is invalid or expired
+     */
+    public Optional<VerifiedToken> verify(String token) {
+        Instant now = clock.instant();
+        String key = digest(token);
+
+        VerifiedToken cached = cache.get(key);
+        if (cached != null) {
+            if (!cached.isExpired(now)) {
+                return Optional.of(cached);
+            }
+            cache.remove(key, cached);
+        }
+
+        VerifiedToken verified;
+        try {
+            Claims claims = jwtUtil.parseClaims(token);
+            if (claims.getSubject() == null || claims.getExpiration() == null) {
+                return Optional.empty();
+            }
+            verified = new VerifiedToken(
+                    claims.getSubject(),
+                    claims.get("userId", Long.class),
+                    claims.get("role", String.class),
+                    claims.getExpiration().toInstant());
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Rejected bearer token at gateway: {}", e.getMessage());
+            return Optional.empty();
+        }
+
+        if (verified.isExpired(now)) {
+            return Optional.empty();
+        }
+
+        if (cache.size() >= maxEntries) {
+            evict(now);
+        }
+        cache.put(key, verified);
+        return Optional.of(verified);
+    }
+
+    int size() {
+        return cache.size();
+    }
+
+    /**
+     * Drops expired entries first; if the cache is still full, drops arbitrary entries
+     * until there is room again. Tokens evicted this way are simply verified again.
+     */
+    private void evict(Instant now) {
+        cache.values().removeIf(token -> token.isExpired(now));
+
+        Iterator<String> keys = cache.keySet().iterator();
+        while (cache.size() >= maxEntries && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.example.gateway.security;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
 import org.springframework.security.config.web.server.ServerHttpSecurity;
 import org.springframework.security.web.server.SecurityWebFilterChain;
@@ -15,12 +16,28 @@ import java.util.List;
 @EnableWebFluxSecurity
 public class SecurityConfig {
 
+    /** user-service endpoints that are never routed, whoever the caller is. */
+    static final String[] INTERNAL_PATHS = {"/api/users/internal/**", "/api/users/batch", "/api/users/import"};
+
     @Bean
     public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http) {
 
         return http.csrf(ServerHttpSecurity.CsrfSpec::disable)
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
-                .authorizeExchange(auth -> auth.pathMatchers("/api/auth/**", "/actuator/**")
+                .authorizeExchange(auth -> auth
+                        // For other services only; they call user-service directly with a signed request
+                        .pathMatchers(INTERNAL_PATHS)
+                        .denyAll()
+                        .pathMatchers("/api/auth/**", "/actuator/health/**", "/actuator/info")
+                        .permitAll()
+                        // Cache purge, metrics and route details are for operators only
+                        .pathMatchers("/actuator/**")
+                        .hasRole("ADMIN")
+                        // The user directory and its NDJSON export include every user's email and location
+                        .pathMatchers(HttpMethod.GET, "/api/users", "/api/users/export")
+                        .hasRole("ADMIN")
+                        // Signup form checks names before the user has an account
+                        .pathMatchers(HttpMethod.GET, "/api/users/availability")
                         .permitAll()
                         .anyExchange()
                         .authenticated())
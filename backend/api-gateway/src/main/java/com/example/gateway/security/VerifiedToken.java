@@ -0,0 +1,18 @@
+package com.example.gateway.security;
+
+import java.time.Instant;
+
+/**
+ * Claims of a bearer token that has already passed signature and expiry checks.
+ *
+ * @param subject   the token subject (the username issued by auth-service)
+ * @param userId    the userId claim, or {@code null} for tokens issued before it was added
+ * @param role      the role claim, or {@code null} when the token carries none
+ * @param expiresAt when the token stops being valid
+ */
+public record VerifiedToken(String subject, Long userId, String role, Instant expiresAt) {
+
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+}
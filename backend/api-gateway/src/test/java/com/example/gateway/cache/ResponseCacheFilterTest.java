@@ -0,0 +1,233 @@
+package com.example.gateway.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unit tests for ResponseCacheFilter.
+ */
+class ResponseCacheFilterTest {
+
+    private ResponseCacheFilter filter;
+    private AtomicInteger upstreamCalls;
+    private GatewayFilterChain chain;
+
+    @BeforeEach
+    void setUp() {
+        ResponseCacheProperties properties = new ResponseCacheProperties();
+        properties.getRoutes().put("card-route", Duration.ofMinutes(5));
+        filter = new ResponseCacheFilter(new ResponseCache(properties), properties);
+
+        upstreamCalls = new AtomicInteger();
+        chain = exchange -> {
+            upstreamCalls.incrementAndGet();
+            var response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            byte[] body = "{\"cardId\":1}".getBytes(StandardCharsets.UTF_8);
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+        };
+    }
+
+    @Test
+    @DisplayName("Should serve a repeated GET from the cache")
+    void filter_RepeatedGet_CallsUpstreamOnce() {
+        // Act
+        MockServerWebExchange first = exchange("card-route", MockServerHttpRequest.get("/api/cards/1"));
+        filter.filter(first, chain).block();
+        MockServerWebExchange second = exchange("card-route", MockServerHttpRequest.get("/api/cards/1"));
+        filter.filter(second, chain).block();
+
+        // Assert
+        assertEquals(1, upstreamCalls.get());
+        assertEquals("MISS", first.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_HEADER));
+        assertEquals("HIT", second.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_HEADER));
+        assertEquals("{\"cardId\":1}", second.getResponse().getBodyAsString().block());
+        assertEquals(
+                first.getResponse().getHeaders().getETag(),
+                second.getResponse().getHeaders().getETag());
+    }
+
+    @Test
+    @DisplayName("Should answer 304 when If-None-Match matches the cached ETag")
+    void filter_MatchingIfNoneMatch_ReturnsNotModified() {
+        // Arrange
+        MockServerWebExchange first = exchange("card-route", MockServerHttpRequest.get("/api/cards/1"));
+        filter.filter(first, chain).block();
+        String etag = first.getResponse().getHeaders().getETag();
+
+        // Act
+        MockServerWebExchange revalidate = exchange(
+                "card-route", MockServerHttpRequest.get("/api/cards/1").header(HttpHeaders.IF_NONE_MATCH, etag));
+        filter.filter(revalidate, chain).block();
+
+        // Assert
+        assertNotNull(etag);
+        assertEquals(HttpStatus.NOT_MODIFIED, revalidate.getResponse().getStatusCode());
+        assertEquals(1, upstreamCalls.get());
+    }
+
+    @Test
+    @DisplayName("Should answer 304 for a weak, listed or wildcard If-None-Match")
+    void filter_IfNoneMatchForms_ReturnNotModified() {
+        // Arrange
+        MockServerWebExchange first = exchange("card-route", MockServerHttpRequest.get("/api/cards/1"));
+        filter.filter(first, chain).block();
+        String etag = first.getResponse().getHeaders().getETag();
+
+        for (String ifNoneMatch : List.of("W/" + etag, "\"other\", " + etag, "*")) {
+            // Act
+            MockServerWebExchange revalidate = exchange(
+                    "card-route",
+                    MockServerHttpRequest.get("/api/cards/1").header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch));
+            filter.filter(revalidate, chain).block();
+
+            // Assert
+            assertEquals(HttpStatus.NOT_MODIFIED, revalidate.getResponse().getStatusCode(), ifNoneMatch);
+        }
+        assertEquals(1, upstreamCalls.get());
+    }
+
+    @Test
+    @DisplayName("Should answer 200 when no listed ETag matches")
+    void filter_NonMatchingIfNoneMatch_ReturnsBody() {
+        // Arrange
+        filter.filter(exchange("card-route", MockServerHttpRequest.get("/api/cards/1")), chain)
+                .block();
+
+        // Act
+        MockServerWebExchange revalidate = exchange(
+                "card-route",
+                MockServerHttpRequest.get("/api/cards/1").header(HttpHeaders.IF_NONE_MATCH, "\"a\", W/\"b\""));
+        filter.filter(revalidate, chain).block();
+
+        // Assert
+        assertEquals(HttpStatus.OK, revalidate.getResponse().getStatusCode());
+        assertEquals(
+                "{\"cardId\":1}", revalidate.getResponse().getBodyAsString().block());
+    }
+
+    @Test
+    @DisplayName("Should replay the backend's end-to-end headers on a hit but not hop-by-hop headers or cookies")
+    void filter_Hit_ReplaysStoredHeaders() {
+        // Arrange
+        GatewayFilterChain backend = exchange -> {
+            upstreamCalls.incrementAndGet();
+            var response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            HttpHeaders headers = response.getHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            headers.setCacheControl(CacheControl.maxAge(Duration.ofMinutes(1)));
+            headers.setVary(List.of(HttpHeaders.ACCEPT_LANGUAGE));
+            headers.set(HttpHeaders.CONTENT_LANGUAGE, "en");
+            headers.set(HttpHeaders.CONNECTION, "X-Trace");
+            headers.set("X-Trace", "hop");
+            headers.set(HttpHeaders.SET_COOKIE, "session=abc");
+            byte[] body = "{\"cardId\":1}".getBytes(StandardCharsets.UTF_8);
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+        };
+        filter.filter(exchange("card-route", MockServerHttpRequest.get("/api/cards/1")), backend)
+                .block();
+
+        // Act
+        MockServerWebExchange hit = exchange("card-route", MockServerHttpRequest.get("/api/cards/1"));
+        hit.getResponse().getHeaders().setVary(List.of(HttpHeaders.ORIGIN));
+        filter.filter(hit, backend).block();
+
+        // Assert
+        HttpHeaders headers = hit.getResponse().getHeaders();
+        assertEquals(1, upstreamCalls.get());
+        assertEquals("HIT", headers.getFirst(ResponseCacheFilter.CACHE_HEADER));
+        assertEquals(MediaType.APPLICATION_JSON, headers.getContentType());
+        assertEquals("max-age=60", headers.getCacheControl());
+        assertEquals("en", headers.getFirst(HttpHeaders.CONTENT_LANGUAGE));
+        assertEquals(List.of(HttpHeaders.ORIGIN, HttpHeaders.ACCEPT_LANGUAGE), headers.getVary());
+        assertFalse(headers.containsHeader(HttpHeaders.SET_COOKIE));
+        assertFalse(headers.containsHeader(HttpHeaders.CONNECTION));
+        assertFalse(headers.containsHeader("X-Trace"));
+    }
+
+    @Test
+    @DisplayName("Should not cache routes without a configured TTL or non-GET requests")
+    void filter_UncachedRouteOrMethod_AlwaysCallsUpstream() {
+        // Act
+        filter.filter(exchange("trade-route", MockServerHttpRequest.get("/api/trades")), chain)
+                .block();
+        filter.filter(exchange("trade-route", MockServerHttpRequest.get("/api/trades")), chain)
+                .block();
+        filter.filter(exchange("card-route", MockServerHttpRequest.post("/api/cards/sync/3/1")), chain)
+                .block();
+        filter.filter(exchange("card-route", MockServerHttpRequest.post("/api/cards/sync/3/1")), chain)
+                .block();
+
+        // Assert
+        assertEquals(4, upstreamCalls.get());
+    }
+
+    @Test
+    @DisplayName("Should not store responses the backend marks no-store, such as sync job status")
+    void filter_NoStoreResponse_AlwaysCallsUpstream() {
+        // Arrange
+        GatewayFilterChain jobStatus = exchange -> {
+            upstreamCalls.incrementAndGet();
+            var response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().setCacheControl(CacheControl.noStore());
+            byte[] body = "{\"state\":\"RUNNING\"}".getBytes(StandardCharsets.UTF_8);
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+        };
+
+        // Act
+        filter.filter(exchange("card-route", MockServerHttpRequest.get("/api/cards/sync/jobs/job-1")), jobStatus)
+                .block();
+        MockServerWebExchange second = exchange("card-route", MockServerHttpRequest.get("/api/cards/sync/jobs/job-1"));
+        filter.filter(second, jobStatus).block();
+
+        // Assert
+        assertEquals(2, upstreamCalls.get());
+        assertEquals("MISS", second.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_HEADER));
+    }
+
+    @Test
+    @DisplayName("Should key entries by path and query string")
+    void cacheKey_IncludesQuery() {
+        assertEquals(
+                "/api/cards?name=pika",
+                ResponseCacheFilter.cacheKey(
+                        MockServerHttpRequest.get("/api/cards?name=pika").build()));
+        assertEquals(
+                "/api/cards/1",
+                ResponseCacheFilter.cacheKey(
+                        MockServerHttpRequest.get("/api/cards/1").build()));
+    }
+
+    private static MockServerWebExchange exchange(String routeId, MockServerHttpRequest.BaseBuilder<?> request) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        Route route = Route.async()
+                .id(routeId)
+                .uri(URI.create("lb://backend"))
+                .predicate(e -> true)
+                .build();
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route);
+        return exchange;
+    }
+}
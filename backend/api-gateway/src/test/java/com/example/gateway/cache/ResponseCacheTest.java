@@ -0,0 +1,128 @@
+package com.example.gateway.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+/**
+ * Unit tests for ResponseCache.
+ */
+class ResponseCacheTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    private ResponseCacheProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ResponseCacheProperties();
+        properties.setMaxBytes(10_000);
+        properties.setMaxEntryBytes(10_000);
+    }
+
+    @Test
+    @DisplayName("Should return a stored response until it expires")
+    void get_FreshEntry_ReturnsResponse() {
+        // Arrange
+        ResponseCache cache = new ResponseCache(properties, Clock.fixed(NOW, ZoneOffset.UTC));
+        cache.put("/api/cards/1", response(100, NOW.plusSeconds(60)));
+        cache.put("/api/cards/2", response(100, NOW.minusSeconds(1)));
+
+        // Act & Assert
+        assertTrue(cache.get("/api/cards/1").isPresent());
+        assertTrue(cache.get("/api/cards/2").isEmpty());
+        assertTrue(cache.get("/api/cards/3").isEmpty());
+        assertEquals(1L, cache.stats().get("hits"));
+        assertEquals(2L, cache.stats().get("misses"));
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used entry when over the memory bound")
+    void put_OverBound_EvictsLeastRecentlyUsed() {
+        // Arrange
+        properties.setMaxBytes(3_000);
+        ResponseCache cache = new ResponseCache(properties, Clock.fixed(NOW, ZoneOffset.UTC));
+        cache.put("/a", response(800, NOW.plusSeconds(60)));
+        cache.put("/b", response(800, NOW.plusSeconds(60)));
+        cache.put("/c", response(800, NOW.plusSeconds(60)));
+        cache.get("/a");
+
+        // Act
+        cache.put("/d", response(800, NOW.plusSeconds(60)));
+
+        // Assert
+        assertTrue(cache.get("/b").isEmpty());
+        assertTrue(cache.get("/a").isPresent());
+        assertTrue(cache.get("/d").isPresent());
+        assertTrue((long) cache.stats().get("bytes") <= 3_000);
+    }
+
+    @Test
+    @DisplayName("Should evict the least frequently used entry under LFU")
+    void put_OverBoundWithLfu_EvictsLeastFrequentlyUsed() {
+        // Arrange
+        properties.setMaxBytes(3_000);
+        properties.setEviction(ResponseCacheProperties.Eviction.LFU);
+        ResponseCache cache = new ResponseCache(properties, Clock.fixed(NOW, ZoneOffset.UTC));
+        cache.put("/a", response(800, NOW.plusSeconds(60)));
+        cache.put("/b", response(800, NOW.plusSeconds(60)));
+        cache.put("/c", response(800, NOW.plusSeconds(60)));
+        cache.get("/a");
+        cache.get("/a");
+        cache.get("/b");
+        cache.get("/b");
+        cache.get("/c");
+
+        // Act
+        cache.put("/d", response(800, NOW.plusSeconds(60)));
+
+        // Assert
+        assertTrue(cache.get("/c").isEmpty());
+        assertTrue(cache.get("/a").isPresent());
+        assertTrue(cache.get("/b").isPresent());
+    }
+
+    @Test
+    @DisplayName("Should not store responses larger than the per-entry limit")
+    void put_OversizedEntry_IsIgnored() {
+        // Arrange
+        properties.setMaxEntryBytes(500);
+        ResponseCache cache = new ResponseCache(properties, Clock.fixed(NOW, ZoneOffset.UTC));
+
+        // Act
+        cache.put("/big", response(1_000, NOW.plusSeconds(60)));
+
+        // Assert
+        assertTrue(cache.get("/big").isEmpty());
+        assertEquals(0L, cache.stats().get("bytes"));
+    }
+
+    @Test
+    @DisplayName("Should purge only entries under the given path prefix")
+    void purge_ByPrefix_RemovesMatchingEntries() {
+        // Arrange
+        ResponseCache cache = new ResponseCache(properties, Clock.fixed(NOW, ZoneOffset.UTC));
+        cache.put("/api/cards/1", response(10, NOW.plusSeconds(60)));
+        cache.put("/api/cards?name=pika", response(10, NOW.plusSeconds(60)));
+        cache.put("/api/listings/active", response(10, NOW.plusSeconds(60)));
+
+        // Act
+        int purged = cache.purge("/api/cards");
+
+        // Assert
+        assertEquals(2, purged);
+        assertTrue(cache.get("/api/listings/active").isPresent());
+        assertEquals(1, cache.purge(null));
+    }
+
+    private static CachedResponse response(int size, Instant expiresAt) {
+        return new CachedResponse(200, HttpHeaders.EMPTY, "\"etag\"", new byte[size], expiresAt);
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.gateway.coalesce;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.gateway.security.JwtAuthenticationFilter;
+import com.example.gateway.security.VerifiedToken;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unit tests for RequestCoalescingFilter.
+ */
+class RequestCoalescingFilterTest {
+
+    private CoalescingProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicInteger upstreamCalls;
+    private Sinks.Empty<Void> gate;
+    private GatewayFilterChain chain;
+
+    @BeforeEach
+    void setUp() {
+        properties = new CoalescingProperties();
+        properties.setPaths(List.of("/api/cards/{cardId}"));
+        meterRegistry = new SimpleMeterRegistry();
+
+        upstreamCalls = new AtomicInteger();
+        gate = Sinks.empty();
+        chain = exchange -> {
+            upstreamCalls.incrementAndGet();
+            return gate.asMono().then(Mono.defer(() -> {
+                var response = exchange.getResponse();
+                response.setStatusCode(HttpStatus.OK);
+                response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+                byte[] body = "{\"cardId\":1}".getBytes(StandardCharsets.UTF_8);
+                return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+            }));
+        };
+    }
+
+    @Test
+    @DisplayName("Should send concurrent identical GETs upstream once and share the response")
+    void filter_ConcurrentIdenticalGets_ShareOneUpstreamCall() {
+        // Arrange
+        RequestCoalescingFilter filter = new RequestCoalescingFilter(properties, meterRegistry);
+        MockServerWebExchange leader = get("/api/cards/1", null);
+        MockServerWebExchange follower = get("/api/cards/1", null);
+
+        // Act
+        Mono<Void> both = Mono.when(filter.filter(leader, chain), filter.filter(follower, chain));
+        gate.tryEmitEmpty();
+        both.block(Duration.ofSeconds(5));
+
+        // Assert
+        assertEquals(1, upstreamCalls.get());
+        assertEquals(HttpStatus.OK, follower.getResponse().getStatusCode());
+        assertEquals("{\"cardId\":1}", follower.getResponse().getBodyAsString().block());
+        assertEquals(
+                MediaType.APPLICATION_JSON, follower.getResponse().getHeaders().getContentType());
+        assertEquals("true", follower.getResponse().getHeaders().getFirst(RequestCoalescingFilter.COALESCED_HEADER));
+        assertEquals(0.5, filter.coalescingRatio());
+    }
+
+    @Test
+    @DisplayName("Should not merge requests from callers with different roles")
+    void filter_DifferentRoles_CallUpstreamSeparately() {
+        // Arrange
+        RequestCoalescingFilter filter = new RequestCoalescingFilter(properties, meterRegistry);
+
+        // Act
+        Mono<Void> both = Mono.when(
+                filter.filter(get("/api/cards/1", "USER"), chain), filter.filter(get("/api/cards/1", "ADMIN"), chain));
+        gate.tryEmitEmpty();
+        both.block(Duration.ofSeconds(5));
+
+        // Assert
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    @DisplayName("Should send requests upstream once the waiter cap is reached")
+    void filter_WaiterCapReached_GoesUpstream() {
+        // Arrange
+        properties.setMaxWaiters(1);
+        RequestCoalescingFilter filter = new RequestCoalescingFilter(properties, meterRegistry);
+
+        // Act
+        Mono<Void> all = Mono.when(
+                filter.filter(get("/api/cards/1", null), chain),
+                filter.filter(get("/api/cards/1", null), chain),
+                filter.filter(get("/api/cards/1", null), chain));
+        gate.tryEmitEmpty();
+        all.block(Duration.ofSeconds(5));
+
+        // Assert
+        assertEquals(2, upstreamCalls.get());
+        assertEquals(
+                1.0,
+                meterRegistry
+                        .get("gateway.coalescing.requests")
+                        .tag("result", "overflow")
+                        .counter()
+                        .count());
+    }
+
+    @Test
+    @DisplayName("Should let waiters call upstream themselves when the leading request fails")
+    void filter_LeaderFails_WaiterFallsBack() {
+        // Arrange
+        RequestCoalescingFilter filter = new RequestCoalescingFilter(properties, meterRegistry);
+        AtomicInteger calls = new AtomicInteger();
+        GatewayFilterChain failingOnce = exchange -> calls.incrementAndGet() == 1
+                ? gate.asMono().then(Mono.error(new IllegalStateException("upstream down")))
+                : chain.filter(exchange);
+        MockServerWebExchange follower = get("/api/cards/1", null);
+
+        // Act
+        Mono<Void> leader = filter.filter(get("/api/cards/1", null), failingOnce)
+                .onErrorResume(IllegalStateException.class, e -> Mono.empty());
+        Mono<Void> both = Mono.when(leader, filter.filter(follower, failingOnce));
+        gate.tryEmitEmpty();
+        both.block(Duration.ofSeconds(5));
+
+        // Assert
+        assertEquals(2, calls.get());
+        assertEquals("{\"cardId\":1}", follower.getResponse().getBodyAsString().block());
+    }
+
+    @Test
+    @DisplayName("Should pass through paths that are not configured")
+    void filter_UnconfiguredPath_PassesThrough() {
+        // Arrange
+        RequestCoalescingFilter filter = new RequestCoalescingFilter(properties, meterRegistry);
+        gate.tryEmitEmpty();
+
+        // Act
+        filter.filter(get("/api/cards/search", null), chain).block(Duration.ofSeconds(5));
+        filter.filter(get("/api/listings/1", null), chain).block(Duration.ofSeconds(5));
+
+        // Assert
+        assertEquals(2, upstreamCalls.get());
+        assertEquals(0.0, filter.coalescingRatio());
+    }
+
+    private static MockServerWebExchange get(String path, String role) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(path));
+        if (role != null) {
+            exchange.getAttributes()
+                    .put(
+                            JwtAuthenticationFilter.VERIFIED_TOKEN_ATTR,
+                            new VerifiedToken("someone", 1L, role, Instant.now().plusSeconds(60)));
+        }
+        return exchange;
+    }
+}
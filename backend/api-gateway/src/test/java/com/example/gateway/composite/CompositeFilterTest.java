@@ -0,0 +1,94 @@
+package com.example.gateway.composite;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.gateway.metrics.RouteMetricsFilter;
+import com.example.gateway.metrics.RouteMetricsProperties;
+import com.example.gateway.ratelimit.RateLimitFilter;
+import com.example.gateway.ratelimit.RateLimitProperties;
+import com.example.gateway.ratelimit.TokenBucketRateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unit tests for CompositeFilter.
+ */
+class CompositeFilterTest {
+
+    private SimpleMeterRegistry registry;
+    private CompositeFilter filter;
+    private AtomicInteger handlerCalls;
+    private WebFilterChain chain;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties rateLimitProperties = new RateLimitProperties();
+        rateLimitProperties.getRoutes().put(CompositeFilter.ROUTE_ID, new RateLimitProperties.Limit(1, 0.1));
+        registry = new SimpleMeterRegistry();
+        filter = new CompositeFilter(
+                new RateLimitFilter(new TokenBucketRateLimiter(rateLimitProperties), rateLimitProperties),
+                new RouteMetricsFilter(registry, new RouteMetricsProperties()));
+
+        handlerCalls = new AtomicInteger();
+        chain = exchange -> {
+            handlerCalls.incrementAndGet();
+            exchange.getResponse().setStatusCode(HttpStatus.OK);
+            return Mono.empty();
+        };
+    }
+
+    @Test
+    @DisplayName("Should rate limit and time composite requests under the composite route")
+    void filter_CompositePath_RateLimitedAndTimed() {
+        // Act
+        filter.filter(request("/api/composite/listings/1"), chain).block();
+        MockServerWebExchange limited = request("/api/composite/listings/2");
+        filter.filter(limited, chain).block();
+
+        // Assert
+        assertEquals(1, handlerCalls.get());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, limited.getResponse().getStatusCode());
+        assertEquals(
+                1,
+                registry.get(RouteMetricsFilter.METRIC_NAME)
+                        .tag("route", CompositeFilter.ROUTE_ID)
+                        .tag("status", "2xx")
+                        .timer()
+                        .count());
+        assertEquals(
+                1,
+                registry.get(RouteMetricsFilter.METRIC_NAME)
+                        .tag("route", CompositeFilter.ROUTE_ID)
+                        .tag("status", "4xx")
+                        .timer()
+                        .count());
+    }
+
+    @Test
+    @DisplayName("Should leave other paths to the gateway routes")
+    void filter_OtherPath_PassesThrough() {
+        // Act
+        for (int i = 0; i < 3; i++) {
+            filter.filter(request("/api/listings/1"), chain).block();
+        }
+
+        // Assert
+        assertEquals(3, handlerCalls.get());
+        assertNull(registry.find(RouteMetricsFilter.METRIC_NAME).timer());
+    }
+
+    private static MockServerWebExchange request(String path) {
+        return MockServerWebExchange.from(
+                MockServerHttpRequest.get(path).remoteAddress(new InetSocketAddress("10.0.0.1", 40000)));
+    }
+}
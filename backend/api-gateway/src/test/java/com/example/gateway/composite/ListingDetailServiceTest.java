@@ -0,0 +1,181 @@
+package com.example.gateway.composite;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.gateway.concurrency.ConcurrencyLimitFilter;
+import com.example.gateway.concurrency.ConcurrencyLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Unit tests for ListingDetailService.
+ */
+class ListingDetailServiceTest {
+
+    private static final String LISTING = "{\"listingId\":1,\"ownerUserId\":100,\"cardId\":200}";
+    private static final String CARD = "{\"cardId\":200,\"name\":\"Charizard\"}";
+    private static final String OWNER = "{\"userId\":100,\"username\":\"ash\",\"email\":\"ash@example.com\","
+            + "\"latitude\":51.5,\"longitude\":-0.12,\"role\":\"USER\",\"createdAt\":\"2025-01-01T00:00:00\"}";
+
+    private CompositeProperties properties;
+    private ConcurrencyLimitProperties concurrencyProperties;
+    private ConcurrencyLimitFilter concurrencyLimitFilter;
+    private Map<String, Mono<ClientResponse>> responses;
+    private List<String> requested;
+
+    @BeforeEach
+    void setUp() {
+        properties = new CompositeProperties();
+        properties.setCardTimeout(Duration.ofMillis(100));
+        properties.setOwnerTimeout(Duration.ofMillis(100));
+
+        concurrencyProperties = new ConcurrencyLimitProperties();
+        concurrencyLimitFilter = new ConcurrencyLimitFilter(concurrencyProperties, new SimpleMeterRegistry());
+        requested = new ArrayList<>();
+
+        responses = new HashMap<>();
+        responses.put("listing-service/api/listings/1", json(LISTING));
+        responses.put("card-service/api/cards/200", json(CARD));
+        responses.put("user-service/api/users/100", json(OWNER));
+    }
+
+    @Test
+    @DisplayName("Should combine listing, card and owner")
+    void getListingDetail_AllBranchesSucceed_ReturnsFullDetail() {
+        // Act
+        ListingDetail detail = service().getListingDetail(1L).block(Duration.ofSeconds(5));
+
+        // Assert
+        assertNotNull(detail);
+        assertEquals(1, detail.listing().get("listingId"));
+        assertEquals("Charizard", detail.card().get("name"));
+        assertEquals(Map.of("userId", 100, "username", "ash"), detail.owner());
+        assertFalse(detail.partial());
+        assertTrue(detail.errors().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should return a partial detail when the card branch fails")
+    void getListingDetail_CardServiceFails_ReturnsPartial() {
+        // Arrange
+        responses.put(
+                "card-service/api/cards/200",
+                Mono.just(
+                        ClientResponse.create(HttpStatus.INTERNAL_SERVER_ERROR).build()));
+
+        // Act
+        ListingDetail detail = service().getListingDetail(1L).block(Duration.ofSeconds(5));
+
+        // Assert
+        assertNotNull(detail);
+        assertNull(detail.card());
+        assertEquals("ash", detail.owner().get("username"));
+        assertTrue(detail.partial());
+        assertEquals("unavailable", detail.errors().get("card"));
+    }
+
+    @Test
+    @DisplayName("Should return a partial detail when the owner branch times out")
+    void getListingDetail_OwnerTimesOut_ReturnsPartial() {
+        // Arrange
+        responses.put("user-service/api/users/100", Mono.never());
+
+        // Act
+        ListingDetail detail = service().getListingDetail(1L).block(Duration.ofSeconds(5));
+
+        // Assert
+        assertNotNull(detail);
+        assertEquals("Charizard", detail.card().get("name"));
+        assertNull(detail.owner());
+        assertEquals("timed out", detail.errors().get("owner"));
+    }
+
+    @Test
+    @DisplayName("Should fail with 404 when the listing does not exist")
+    void getListingDetail_ListingMissing_Throws404() {
+        // Arrange
+        responses.put(
+                "listing-service/api/listings/1",
+                Mono.just(ClientResponse.create(HttpStatus.NOT_FOUND).build()));
+
+        // Act
+        ResponseStatusException exception = assertThrows(
+                ResponseStatusException.class,
+                () -> service().getListingDetail(1L).block(Duration.ofSeconds(5)));
+
+        // Assert
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Should fail with 502 when listing-service errors")
+    void getListingDetail_ListingServiceError_Throws502() {
+        // Arrange
+        responses.put(
+                "listing-service/api/listings/1",
+                Mono.just(ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).build()));
+
+        // Act
+        ResponseStatusException exception = assertThrows(
+                ResponseStatusException.class,
+                () -> service().getListingDetail(1L).block(Duration.ofSeconds(5)));
+
+        // Assert
+        assertEquals(HttpStatus.BAD_GATEWAY, exception.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Should leave out a branch whose service is at its concurrency limit without calling it")
+    void getListingDetail_CardServiceAtLimit_ShedsBranch() {
+        // Arrange
+        concurrencyProperties.setInitialLimit(1);
+        concurrencyProperties.setMinLimit(1);
+        concurrencyLimitFilter.limit("card-service", true, Mono.never()).subscribe();
+
+        // Act
+        ListingDetail detail = service().getListingDetail(1L).block(Duration.ofSeconds(5));
+
+        // Assert
+        assertNotNull(detail);
+        assertNull(detail.card());
+        assertEquals("unavailable", detail.errors().get("card"));
+        assertFalse(requested.contains("card-service/api/cards/200"));
+        assertTrue(requested.contains("user-service/api/users/100"));
+    }
+
+    private ListingDetailService service() {
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> {
+                    String key = request.url().getHost() + request.url().getPath();
+                    requested.add(key);
+                    return responses.getOrDefault(
+                            key,
+                            Mono.just(
+                                    ClientResponse.create(HttpStatus.NOT_FOUND).build()));
+                })
+                .build();
+        return new ListingDetailService(webClient, properties, concurrencyLimitFilter);
+    }
+
+    private static Mono<ClientResponse> json(String body) {
+        return Mono.just(ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(body)
+                .build());
+    }
+}
@@ -0,0 +1,201 @@
+package com.example.gateway.concurrency;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Unit tests for ConcurrencyLimitFilter.
+ */
+class ConcurrencyLimitFilterTest {
+
+    private SimpleMeterRegistry registry;
+    private ConcurrencyLimitProperties properties;
+    private ConcurrencyLimitFilter filter;
+    private Sinks.Empty<Void> upstream;
+    private GatewayFilterChain slowChain;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        properties = new ConcurrencyLimitProperties();
+        properties.setInitialLimit(5);
+        properties.setMinLimit(1);
+        properties.setBrowseShare(0.6);
+        properties.setPriorityMethods(List.of("POST", "PUT", "DELETE"));
+        properties.setPriorityPaths(List.of("/api/auth/**"));
+        filter = new ConcurrencyLimitFilter(properties, registry);
+
+        upstream = Sinks.empty();
+        slowChain = exchange -> upstream.asMono();
+    }
+
+    @Test
+    @DisplayName("Should shed browse requests with 503 once their share of the limit is in flight")
+    void filter_BrowseOverShare_Returns503() {
+        // Arrange
+        List<MockServerWebExchange> admitted = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            MockServerWebExchange exchange = routed("/api/listings/" + i, "lb://listing-service");
+            filter.filter(exchange, slowChain).subscribe();
+            admitted.add(exchange);
+        }
+
+        // Act
+        MockServerWebExchange shed = routed("/api/listings/9", "lb://listing-service");
+        filter.filter(shed, slowChain).block();
+
+        // Assert
+        admitted.forEach(exchange -> assertNull(exchange.getResponse().getStatusCode()));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, shed.getResponse().getStatusCode());
+        assertEquals("1", shed.getResponse().getHeaders().getFirst("Retry-After"));
+        assertEquals(
+                1.0,
+                registry.get("gateway.concurrency.rejected")
+                        .tag("priority", "false")
+                        .counter()
+                        .count());
+        assertEquals(
+                3.0,
+                registry.get("gateway.concurrency.in.flight")
+                        .tag("service", "listing-service")
+                        .gauge()
+                        .value());
+    }
+
+    @Test
+    @DisplayName("Should still admit priority requests while browse traffic is being shed")
+    void filter_PriorityPath_UsesReservedShare() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            filter.filter(routed("/api/listings/" + i, "lb://listing-service"), slowChain)
+                    .subscribe();
+        }
+
+        // Act
+        MockServerWebExchange login = routed("/api/auth/login", "lb://listing-service");
+        filter.filter(login, slowChain).subscribe();
+
+        // Assert
+        assertNull(login.getResponse().getStatusCode());
+        assertEquals(
+                4.0,
+                registry.get("gateway.concurrency.in.flight")
+                        .tag("service", "listing-service")
+                        .gauge()
+                        .value());
+    }
+
+    @Test
+    @DisplayName("Should admit listing changes on a service's limiter while its browse requests are shed")
+    void filter_PriorityMethod_AdmittedWhileBrowseShed() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            filter.filter(routed("/api/listings/" + i, "lb://listing-service"), slowChain)
+                    .subscribe();
+        }
+
+        // Act
+        MockServerWebExchange browse = routed("/api/listings/active", "lb://listing-service");
+        filter.filter(browse, slowChain).subscribe();
+        MockServerWebExchange create =
+                routed(MockServerHttpRequest.post("/api/listings").build(), "lb://listing-service");
+        filter.filter(create, slowChain).subscribe();
+        MockServerWebExchange cancel =
+                routed(MockServerHttpRequest.post("/api/listings/1/cancel").build(), "lb://listing-service");
+        filter.filter(cancel, slowChain).subscribe();
+        MockServerWebExchange overLimit =
+                routed(MockServerHttpRequest.delete("/api/listings/2").build(), "lb://listing-service");
+        filter.filter(overLimit, slowChain).subscribe();
+
+        // Assert
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, browse.getResponse().getStatusCode());
+        assertNull(create.getResponse().getStatusCode());
+        assertNull(cancel.getResponse().getStatusCode());
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, overLimit.getResponse().getStatusCode());
+        assertEquals(
+                1.0,
+                registry.get("gateway.concurrency.rejected")
+                        .tags("service", "listing-service", "priority", "false")
+                        .counter()
+                        .count());
+        assertEquals(
+                1.0,
+                registry.get("gateway.concurrency.rejected")
+                        .tags("service", "listing-service", "priority", "true")
+                        .counter()
+                        .count());
+    }
+
+    @Test
+    @DisplayName("Should free the slot and back off when the service times out")
+    void filter_Timeout_ReleasesAndBacksOff() {
+        // Act
+        assertThrows(RuntimeException.class, () -> filter.filter(
+                        routed("/api/cards/1", "lb://card-service"), exchange -> Mono.error(new TimeoutException()))
+                .block());
+
+        // Assert
+        assertEquals(
+                0.0,
+                registry.get("gateway.concurrency.in.flight")
+                        .tag("service", "card-service")
+                        .gauge()
+                        .value());
+        assertEquals(
+                4.0,
+                registry.get("gateway.concurrency.limit")
+                        .tag("service", "card-service")
+                        .gauge()
+                        .value());
+    }
+
+    @Test
+    @DisplayName("Should leave routes that are not load balanced alone")
+    void filter_NonLbRoute_PassesThrough() {
+        // Arrange
+        properties.setInitialLimit(1);
+        ConcurrencyLimitFilter tight = new ConcurrencyLimitFilter(properties, registry);
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            MockServerWebExchange exchange = routed("/api/listings/" + i, "http://localhost:8082");
+            tight.filter(exchange, slowChain).subscribe();
+            assertNull(exchange.getResponse().getStatusCode());
+        }
+
+        // Assert
+        assertNull(registry.find("gateway.concurrency.in.flight").gauge());
+    }
+
+    private static MockServerWebExchange routed(String path, String uri) {
+        return routed(MockServerHttpRequest.get(path).build(), uri);
+    }
+
+    private static MockServerWebExchange routed(MockServerHttpRequest request, String uri) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        Route route = Route.async()
+                .id("test-route")
+                .uri(URI.create(uri))
+                .predicate(e -> true)
+                .build();
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route);
+        return exchange;
+    }
+}
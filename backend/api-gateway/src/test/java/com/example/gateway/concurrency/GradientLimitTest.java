@@ -0,0 +1,94 @@
+package com.example.gateway.concurrency;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for GradientLimit.
+ */
+class GradientLimitTest {
+
+    private static final long MILLIS = 1_000_000L;
+
+    private ConcurrencyLimitProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ConcurrencyLimitProperties();
+        properties.setInitialLimit(20);
+        properties.setMinLimit(4);
+        properties.setMaxLimit(100);
+        properties.setWindowSize(5);
+    }
+
+    @Test
+    @DisplayName("Should raise the limit while latency stays at its baseline under load")
+    void onSample_SteadyLatency_LimitGrows() {
+        // Arrange
+        GradientLimit limit = new GradientLimit(properties);
+
+        // Act
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(20 * MILLIS, limit.getLimit());
+        }
+
+        // Assert
+        assertTrue(limit.getLimit() > 20);
+    }
+
+    @Test
+    @DisplayName("Should lower the limit once latency climbs well above its baseline")
+    void onSample_LatencyRises_LimitShrinks() {
+        // Arrange
+        GradientLimit limit = new GradientLimit(properties);
+        for (int i = 0; i < 5; i++) {
+            limit.onSample(20 * MILLIS, 20);
+        }
+        int before = limit.getLimit();
+
+        // Act
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(200 * MILLIS, 20);
+        }
+
+        // Assert
+        assertTrue(limit.getLimit() < before);
+        assertTrue(limit.getLimit() >= 4);
+    }
+
+    @Test
+    @DisplayName("Should not grow when traffic never gets near the limit")
+    void onSample_AppLimited_LimitUnchanged() {
+        // Arrange
+        GradientLimit limit = new GradientLimit(properties);
+
+        // Act
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(20 * MILLIS, 2);
+        }
+
+        // Assert
+        assertEquals(20, limit.getLimit());
+    }
+
+    @Test
+    @DisplayName("Should back off on drops but never below the minimum")
+    void onDropped_RepeatedDrops_StopsAtMinimum() {
+        // Arrange
+        GradientLimit limit = new GradientLimit(properties);
+
+        // Act
+        limit.onDropped();
+        int afterOne = limit.getLimit();
+        for (int i = 0; i < 100; i++) {
+            limit.onDropped();
+        }
+
+        // Assert
+        assertEquals(18, afterOne);
+        assertEquals(4, limit.getLimit());
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.gateway.loadbalancer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.DefaultRequestContext;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Unit tests for InstanceStatsRegistry.
+ */
+class InstanceStatsRegistryTest {
+
+    private static final long MILLIS = 1_000_000L;
+
+    private final ServiceInstance instance =
+            new DefaultServiceInstance("card-1", "card-service", "10.0.0.1", 8081, false);
+
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicLong now;
+    private InstanceStatsRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        LoadBalancingProperties properties = new LoadBalancingProperties();
+        properties.setDecay(Duration.ofSeconds(10));
+        properties.setFailurePenalty(Duration.ofSeconds(1));
+        meterRegistry = new SimpleMeterRegistry();
+        now = new AtomicLong(1_000 * MILLIS);
+        registry = new InstanceStatsRegistry(properties, meterRegistry, now::get);
+    }
+
+    @Test
+    @DisplayName("Should count outstanding requests and record their latency")
+    void lifecycle_Request_TracksOutstandingAndLatency() {
+        // Arrange
+        Request<Object> request = new DefaultRequest<>(new DefaultRequestContext());
+        Response<ServiceInstance> response = new DefaultResponse(instance);
+
+        // Act
+        registry.onStartRequest(request, response);
+        int during = registry.statsFor(instance).outstanding();
+        now.addAndGet(40 * MILLIS);
+        registry.onComplete(new CompletionContext<>(CompletionContext.Status.SUCCESS, request, response));
+
+        // Assert
+        assertEquals(1, during);
+        assertEquals(0, registry.statsFor(instance).outstanding());
+        assertEquals(40 * MILLIS, registry.statsFor(instance).latencyNanos(), 1);
+        assertEquals(
+                0.04,
+                meterRegistry
+                        .get("gateway.loadbalancer.latency")
+                        .tag("instance", "10.0.0.1:8081")
+                        .gauge()
+                        .value(),
+                1e-6);
+    }
+
+    @Test
+    @DisplayName("Should jump to a slow sample at once but recover from it gradually")
+    void recordLatency_PeakThenFast_DecaysSlowly() {
+        // Arrange
+        InstanceStats stats = registry.statsFor(instance);
+        stats.recordLatency(10 * MILLIS, now.get());
+
+        // Act
+        stats.recordLatency(500 * MILLIS, now.addAndGet(100 * MILLIS));
+        double afterPeak = stats.latencyNanos();
+        stats.recordLatency(10 * MILLIS, now.addAndGet(1_000 * MILLIS));
+
+        // Assert
+        assertEquals(500 * MILLIS, afterPeak, 1);
+        assertTrue(stats.latencyNanos() > 400 * MILLIS);
+        assertTrue(stats.latencyNanos() < 500 * MILLIS);
+    }
+
+    @Test
+    @DisplayName("Should charge the failure penalty when a request fails")
+    void onComplete_Failed_RecordsPenalty() {
+        // Arrange
+        Request<Object> request = new DefaultRequest<>(new DefaultRequestContext());
+        Response<ServiceInstance> response = new DefaultResponse(instance);
+        registry.onStartRequest(request, response);
+
+        // Act
+        registry.onComplete(new CompletionContext<>(
+                CompletionContext.Status.FAILED, new IllegalStateException(), request, response));
+
+        // Assert
+        assertEquals(1_000 * MILLIS, registry.statsFor(instance).latencyNanos(), 1);
+        assertEquals(0, registry.statsFor(instance).outstanding());
+    }
+
+    @Test
+    @DisplayName("Should forget instances that are no longer registered")
+    void retain_InstanceGone_RemovesStatsAndGauges() {
+        // Arrange
+        ServiceInstance other = new DefaultServiceInstance("card-2", "card-service", "10.0.0.2", 8081, false);
+        registry.statsFor(instance);
+        registry.statsFor(other);
+
+        // Act
+        registry.retain("card-service", List.of(other));
+
+        // Assert
+        assertNull(meterRegistry
+                .find("gateway.loadbalancer.score")
+                .tag("instance", "10.0.0.1:8081")
+                .gauge());
+        assertNotNull(meterRegistry
+                .find("gateway.loadbalancer.score")
+                .tag("instance", "10.0.0.2:8081")
+                .gauge());
+    }
+}
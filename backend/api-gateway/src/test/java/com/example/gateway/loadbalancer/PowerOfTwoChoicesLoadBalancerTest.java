@@ -0,0 +1,105 @@
+package com.example.gateway.loadbalancer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+/**
+ * Unit tests for PowerOfTwoChoicesLoadBalancer.
+ */
+class PowerOfTwoChoicesLoadBalancerTest {
+
+    private static final long MILLIS = 1_000_000L;
+
+    private final ServiceInstance fast = instance("10.0.0.1");
+    private final ServiceInstance slow = instance("10.0.0.2");
+
+    private InstanceStatsRegistry registry;
+    private PowerOfTwoChoicesLoadBalancer balancer;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        registry =
+                new InstanceStatsRegistry(new LoadBalancingProperties(), new SimpleMeterRegistry(), System::nanoTime);
+        balancer = new PowerOfTwoChoicesLoadBalancer(mock(ObjectProvider.class), "listing-service", registry);
+    }
+
+    @Test
+    @DisplayName("Should always prefer the faster of two instances")
+    void choose_TwoInstances_PicksLowerLatency() {
+        // Arrange
+        registry.statsFor(fast).recordLatency(10 * MILLIS, System.nanoTime());
+        registry.statsFor(slow).recordLatency(400 * MILLIS, System.nanoTime());
+
+        // Act & Assert
+        for (int i = 0; i < 20; i++) {
+            assertEquals(fast, balancer.select(List.of(fast, slow)).getServer());
+        }
+    }
+
+    @Test
+    @DisplayName("Should move away from an instance with many requests outstanding")
+    void choose_Backlogged_PicksOther() {
+        // Arrange
+        registry.statsFor(fast).recordLatency(10 * MILLIS, System.nanoTime());
+        registry.statsFor(slow).recordLatency(30 * MILLIS, System.nanoTime());
+        for (int i = 0; i < 5; i++) {
+            registry.statsFor(fast).requestStarted();
+        }
+
+        // Act
+        Response<ServiceInstance> response = balancer.select(List.of(fast, slow));
+
+        // Assert
+        assertEquals(slow, response.getServer());
+    }
+
+    @Test
+    @DisplayName("Should return the only instance, or none when the service has none")
+    void choose_ZeroOrOneInstance() {
+        // Act & Assert
+        assertFalse(balancer.select(List.of()).hasServer());
+        assertEquals(slow, balancer.select(List.of(slow)).getServer());
+    }
+
+    @Test
+    @DisplayName("Should choose through the instance supplier of the service")
+    @SuppressWarnings("unchecked")
+    void choose_Request_UsesSupplier() {
+        // Arrange
+        ServiceInstanceListSupplier supplier = mock(ServiceInstanceListSupplier.class);
+        when(supplier.get(any())).thenReturn(Flux.just(List.of(slow)));
+        ObjectProvider<ServiceInstanceListSupplier> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable(any())).thenReturn(supplier);
+        PowerOfTwoChoicesLoadBalancer withSupplier =
+                new PowerOfTwoChoicesLoadBalancer(provider, "listing-service", registry);
+
+        // Act
+        Response<ServiceInstance> response =
+                withSupplier.choose(new DefaultRequest<>()).block();
+
+        // Assert
+        assertNotNull(response);
+        assertEquals(slow, response.getServer());
+    }
+
+    private static ServiceInstance instance(String host) {
+        return new DefaultServiceInstance(host, "listing-service", host, 8082, false);
+    }
+}
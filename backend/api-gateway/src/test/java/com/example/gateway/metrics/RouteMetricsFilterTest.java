@@ -0,0 +1,134 @@
+package com.example.gateway.metrics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.gateway.security.JwtAuthenticationFilter;
+import com.example.gateway.security.VerifiedToken;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Instant;
+
+/**
+ * Unit tests for RouteMetricsFilter.
+ */
+class RouteMetricsFilterTest {
+
+    private SimpleMeterRegistry registry;
+    private RouteMetricsFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        filter = new RouteMetricsFilter(registry, new RouteMetricsProperties());
+    }
+
+    @Test
+    @DisplayName("Should tag a proxied request with route, status class, instance and caller")
+    void filter_ProxiedRequest_TaggedWithInstance() {
+        // Arrange
+        MockServerWebExchange exchange = routed("listing-route");
+        exchange.getAttributes()
+                .put(
+                        JwtAuthenticationFilter.VERIFIED_TOKEN_ATTR,
+                        new VerifiedToken("alice", 1L, "USER", Instant.now().plusSeconds(60)));
+        GatewayFilterChain chain = ex -> {
+            ex.getAttributes()
+                    .put(
+                            ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR,
+                            URI.create("http://10.0.0.5:8082/api/listings"));
+            ex.getResponse().setStatusCode(HttpStatus.CREATED);
+            return Mono.empty();
+        };
+
+        // Act
+        filter.filter(exchange, chain).block();
+
+        // Assert
+        Timer timer = registry.find(RouteMetricsFilter.METRIC_NAME)
+                .tags("route", "listing-route", "status", "2xx", "instance", "10.0.0.5:8082", "authenticated", "true")
+                .timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    @DisplayName("Should tag a request answered by the gateway itself with no instance")
+    void filter_AnsweredAtGateway_TaggedWithoutInstance() {
+        // Arrange
+        MockServerWebExchange exchange = routed("auth-route");
+        exchange.getAttributes()
+                .put(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR, URI.create("lb://auth-service/api/auth/login"));
+        GatewayFilterChain chain = ex -> {
+            ex.getResponse().setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+            return ex.getResponse().setComplete();
+        };
+
+        // Act
+        filter.filter(exchange, chain).block();
+
+        // Assert
+        assertNotNull(registry.find(RouteMetricsFilter.METRIC_NAME)
+                .tags("route", "auth-route", "status", "4xx", "instance", "none", "authenticated", "false")
+                .timer());
+    }
+
+    @Test
+    @DisplayName("Should count an error by its status, or as 5xx when it has none")
+    void filter_Error_TaggedByStatus() {
+        // Act
+        assertThrows(ResponseStatusException.class, () -> filter.filter(
+                        routed("card-route"), ex -> Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
+                .block());
+        assertThrows(IllegalStateException.class, () -> filter.filter(
+                        routed("card-route"), ex -> Mono.error(new IllegalStateException("boom")))
+                .block());
+
+        // Assert
+        assertNotNull(registry.find(RouteMetricsFilter.METRIC_NAME)
+                .tags("status", "4xx")
+                .timer());
+        assertNotNull(registry.find(RouteMetricsFilter.METRIC_NAME)
+                .tags("status", "5xx")
+                .timer());
+    }
+
+    @Test
+    @DisplayName("Should record nothing when disabled")
+    void filter_Disabled_RecordsNothing() {
+        // Arrange
+        RouteMetricsProperties properties = new RouteMetricsProperties();
+        properties.setEnabled(false);
+        RouteMetricsFilter disabled = new RouteMetricsFilter(registry, properties);
+
+        // Act
+        disabled.filter(routed("card-route"), ex -> Mono.empty()).block();
+
+        // Assert
+        assertNull(registry.find(RouteMetricsFilter.METRIC_NAME).timer());
+    }
+
+    private static MockServerWebExchange routed(String routeId) {
+        MockServerWebExchange exchange =
+                MockServerWebExchange.from(MockServerHttpRequest.get("/").build());
+        Route route = Route.async()
+                .id(routeId)
+                .uri(URI.create("lb://some-service"))
+                .predicate(e -> true)
+                .build();
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route);
+        return exchange;
+    }
+}
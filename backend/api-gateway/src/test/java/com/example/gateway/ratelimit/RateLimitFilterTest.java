@@ -0,0 +1,131 @@
+package com.example.gateway.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.gateway.security.JwtAuthenticationFilter;
+import com.example.gateway.security.VerifiedToken;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unit tests for RateLimitFilter.
+ */
+class RateLimitFilterTest {
+
+    private RateLimitFilter filter;
+    private AtomicInteger upstreamCalls;
+    private GatewayFilterChain chain;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getRoutes().put("auth-route", new RateLimitProperties.Limit(2, 0.1));
+        filter = new RateLimitFilter(new TokenBucketRateLimiter(properties), properties);
+
+        upstreamCalls = new AtomicInteger();
+        chain = exchange -> {
+            upstreamCalls.incrementAndGet();
+            return Mono.empty();
+        };
+    }
+
+    @Test
+    @DisplayName("Should return 429 with Retry-After once the bucket is empty")
+    void filter_OverLimit_Returns429() {
+        // Act
+        MockServerWebExchange first = anonymous("auth-route", "10.0.0.1");
+        filter.filter(first, chain).block();
+        filter.filter(anonymous("auth-route", "10.0.0.1"), chain).block();
+        MockServerWebExchange third = anonymous("auth-route", "10.0.0.1");
+        filter.filter(third, chain).block();
+
+        // Assert
+        assertEquals(2, upstreamCalls.get());
+        assertEquals("1", first.getResponse().getHeaders().getFirst(RateLimitFilter.REMAINING_HEADER));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, third.getResponse().getStatusCode());
+        assertEquals("10", third.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    @DisplayName("Should key anonymous callers by socket address whatever X-Forwarded-For they send")
+    void filter_RotatedForwardedFor_SameBucket() {
+        // Act
+        for (int i = 0; i < 3; i++) {
+            MockServerWebExchange exchange = anonymous("auth-route", "10.0.0.1", "203.0.113." + i);
+            filter.filter(exchange, chain).block();
+        }
+
+        // Assert
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    @DisplayName("Should key authenticated callers by subject rather than address")
+    void filter_Authenticated_KeyedBySubject() {
+        // Arrange
+        VerifiedToken alice =
+                new VerifiedToken("alice", 1L, "USER", Instant.now().plusSeconds(60));
+        VerifiedToken bob = new VerifiedToken("bob", 2L, "USER", Instant.now().plusSeconds(60));
+
+        // Act
+        for (int i = 0; i < 2; i++) {
+            MockServerWebExchange exchange = anonymous("auth-route", "10.0.0.1");
+            exchange.getAttributes().put(JwtAuthenticationFilter.VERIFIED_TOKEN_ATTR, alice);
+            filter.filter(exchange, chain).block();
+        }
+        MockServerWebExchange fromBob = anonymous("auth-route", "10.0.0.1");
+        fromBob.getAttributes().put(JwtAuthenticationFilter.VERIFIED_TOKEN_ATTR, bob);
+        filter.filter(fromBob, chain).block();
+
+        // Assert
+        assertEquals(3, upstreamCalls.get());
+        assertNull(fromBob.getResponse().getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Should not limit routes without a configured limit")
+    void filter_UnconfiguredRoute_PassesThrough() {
+        // Act
+        for (int i = 0; i < 5; i++) {
+            filter.filter(anonymous("card-route", "10.0.0.1"), chain).block();
+        }
+
+        // Assert
+        assertEquals(5, upstreamCalls.get());
+    }
+
+    private static MockServerWebExchange anonymous(String routeId, String address) {
+        return anonymous(routeId, address, null);
+    }
+
+    private static MockServerWebExchange anonymous(String routeId, String address, String forwardedFor) {
+        MockServerHttpRequest.BodyBuilder builder =
+                MockServerHttpRequest.post("/api/auth/login").remoteAddress(new InetSocketAddress(address, 40000));
+        if (forwardedFor != null) {
+            builder.header("X-Forwarded-For", forwardedFor);
+        }
+        MockServerHttpRequest request = builder.build();
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        Route route = Route.async()
+                .id(routeId)
+                .uri(URI.create("lb://auth-service"))
+                .predicate(e -> true)
+                .build();
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route);
+        return exchange;
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.gateway.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Unit tests for TokenBucketRateLimiter.
+ */
+class TokenBucketRateLimiterTest {
+
+    private final RateLimitProperties.Limit limit = new RateLimitProperties.Limit(3, 1);
+
+    private AtomicLong nanos;
+    private TokenBucketRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        nanos = new AtomicLong(1_000_000_000L);
+        rateLimiter = new TokenBucketRateLimiter(Duration.ofMinutes(1), nanos::get);
+    }
+
+    @Test
+    @DisplayName("Should allow a burst up to capacity and then reject with a retry delay")
+    void tryAcquire_BurstExceedsCapacity_RejectsWithRetryAfter() {
+        // Act
+        TokenBucketRateLimiter.Decision first = rateLimiter.tryAcquire("user-a", limit);
+        rateLimiter.tryAcquire("user-a", limit);
+        TokenBucketRateLimiter.Decision third = rateLimiter.tryAcquire("user-a", limit);
+        TokenBucketRateLimiter.Decision fourth = rateLimiter.tryAcquire("user-a", limit);
+
+        // Assert
+        assertTrue(first.allowed());
+        assertEquals(2, first.remaining());
+        assertTrue(third.allowed());
+        assertEquals(0, third.remaining());
+        assertFalse(fourth.allowed());
+        assertEquals(Duration.ofSeconds(1), fourth.retryAfter());
+    }
+
+    @Test
+    @DisplayName("Should refill tokens as time passes")
+    void tryAcquire_AfterRefillPeriod_AllowsAgain() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.tryAcquire("user-a", limit);
+        }
+
+        // Act
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        TokenBucketRateLimiter.Decision halfway = rateLimiter.tryAcquire("user-a", limit);
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        TokenBucketRateLimiter.Decision refilled = rateLimiter.tryAcquire("user-a", limit);
+
+        // Assert
+        assertFalse(halfway.allowed());
+        assertEquals(Duration.ofMillis(500), halfway.retryAfter());
+        assertTrue(refilled.allowed());
+    }
+
+    @Test
+    @DisplayName("Should keep separate buckets per key")
+    void tryAcquire_DifferentKeys_AreIndependent() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.tryAcquire("user-a", limit);
+        }
+
+        // Act
+        TokenBucketRateLimiter.Decision other = rateLimiter.tryAcquire("user-b", limit);
+
+        // Assert
+        assertTrue(other.allowed());
+        assertFalse(rateLimiter.tryAcquire("user-a", limit).allowed());
+    }
+
+    @Test
+    @DisplayName("Should evict buckets that have been idle and refilled")
+    void tryAcquire_IdleBuckets_AreEvicted() {
+        // Arrange
+        rateLimiter.tryAcquire("user-a", limit);
+        rateLimiter.tryAcquire("user-b", limit);
+        assertEquals(2, rateLimiter.size());
+
+        // Act
+        nanos.addAndGet(Duration.ofMinutes(2).toNanos());
+        rateLimiter.tryAcquire("user-c", limit);
+
+        // Assert
+        assertEquals(1, rateLimiter.size());
+    }
+
+    @Test
+    @DisplayName("Should never hand out more tokens than capacity under contention")
+    void tryAcquire_ConcurrentCallers_RespectCapacity() throws InterruptedException {
+        // Arrange
+        RateLimitProperties.Limit noRefill = new RateLimitProperties.Limit(100, 0.000001);
+        AtomicInteger allowed = new AtomicInteger();
+
+        // Act
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 1000; i++) {
+                executor.execute(() -> {
+                    if (rateLimiter.tryAcquire("shared", noRefill).allowed()) {
+                        allowed.incrementAndGet();
+                    }
+                });
+            }
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+
+        // Assert
+        assertEquals(100, allowed.get());
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.gateway.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Unit tests for ClientAddressFilter.
+ */
+class ClientAddressFilterTest {
+
+    private ClientAddressFilter filter;
+    private AtomicReference<HttpHeaders> forwarded;
+    private GatewayFilterChain chain;
+
+    @BeforeEach
+    void setUp() {
+        filter = new ClientAddressFilter();
+        forwarded = new AtomicReference<>();
+        chain = exchange -> {
+            forwarded.set(exchange.getRequest().getHeaders());
+            return Mono.empty();
+        };
+    }
+
+    @Test
+    @DisplayName("Should overwrite client-supplied address headers with the socket peer address")
+    void filter_SpoofedHeaders_ReplacedWithPeer() {
+        // Arrange
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/api/auth/login")
+                .remoteAddress(new InetSocketAddress("198.51.100.7", 40000))
+                .header(ClientAddressFilter.FORWARDED_FOR_HEADER, "10.0.0.1, 203.0.113.9")
+                .header("Forwarded", "for=203.0.113.9")
+                .header("X-Real-IP", "203.0.113.9"));
+
+        // Act
+        filter.filter(exchange, chain).block();
+
+        // Assert
+        HttpHeaders headers = forwarded.get();
+        assertEquals(List.of("198.51.100.7"), headers.get(ClientAddressFilter.FORWARDED_FOR_HEADER));
+        assertNull(headers.getFirst("Forwarded"));
+        assertNull(headers.getFirst("X-Real-IP"));
+    }
+
+    @Test
+    @DisplayName("Should only drop the address headers when the peer address is unknown")
+    void filter_NoRemoteAddress_RemovesHeaders() {
+        // Arrange
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/api/auth/login")
+                .header(ClientAddressFilter.FORWARDED_FOR_HEADER, "203.0.113.9"));
+
+        // Act
+        filter.filter(exchange, chain).block();
+
+        // Assert
+        assertNull(forwarded.get().getFirst(ClientAddressFilter.FORWARDED_FOR_HEADER));
+    }
+}
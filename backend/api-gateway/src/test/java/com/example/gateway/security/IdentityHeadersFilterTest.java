@@ -0,0 +1,97 @@
+package com.example.gateway.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Unit tests for IdentityHeadersFilter.
+ */
+class IdentityHeadersFilterTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    private IdentityHeadersFilter filter;
+    private AtomicReference<HttpHeaders> forwarded;
+    private GatewayFilterChain chain;
+
+    @BeforeEach
+    void setUp() {
+        filter = new IdentityHeadersFilter("test-identity-secret", Clock.fixed(NOW, ZoneOffset.UTC));
+        forwarded = new AtomicReference<>();
+        chain = exchange -> {
+            forwarded.set(exchange.getRequest().getHeaders());
+            return Mono.empty();
+        };
+    }
+
+    @Test
+    @DisplayName("Should inject signed identity headers for a verified token")
+    void filter_VerifiedToken_InjectsSignedHeaders() {
+        // Arrange
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/api/trades"));
+        exchange.getAttributes()
+                .put(JwtAuthenticationFilter.VERIFIED_TOKEN_ATTR, new VerifiedToken("alice", 42L, "USER", NOW));
+
+        // Act
+        filter.filter(exchange, chain).block();
+
+        // Assert
+        HttpHeaders headers = forwarded.get();
+        assertEquals("42", headers.getFirst(IdentityHeadersFilter.USER_ID_HEADER));
+        assertEquals("alice", headers.getFirst(IdentityHeadersFilter.USERNAME_HEADER));
+        assertEquals("USER", headers.getFirst(IdentityHeadersFilter.ROLE_HEADER));
+        assertEquals(Long.toString(NOW.getEpochSecond()), headers.getFirst(IdentityHeadersFilter.TIMESTAMP_HEADER));
+        assertEquals(
+                filter.sign("42", "alice", "USER", Long.toString(NOW.getEpochSecond())),
+                headers.getFirst(IdentityHeadersFilter.SIGNATURE_HEADER));
+    }
+
+    @Test
+    @DisplayName("Should strip client-supplied identity headers from anonymous requests")
+    void filter_SpoofedHeaders_AreRemoved() {
+        // Arrange
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/api/trades")
+                .header(IdentityHeadersFilter.USER_ID_HEADER, "1")
+                .header(IdentityHeadersFilter.ROLE_HEADER, "ADMIN")
+                .header(IdentityHeadersFilter.SIGNATURE_HEADER, "forged"));
+
+        // Act
+        filter.filter(exchange, chain).block();
+
+        // Assert
+        HttpHeaders headers = forwarded.get();
+        assertFalse(headers.containsHeader(IdentityHeadersFilter.USER_ID_HEADER));
+        assertFalse(headers.containsHeader(IdentityHeadersFilter.ROLE_HEADER));
+        assertFalse(headers.containsHeader(IdentityHeadersFilter.SIGNATURE_HEADER));
+    }
+
+    @Test
+    @DisplayName("Should not inject headers for tokens without a user ID")
+    void filter_TokenWithoutUserId_InjectsNothing() {
+        // Arrange
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.get("/api/trades").header(IdentityHeadersFilter.USER_ID_HEADER, "1"));
+        exchange.getAttributes()
+                .put(JwtAuthenticationFilter.VERIFIED_TOKEN_ATTR, new VerifiedToken("alice", null, "USER", NOW));
+
+        // Act
+        filter.filter(exchange, chain).block();
+
+        // Assert
+        assertFalse(forwarded.get().containsHeader(IdentityHeadersFilter.USER_ID_HEADER));
+        assertFalse(forwarded.get().containsHeader(IdentityHeadersFilter.SIGNATURE_HEADER));
+    }
+}
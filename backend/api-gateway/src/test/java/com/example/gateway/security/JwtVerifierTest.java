@@ -0,0 +1,151 @@
+package com.example.gateway.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.Optional;
+
+/**
+ * Unit tests for JwtVerifier.
+ */
+class JwtVerifierTest {
+
+    private static final String SECRET = "averylongsecretkeythatissecureenoughforhmacsha256algorithm";
+    private static final long EXPIRATION = 60_000L;
+
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = spy(new JwtUtil(SECRET, EXPIRATION));
+    }
+
+    @Test
+    @DisplayName("Should return subject, user ID and role of a valid token")
+    void verify_ValidToken_ReturnsClaims() {
+        // Arrange
+        JwtVerifier verifier = new JwtVerifier(jwtUtil, 10);
+        String token = tokenFor("alice", "ADMIN", EXPIRATION);
+
+        // Act
+        Optional<VerifiedToken> result = verifier.verify(token);
+
+        // Assert
+        assertTrue(result.isPresent());
+        assertEquals("alice", result.get().subject());
+        assertEquals(7L, result.get().userId());
+        assertEquals("ADMIN", result.get().role());
+    }
+
+    @Test
+    @DisplayName("Should parse a repeated token only once")
+    void verify_SameTokenTwice_ParsesOnce() {
+        // Arrange
+        JwtVerifier verifier = new JwtVerifier(jwtUtil, 10);
+        String token = tokenFor("alice", "USER", EXPIRATION);
+
+        // Act
+        verifier.verify(token);
+        verifier.verify(token);
+
+        // Assert
+        verify(jwtUtil, times(1)).parseClaims(anyString());
+    }
+
+    @Test
+    @DisplayName("Should reject a token signed with another key")
+    void verify_ForgedToken_ReturnsEmpty() {
+        // Arrange
+        JwtVerifier verifier = new JwtVerifier(jwtUtil, 10);
+        String forged = Jwts.builder()
+                .subject("mallory")
+                .expiration(new Date(System.currentTimeMillis() + EXPIRATION))
+                .signWith(Keys.hmacShaKeyFor("another-secret-key-that-is-long-enough-for-hs256".getBytes()))
+                .compact();
+
+        // Act & Assert
+        assertTrue(verifier.verify(forged).isEmpty());
+        assertTrue(verifier.verify("not-a-jwt").isEmpty());
+        assertEquals(0, verifier.size());
+    }
+
+    @Test
+    @DisplayName("Should stop serving a cached token once it expires")
+    void verify_CachedTokenExpired_ReturnsEmpty() {
+        // Arrange
+        String token = tokenFor("alice", "USER", 5_000L);
+        MutableClock clock = new MutableClock(Instant.now());
+        JwtVerifier verifier = new JwtVerifier(jwtUtil, 10, clock);
+        assertTrue(verifier.verify(token).isPresent());
+
+        // Act
+        clock.now = clock.now.plusSeconds(10);
+
+        // Assert
+        assertTrue(verifier.verify(token).isEmpty());
+        assertEquals(0, verifier.size());
+    }
+
+    @Test
+    @DisplayName("Should never grow beyond the configured number of entries")
+    void verify_ManyTokens_StaysBounded() {
+        // Arrange
+        JwtVerifier verifier = new JwtVerifier(jwtUtil, 3);
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            assertTrue(verifier.verify(tokenFor("user" + i, "USER", EXPIRATION)).isPresent());
+        }
+
+        // Assert
+        assertTrue(verifier.size() <= 3);
+    }
+
+    private static String tokenFor(String subject, String role, long ttlMillis) {
+        return Jwts.builder()
+                .claim("role", role)
+                .claim("userId", 7)
+                .subject(subject)
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + ttlMillis))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .compact();
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.gateway.security;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.WebFilterChainProxy;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Tests for the gateway's access rules, run through JwtAuthenticationFilter and the security filter
+ * chain in front of a handler that stands in for the routed service.
+ */
+class SecurityConfigTest {
+
+    private static final String TOKEN = "valid-token";
+    private static final String ADMIN_TOKEN = "admin-token";
+
+    private WebTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        JwtVerifier jwtVerifier = mock(JwtVerifier.class);
+        when(jwtVerifier.verify(TOKEN))
+                .thenReturn(Optional.of(
+                        new VerifiedToken("alice", 42L, "USER", Instant.now().plusSeconds(60))));
+        when(jwtVerifier.verify(ADMIN_TOKEN))
+                .thenReturn(Optional.of(
+                        new VerifiedToken("admin", 1L, "ADMIN", Instant.now().plusSeconds(60))));
+        SecurityConfig config = new SecurityConfig();
+
+        client = WebTestClient.bindToWebHandler(exchange -> {
+                    exchange.getResponse().setStatusCode(HttpStatus.OK);
+                    return exchange.getResponse().setComplete();
+                })
+                .webFilter(
+                        new JwtAuthenticationFilter(jwtVerifier),
+                        new WebFilterChainProxy(config.securityWebFilterChain(ServerHttpSecurity.http())))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should refuse internal user-service endpoints even for an authenticated caller")
+    void internalUserPath_Authenticated_Forbidden() {
+        client.put()
+                .uri("/api/users/internal/7/password-hash")
+                .header("Authorization", "Bearer " + TOKEN)
+                .exchange()
+                .expectStatus()
+                .isForbidden();
+    }
+
+    @Test
+    @DisplayName("Should refuse batch user creation, which only auth-service may call")
+    void batchUserPath_Authenticated_Forbidden() {
+        client.post()
+                .uri("/api/users/batch")
+                .header("Authorization", "Bearer " + TOKEN)
+                .exchange()
+                .expectStatus()
+                .isForbidden();
+    }
+
+    @Test
+    @DisplayName("Should refuse user imports, which are run against user-service directly")
+    void importUserPath_Authenticated_Forbidden() {
+        client.post()
+                .uri("/api/users/import")
+                .header("Authorization", "Bearer " + TOKEN)
+                .exchange()
+                .expectStatus()
+                .isForbidden();
+    }
+
+    @Test
+    @DisplayName("Should refuse internal user-service endpoints for an anonymous caller")
+    void internalUserPath_Anonymous_Unauthorized() {
+        client.get()
+                .uri("/api/users/internal/email/alice@example.com")
+                .exchange()
+                .expectStatus()
+                .isUnauthorized();
+    }
+
+    @Test
+    @DisplayName("Should still route public user endpoints for an authenticated caller")
+    void userPath_Authenticated_Routed() {
+        client.get()
+                .uri("/api/users/7")
+                .header("Authorization", "Bearer " + TOKEN)
+                .exchange()
+                .expectStatus()
+                .isOk();
+    }
+
+    @Test
+    @DisplayName("Should refuse the user export to a caller without the ADMIN role")
+    void userExport_User_Forbidden() {
+        client.get()
+                .uri("/api/users/export")
+                .header("Authorization", "Bearer " + TOKEN)
+                .exchange()
+                .expectStatus()
+                .isForbidden();
+    }
+
+    @Test
+    @DisplayName("Should refuse the paged user directory to a caller without the ADMIN role")
+    void userDirectory_User_Forbidden() {
+        client.get()
+                .uri("/api/users?afterId=0&size=50")
+                .header("Authorization", "Bearer " + TOKEN)
+                .exchange()
+                .expectStatus()
+                .isForbidden();
+    }
+
+    @Test
+    @DisplayName("Should allow an admin to export users")
+    void userExport_Admin_Allowed() {
+        client.get()
+                .uri("/api/users/export")
+                .header("Authorization", "Bearer " + ADMIN_TOKEN)
+                .exchange()
+                .expectStatus()
+                .isOk();
+    }
+
+    @Test
+    @DisplayName("Should refuse an anonymous response cache purge")
+    void responseCachePurge_Anonymous_Unauthorized() {
+        client.delete().uri("/actuator/responsecache").exchange().expectStatus().isUnauthorized();
+    }
+
+    @Test
+    @DisplayName("Should refuse actuator metrics to a caller without the ADMIN role")
+    void prometheus_User_Forbidden() {
+        client.get()
+                .uri("/actuator/prometheus")
+                .header("Authorization", "Bearer " + TOKEN)
+                .exchange()
+                .expectStatus()
+                .isForbidden();
+    }
+
+    @Test
+    @DisplayName("Should allow an admin to purge the response cache")
+    void responseCachePurge_Admin_Allowed() {
+        client.delete()
+                .uri("/actuator/responsecache?prefix=/api/cards")
+                .header("Authorization", "Bearer " + ADMIN_TOKEN)
+                .exchange()
+                .expectStatus()
+                .isOk();
+    }
+
+    @Test
+    @DisplayName("Should keep the health check open for container probes")
+    void health_Anonymous_Allowed() {
+        client.get().uri("/actuator/health").exchange().expectStatus().isOk();
+    }
+}
@@ -0,0 +1,57 @@
+package com.marketplace.auth.client;
+
+import feign.RequestInterceptor;
+import feign.RequestTemplate;
+import org.springframework.web.util.UriUtils;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.util.Base64;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Signs calls to user-service so its internal endpoints (credential lookups, password hash
+ * updates, batch creation) accept them.
+ * The signature is the HMAC-SHA256 of the method, decoded path and epoch-second timestamp, one per
+ * line, keyed with {@code internal.auth.secret}.
+ */
+public class InternalRequestInterceptor implements RequestInterceptor {
+
+    public static final String TIMESTAMP_HEADER = "X-Internal-Timestamp";
+    public static final String SIGNATURE_HEADER = "X-Internal-Signature";
+
+    private final SecretKeySpec signingKey;
+    private final Clock clock;
+
+    public InternalRequestInterceptor(String secret) {
+        this(secret, Clock.systemUTC());
+    }
+
+    InternalRequestInterceptor(String secret, Clock clock) {
+        this.signingKey = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+        this.clock = clock;
+    }
+
+    @Override
+    public void apply(RequestTemplate template) {
+        String path = UriUtils.decode(URI.create(template.url()).getRawPath(), StandardCharsets.UTF_8);
+        String timestamp = Long.toString(clock.instant().getEpochSecond());
+        template.header(TIMESTAMP_HEADER, timestamp);
+        template.header(SIGNATURE_HEADER, sign(template.method(), path, timestamp));
+    }
+
+    String sign(String method, String path, String timestamp) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(signingKey);
+            byte[] payload = String.join("\n", method, path, timestamp).getBytes(StandardCharsets.UTF_8);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(mac.doFinal(payload));
+        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+}
@@ -1,14 +1,18 @@
 package com.marketplace.auth.client;
 
 import com.marketplace.auth.client.dto.AuthUserResponse;
+import com.marketplace.auth.client.dto.BatchCreateUserResult;
 import com.marketplace.auth.client.dto.CreateUserRequest;
+import com.marketplace.auth.client.dto.UpdatePasswordHashRequest;
 import com.marketplace.auth.client.dto.UserResponse;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -36,4 +40,22 @@ public interface UserServiceClient {
      */
     @PostMapping("/api/users")
     UserResponse createUser(@RequestBody CreateUserRequest request);
+
+    /**
+     * Creates a batch of users (at most 500), each saved independently.
+     *
+     * @param requests the users to create
+     * @return one result per request, in request order
+     */
+    @PostMapping("/api/users/batch")
+    List<BatchCreateUserResult> createUsers(@RequestBody List<CreateUserRequest> requests);
+
+    /**
+     * Replaces a user's password hash with one computed at the current strength.
+     *
+     * @param userId the user's ID
+     * @param request the new password hash
+     */
+    @PutMapping("/api/users/internal/{userId}/password-hash")
+    void updatePasswordHash(@PathVariable("userId") Long userId, @RequestBody UpdatePasswordHashRequest request);
 }
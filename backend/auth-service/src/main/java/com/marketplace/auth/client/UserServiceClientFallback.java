@@ -1,12 +1,15 @@
 package com.marketplace.auth.client;
 
 import com.marketplace.auth.client.dto.AuthUserResponse;
+import com.marketplace.auth.client.dto.BatchCreateUserResult;
 import com.marketplace.auth.client.dto.CreateUserRequest;
+import com.marketplace.auth.client.dto.UpdatePasswordHashRequest;
 import com.marketplace.auth.client.dto.UserResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -29,4 +32,15 @@ public class UserServiceClientFallback implements UserServiceClient {
         log.error("User service unavailable or user already exists. Cannot create user: {}", request.getEmail());
         return null;
     }
+
+    @Override
+    public List<BatchCreateUserResult> createUsers(List<CreateUserRequest> requests) {
+        log.error("User service unavailable. Cannot create batch of {} users", requests.size());
+        return List.of();
+    }
+
+    @Override
+    public void updatePasswordHash(Long userId, UpdatePasswordHashRequest request) {
+        log.warn("User service unavailable. Password hash of user {} not upgraded", userId);
+    }
 }
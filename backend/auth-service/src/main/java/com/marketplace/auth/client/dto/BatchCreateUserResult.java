@@ -0,0 +1,29 @@
+package com.marketplace.auth.client.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for the outcome of one user in a batch create in user-service, matched to the request by
+ * its position in the batch.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchCreateUserResult {
+
+    public enum Status {
+        CREATED,
+        CONFLICT,
+        INVALID,
+        FAILED
+    }
+
+    private int index;
+    private Status status;
+    private UserResponse user;
+    private String error;
+}
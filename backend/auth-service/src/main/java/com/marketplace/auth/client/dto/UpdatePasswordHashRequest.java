@@ -0,0 +1,15 @@
+package com.marketplace.auth.client.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for replacing a user's password hash in user-service after it was re-hashed on login.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UpdatePasswordHashRequest {
+    private String passwordHash;
+}
@@ -1,10 +1,17 @@
 package com.marketplace.auth.config;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Duration;
+import java.util.Map;
+
 /**
  * Configuration for auth-service.
  * Authorization is handled at the gateway level, so no security filter chain is needed here.
@@ -12,8 +19,36 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 @Configuration
 public class AuthConfig {
 
+    static final String BCRYPT_ID = "bcrypt";
+
+    /**
+     * Hashes new passwords as {@code {bcrypt}...} at a strength calibrated to the latency target
+     * (or fixed by {@code auth.password.strength}). Hashes stored before the prefix existed are
+     * still verified as plain BCrypt, and {@link PasswordEncoder#upgradeEncoding} reports both those
+     * and hashes weaker than the current strength so they can be replaced on the next login.
+     *
+     * @param strength fixed BCrypt strength; 0 calibrates at startup instead
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            MeterRegistry meterRegistry,
+            @Value("${auth.password.strength:0}") int strength,
+            @Value("${auth.password.target-latency:50ms}") Duration targetLatency,
+            @Value("${auth.password.min-strength:10}") int minStrength,
+            @Value("${auth.password.max-strength:14}") int maxStrength) {
+        int chosen = strength > 0
+                ? strength
+                : new BCryptStrengthCalibrator().calibrate(targetLatency, minStrength, maxStrength);
+        Gauge.builder("auth.password.bcrypt.strength", () -> chosen)
+                .description("BCrypt strength new password hashes are computed with")
+                .register(meterRegistry);
+        return delegatingEncoder(chosen);
+    }
+
+    static PasswordEncoder delegatingEncoder(int strength) {
+        DelegatingPasswordEncoder encoder =
+                new DelegatingPasswordEncoder(BCRYPT_ID, Map.of(BCRYPT_ID, new BCryptPasswordEncoder(strength)));
+        encoder.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder(strength));
+        return encoder;
     }
 }
@@ -0,0 +1,94 @@
+package com.marketplace.auth.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.function.IntToLongFunction;
+
+/**
+ * Picks the BCrypt strength (log2 of the number of rounds) whose hash time on this machine stays
+ * within a latency target. Each step up doubles the cost, so strengths are timed from the floor
+ * upwards and the search stops as soon as the next step is predicted to overshoot; startup never
+ * pays for a strength that would not be chosen.
+ */
+class BCryptStrengthCalibrator {
+
+    private static final Logger log = LoggerFactory.getLogger(BCryptStrengthCalibrator.class);
+
+    static final int MIN_BCRYPT_STRENGTH = 4;
+    static final int MAX_BCRYPT_STRENGTH = 31;
+
+    private static final String SAMPLE_PASSWORD = "calibration-sample-password";
+    private static final int SAMPLES = 3;
+
+    private final IntToLongFunction hashNanos;
+
+    BCryptStrengthCalibrator() {
+        this(BCryptStrengthCalibrator::timeHash);
+    }
+
+    /** @param hashNanos time one hash takes at a given strength, in nanoseconds */
+    BCryptStrengthCalibrator(IntToLongFunction hashNanos) {
+        this.hashNanos = hashNanos;
+    }
+
+    /**
+     * @return the highest strength in {@code [minStrength, maxStrength]} whose median hash time is
+     *     within {@code target}, or {@code minStrength} if even that is slower
+     */
+    int calibrate(Duration target, int minStrength, int maxStrength) {
+        if (minStrength < MIN_BCRYPT_STRENGTH || maxStrength > MAX_BCRYPT_STRENGTH || minStrength > maxStrength) {
+            throw new IllegalArgumentException(
+                    "BCrypt strengths must satisfy 4 <= min <= max <= 31, got " + minStrength + ".." + maxStrength);
+        }
+        long targetNanos = target.toNanos();
+
+        // Warm up the JIT so the first measurement is not inflated by interpretation
+        hashNanos.applyAsLong(MIN_BCRYPT_STRENGTH);
+
+        int chosen = minStrength;
+        long chosenNanos = median(minStrength);
+        while (chosen < maxStrength && chosenNanos * 2 <= targetNanos) {
+            long nextNanos = median(chosen + 1);
+            if (nextNanos > targetNanos) {
+                break;
+            }
+            chosen++;
+            chosenNanos = nextNanos;
+        }
+
+        if (chosenNanos > targetNanos) {
+            log.warn(
+                    "BCrypt strength {} takes {} ms here, above the {} ms target; using it as the configured minimum",
+                    chosen,
+                    Duration.ofNanos(chosenNanos).toMillis(),
+                    target.toMillis());
+        } else {
+            log.info(
+                    "BCrypt strength {} chosen: {} ms per hash against a {} ms target",
+                    chosen,
+                    Duration.ofNanos(chosenNanos).toMillis(),
+                    target.toMillis());
+        }
+        return chosen;
+    }
+
+    private long median(int strength) {
+        long[] samples = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            samples[i] = hashNanos.applyAsLong(strength);
+        }
+        Arrays.sort(samples);
+        return samples[SAMPLES / 2];
+    }
+
+    private static long timeHash(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        long start = System.nanoTime();
+        encoder.encode(SAMPLE_PASSWORD);
+        return System.nanoTime() - start;
+    }
+}
@@ -0,0 +1,51 @@
+package com.marketplace.auth.config;
+
+import com.marketplace.auth.consumer.UserCredentialEvent;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+import org.springframework.kafka.support.serializer.JacksonJsonDeserializer;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Kafka configuration for consuming user credential events.
+ */
+@Configuration
+@EnableKafka
+public class KafkaConfig {
+
+    @Value("${spring.kafka.bootstrap-servers}")
+    private String bootstrapServers;
+
+    @Bean
+    public ConsumerFactory<String, UserCredentialEvent> consumerFactory() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+
+        // Ignore the producer's type headers; a malformed record is logged and skipped, not retried forever
+        JacksonJsonDeserializer<UserCredentialEvent> json =
+                new JacksonJsonDeserializer<>(UserCredentialEvent.class, false);
+        return new DefaultKafkaConsumerFactory<>(
+                props, new StringDeserializer(), new ErrorHandlingDeserializer<>(json));
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, UserCredentialEvent> kafkaListenerContainerFactory(
+            ConsumerFactory<String, UserCredentialEvent> consumerFactory) {
+        ConcurrentKafkaListenerContainerFactory<String, UserCredentialEvent> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory);
+        return factory;
+    }
+}
@@ -0,0 +1,31 @@
+package com.marketplace.auth.config;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Looks up a topic's partitions for listeners that assign them manually rather than joining a
+ * consumer group.
+ */
+@Component("partitionFinder")
+public class PartitionFinder {
+
+    private final ConsumerFactory<String, ?> consumerFactory;
+
+    public PartitionFinder(ConsumerFactory<String, ?> consumerFactory) {
+        this.consumerFactory = consumerFactory;
+    }
+
+    /**
+     * @param topic the topic name
+     * @return the topic's partition numbers
+     */
+    public String[] partitions(String topic) {
+        try (Consumer<String, ?> consumer = consumerFactory.createConsumer()) {
+            return consumer.partitionsFor(topic).stream()
+                    .map(partition -> String.valueOf(partition.partition()))
+                    .toArray(String[]::new);
+        }
+    }
+}
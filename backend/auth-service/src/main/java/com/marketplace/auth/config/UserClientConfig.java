@@ -1,6 +1,9 @@
 package com.marketplace.auth.config;
 
+import com.marketplace.auth.client.InternalRequestInterceptor;
+import feign.RequestInterceptor;
 import feign.codec.ErrorDecoder;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -10,4 +13,9 @@ public class UserClientConfig {
     public ErrorDecoder errorDecoder() {
         return new UserErrorDecoder();
     }
+
+    @Bean
+    public RequestInterceptor internalRequestInterceptor(@Value("${internal.auth.secret}") String secret) {
+        return new InternalRequestInterceptor(secret);
+    }
 }
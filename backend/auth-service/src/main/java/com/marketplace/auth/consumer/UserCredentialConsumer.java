@@ -0,0 +1,61 @@
+package com.marketplace.auth.consumer;
+
+import com.marketplace.auth.client.dto.AuthUserResponse;
+import com.marketplace.auth.service.CredentialStore;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.PartitionOffset;
+import org.springframework.kafka.annotation.TopicPartition;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the {@link CredentialStore} in step with the credentials topic published by user-service.
+ */
+@Component
+public class UserCredentialConsumer {
+
+    private static final Logger log = LoggerFactory.getLogger(UserCredentialConsumer.class);
+
+    private final CredentialStore credentialStore;
+
+    public UserCredentialConsumer(CredentialStore credentialStore) {
+        this.credentialStore = credentialStore;
+    }
+
+    /**
+     * Every instance needs the whole table, so the listener is assigned all partitions itself,
+     * instead of joining a consumer group, and replays the compacted topic from offset 0 on
+     * startup. Until it has caught up, logins for users it has not seen yet fall back to user-service.
+     */
+    @KafkaListener(
+            id = "auth-service-credentials",
+            topicPartitions =
+                    @TopicPartition(
+                            topic = "${kafka.topics.user-credentials:user-credentials}",
+                            partitions =
+                                    "#{@partitionFinder.partitions('${kafka.topics.user-credentials:user-credentials}')}",
+                            partitionOffsets = @PartitionOffset(partition = "*", initialOffset = "0")))
+    public void consumeCredentials(ConsumerRecord<String, UserCredentialEvent> record) {
+        UserCredentialEvent event = record.value();
+        if (event == null) {
+            if (record.key() != null) {
+                credentialStore.remove(Long.valueOf(record.key()));
+            }
+            return;
+        }
+        if (event.getUserId() == null || event.getEmail() == null || event.getPasswordHash() == null) {
+            log.warn("Ignoring incomplete credential event for key {}", record.key());
+            return;
+        }
+
+        credentialStore.put(AuthUserResponse.builder()
+                .userId(event.getUserId())
+                .email(event.getEmail())
+                .username(event.getUsername())
+                .passwordHash(event.getPasswordHash())
+                .role(event.getRole())
+                .build());
+    }
+}
@@ -0,0 +1,23 @@
+package com.marketplace.auth.consumer;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Current credentials of a user as published by user-service on the compacted credentials topic.
+ * A deleted user is published as a tombstone (no value) instead.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserCredentialEvent {
+    private Long userId;
+    private String email;
+    private String username;
+    private String passwordHash;
+    private String role;
+    private long timestamp;
+}
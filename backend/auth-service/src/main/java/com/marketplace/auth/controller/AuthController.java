@@ -3,14 +3,20 @@
 package com.marketplace.auth.controller;
 
 import com.marketplace.auth.dto.AuthResponse;
+import com.marketplace.auth.dto.BatchRegisterResult;
 import com.marketplace.auth.dto.LoginRequest;
 import com.marketplace.auth.dto.RegisterRequest;
 import com.marketplace.auth.service.AuthService;
+import com.marketplace.auth.service.BatchRegistrationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 /**
  * REST Controller for authentication endpoints.
  */
@@ -20,9 +26,11 @@ import org.springframework.web.bind.annotation.*;
 public class AuthController {
 
     private final AuthService authService;
+    private final BatchRegistrationService batchRegistrationService;
 
-    public AuthController(AuthService authService) {
+    public AuthController(AuthService authService, BatchRegistrationService batchRegistrationService) {
         this.authService = authService;
+        this.batchRegistrationService = batchRegistrationService;
     }
 
     /**
@@ -38,16 +46,35 @@ public class AuthController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Registers many users at once. Restricted to administrators.
+     *
+     * @param authorization Bearer token of an ADMIN user.
+     * @param requests Registration details of each user.
+     * @return One result per user, in request order.
+     */
+    @PostMapping("/register/batch")
+    @Operation(
+            summary = "Batch register",
+            description = "Register many users at once (ADMIN only); returns a result per user")
+    public ResponseEntity<List<BatchRegisterResult>> registerBatch(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            @RequestBody List<RegisterRequest> requests) {
+        return ResponseEntity.ok(batchRegistrationService.registerAll(authorization, requests));
+    }
+
     /**
      * Authenticates a user and returns a JWT token.
      *
      * @param request Login credentials.
+     * @param httpRequest The HTTP request, for the client address (resolved from X-Forwarded-For
+     *     set by the gateway).
      * @return AuthResponse with JWT token.
      */
     @PostMapping("/login")
     @Operation(summary = "Login", description = "Authenticate with email and password to receive a JWT token")
-    public ResponseEntity<AuthResponse> login(@RequestBody LoginRequest request) {
-        AuthResponse response = authService.login(request);
+    public ResponseEntity<AuthResponse> login(@RequestBody LoginRequest request, HttpServletRequest httpRequest) {
+        AuthResponse response = authService.login(request, httpRequest.getRemoteAddr());
         return ResponseEntity.ok(response);
     }
 }
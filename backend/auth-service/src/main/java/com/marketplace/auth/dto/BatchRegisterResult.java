@@ -0,0 +1,29 @@
+package com.marketplace.auth.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for the outcome of one account in a batch registration, in request order.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchRegisterResult {
+
+    public enum Status {
+        REGISTERED,
+        CONFLICT,
+        INVALID,
+        FAILED
+    }
+
+    private int index;
+    private String email;
+    private Status status;
+    private Long userId;
+    private String error;
+}
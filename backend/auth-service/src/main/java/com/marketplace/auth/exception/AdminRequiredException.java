@@ -0,0 +1,10 @@
+package com.marketplace.auth.exception;
+
+/**
+ * Thrown when an authenticated caller without the ADMIN role uses an administrative endpoint.
+ */
+public class AdminRequiredException extends RuntimeException {
+    public AdminRequiredException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,10 @@
+package com.marketplace.auth.exception;
+
+/**
+ * Thrown when the password hashing queue is full and the request is turned away instead of waiting.
+ */
+public class HashingOverloadedException extends RuntimeException {
+    public HashingOverloadedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,21 @@
+package com.marketplace.auth.exception;
+
+import java.time.Duration;
+
+/**
+ * Thrown when an email or client address has failed to log in too often recently; the attempt is
+ * refused before any user lookup or password hashing.
+ */
+public class TooManyLoginAttemptsException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public TooManyLoginAttemptsException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -5,21 +5,23 @@ package com.marketplace.auth.service;
 import com.marketplace.auth.client.UserServiceClient;
 import com.marketplace.auth.client.dto.AuthUserResponse;
 import com.marketplace.auth.client.dto.CreateUserRequest;
+import com.marketplace.auth.client.dto.UpdatePasswordHashRequest;
 import com.marketplace.auth.client.dto.UserResponse;
 import com.marketplace.auth.dto.AuthResponse;
 import com.marketplace.auth.dto.LoginRequest;
 import com.marketplace.auth.dto.RegisterRequest;
 import com.marketplace.auth.exception.InvalidLoginException;
+import com.marketplace.auth.exception.TooManyLoginAttemptsException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
 
 /**
  * Service for handling user authentication.
- * Uses Feign client to communicate with user-service for user management.
+ * Uses Feign client to communicate with user-service for user management; logins are verified
+ * against the local {@link CredentialStore} and only call user-service on a miss.
  */
 @Service
 public class AuthService {
@@ -27,13 +29,22 @@ public class AuthService {
     private static final Logger log = LoggerFactory.getLogger(AuthService.class);
 
     private final JwtUtil jwtUtil;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
     private final UserServiceClient userServiceClient;
-
-    public AuthService(JwtUtil jwtUtil, PasswordEncoder passwordEncoder, UserServiceClient userServiceClient) {
+    private final CredentialStore credentialStore;
+    private final LoginThrottle loginThrottle;
+
+    public AuthService(
+            JwtUtil jwtUtil,
+            PasswordHasher passwordHasher,
+            UserServiceClient userServiceClient,
+            CredentialStore credentialStore,
+            LoginThrottle loginThrottle) {
         this.jwtUtil = jwtUtil;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHasher = passwordHasher;
         this.userServiceClient = userServiceClient;
+        this.credentialStore = credentialStore;
+        this.loginThrottle = loginThrottle;
     }
 
     /**
@@ -50,7 +61,7 @@ public class AuthService {
         CreateUserRequest createUserRequest = CreateUserRequest.builder()
                 .email(request.getEmail())
                 .username(request.getUsername())
-                .passwordHash(passwordEncoder.encode(request.getPassword())) // encode
+                .passwordHash(passwordHasher.encode(request.getPassword())) // encode
                 .role("USER")
                 .build();
 
@@ -63,7 +74,7 @@ public class AuthService {
 
         log.info("User registered successfully: {}", createdUser.getUsername());
 
-        String token = jwtUtil.generateToken(createdUser.getUsername(), createdUser.getRole());
+        String token = jwtUtil.generateToken(createdUser.getUsername(), createdUser.getRole(), createdUser.getUserId());
 
         return AuthResponse.builder()
                 .token(token)
@@ -78,31 +89,38 @@ public class AuthService {
      * Authenticates a user and returns a JWT token.
      *
      * @param request The login request.
+     * @param clientIp The address the request came from, for throttling.
      * @return AuthResponse containing the JWT token.
      * @throws IllegalArgumentException if credentials are invalid.
+     * @throws TooManyLoginAttemptsException if the email or address failed too often recently.
      */
-    public AuthResponse login(LoginRequest request) {
+    public AuthResponse login(LoginRequest request, String clientIp) {
         log.info("Login attempt for: {}", request.getEmail());
+        loginThrottle.check(request.getEmail(), clientIp);
 
-        // Get user from user-service (including password hash)
-        Optional<AuthUserResponse> userOp = userServiceClient.getUserForAuth(request.getEmail());
+        // Local credentials first; user-service only for users not (yet) seen on the credentials topic
+        Optional<AuthUserResponse> userOp = credentialStore
+                .findByEmail(request.getEmail())
+                .or(() -> userServiceClient.getUserForAuth(request.getEmail()));
 
         if (userOp.isEmpty()) {
             log.warn("User not found or service unavailable: {}", request.getEmail());
+            loginThrottle.recordFailure(request.getEmail(), clientIp);
             throw new InvalidLoginException("Invalid email or password");
         }
 
-        if (!passwordEncoder.matches(request.getPassword(), userOp.get().getPasswordHash())) {
-            log.debug("Password hash: {}", userOp.get().getPasswordHash());
-            log.debug("Inputted hash: {}", passwordEncoder.encode(request.getPassword()));
+        if (!passwordHasher.matches(request.getPassword(), userOp.get().getPasswordHash())) {
             log.warn("Invalid password for user: {}", request.getEmail());
+            loginThrottle.recordFailure(request.getEmail(), clientIp);
             throw new InvalidLoginException("Invalid email");
         }
 
         AuthUserResponse user = userOp.get();
+        loginThrottle.recordSuccess(request.getEmail());
+        upgradePasswordHash(user, request.getPassword());
 
         log.info("User authenticated: {} (role: {})", user.getUsername(), user.getRole());
-        String token = jwtUtil.generateToken(user.getUsername(), user.getRole());
+        String token = jwtUtil.generateToken(user.getUsername(), user.getRole(), user.getUserId());
 
         return AuthResponse.builder()
                 .token(token)
@@ -112,4 +130,21 @@ public class AuthService {
                 .role(user.getRole())
                 .build();
     }
+
+    /**
+     * Re-hashes the password just verified if its stored hash predates the current strength or
+     * format. Best effort: a failure leaves the old hash in place to be upgraded on a later login.
+     */
+    private void upgradePasswordHash(AuthUserResponse user, String rawPassword) {
+        if (!passwordHasher.upgradeEncoding(user.getPasswordHash())) {
+            return;
+        }
+        try {
+            String upgraded = passwordHasher.encode(rawPassword);
+            userServiceClient.updatePasswordHash(user.getUserId(), new UpdatePasswordHashRequest(upgraded));
+            log.info("Upgraded password hash of user {}", user.getUserId());
+        } catch (RuntimeException e) {
+            log.warn("Could not upgrade password hash of user {}: {}", user.getUserId(), e.getMessage());
+        }
+    }
 }
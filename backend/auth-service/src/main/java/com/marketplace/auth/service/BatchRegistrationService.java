@@ -0,0 +1,240 @@
+package com.marketplace.auth.service;
+
+import com.marketplace.auth.client.UserServiceClient;
+import com.marketplace.auth.client.dto.BatchCreateUserResult;
+import com.marketplace.auth.client.dto.CreateUserRequest;
+import com.marketplace.auth.dto.BatchRegisterResult;
+import com.marketplace.auth.dto.RegisterRequest;
+import com.marketplace.auth.exception.AdminRequiredException;
+import com.marketplace.auth.exception.InvalidLoginException;
+import feign.FeignException;
+import io.jsonwebtoken.JwtException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Registers many accounts in one request, for administrators seeding or migrating users.
+ *
+ * <p>Valid requests are split into chunks. Each chunk's passwords are hashed in parallel on the
+ * {@link PasswordHasher} pool, and while one chunk is being created in user-service the next one is
+ * already hashing, so hashing and the network round trips overlap. Each account gets its own
+ * result; a conflict or failure on one never fails the others.
+ */
+@Service
+public class BatchRegistrationService {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchRegistrationService.class);
+
+    private static final String ADMIN_ROLE = "ADMIN";
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtUtil jwtUtil;
+    private final PasswordHasher passwordHasher;
+    private final UserServiceClient userServiceClient;
+    private final int chunkSize;
+    private final int maxSize;
+    private final Executor hashingCoordinator;
+
+    public BatchRegistrationService(
+            JwtUtil jwtUtil,
+            PasswordHasher passwordHasher,
+            UserServiceClient userServiceClient,
+            @Value("${auth.batch.chunk-size:500}") int chunkSize,
+            @Value("${auth.batch.max-size:50000}") int maxSize) {
+        this(jwtUtil, passwordHasher, userServiceClient, chunkSize, maxSize, task -> Thread.ofVirtual()
+                .name("batch-register-hash")
+                .start(task));
+    }
+
+    BatchRegistrationService(
+            JwtUtil jwtUtil,
+            PasswordHasher passwordHasher,
+            UserServiceClient userServiceClient,
+            int chunkSize,
+            int maxSize,
+            Executor hashingCoordinator) {
+        this.jwtUtil = jwtUtil;
+        this.passwordHasher = passwordHasher;
+        this.userServiceClient = userServiceClient;
+        this.chunkSize = chunkSize;
+        this.maxSize = maxSize;
+        this.hashingCoordinator = hashingCoordinator;
+    }
+
+    /**
+     * Registers every account in {@code requests} with role USER.
+     *
+     * @param authorization The caller's Authorization header; must carry an ADMIN token.
+     * @param requests The accounts to register.
+     * @return One result per request, in request order.
+     * @throws InvalidLoginException if the caller has no valid token.
+     * @throws AdminRequiredException if the caller is not an administrator.
+     * @throws IllegalArgumentException if the batch is larger than the configured maximum.
+     */
+    public List<BatchRegisterResult> registerAll(String authorization, List<RegisterRequest> requests) {
+        requireAdmin(authorization);
+        if (requests.size() > maxSize) {
+            throw new IllegalArgumentException("A batch may register at most " + maxSize + " users");
+        }
+
+        BatchRegisterResult[] results = new BatchRegisterResult[requests.size()];
+        List<Integer> valid = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            RegisterRequest request = requests.get(i);
+            if (isBlank(request.getEmail()) || isBlank(request.getUsername()) || isBlank(request.getPassword())) {
+                results[i] = result(
+                        i,
+                        request,
+                        BatchRegisterResult.Status.INVALID,
+                        null,
+                        "Email, username and password are required");
+            } else {
+                valid.add(i);
+            }
+        }
+        log.info("Batch registration of {} users ({} invalid)", requests.size(), requests.size() - valid.size());
+
+        List<List<Integer>> chunks = new ArrayList<>();
+        for (int from = 0; from < valid.size(); from += chunkSize) {
+            chunks.add(valid.subList(from, Math.min(from + chunkSize, valid.size())));
+        }
+
+        CompletableFuture<List<String>> nextHashes = chunks.isEmpty() ? null : hash(requests, chunks.get(0));
+        for (int c = 0; c < chunks.size(); c++) {
+            List<Integer> chunk = chunks.get(c);
+            List<String> hashes;
+            try {
+                hashes = nextHashes.join();
+            } catch (CompletionException e) {
+                log.error("Hashing failed for a batch registration chunk", e.getCause());
+                fail(results, requests, chunk, "Password hashing failed");
+                nextHashes = c + 1 < chunks.size() ? hash(requests, chunks.get(c + 1)) : null;
+                continue;
+            }
+            // Start hashing the next chunk before waiting on user-service for this one
+            nextHashes = c + 1 < chunks.size() ? hash(requests, chunks.get(c + 1)) : null;
+            create(results, requests, chunk, hashes);
+        }
+
+        if (log.isInfoEnabled()) {
+            long registered = Arrays.stream(results)
+                    .filter(r -> r.getStatus() == BatchRegisterResult.Status.REGISTERED)
+                    .count();
+            log.info("Batch registration finished: {} of {} registered", registered, requests.size());
+        }
+        return Arrays.asList(results);
+    }
+
+    private CompletableFuture<List<String>> hash(List<RegisterRequest> requests, List<Integer> chunk) {
+        List<String> passwords =
+                chunk.stream().map(i -> requests.get(i).getPassword()).toList();
+        return CompletableFuture.supplyAsync(() -> passwordHasher.encodeAll(passwords), hashingCoordinator);
+    }
+
+    private void create(
+            BatchRegisterResult[] results, List<RegisterRequest> requests, List<Integer> chunk, List<String> hashes) {
+        List<CreateUserRequest> creates = new ArrayList<>(chunk.size());
+        for (int j = 0; j < chunk.size(); j++) {
+            RegisterRequest request = requests.get(chunk.get(j));
+            creates.add(CreateUserRequest.builder()
+                    .email(request.getEmail())
+                    .username(request.getUsername())
+                    .passwordHash(hashes.get(j))
+                    .role("USER")
+                    .build());
+        }
+
+        List<BatchCreateUserResult> created;
+        try {
+            created = userServiceClient.createUsers(creates);
+        } catch (FeignException e) {
+            log.error("User service rejected a batch of {} users: {}", creates.size(), e.getMessage());
+            fail(results, requests, chunk, "User service unavailable");
+            return;
+        }
+
+        // user-service indexes results by position within the chunk
+        for (BatchCreateUserResult outcome : created) {
+            if (outcome.getIndex() < 0 || outcome.getIndex() >= chunk.size()) {
+                continue;
+            }
+            int index = chunk.get(outcome.getIndex());
+            results[index] = toResult(index, requests.get(index), outcome);
+        }
+        for (int index : chunk) {
+            if (results[index] == null) {
+                results[index] = result(
+                        index,
+                        requests.get(index),
+                        BatchRegisterResult.Status.FAILED,
+                        null,
+                        "No result from user service");
+            }
+        }
+    }
+
+    private static BatchRegisterResult toResult(int index, RegisterRequest request, BatchCreateUserResult outcome) {
+        if (outcome.getStatus() == null) {
+            return result(index, request, BatchRegisterResult.Status.FAILED, null, outcome.getError());
+        }
+        return switch (outcome.getStatus()) {
+            case CREATED ->
+                result(
+                        index,
+                        request,
+                        BatchRegisterResult.Status.REGISTERED,
+                        outcome.getUser() != null ? outcome.getUser().getUserId() : null,
+                        null);
+            case CONFLICT -> result(index, request, BatchRegisterResult.Status.CONFLICT, null, outcome.getError());
+            case INVALID -> result(index, request, BatchRegisterResult.Status.INVALID, null, outcome.getError());
+            case FAILED -> result(index, request, BatchRegisterResult.Status.FAILED, null, outcome.getError());
+        };
+    }
+
+    private static void fail(
+            BatchRegisterResult[] results, List<RegisterRequest> requests, List<Integer> chunk, String error) {
+        for (int index : chunk) {
+            results[index] = result(index, requests.get(index), BatchRegisterResult.Status.FAILED, null, error);
+        }
+    }
+
+    private static BatchRegisterResult result(
+            int index, RegisterRequest request, BatchRegisterResult.Status status, Long userId, String error) {
+        return BatchRegisterResult.builder()
+                .index(index)
+                .email(request.getEmail())
+                .status(status)
+                .userId(userId)
+                .error(error)
+                .build();
+    }
+
+    /** /api/auth/** is not checked by the gateway, so the token is verified here. */
+    private void requireAdmin(String authorization) {
+        if (authorization == null || !authorization.startsWith(BEARER_PREFIX)) {
+            throw new InvalidLoginException("Authentication required");
+        }
+        String role;
+        try {
+            role = jwtUtil.extractRole(authorization.substring(BEARER_PREFIX.length()));
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new InvalidLoginException("Invalid or expired token");
+        }
+        if (!ADMIN_ROLE.equals(role)) {
+            throw new AdminRequiredException("Batch registration requires the ADMIN role");
+        }
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
@@ -0,0 +1,68 @@
+package com.marketplace.auth.service;
+
+import com.marketplace.auth.client.dto.AuthUserResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Local copy of every user's login credentials (email to user ID, username, role and password
+ * hash), fed by user-service's credential events, so a login needs no call to user-service.
+ *
+ * <p>Lookups are lock-free. Writes come from the single credential listener and are serialized so
+ * the email index and the user ID index never disagree, including when a user changes email.
+ */
+@Component
+public class CredentialStore {
+
+    private final Map<String, AuthUserResponse> byEmail = new ConcurrentHashMap<>();
+    private final Map<Long, String> emailByUserId = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public CredentialStore(MeterRegistry meterRegistry) {
+        this.hits = lookupCounter(meterRegistry, "hit");
+        this.misses = lookupCounter(meterRegistry, "miss");
+        Gauge.builder("auth.credentials.size", byEmail, Map::size)
+                .description("Users whose credentials are held locally")
+                .register(meterRegistry);
+    }
+
+    public Optional<AuthUserResponse> findByEmail(String email) {
+        AuthUserResponse user = email == null ? null : byEmail.get(email);
+        (user == null ? misses : hits).increment();
+        return Optional.ofNullable(user);
+    }
+
+    public synchronized void put(AuthUserResponse user) {
+        String previousEmail = emailByUserId.put(user.getUserId(), user.getEmail());
+        if (previousEmail != null && !previousEmail.equals(user.getEmail())) {
+            byEmail.remove(previousEmail);
+        }
+        byEmail.put(user.getEmail(), user);
+    }
+
+    public synchronized void remove(Long userId) {
+        String email = emailByUserId.remove(userId);
+        if (email != null) {
+            byEmail.remove(email);
+        }
+    }
+
+    public int size() {
+        return byEmail.size();
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("auth.credentials.lookups")
+                .description("Login credential lookups against the local store; misses go to user-service")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
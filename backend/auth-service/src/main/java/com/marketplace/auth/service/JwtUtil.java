@@ -52,6 +52,42 @@ public class JwtUtil {
         return generateToken(extraClaims, username);
     }
 
+    /**
+     * Generates a JWT token carrying the user's ID and role.
+     * The gateway forwards the userId claim to downstream services as a signed header.
+     *
+     * @param username The username (subject).
+     * @param role     The user's role.
+     * @param userId   The user's ID in user-service.
+     * @return The generated JWT token.
+     */
+    public String generateToken(String username, String role, Long userId) {
+        Map<String, Object> extraClaims = new HashMap<>();
+        extraClaims.put("role", role);
+        extraClaims.put("userId", userId);
+        return generateToken(extraClaims, username);
+    }
+
+    /**
+     * Extracts the user ID from a token.
+     *
+     * @param token The JWT token.
+     * @return The user ID, or null if the token has no userId claim.
+     */
+    public Long extractUserId(String token) {
+        return extractClaim(token, claims -> claims.get("userId", Long.class));
+    }
+
+    /**
+     * Extracts the role from a token.
+     *
+     * @param token The JWT token.
+     * @return The role, or null if the token has no role claim.
+     */
+    public String extractRole(String token) {
+        return extractClaim(token, claims -> claims.get("role", String.class));
+    }
+
     /**
      * Generates a JWT token with extra claims.
      *
@@ -0,0 +1,137 @@
+package com.marketplace.auth.service;
+
+import com.marketplace.auth.exception.TooManyLoginAttemptsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.function.LongSupplier;
+
+/**
+ * Refuses logins for an email or a client address after too many recent failures, so guessing
+ * passwords stops costing a BCrypt comparison per attempt. Failures are counted over a sliding
+ * window; a successful login clears the email's count (not the address's, which may be shared by
+ * an attacker and a real user).
+ */
+@Component
+public class LoginThrottle {
+
+    private static final Logger log = LoggerFactory.getLogger(LoginThrottle.class);
+
+    private final boolean enabled;
+    private final int maxFailuresPerEmail;
+    private final int maxFailuresPerIp;
+    private final SlidingWindowCounter failuresByEmail;
+    private final SlidingWindowCounter failuresByIp;
+    private final Counter throttledByEmail;
+    private final Counter throttledByIp;
+
+    @Autowired
+    public LoginThrottle(
+            MeterRegistry meterRegistry,
+            @Value("${auth.throttle.enabled:true}") boolean enabled,
+            @Value("${auth.throttle.window:15m}") Duration window,
+            @Value("${auth.throttle.buckets:15}") int buckets,
+            @Value("${auth.throttle.max-failures-per-email:5}") int maxFailuresPerEmail,
+            @Value("${auth.throttle.max-failures-per-ip:50}") int maxFailuresPerIp,
+            @Value("${auth.throttle.max-tracked-keys:100000}") int maxTrackedKeys) {
+        this(
+                meterRegistry,
+                enabled,
+                window,
+                buckets,
+                maxFailuresPerEmail,
+                maxFailuresPerIp,
+                maxTrackedKeys,
+                System::nanoTime);
+    }
+
+    LoginThrottle(
+            MeterRegistry meterRegistry,
+            boolean enabled,
+            Duration window,
+            int buckets,
+            int maxFailuresPerEmail,
+            int maxFailuresPerIp,
+            int maxTrackedKeys,
+            LongSupplier nanoClock) {
+        this.enabled = enabled;
+        this.maxFailuresPerEmail = maxFailuresPerEmail;
+        this.maxFailuresPerIp = maxFailuresPerIp;
+        this.failuresByEmail = new SlidingWindowCounter(window, buckets, maxTrackedKeys, nanoClock);
+        this.failuresByIp = new SlidingWindowCounter(window, buckets, maxTrackedKeys, nanoClock);
+        this.throttledByEmail = throttledCounter(meterRegistry, "email");
+        this.throttledByIp = throttledCounter(meterRegistry, "ip");
+        trackedGauge(meterRegistry, "email", failuresByEmail);
+        trackedGauge(meterRegistry, "ip", failuresByIp);
+    }
+
+    /**
+     * @throws TooManyLoginAttemptsException if the email or the address is over its limit
+     */
+    public void check(String email, String clientIp) {
+        if (!enabled) {
+            return;
+        }
+        String emailKey = normalize(email);
+        if (emailKey != null && failuresByEmail.count(emailKey) >= maxFailuresPerEmail) {
+            throttledByEmail.increment();
+            log.warn("Login throttled for {}: too many failed attempts", email);
+            throw new TooManyLoginAttemptsException(
+                    "Too many failed login attempts, please try again later",
+                    failuresByEmail.timeUntilBelow(emailKey, maxFailuresPerEmail));
+        }
+        if (clientIp != null && failuresByIp.count(clientIp) >= maxFailuresPerIp) {
+            throttledByIp.increment();
+            log.warn("Login throttled for client {}: too many failed attempts", clientIp);
+            throw new TooManyLoginAttemptsException(
+                    "Too many failed login attempts, please try again later",
+                    failuresByIp.timeUntilBelow(clientIp, maxFailuresPerIp));
+        }
+    }
+
+    public void recordFailure(String email, String clientIp) {
+        if (!enabled) {
+            return;
+        }
+        String emailKey = normalize(email);
+        if (emailKey != null) {
+            failuresByEmail.increment(emailKey);
+        }
+        if (clientIp != null) {
+            failuresByIp.increment(clientIp);
+        }
+    }
+
+    public void recordSuccess(String email) {
+        String emailKey = normalize(email);
+        if (enabled && emailKey != null) {
+            failuresByEmail.reset(emailKey);
+        }
+    }
+
+    private static String normalize(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static Counter throttledCounter(MeterRegistry meterRegistry, String key) {
+        return Counter.builder("auth.login.throttled")
+                .description("Login attempts refused for too many recent failures")
+                .tag("key", key)
+                .register(meterRegistry);
+    }
+
+    private static void trackedGauge(MeterRegistry meterRegistry, String key, SlidingWindowCounter counter) {
+        Gauge.builder("auth.login.throttle.tracked", counter, SlidingWindowCounter::size)
+                .description("Emails or client addresses with recent failed logins being tracked")
+                .tag("key", key)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,186 @@
+package com.marketplace.auth.service;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Counts events per key over a sliding window, for login throttling.
+ *
+ * <p>The window is split into fixed buckets, so a key costs one small {@code int[]} however many
+ * events it sees, and old events fall out one bucket at a time. Keys are spread over lock stripes,
+ * each an access-ordered map: a write only locks its own stripe, and because the least recently
+ * touched keys sit at the head, expired ones are evicted from there as the stripe is written to.
+ * Each stripe is also capped, dropping its least recently touched key once full, so a flood of
+ * distinct keys cannot grow memory without bound.
+ */
+class SlidingWindowCounter {
+
+    private static final int STRIPE_BITS = 6;
+    private static final int STRIPES = 1 << STRIPE_BITS;
+
+    private final long bucketNanos;
+    private final int buckets;
+    private final int maxKeysPerStripe;
+    private final LongSupplier nanoClock;
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    /**
+     * @param window how far back events are counted
+     * @param buckets how many slices the window is split into; more is smoother but larger
+     * @param maxKeys upper bound on the keys tracked, spread evenly over the stripes
+     */
+    SlidingWindowCounter(Duration window, int buckets, int maxKeys, LongSupplier nanoClock) {
+        if (buckets < 1 || window.toNanos() < buckets) {
+            throw new IllegalArgumentException("Window " + window + " cannot be split into " + buckets + " buckets");
+        }
+        this.bucketNanos = window.toNanos() / buckets;
+        this.buckets = buckets;
+        this.maxKeysPerStripe = Math.max(1, maxKeys / STRIPES);
+        this.nanoClock = nanoClock;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    /** Records one event and returns the key's count over the window, including it. */
+    int increment(String key) {
+        long bucket = currentBucket();
+        Stripe stripe = stripeFor(key);
+        synchronized (stripe) {
+            stripe.evictExpired(bucket);
+            Window window = stripe.computeIfAbsent(key, k -> new Window(buckets, bucket));
+            window.advance(bucket);
+            window.counts[Math.floorMod(bucket, buckets)]++;
+            return window.total();
+        }
+    }
+
+    int count(String key) {
+        long bucket = currentBucket();
+        Stripe stripe = stripeFor(key);
+        synchronized (stripe) {
+            Window window = stripe.get(key);
+            if (window == null) {
+                return 0;
+            }
+            window.advance(bucket);
+            return window.total();
+        }
+    }
+
+    /**
+     * How long until the key's count drops below {@code limit} if no more events arrive; zero if
+     * it already is.
+     */
+    Duration timeUntilBelow(String key, int limit) {
+        long now = nanoClock.getAsLong();
+        long bucket = Math.floorDiv(now, bucketNanos);
+        Stripe stripe = stripeFor(key);
+        synchronized (stripe) {
+            Window window = stripe.get(key);
+            if (window == null) {
+                return Duration.ZERO;
+            }
+            window.advance(bucket);
+            int remaining = window.total();
+            // Walk from the oldest bucket, which leaves the window first
+            for (long b = bucket - buckets + 1; b <= bucket && remaining >= limit; b++) {
+                remaining -= window.counts[Math.floorMod(b, buckets)];
+                if (remaining < limit) {
+                    return Duration.ofNanos((b + buckets) * bucketNanos - now);
+                }
+            }
+            return Duration.ZERO;
+        }
+    }
+
+    void reset(String key) {
+        Stripe stripe = stripeFor(key);
+        synchronized (stripe) {
+            stripe.remove(key);
+        }
+    }
+
+    /** Keys currently tracked; may include some whose events have expired but not been evicted yet. */
+    int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    private long currentBucket() {
+        return Math.floorDiv(nanoClock.getAsLong(), bucketNanos);
+    }
+
+    /** Fibonacci hashing: keys differing only in their last characters still land on different stripes. */
+    private Stripe stripeFor(String key) {
+        return stripes[(key.hashCode() * 0x9E3779B9) >>> (Integer.SIZE - STRIPE_BITS)];
+    }
+
+    /** One lock stripe: keys in least recently touched first order. Guarded by itself. */
+    private final class Stripe extends LinkedHashMap<String, Window> {
+
+        private Stripe() {
+            super(16, 0.75f, true);
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Window> eldest) {
+            return size() > maxKeysPerStripe;
+        }
+
+        /** Drops keys with nothing left in the window, stopping at the first one still live. */
+        void evictExpired(long bucket) {
+            Iterator<Window> it = values().iterator();
+            while (it.hasNext()) {
+                if (bucket - it.next().head < buckets) {
+                    return;
+                }
+                it.remove();
+            }
+        }
+    }
+
+    /** Per-key ring of bucket counts; {@code head} is the bucket index last written or read. */
+    private static final class Window {
+
+        private final int[] counts;
+        private long head;
+
+        private Window(int buckets, long head) {
+            this.counts = new int[buckets];
+            this.head = head;
+        }
+
+        /** Zeroes the buckets that slid out of the window since {@code head}. */
+        void advance(long bucket) {
+            if (bucket <= head) {
+                return;
+            }
+            if (bucket - head >= counts.length) {
+                Arrays.fill(counts, 0);
+            } else {
+                for (long b = head + 1; b <= bucket; b++) {
+                    counts[Math.floorMod(b, counts.length)] = 0;
+                }
+            }
+            head = bucket;
+        }
+
+        int total() {
+            int total = 0;
+            for (int count : counts) {
+                total += count;
+            }
+            return total;
+        }
+    }
+}
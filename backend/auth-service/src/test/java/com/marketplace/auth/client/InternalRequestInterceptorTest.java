@@ -0,0 +1,59 @@
+package com.marketplace.auth.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import feign.Request;
+import feign.RequestTemplate;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Unit tests for InternalRequestInterceptor.
+ */
+class InternalRequestInterceptorTest {
+
+    private static final String SECRET = "test-internal-secret";
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    private final InternalRequestInterceptor interceptor =
+            new InternalRequestInterceptor(SECRET, Clock.fixed(NOW, ZoneOffset.UTC));
+
+    @Test
+    @DisplayName("Should sign the method, decoded path and timestamp as user-service checks them")
+    void apply_SignsMethodPathAndTimestamp() throws Exception {
+        // Arrange
+        RequestTemplate template = new RequestTemplate()
+                .method(Request.HttpMethod.GET)
+                .uri("/api/users/internal/email/ash%2Bkanto%40example.com?fields=all");
+
+        // Act
+        interceptor.apply(template);
+
+        // Assert
+        String timestamp = Long.toString(NOW.getEpochSecond());
+        assertEquals(timestamp, header(template, InternalRequestInterceptor.TIMESTAMP_HEADER));
+        assertEquals(
+                hmac("GET\n/api/users/internal/email/ash+kanto@example.com\n" + timestamp),
+                header(template, InternalRequestInterceptor.SIGNATURE_HEADER));
+    }
+
+    private static String header(RequestTemplate template, String name) {
+        return template.headers().get(name).iterator().next();
+    }
+
+    private static String hmac(String payload) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(mac.doFinal(payload.getBytes(StandardCharsets.UTF_8)));
+    }
+}
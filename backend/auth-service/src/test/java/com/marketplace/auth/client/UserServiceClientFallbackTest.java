@@ -3,11 +3,14 @@ package com.marketplace.auth.client;
 import static org.junit.jupiter.api.Assertions.*;
 
 import com.marketplace.auth.client.dto.CreateUserRequest;
+import com.marketplace.auth.client.dto.UpdatePasswordHashRequest;
 import com.marketplace.auth.client.dto.UserResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 /**
  * Unit tests for UserServiceClientFallback.
  * Verifies fallback behavior when user-service is unavailable.
@@ -81,4 +84,26 @@ class UserServiceClientFallbackTest {
         assertNull(fallback.createUser(userRequest));
         assertNull(fallback.createUser(adminRequest));
     }
+
+    @Test
+    @DisplayName("updatePasswordHash should do nothing when service unavailable")
+    void updatePasswordHash_ServiceUnavailable_DoesNotThrow() {
+        // Act & Assert
+        assertDoesNotThrow(() -> fallback.updatePasswordHash(1L, new UpdatePasswordHashRequest("{bcrypt}$2a$12$x")));
+    }
+
+    @Test
+    @DisplayName("createUsers should return no results when service unavailable")
+    void createUsers_ServiceUnavailable_ReturnsEmpty() {
+        // Arrange
+        CreateUserRequest request = CreateUserRequest.builder()
+                .email("test@example.com")
+                .username("testuser")
+                .passwordHash("hashed")
+                .role("USER")
+                .build();
+
+        // Act & Assert
+        assertTrue(fallback.createUsers(List.of(request)).isEmpty());
+    }
 }
@@ -0,0 +1,61 @@
+package com.marketplace.auth.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+
+/**
+ * Unit tests for the password encoder configured in AuthConfig.
+ */
+class AuthConfigTest {
+
+    @Test
+    @DisplayName("Should hash with the bcrypt prefix at the configured strength")
+    void passwordEncoder_FixedStrength_EncodesPrefixedHash() {
+        // Arrange
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        PasswordEncoder encoder = new AuthConfig().passwordEncoder(meterRegistry, 5, Duration.ofMillis(50), 10, 14);
+
+        // Act
+        String hash = encoder.encode("password123");
+
+        // Assert
+        assertTrue(hash.startsWith("{bcrypt}$2a$05$"), hash);
+        assertTrue(encoder.matches("password123", hash));
+        assertFalse(encoder.upgradeEncoding(hash));
+        assertEquals(
+                5.0, meterRegistry.get("auth.password.bcrypt.strength").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should verify hashes stored without a prefix and flag them for upgrade")
+    void delegatingEncoder_LegacyHash_MatchesAndNeedsUpgrade() {
+        // Arrange
+        PasswordEncoder encoder = AuthConfig.delegatingEncoder(5);
+        String legacy = new BCryptPasswordEncoder(4).encode("password123");
+
+        // Act & Assert
+        assertTrue(encoder.matches("password123", legacy));
+        assertFalse(encoder.matches("wrong", legacy));
+        assertTrue(encoder.upgradeEncoding(legacy));
+    }
+
+    @Test
+    @DisplayName("Should flag prefixed hashes weaker than the current strength for upgrade")
+    void delegatingEncoder_WeakerPrefixedHash_NeedsUpgrade() {
+        // Arrange
+        String weaker = AuthConfig.delegatingEncoder(4).encode("password123");
+        PasswordEncoder encoder = AuthConfig.delegatingEncoder(5);
+
+        // Act & Assert
+        assertTrue(encoder.matches("password123", weaker));
+        assertTrue(encoder.upgradeEncoding(weaker));
+        assertFalse(AuthConfig.delegatingEncoder(4).upgradeEncoding(encoder.encode("password123")));
+    }
+}
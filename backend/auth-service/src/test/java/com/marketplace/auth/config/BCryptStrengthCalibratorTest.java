@@ -0,0 +1,71 @@
+package com.marketplace.auth.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Unit tests for BCryptStrengthCalibrator, with hash times simulated as doubling per strength.
+ */
+class BCryptStrengthCalibratorTest {
+
+    private final List<Integer> timed = new ArrayList<>();
+
+    /** 1 ms at strength 4, doubling each step: strength 10 is 64 ms, 9 is 32 ms. */
+    private BCryptStrengthCalibrator calibrator(double msAtStrength4) {
+        return new BCryptStrengthCalibrator(strength -> {
+            timed.add(strength);
+            return (long) (msAtStrength4 * 1_000_000 * Math.pow(2, strength - 4));
+        });
+    }
+
+    @Test
+    @DisplayName("Should pick the highest strength within the target without timing beyond it")
+    void calibrate_FastMachine_PicksHighestStrengthWithinTarget() {
+        // Arrange: strength 10 takes 16 ms, 12 takes 64 ms
+        BCryptStrengthCalibrator calibrator = calibrator(0.25);
+
+        // Act
+        int strength = calibrator.calibrate(Duration.ofMillis(50), 10, 14);
+
+        // Assert
+        assertEquals(11, strength);
+        assertFalse(timed.contains(12), "strength 12 was predicted to overshoot and should not be timed");
+    }
+
+    @Test
+    @DisplayName("Should fall back to the minimum strength on a slow machine")
+    void calibrate_SlowMachine_UsesMinimum() {
+        // Act
+        int strength = calibrator(4).calibrate(Duration.ofMillis(50), 10, 14);
+
+        // Assert
+        assertEquals(10, strength);
+    }
+
+    @Test
+    @DisplayName("Should not go above the maximum strength")
+    void calibrate_VeryFastMachine_CapsAtMaximum() {
+        // Act
+        int strength = calibrator(0.001).calibrate(Duration.ofMillis(50), 10, 12);
+
+        // Assert
+        assertEquals(12, strength);
+    }
+
+    @Test
+    @DisplayName("Should reject strengths BCrypt does not support")
+    void calibrate_InvalidRange_Throws() {
+        // Arrange
+        BCryptStrengthCalibrator calibrator = calibrator(1);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> calibrator.calibrate(Duration.ofMillis(50), 3, 10));
+        assertThrows(IllegalArgumentException.class, () -> calibrator.calibrate(Duration.ofMillis(50), 12, 10));
+    }
+}
@@ -0,0 +1,41 @@
+package com.marketplace.auth.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.marketplace.auth.consumer.UserCredentialEvent;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Unit tests for the consumer configured in KafkaConfig.
+ */
+class KafkaConfigTest {
+
+    @Test
+    @DisplayName("Should read credential events whatever type header the producer sent")
+    void consumerFactory_ForeignTypeHeader_DeserializesCredentialEvent() {
+        // Arrange
+        KafkaConfig kafkaConfig = new KafkaConfig();
+        ReflectionTestUtils.setField(kafkaConfig, "bootstrapServers", "localhost:9092");
+        Deserializer<UserCredentialEvent> deserializer =
+                kafkaConfig.consumerFactory().getValueDeserializer();
+        RecordHeaders headers = new RecordHeaders();
+        headers.add("__TypeId__", "org.example.kafka.UserCredentialEvent".getBytes(StandardCharsets.UTF_8));
+        byte[] payload = ("{\"userId\":7,\"email\":\"user@example.com\",\"username\":\"user7\","
+                        + "\"passwordHash\":\"{bcrypt}hash\",\"role\":\"USER\",\"timestamp\":1700000000000}")
+                .getBytes(StandardCharsets.UTF_8);
+
+        // Act
+        UserCredentialEvent event = deserializer.deserialize("user-credentials", headers, payload);
+
+        // Assert
+        assertEquals(7L, event.getUserId());
+        assertEquals("user@example.com", event.getEmail());
+        assertEquals("{bcrypt}hash", event.getPasswordHash());
+    }
+}
@@ -0,0 +1,81 @@
+package com.marketplace.auth.consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.marketplace.auth.client.dto.AuthUserResponse;
+import com.marketplace.auth.service.CredentialStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for UserCredentialConsumer.
+ */
+class UserCredentialConsumerTest {
+
+    private CredentialStore store;
+    private UserCredentialConsumer consumer;
+
+    @BeforeEach
+    void setUp() {
+        store = new CredentialStore(new SimpleMeterRegistry());
+        consumer = new UserCredentialConsumer(store);
+    }
+
+    @Test
+    @DisplayName("Should store the credentials carried by an event")
+    void consumeCredentials_Event_StoresCredentials() {
+        // Act
+        consumer.consumeCredentials(record("7", event(7L, "user@example.com")));
+
+        // Assert
+        AuthUserResponse stored = store.findByEmail("user@example.com").orElseThrow();
+        assertEquals(7L, stored.getUserId());
+        assertEquals("user7", stored.getUsername());
+        assertEquals("{bcrypt}$2a$10$hash", stored.getPasswordHash());
+        assertEquals("USER", stored.getRole());
+    }
+
+    @Test
+    @DisplayName("Should remove the user on a tombstone")
+    void consumeCredentials_Tombstone_RemovesUser() {
+        // Arrange
+        consumer.consumeCredentials(record("7", event(7L, "user@example.com")));
+
+        // Act
+        consumer.consumeCredentials(record("7", null));
+
+        // Assert
+        assertTrue(store.findByEmail("user@example.com").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should ignore events without the fields a login needs")
+    void consumeCredentials_IncompleteEvent_Ignored() {
+        // Arrange
+        UserCredentialEvent incomplete = event(7L, "user@example.com");
+        incomplete.setPasswordHash(null);
+
+        // Act
+        consumer.consumeCredentials(record("7", incomplete));
+
+        // Assert
+        assertEquals(0, store.size());
+    }
+
+    private static UserCredentialEvent event(Long userId, String email) {
+        return UserCredentialEvent.builder()
+                .userId(userId)
+                .email(email)
+                .username("user" + userId)
+                .passwordHash("{bcrypt}$2a$10$hash")
+                .role("USER")
+                .build();
+    }
+
+    private static ConsumerRecord<String, UserCredentialEvent> record(String key, UserCredentialEvent value) {
+        return new ConsumerRecord<>("user-credentials", 0, 0L, key, value);
+    }
+}
@@ -1,15 +1,21 @@
 package com.marketplace.auth.controller;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.marketplace.auth.dto.AuthResponse;
+import com.marketplace.auth.dto.BatchRegisterResult;
 import com.marketplace.auth.dto.LoginRequest;
 import com.marketplace.auth.dto.RegisterRequest;
+import com.marketplace.auth.exception.AdminRequiredException;
 import com.marketplace.auth.service.AuthService;
+import com.marketplace.auth.service.BatchRegistrationService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -20,6 +26,8 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.List;
+
 /**
  * Unit tests for AuthController using MockMvc.
  */
@@ -35,6 +43,9 @@ class AuthControllerTest {
     @MockitoBean
     private AuthService authService;
 
+    @MockitoBean
+    private BatchRegistrationService batchRegistrationService;
+
     private AuthResponse mockAuthResponse;
 
     @BeforeEach
@@ -96,7 +107,7 @@ class AuthControllerTest {
         void login_ValidCredentials_Returns200WithAuthResponse() throws Exception {
             // Arrange
             LoginRequest request = new LoginRequest("test@example.com", "password123");
-            when(authService.login(any(LoginRequest.class))).thenReturn(mockAuthResponse);
+            when(authService.login(any(LoginRequest.class), any())).thenReturn(mockAuthResponse);
 
             // Act & Assert
             mockMvc.perform(post("/api/auth/login")
@@ -122,7 +133,7 @@ class AuthControllerTest {
                     .username("admin")
                     .role("ADMIN")
                     .build();
-            when(authService.login(any(LoginRequest.class))).thenReturn(adminResponse);
+            when(authService.login(any(LoginRequest.class), any())).thenReturn(adminResponse);
 
             // Act & Assert
             mockMvc.perform(post("/api/auth/login")
@@ -133,4 +144,56 @@ class AuthControllerTest {
                     .andExpect(jsonPath("$.username").value("admin"));
         }
     }
+
+    @Nested
+    @DisplayName("Batch Registration Endpoint Tests")
+    class BatchRegistrationEndpointTests {
+
+        @Test
+        @DisplayName("POST /api/auth/register/batch - should return a result per user")
+        void registerBatch_Admin_ReturnsResults() throws Exception {
+            // Arrange
+            List<RegisterRequest> requests = List.of(
+                    new RegisterRequest("a@example.com", "a", "password1"),
+                    new RegisterRequest("b@example.com", "b", "password2"));
+            when(batchRegistrationService.registerAll(eq("Bearer admin.jwt.token"), anyList()))
+                    .thenReturn(List.of(
+                            BatchRegisterResult.builder()
+                                    .index(0)
+                                    .email("a@example.com")
+                                    .status(BatchRegisterResult.Status.REGISTERED)
+                                    .userId(1L)
+                                    .build(),
+                            BatchRegisterResult.builder()
+                                    .index(1)
+                                    .email("b@example.com")
+                                    .status(BatchRegisterResult.Status.CONFLICT)
+                                    .error("Email already registered")
+                                    .build()));
+
+            // Act & Assert
+            mockMvc.perform(post("/api/auth/register/batch")
+                            .header("Authorization", "Bearer admin.jwt.token")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(requests)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].status").value("REGISTERED"))
+                    .andExpect(jsonPath("$[0].userId").value(1))
+                    .andExpect(jsonPath("$[1].status").value("CONFLICT"));
+        }
+
+        @Test
+        @DisplayName("POST /api/auth/register/batch - should return 403 for non-admin callers")
+        void registerBatch_NotAdmin_Returns403() throws Exception {
+            // Arrange
+            when(batchRegistrationService.registerAll(isNull(), anyList()))
+                    .thenThrow(new AdminRequiredException("Batch registration requires the ADMIN role"));
+
+            // Act & Assert
+            mockMvc.perform(post("/api/auth/register/batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("[]"))
+                    .andExpect(status().isForbidden());
+        }
+    }
 }
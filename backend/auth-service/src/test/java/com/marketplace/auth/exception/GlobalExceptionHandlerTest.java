@@ -8,6 +8,8 @@ import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.time.Duration;
+
 /**
  * Unit tests for GlobalExceptionHandler.
  */
@@ -61,4 +63,49 @@ class GlobalExceptionHandlerTest {
         assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
         assertEquals("", response.getBody());
     }
+
+    @Test
+    @DisplayName("Should return 503 with Retry-After when password hashing is overloaded")
+    void handleHashingOverloadedException_ReturnsServiceUnavailable() {
+        // Arrange
+        HashingOverloadedException exception = new HashingOverloadedException("Too many requests");
+
+        // Act
+        ResponseEntity<String> response = exceptionHandler.handleException(exception);
+
+        // Assert
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("1", response.getHeaders().getFirst("Retry-After"));
+        assertEquals("Too many requests", response.getBody());
+    }
+
+    @Test
+    @DisplayName("Should return 429 with Retry-After rounded up to whole seconds when logins are throttled")
+    void handleTooManyLoginAttemptsException_ReturnsTooManyRequests() {
+        // Arrange
+        TooManyLoginAttemptsException exception =
+                new TooManyLoginAttemptsException("Too many failed login attempts", Duration.ofMillis(90_500));
+
+        // Act
+        ResponseEntity<String> response = exceptionHandler.handleException(exception);
+
+        // Assert
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+        assertEquals("91", response.getHeaders().getFirst("Retry-After"));
+        assertEquals("Too many failed login attempts", response.getBody());
+    }
+
+    @Test
+    @DisplayName("Should return 403 when an administrator is required")
+    void handleAdminRequiredException_ReturnsForbidden() {
+        // Arrange
+        AdminRequiredException exception = new AdminRequiredException("Batch registration requires the ADMIN role");
+
+        // Act
+        ResponseEntity<String> response = exceptionHandler.handleException(exception);
+
+        // Assert
+        assertEquals(HttpStatus.FORBIDDEN, response.getStatusCode());
+        assertEquals("Batch registration requires the ADMIN role", response.getBody());
+    }
 }
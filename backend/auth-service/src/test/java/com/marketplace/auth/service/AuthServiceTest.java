@@ -2,17 +2,20 @@ package com.marketplace.auth.service;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 import com.marketplace.auth.client.UserServiceClient;
 import com.marketplace.auth.client.dto.AuthUserResponse;
 import com.marketplace.auth.client.dto.CreateUserRequest;
+import com.marketplace.auth.client.dto.UpdatePasswordHashRequest;
 import com.marketplace.auth.client.dto.UserResponse;
 import com.marketplace.auth.dto.AuthResponse;
 import com.marketplace.auth.dto.LoginRequest;
 import com.marketplace.auth.dto.RegisterRequest;
 import com.marketplace.auth.exception.InvalidLoginException;
+import com.marketplace.auth.exception.TooManyLoginAttemptsException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -21,8 +24,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Duration;
 import java.util.Optional;
 
 /**
@@ -35,20 +38,29 @@ class AuthServiceTest {
     private JwtUtil jwtUtil;
 
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
 
     @Mock
     private UserServiceClient userServiceClient;
 
+    @Mock
+    private CredentialStore credentialStore;
+
+    @Mock
+    private LoginThrottle loginThrottle;
+
     @InjectMocks
     private AuthService authService;
 
     private static final String TEST_TOKEN = "test.jwt.token";
     private static final Long EXPIRATION = 86400000L;
+    private static final String CLIENT_IP = "203.0.113.7";
 
     @BeforeEach
     void setUp() {
-        lenient().when(jwtUtil.generateToken(anyString(), anyString())).thenReturn(TEST_TOKEN);
+        lenient()
+                .when(jwtUtil.generateToken(anyString(), anyString(), anyLong()))
+                .thenReturn(TEST_TOKEN);
         lenient().when(jwtUtil.getExpiration()).thenReturn(EXPIRATION);
     }
 
@@ -82,7 +94,7 @@ class AuthServiceTest {
             assertEquals(EXPIRATION, response.getExpiresIn());
 
             verify(userServiceClient).createUser(any(CreateUserRequest.class));
-            verify(jwtUtil).generateToken("newuser", "USER");
+            verify(jwtUtil).generateToken("newuser", "USER", 1L);
         }
 
         @Test
@@ -98,7 +110,7 @@ class AuthServiceTest {
             assertTrue(exception.getMessage().contains("Failed to create user"));
 
             verify(userServiceClient).createUser(any(CreateUserRequest.class));
-            verify(jwtUtil, never()).generateToken(anyString(), anyString());
+            verify(jwtUtil, never()).generateToken(anyString(), anyString(), anyLong());
         }
 
         @Test
@@ -148,10 +160,10 @@ class AuthServiceTest {
                     .build();
 
             when(userServiceClient.getUserForAuth("user@example.com")).thenReturn(Optional.of(authUser));
-            when(passwordEncoder.matches("password123", "hashed_password")).thenReturn(true);
+            when(passwordHasher.matches("password123", "hashed_password")).thenReturn(true);
 
             // Act
-            AuthResponse response = authService.login(request);
+            AuthResponse response = authService.login(request, CLIENT_IP);
 
             // Assert
             assertNotNull(response);
@@ -162,8 +174,9 @@ class AuthServiceTest {
             assertEquals(EXPIRATION, response.getExpiresIn());
 
             verify(userServiceClient).getUserForAuth("user@example.com");
-            verify(passwordEncoder).matches("password123", "hashed_password");
-            verify(jwtUtil).generateToken("testuser", "USER");
+            verify(passwordHasher).matches("password123", "hashed_password");
+            verify(jwtUtil).generateToken("testuser", "USER", 1L);
+            verify(loginThrottle).recordSuccess("user@example.com");
         }
 
         @Test
@@ -180,10 +193,10 @@ class AuthServiceTest {
                     .build();
 
             when(userServiceClient.getUserForAuth("admin@example.com")).thenReturn(Optional.of(authUser));
-            when(passwordEncoder.matches("admin123", "hashed_admin123")).thenReturn(true);
+            when(passwordHasher.matches("admin123", "hashed_admin123")).thenReturn(true);
 
             // Act
-            AuthResponse response = authService.login(request);
+            AuthResponse response = authService.login(request, CLIENT_IP);
 
             // Assert
             assertNotNull(response);
@@ -191,6 +204,44 @@ class AuthServiceTest {
             assertEquals("ADMIN", response.getRole());
         }
 
+        @Test
+        @DisplayName("Should verify against local credentials without calling user service")
+        void login_LocalCredentials_SkipsUserService() {
+            // Arrange
+            LoginRequest request = new LoginRequest("user@example.com", "password123");
+            AuthUserResponse authUser = AuthUserResponse.builder()
+                    .userId(1L)
+                    .email("user@example.com")
+                    .username("testuser")
+                    .passwordHash("hashed_password")
+                    .role("USER")
+                    .build();
+
+            when(credentialStore.findByEmail("user@example.com")).thenReturn(Optional.of(authUser));
+            when(passwordHasher.matches("password123", "hashed_password")).thenReturn(true);
+
+            // Act
+            AuthResponse response = authService.login(request, CLIENT_IP);
+
+            // Assert
+            assertEquals(TEST_TOKEN, response.getToken());
+            verify(userServiceClient, never()).getUserForAuth(anyString());
+        }
+
+        @Test
+        @DisplayName("Should refuse a throttled login before looking up or hashing anything")
+        void login_Throttled_RejectsBeforeLookupAndHashing() {
+            // Arrange
+            LoginRequest request = new LoginRequest("user@example.com", "password123");
+            doThrow(new TooManyLoginAttemptsException("Too many failed login attempts", Duration.ofMinutes(1)))
+                    .when(loginThrottle)
+                    .check("user@example.com", CLIENT_IP);
+
+            // Act & Assert
+            assertThrows(TooManyLoginAttemptsException.class, () -> authService.login(request, CLIENT_IP));
+            verifyNoInteractions(credentialStore, userServiceClient, passwordHasher);
+        }
+
         @Test
         @DisplayName("Should throw exception for non-existent user")
         void login_NonExistentUser_ThrowsIllegalArgumentException() {
@@ -200,10 +251,11 @@ class AuthServiceTest {
 
             // Act & Assert
             InvalidLoginException exception =
-                    assertThrows(InvalidLoginException.class, () -> authService.login(request));
+                    assertThrows(InvalidLoginException.class, () -> authService.login(request, CLIENT_IP));
 
             verify(userServiceClient).getUserForAuth("nonexistent@example.com");
-            verify(passwordEncoder, never()).matches(anyString(), anyString());
+            verify(passwordHasher, never()).matches(anyString(), anyString());
+            verify(loginThrottle).recordFailure("nonexistent@example.com", CLIENT_IP);
         }
 
         @Test
@@ -220,15 +272,80 @@ class AuthServiceTest {
                     .build();
 
             when(userServiceClient.getUserForAuth("user@example.com")).thenReturn(Optional.of(authUser));
-            when(passwordEncoder.matches("wrongpassword", "hashed_correctpassword"))
+            when(passwordHasher.matches("wrongpassword", "hashed_correctpassword"))
                     .thenReturn(false);
 
             // Act & Assert
             InvalidLoginException exception =
-                    assertThrows(InvalidLoginException.class, () -> authService.login(request));
+                    assertThrows(InvalidLoginException.class, () -> authService.login(request, CLIENT_IP));
+
+            verify(passwordHasher).matches("wrongpassword", "hashed_correctpassword");
+            verify(jwtUtil, never()).generateToken(anyString(), anyString(), anyLong());
+            verify(loginThrottle).recordFailure("user@example.com", CLIENT_IP);
+        }
+    }
+
+    @Nested
+    @DisplayName("Password Hash Upgrade Tests")
+    class PasswordHashUpgradeTests {
+
+        private final AuthUserResponse authUser = AuthUserResponse.builder()
+                .userId(7L)
+                .email("user@example.com")
+                .username("testuser")
+                .passwordHash("$2a$10$legacy")
+                .role("USER")
+                .build();
+
+        @Test
+        @DisplayName("Should re-hash an outdated hash and store it through user-service")
+        void login_OutdatedHash_UpgradesThroughUserService() {
+            // Arrange
+            when(userServiceClient.getUserForAuth("user@example.com")).thenReturn(Optional.of(authUser));
+            when(passwordHasher.matches("password123", "$2a$10$legacy")).thenReturn(true);
+            when(passwordHasher.upgradeEncoding("$2a$10$legacy")).thenReturn(true);
+            when(passwordHasher.encode("password123")).thenReturn("{bcrypt}$2a$12$upgraded");
 
-            verify(passwordEncoder).matches("wrongpassword", "hashed_correctpassword");
-            verify(jwtUtil, never()).generateToken(anyString(), anyString());
+            // Act
+            AuthResponse response = authService.login(new LoginRequest("user@example.com", "password123"), CLIENT_IP);
+
+            // Assert
+            assertEquals(TEST_TOKEN, response.getToken());
+            verify(userServiceClient).updatePasswordHash(7L, new UpdatePasswordHashRequest("{bcrypt}$2a$12$upgraded"));
+        }
+
+        @Test
+        @DisplayName("Should still log in when storing the upgraded hash fails")
+        void login_UpgradeFails_StillReturnsToken() {
+            // Arrange
+            when(userServiceClient.getUserForAuth("user@example.com")).thenReturn(Optional.of(authUser));
+            when(passwordHasher.matches("password123", "$2a$10$legacy")).thenReturn(true);
+            when(passwordHasher.upgradeEncoding("$2a$10$legacy")).thenReturn(true);
+            when(passwordHasher.encode("password123")).thenReturn("{bcrypt}$2a$12$upgraded");
+            doThrow(new RuntimeException("User service error"))
+                    .when(userServiceClient)
+                    .updatePasswordHash(anyLong(), any(UpdatePasswordHashRequest.class));
+
+            // Act
+            AuthResponse response = authService.login(new LoginRequest("user@example.com", "password123"), CLIENT_IP);
+
+            // Assert
+            assertEquals(TEST_TOKEN, response.getToken());
+        }
+
+        @Test
+        @DisplayName("Should leave a current hash alone")
+        void login_CurrentHash_DoesNotRehash() {
+            // Arrange
+            when(userServiceClient.getUserForAuth("user@example.com")).thenReturn(Optional.of(authUser));
+            when(passwordHasher.matches("password123", "$2a$10$legacy")).thenReturn(true);
+
+            // Act
+            authService.login(new LoginRequest("user@example.com", "password123"), CLIENT_IP);
+
+            // Assert
+            verify(passwordHasher, never()).encode(anyString());
+            verify(userServiceClient, never()).updatePasswordHash(anyLong(), any(UpdatePasswordHashRequest.class));
         }
     }
 
@@ -250,10 +367,10 @@ class AuthServiceTest {
                     .build();
 
             when(userServiceClient.getUserForAuth("complete@example.com")).thenReturn(Optional.of(authUser));
-            when(passwordEncoder.matches("password", "complete_hash")).thenReturn(true);
+            when(passwordHasher.matches("password", "complete_hash")).thenReturn(true);
 
             // Act
-            AuthResponse response = authService.login(request);
+            AuthResponse response = authService.login(request, CLIENT_IP);
 
             // Assert
             assertNotNull(response);
@@ -275,13 +392,13 @@ class AuthServiceTest {
                     .build();
 
             when(userServiceClient.getUserForAuth("user@example.com")).thenReturn(Optional.of(authUser));
-            when(passwordEncoder.matches("password", "hash")).thenReturn(true);
+            when(passwordHasher.matches("password", "hash")).thenReturn(true);
 
             // Act
-            authService.login(request);
+            authService.login(request, CLIENT_IP);
 
-            // Assert - verify token generated with correct username and role
-            verify(jwtUtil).generateToken("specificuser", "ADMIN");
+            // Assert - verify token generated with correct username, role and user ID
+            verify(jwtUtil).generateToken("specificuser", "ADMIN", 1L);
         }
     }
 }
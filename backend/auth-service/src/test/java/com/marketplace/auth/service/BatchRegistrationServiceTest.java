@@ -0,0 +1,177 @@
+package com.marketplace.auth.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+import com.marketplace.auth.client.UserServiceClient;
+import com.marketplace.auth.client.dto.BatchCreateUserResult;
+import com.marketplace.auth.client.dto.CreateUserRequest;
+import com.marketplace.auth.client.dto.UserResponse;
+import com.marketplace.auth.dto.BatchRegisterResult;
+import com.marketplace.auth.dto.RegisterRequest;
+import com.marketplace.auth.exception.AdminRequiredException;
+import com.marketplace.auth.exception.InvalidLoginException;
+import feign.FeignException;
+import feign.Request;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Unit tests for BatchRegistrationService.
+ */
+@ExtendWith(MockitoExtension.class)
+class BatchRegistrationServiceTest {
+
+    private static final String ADMIN_HEADER = "Bearer admin.jwt.token";
+
+    @Mock
+    private JwtUtil jwtUtil;
+
+    @Mock
+    private PasswordHasher passwordHasher;
+
+    @Mock
+    private UserServiceClient userServiceClient;
+
+    private BatchRegistrationService service;
+
+    @BeforeEach
+    void setUp() {
+        // Chunks of two, hashed on the calling thread
+        service = new BatchRegistrationService(jwtUtil, passwordHasher, userServiceClient, 2, 10, Runnable::run);
+    }
+
+    @Test
+    @DisplayName("Should hash and create valid users in chunks and map results back in request order")
+    void registerAll_MixedBatch_ReturnsResultPerUser() {
+        // Arrange
+        when(jwtUtil.extractRole("admin.jwt.token")).thenReturn("ADMIN");
+        when(passwordHasher.encodeAll(anyList())).thenAnswer(invocation -> {
+            List<String> passwords = invocation.getArgument(0);
+            return passwords.stream().map(p -> "hash-" + p).toList();
+        });
+        List<List<CreateUserRequest>> sent = new ArrayList<>();
+        when(userServiceClient.createUsers(anyList())).thenAnswer(invocation -> {
+            List<CreateUserRequest> chunk = invocation.getArgument(0);
+            sent.add(chunk);
+            List<BatchCreateUserResult> results = new ArrayList<>();
+            for (int i = 0; i < chunk.size(); i++) {
+                boolean taken = chunk.get(i).getEmail().startsWith("taken");
+                results.add(BatchCreateUserResult.builder()
+                        .index(i)
+                        .status(taken ? BatchCreateUserResult.Status.CONFLICT : BatchCreateUserResult.Status.CREATED)
+                        .user(
+                                taken
+                                        ? null
+                                        : UserResponse.builder()
+                                                .userId(100L + sent.size() * 10 + i)
+                                                .build())
+                        .error(taken ? "Email already registered" : null)
+                        .build());
+            }
+            return results;
+        });
+        List<RegisterRequest> requests = List.of(
+                new RegisterRequest("a@example.com", "a", "pa"),
+                new RegisterRequest("b@example.com", "", "pb"),
+                new RegisterRequest("taken@example.com", "c", "pc"),
+                new RegisterRequest("d@example.com", "d", "pd"));
+
+        // Act
+        List<BatchRegisterResult> results = service.registerAll(ADMIN_HEADER, requests);
+
+        // Assert
+        assertEquals(4, results.size());
+        assertEquals(BatchRegisterResult.Status.REGISTERED, results.get(0).getStatus());
+        assertEquals(110L, results.get(0).getUserId());
+        assertEquals(BatchRegisterResult.Status.INVALID, results.get(1).getStatus());
+        assertEquals(BatchRegisterResult.Status.CONFLICT, results.get(2).getStatus());
+        assertEquals(BatchRegisterResult.Status.REGISTERED, results.get(3).getStatus());
+        assertEquals(120L, results.get(3).getUserId());
+        assertEquals("d@example.com", results.get(3).getEmail());
+
+        assertEquals(2, sent.size());
+        assertEquals("hash-pa", sent.get(0).get(0).getPasswordHash());
+        assertEquals("hash-pc", sent.get(0).get(1).getPasswordHash());
+        assertEquals("USER", sent.get(1).get(0).getRole());
+    }
+
+    @Test
+    @DisplayName("Should mark a chunk failed when user-service errors or leaves users out, without failing others")
+    void registerAll_ChunkFails_MarksOnlyThatChunkFailed() {
+        // Arrange
+        when(jwtUtil.extractRole("admin.jwt.token")).thenReturn("ADMIN");
+        when(passwordHasher.encodeAll(anyList())).thenAnswer(invocation -> {
+            List<String> passwords = invocation.getArgument(0);
+            return passwords.stream().map(p -> "hash").toList();
+        });
+        FeignException unavailable = new FeignException.ServiceUnavailable(
+                "unavailable",
+                Request.create(
+                        Request.HttpMethod.POST, "/api/users/batch", Map.of(), null, StandardCharsets.UTF_8, null),
+                null,
+                null);
+        when(userServiceClient.createUsers(anyList()))
+                .thenThrow(unavailable)
+                .thenReturn(List.of(BatchCreateUserResult.builder()
+                        .index(0)
+                        .status(BatchCreateUserResult.Status.CREATED)
+                        .user(UserResponse.builder().userId(7L).build())
+                        .build()));
+        List<RegisterRequest> requests = List.of(
+                new RegisterRequest("a@example.com", "a", "pa"),
+                new RegisterRequest("b@example.com", "b", "pb"),
+                new RegisterRequest("c@example.com", "c", "pc"),
+                new RegisterRequest("d@example.com", "d", "pd"));
+
+        // Act
+        List<BatchRegisterResult> results = service.registerAll(ADMIN_HEADER, requests);
+
+        // Assert
+        assertEquals(BatchRegisterResult.Status.FAILED, results.get(0).getStatus());
+        assertEquals(BatchRegisterResult.Status.FAILED, results.get(1).getStatus());
+        assertEquals(BatchRegisterResult.Status.REGISTERED, results.get(2).getStatus());
+        assertEquals(7L, results.get(2).getUserId());
+        assertEquals(BatchRegisterResult.Status.FAILED, results.get(3).getStatus());
+        assertEquals("No result from user service", results.get(3).getError());
+    }
+
+    @Test
+    @DisplayName("Should reject callers without a token or without the ADMIN role before hashing anything")
+    void registerAll_NotAdmin_Throws() {
+        // Arrange
+        when(jwtUtil.extractRole("user.jwt.token")).thenReturn("USER");
+        List<RegisterRequest> requests = List.of(new RegisterRequest("a@example.com", "a", "pa"));
+
+        // Act & Assert
+        assertThrows(InvalidLoginException.class, () -> service.registerAll(null, requests));
+        assertThrows(AdminRequiredException.class, () -> service.registerAll("Bearer user.jwt.token", requests));
+        verifyNoInteractions(passwordHasher, userServiceClient);
+    }
+
+    @Test
+    @DisplayName("Should reject batches over the configured maximum")
+    void registerAll_TooLarge_Throws() {
+        // Arrange
+        when(jwtUtil.extractRole(anyString())).thenReturn("ADMIN");
+        List<RegisterRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 11; i++) {
+            requests.add(new RegisterRequest("u" + i + "@example.com", "u" + i, "p"));
+        }
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> service.registerAll(ADMIN_HEADER, requests));
+        verifyNoInteractions(passwordHasher);
+    }
+}
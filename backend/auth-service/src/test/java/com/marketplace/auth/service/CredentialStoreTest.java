@@ -0,0 +1,92 @@
+package com.marketplace.auth.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.marketplace.auth.client.dto.AuthUserResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for CredentialStore.
+ */
+class CredentialStoreTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private CredentialStore store;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        store = new CredentialStore(meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should find stored credentials by email and count hits and misses")
+    void findByEmail_StoredUser_ReturnsCredentials() {
+        // Arrange
+        store.put(user(1L, "user@example.com", "hash"));
+
+        // Act & Assert
+        assertEquals("hash", store.findByEmail("user@example.com").orElseThrow().getPasswordHash());
+        assertTrue(store.findByEmail("other@example.com").isEmpty());
+        assertTrue(store.findByEmail(null).isEmpty());
+        assertEquals(
+                1.0,
+                meterRegistry
+                        .get("auth.credentials.lookups")
+                        .tag("result", "hit")
+                        .counter()
+                        .count());
+        assertEquals(
+                2.0,
+                meterRegistry
+                        .get("auth.credentials.lookups")
+                        .tag("result", "miss")
+                        .counter()
+                        .count());
+    }
+
+    @Test
+    @DisplayName("Should drop the old email when a user changes it")
+    void put_EmailChanged_ReplacesOldEntry() {
+        // Arrange
+        store.put(user(1L, "old@example.com", "hash"));
+
+        // Act
+        store.put(user(1L, "new@example.com", "hash"));
+
+        // Assert
+        assertTrue(store.findByEmail("old@example.com").isEmpty());
+        assertTrue(store.findByEmail("new@example.com").isPresent());
+        assertEquals(1, store.size());
+        assertEquals(1.0, meterRegistry.get("auth.credentials.size").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should remove a deleted user and ignore unknown IDs")
+    void remove_KnownAndUnknownUser_RemovesOnlyKnown() {
+        // Arrange
+        store.put(user(1L, "user@example.com", "hash"));
+        store.put(user(2L, "other@example.com", "hash"));
+
+        // Act
+        store.remove(1L);
+        store.remove(99L);
+
+        // Assert
+        assertTrue(store.findByEmail("user@example.com").isEmpty());
+        assertTrue(store.findByEmail("other@example.com").isPresent());
+    }
+
+    private static AuthUserResponse user(Long userId, String email, String hash) {
+        return AuthUserResponse.builder()
+                .userId(userId)
+                .email(email)
+                .username("user" + userId)
+                .passwordHash(hash)
+                .role("USER")
+                .build();
+    }
+}
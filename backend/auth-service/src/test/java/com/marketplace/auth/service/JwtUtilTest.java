@@ -118,4 +118,25 @@ class JwtUtilTest {
         assertNotNull(token);
         assertTrue(jwtUtil.isTokenValid(token, "admin"));
     }
+
+    @Test
+    @DisplayName("Should include user ID in generated token")
+    void generateToken_WithUserId_IncludesUserIdClaim() {
+        // Act
+        String token = jwtUtil.generateToken("testuser", "USER", 42L);
+
+        // Assert
+        assertEquals(42L, jwtUtil.extractUserId(token));
+        assertEquals("testuser", jwtUtil.extractUsername(token));
+    }
+
+    @Test
+    @DisplayName("Should return null user ID for tokens without the claim")
+    void extractUserId_TokenWithoutClaim_ReturnsNull() {
+        // Arrange
+        String token = jwtUtil.generateToken("testuser", "USER");
+
+        // Act & Assert
+        assertNull(jwtUtil.extractUserId(token));
+    }
 }
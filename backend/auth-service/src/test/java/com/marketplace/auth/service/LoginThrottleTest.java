@@ -0,0 +1,101 @@
+package com.marketplace.auth.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.marketplace.auth.exception.TooManyLoginAttemptsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Unit tests for LoginThrottle: 3 failures per email, 5 per address, over 10 minutes.
+ */
+class LoginThrottleTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private SimpleMeterRegistry meterRegistry;
+    private LoginThrottle throttle;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        throttle = new LoginThrottle(meterRegistry, true, Duration.ofMinutes(10), 10, 3, 5, 1000, clock::get);
+    }
+
+    @Test
+    @DisplayName("Should refuse an email after too many failures, whatever its case")
+    void check_EmailOverLimit_Throws() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            throttle.recordFailure("User@Example.com", "10.0.0." + i);
+        }
+
+        // Act & Assert
+        TooManyLoginAttemptsException ex =
+                assertThrows(TooManyLoginAttemptsException.class, () -> throttle.check("user@example.com", "10.0.0.9"));
+        assertEquals(Duration.ofMinutes(10), ex.getRetryAfter());
+        assertEquals(
+                1.0,
+                meterRegistry
+                        .get("auth.login.throttled")
+                        .tag("key", "email")
+                        .counter()
+                        .count());
+        assertDoesNotThrow(() -> throttle.check("other@example.com", "10.0.0.9"));
+    }
+
+    @Test
+    @DisplayName("Should refuse an address after too many failures across emails")
+    void check_IpOverLimit_Throws() {
+        // Arrange
+        for (int i = 0; i < 5; i++) {
+            throttle.recordFailure("user" + i + "@example.com", "10.0.0.1");
+        }
+
+        // Act & Assert
+        assertThrows(TooManyLoginAttemptsException.class, () -> throttle.check("new@example.com", "10.0.0.1"));
+        assertEquals(
+                1.0,
+                meterRegistry
+                        .get("auth.login.throttled")
+                        .tag("key", "ip")
+                        .counter()
+                        .count());
+        assertDoesNotThrow(() -> throttle.check("new@example.com", "10.0.0.2"));
+    }
+
+    @Test
+    @DisplayName("Should clear an email's failures on success and let it in again once the window passes")
+    void recordSuccess_ClearsEmail_AndWindowExpires() {
+        // Arrange
+        throttle.recordFailure("a@example.com", "10.0.0.1");
+        throttle.recordFailure("a@example.com", "10.0.0.1");
+        throttle.recordSuccess("a@example.com");
+        throttle.recordFailure("a@example.com", "10.0.0.1");
+
+        // Act & Assert
+        assertDoesNotThrow(() -> throttle.check("a@example.com", "10.0.0.1"));
+        throttle.recordFailure("a@example.com", "10.0.0.1");
+        throttle.recordFailure("a@example.com", "10.0.0.1");
+        assertThrows(TooManyLoginAttemptsException.class, () -> throttle.check("a@example.com", null));
+        clock.addAndGet(Duration.ofMinutes(10).toNanos());
+        assertDoesNotThrow(() -> throttle.check("a@example.com", null));
+    }
+
+    @Test
+    @DisplayName("Should let everything through when disabled")
+    void check_Disabled_NeverThrows() {
+        // Arrange
+        LoginThrottle disabled =
+                new LoginThrottle(meterRegistry, false, Duration.ofMinutes(10), 10, 1, 1, 1000, clock::get);
+        disabled.recordFailure("a@example.com", "10.0.0.1");
+        disabled.recordFailure("a@example.com", "10.0.0.1");
+
+        // Act & Assert
+        assertDoesNotThrow(() -> disabled.check("a@example.com", "10.0.0.1"));
+    }
+}
@@ -0,0 +1,150 @@
+package com.marketplace.auth.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.marketplace.auth.exception.HashingOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for PasswordHasher.
+ */
+class PasswordHasherTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PasswordHasher hasher;
+
+    @AfterEach
+    void tearDown() {
+        hasher.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should hash a batch larger than the queue in order without rejecting it")
+    void encodeAll_LargerThanQueue_HashesInOrder() {
+        // Arrange
+        hasher = new PasswordHasher(new BCryptPasswordEncoder(4), meterRegistry, 2, 1);
+        List<String> passwords = List.of("a", "b", "c", "d", "e", "f");
+
+        // Act
+        List<String> hashes = hasher.encodeAll(passwords);
+
+        // Assert
+        assertEquals(passwords.size(), hashes.size());
+        for (int i = 0; i < passwords.size(); i++) {
+            assertTrue(hasher.matches(passwords.get(i), hashes.get(i)));
+        }
+        assertEquals(
+                0, meterRegistry.get("auth.password.hash.rejected").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should encode and match passwords on the hashing pool and time them")
+    void encodeAndMatches_RecordsLatency() {
+        // Arrange
+        hasher = new PasswordHasher(new BCryptPasswordEncoder(4), meterRegistry, 2, 4);
+
+        // Act
+        String hash = hasher.encode("password123");
+
+        // Assert
+        assertTrue(hasher.matches("password123", hash));
+        assertFalse(hasher.matches("wrong", hash));
+        assertEquals(
+                1,
+                meterRegistry
+                        .get("auth.password.hash")
+                        .tag("operation", "encode")
+                        .timer()
+                        .count());
+        assertEquals(
+                2,
+                meterRegistry
+                        .get("auth.password.hash")
+                        .tag("operation", "matches")
+                        .timer()
+                        .count());
+        assertEquals(
+                3, meterRegistry.get("auth.password.hash.queue.wait").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should reject at once when the hashing queue is full")
+    void encode_QueueFull_RejectsImmediately() throws Exception {
+        // Arrange: one thread, blocked, and room for one more in the queue
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        hasher = new PasswordHasher(blockingEncoder(started, release), meterRegistry, 1, 1);
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> hasher.encode("a"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> hasher.encode("b"));
+        waitForQueueDepth(1);
+
+        // Act & Assert
+        assertThrows(HashingOverloadedException.class, () -> hasher.encode("c"));
+        assertEquals(
+                1.0, meterRegistry.get("auth.password.hash.rejected").counter().count());
+
+        release.countDown();
+        assertEquals("hashed", running.get(5, TimeUnit.SECONDS));
+        assertEquals("hashed", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Should pass encoder failures through to the caller")
+    void matches_EncoderThrows_Propagates() {
+        // Arrange
+        PasswordEncoder failing = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                throw new IllegalArgumentException("rawPassword cannot be null");
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                throw new IllegalArgumentException("rawPassword cannot be null");
+            }
+        };
+        hasher = new PasswordHasher(failing, meterRegistry, 1, 1);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> hasher.matches(null, "$2a$04$abc"));
+    }
+
+    private void waitForQueueDepth(int depth) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("auth.password.hash.queue.depth").gauge().value() < depth) {
+            assertTrue(System.nanoTime() < deadline, "hash never queued");
+            Thread.sleep(5);
+        }
+    }
+
+    private static PasswordEncoder blockingEncoder(CountDownLatch started, CountDownLatch release) {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hashed";
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return false;
+            }
+        };
+    }
+}
@@ -0,0 +1,126 @@
+package com.marketplace.auth.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Unit tests for SlidingWindowCounter, driven by a manual clock.
+ */
+class SlidingWindowCounterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    /** A 10 minute window in 10 one-minute buckets. */
+    private SlidingWindowCounter counter(int maxKeys) {
+        return new SlidingWindowCounter(Duration.ofMinutes(10), 10, maxKeys, clock::get);
+    }
+
+    private void advance(Duration duration) {
+        clock.addAndGet(duration.toNanos());
+    }
+
+    @Test
+    @DisplayName("Should count events per key and forget them as the window slides")
+    void increment_EventsAgeOut_CountSlides() {
+        // Arrange
+        SlidingWindowCounter counter = counter(1000);
+
+        // Act
+        counter.increment("a");
+        counter.increment("a");
+        advance(Duration.ofMinutes(5));
+        int afterThird = counter.increment("a");
+
+        // Assert
+        assertEquals(3, afterThird);
+        assertEquals(0, counter.count("b"));
+        advance(Duration.ofMinutes(5));
+        assertEquals(1, counter.count("a"), "the first two fell out of the window");
+        advance(Duration.ofMinutes(5));
+        assertEquals(0, counter.count("a"));
+    }
+
+    @Test
+    @DisplayName("Should report when the count drops back under a limit")
+    void timeUntilBelow_OverLimit_ReturnsTimeUntilOldestBucketsExpire() {
+        // Arrange: two events at 0:30, three at 4:30
+        SlidingWindowCounter counter = counter(1000);
+        advance(Duration.ofSeconds(30));
+        counter.increment("a");
+        counter.increment("a");
+        advance(Duration.ofMinutes(4));
+        counter.increment("a");
+        counter.increment("a");
+        counter.increment("a");
+
+        // Act & Assert: under 4 once the first minute's bucket leaves at 10:00, 5:30 from now
+        assertEquals(Duration.ofSeconds(330), counter.timeUntilBelow("a", 4));
+        // Under 1 only when the 4:xx bucket leaves at 14:00
+        assertEquals(Duration.ofSeconds(570), counter.timeUntilBelow("a", 1));
+        assertEquals(Duration.ZERO, counter.timeUntilBelow("a", 6));
+        assertEquals(Duration.ZERO, counter.timeUntilBelow("unknown", 1));
+    }
+
+    @Test
+    @DisplayName("Should forget a key on reset")
+    void reset_KnownKey_ClearsCount() {
+        // Arrange
+        SlidingWindowCounter counter = counter(1000);
+        counter.increment("a");
+
+        // Act
+        counter.reset("a");
+
+        // Assert
+        assertEquals(0, counter.count("a"));
+        assertEquals(0, counter.size());
+    }
+
+    @Test
+    @DisplayName("Should cap the number of keys tracked")
+    void increment_ManyKeys_CapsSize() {
+        // Arrange: 64 stripes, so one key per stripe
+        SlidingWindowCounter counter = counter(64);
+
+        // Act
+        for (int i = 0; i < 1000; i++) {
+            counter.increment("key-" + i);
+        }
+
+        // Assert
+        assertTrue(counter.size() <= 64, "size " + counter.size());
+    }
+
+    @Test
+    @DisplayName("Should evict keys whose events have all expired as their stripes are written")
+    void increment_AfterExpiry_EvictsExpiredKeys() {
+        // Arrange
+        SlidingWindowCounter counter = counter(100_000);
+        for (int i = 0; i < 100; i++) {
+            counter.increment("old-" + i);
+        }
+        advance(Duration.ofMinutes(11));
+
+        // Act
+        for (int i = 0; i < 1000; i++) {
+            counter.increment("fresh-" + i);
+        }
+
+        // Assert
+        assertEquals(1000, counter.size());
+        assertEquals(0, counter.count("old-1"));
+    }
+
+    @Test
+    @DisplayName("Should reject a window too short for its buckets")
+    void constructor_InvalidBuckets_Throws() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new SlidingWindowCounter(Duration.ofMinutes(1), 0, 10, clock::get));
+    }
+}
@@ -0,0 +1,37 @@
+package com.marketplace.benchmarks;
+
+import com.marketplace.auth.service.JwtUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/** Token issuing in auth-service, run once per login and registration. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthJwtBenchmark {
+
+    private JwtUtil jwtUtil;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = Tokens.authJwtUtil();
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(Tokens.USERNAME, Tokens.ROLE, Tokens.USER_ID);
+    }
+}
@@ -0,0 +1,84 @@
+package com.marketplace.benchmarks;
+
+import com.example.gateway.security.JwtAuthenticationFilter;
+import com.example.gateway.security.JwtVerifier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The gateway's authentication filter end to end, with a chain that completes at once so only the
+ * filter's own work is measured.
+ *
+ * <ul>
+ *   <li>{@code cached}: the same token on every request, verified once and then read from the
+ *       {@link JwtVerifier} cache.
+ *   <li>{@code uncached}: two tokens alternating through a one-entry cache, so every request parses
+ *       and verifies its token.
+ *   <li>{@code anonymous}: no Authorization header.
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final WebFilterChain CHAIN = exchange -> Mono.empty();
+
+    @Param({"cached", "uncached", "anonymous"})
+    public String scenario;
+
+    private JwtAuthenticationFilter filter;
+    private ServerWebExchange[] exchanges;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        boolean uncached = "uncached".equals(scenario);
+        filter = new JwtAuthenticationFilter(new JwtVerifier(Tokens.gatewayJwtUtil(), uncached ? 1 : 10_000));
+
+        if ("anonymous".equals(scenario)) {
+            exchanges = new ServerWebExchange[] {exchange(null)};
+        } else if (uncached) {
+            exchanges = new ServerWebExchange[] {
+                exchange(Tokens.issue(Tokens.USERNAME)), exchange(Tokens.issue(Tokens.USERNAME + "-2"))
+            };
+        } else {
+            exchanges = new ServerWebExchange[] {exchange(Tokens.issue(Tokens.USERNAME))};
+        }
+    }
+
+    @Benchmark
+    public Void filter() {
+        ServerWebExchange exchange = exchanges[next];
+        next = (next + 1) % exchanges.length;
+        return filter.filter(exchange, CHAIN).block();
+    }
+
+    private static ServerWebExchange exchange(String token) {
+        MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get("/api/listings/active");
+        if (token != null) {
+            request.header(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        }
+        return MockServerWebExchange.from(request);
+    }
+}
@@ -0,0 +1,32 @@
+package com.marketplace.benchmarks;
+
+import org.springframework.test.util.ReflectionTestUtils;
+
+/** Shared fixtures: one secret for issuing and verifying, like a deployment where the two agree. */
+final class Tokens {
+
+    static final String SECRET = "averylongsecretkeythatissecureenoughforhmacsha256algorithm";
+    static final long EXPIRATION_MILLIS = 86_400_000L;
+    static final String USERNAME = "benchmark-user";
+    static final String ROLE = "USER";
+    static final long USER_ID = 42L;
+
+    private Tokens() {}
+
+    /** auth-service's JwtUtil, which takes its settings by field injection. */
+    static com.marketplace.auth.service.JwtUtil authJwtUtil() {
+        com.marketplace.auth.service.JwtUtil jwtUtil = new com.marketplace.auth.service.JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secretKey", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", EXPIRATION_MILLIS);
+        return jwtUtil;
+    }
+
+    static com.example.gateway.security.JwtUtil gatewayJwtUtil() {
+        return new com.example.gateway.security.JwtUtil(SECRET, EXPIRATION_MILLIS);
+    }
+
+    /** A token as auth-service issues it at login: subject, role and userId claims. */
+    static String issue(String username) {
+        return authJwtUtil().generateToken(username, ROLE, USER_ID);
+    }
+}
@@ -0,0 +1,27 @@
+package com.marketplace.card.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+/**
+ * Configuration for background card synchronization.
+ */
+@Configuration
+public class SyncConfig {
+
+    /**
+     * Executor for sync jobs, the group syncs within them and their price fetches.
+     * Every task gets its own virtual thread, since they spend nearly all their time waiting on
+     * TCGCSV; on shutdown, running tasks are given time to finish.
+     *
+     * @return The sync executor.
+     */
+    @Bean
+    public SimpleAsyncTaskExecutor cardSyncExecutor() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("card-sync-");
+        executor.setVirtualThreads(true);
+        executor.setTaskTerminationTimeout(30_000);
+        return executor;
+    }
+}
@@ -2,10 +2,14 @@
 // Reviewed and modified by Liam Ruiz
 package com.marketplace.card.controller;
 
+import com.marketplace.card.dto.SyncJobResponse;
 import com.marketplace.card.model.Card;
 import com.marketplace.card.service.CardService;
+import com.marketplace.card.service.SyncJobService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -24,25 +28,61 @@ import java.util.Optional;
 public class CardController {
 
     private final CardService cardService;
+    private final SyncJobService syncJobService;
 
-    public CardController(CardService cardService) {
+    public CardController(CardService cardService, SyncJobService syncJobService) {
         this.cardService = cardService;
+        this.syncJobService = syncJobService;
     }
 
     /**
-     * Triggers the collection of cards from the external source for a given Set ID.
+     * Starts a background sync of the cards of a given Set ID.
+     * If one is already running for the set, that job is returned instead.
      *
      * @param categoryId The category ID (e.g. 3 for Pokemon).
      * @param setId      The Set ID (Group ID) to sync.
-     * @return Response confirmation message.
+     * @return 202 Accepted with the job, whose status can be polled.
      */
     @PostMapping("/sync/{categoryId}/{setId}")
     @Operation(
             summary = "Sync Cards",
-            description = "Triggers collection of cards from TCGPlayer for a specific Set ID")
-    public ResponseEntity<String> syncCards(@PathVariable Integer categoryId, @PathVariable Integer setId) {
-        cardService.syncCards(categoryId, setId);
-        return ResponseEntity.ok("Sync requested for Set ID: " + setId);
+            description = "Starts a background sync of the cards of a specific Set ID from TCGPlayer; poll the"
+                    + " returned job for the cards fetched, upserted and unchanged")
+    public ResponseEntity<SyncJobResponse> syncCards(@PathVariable Integer categoryId, @PathVariable Integer setId) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(syncJobService.startSetSync(categoryId, setId));
+    }
+
+    /**
+     * Starts a background sync of every set in a category.
+     * If one is already running for the category, that job is returned instead.
+     *
+     * @param categoryId The category ID (e.g. 3 for Pokemon).
+     * @return 202 Accepted with the job, whose status can be polled.
+     */
+    @PostMapping("/sync/{categoryId}")
+    @Operation(
+            summary = "Sync Catalog",
+            description = "Starts a background sync of every set in a category from TCGPlayer; poll the"
+                    + " returned job for per-set progress")
+    public ResponseEntity<SyncJobResponse> syncCatalog(@PathVariable Integer categoryId) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(syncJobService.startCatalogSync(categoryId));
+    }
+
+    /**
+     * Retrieves the status of a sync job.
+     *
+     * @param jobId The job ID returned when the sync was started.
+     * @return The job, marked not to be cached since it changes while running,
+     *         or 404 Not Found if it is unknown or no longer retained.
+     */
+    @GetMapping("/sync/jobs/{jobId}")
+    @Operation(summary = "Get Sync Job", description = "Get the progress of a background sync job")
+    public ResponseEntity<SyncJobResponse> getSyncJob(@PathVariable String jobId) {
+        return syncJobService
+                .getJob(jobId)
+                .map(job ->
+                        ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(job))
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     /**
@@ -0,0 +1,18 @@
+package com.marketplace.card.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of syncing one set: how many cards the provider returned, and how many of those were
+ * saved (new or changed) or left alone because they already matched.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CardSyncResult {
+    private int fetched;
+    private int upserted;
+    private int unchanged;
+}
@@ -0,0 +1,32 @@
+package com.marketplace.card.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Progress of one group (set) within a sync job.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GroupSyncStatus {
+
+    public enum State {
+        PENDING,
+        RUNNING,
+        SYNCED,
+        FAILED
+    }
+
+    private Integer groupId;
+    private String name;
+    private State state;
+    private int attempts;
+    private int cardsFetched; // Counts are filled in once SYNCED
+    private int cardsUpserted;
+    private int cardsUnchanged;
+    private String error; // Why the group failed, once FAILED
+}
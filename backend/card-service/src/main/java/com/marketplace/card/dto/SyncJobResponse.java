@@ -0,0 +1,48 @@
+package com.marketplace.card.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Snapshot of a sync job, returned when it is submitted and whenever its status is polled.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncJobResponse {
+
+    public enum Type {
+        CATALOG, // Every set of a category
+        SET
+    }
+
+    public enum State {
+        RUNNING,
+        COMPLETED,
+        COMPLETED_WITH_ERRORS, // Catalog syncs only: some sets failed after every retry
+        FAILED // A set sync failed after every retry, or a catalog's sets could not be listed
+    }
+
+    private String jobId;
+    private Type type;
+    private Integer categoryId;
+    private Integer setId; // Only for SET jobs
+    private State state;
+    private int groupsTotal;
+    private int groupsSynced;
+    private int groupsFailed;
+    private long cardsFetched;
+    private long cardsUpserted; // New or changed cards saved
+    private long cardsUnchanged; // Cards that already matched and were not saved again
+    private Instant startedAt;
+    private Instant finishedAt;
+    private Long durationMs; // Wall-clock time so far, or in total once finished
+    private String error;
+    private List<GroupSyncStatus> groups;
+}
@@ -0,0 +1,17 @@
+package com.marketplace.card.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Data;
+
+/**
+ * DTO representing a group (set) from the TCGCSV API.
+ * A category such as Pokemon is made up of groups, each with its own products and prices.
+ */
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class TcgGroupDto {
+    private Integer groupId;
+    private String name;
+    private String abbreviation;
+    private Integer categoryId;
+}
@@ -0,0 +1,16 @@
+package com.marketplace.card.exception;
+
+/**
+ * Thrown when data could not be fetched from the TCGCSV API, so callers can retry instead of
+ * mistaking the failure for an empty result.
+ */
+public class TcgFetchException extends RuntimeException {
+
+    public TcgFetchException(String message) {
+        super(message);
+    }
+
+    public TcgFetchException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
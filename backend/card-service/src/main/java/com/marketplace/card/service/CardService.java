@@ -2,19 +2,28 @@
 // Reviewed and modified by Liam Ruiz
 package com.marketplace.card.service;
 
+import com.marketplace.card.dto.CardSyncResult;
 import com.marketplace.card.dto.TcgPriceDto;
 import com.marketplace.card.dto.TcgProductDto;
+import com.marketplace.card.exception.TcgFetchException;
 import com.marketplace.card.model.Card;
 import com.marketplace.card.repository.CardRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -34,49 +43,109 @@ public class CardService {
     private static final Logger log = LoggerFactory.getLogger(CardService.class);
     private final TcgConnectService tcgConnectService;
     private final CardRepository cardRepository;
-
-    public CardService(TcgConnectService tcgConnectService, CardRepository cardRepository) {
+    private final TransactionTemplate transactionTemplate;
+    private final AsyncTaskExecutor fetchExecutor;
+
+    public CardService(
+            TcgConnectService tcgConnectService,
+            CardRepository cardRepository,
+            PlatformTransactionManager transactionManager,
+            @Qualifier("cardSyncExecutor") AsyncTaskExecutor fetchExecutor) {
         this.tcgConnectService = tcgConnectService;
         this.cardRepository = cardRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.fetchExecutor = fetchExecutor;
     }
 
     /**
      * Synchronizes cards for a specific Category and Set ID from the external TCG provider.
      * <p>
-     * Fetches products and prices, filters out non-card items, and saves/updates records in the database.
-     * Uses batch processing to minimize database interactions.
+     * Products and prices are fetched concurrently, outside any transaction, so no database
+     * connection is held while waiting on the provider. The price fetch runs on the sync executor
+     * and is cancelled if the product fetch fails. The cards are then filtered and
+     * saved/updated in one short transaction, using batch processing to minimize database
+     * interactions. Cards that already match the provider's data are not saved again.
      *
      * @param categoryId TCGPlayer Category ID (e.g., 3 for Pokemon).
      * @param groupId    TCGPlayer Group/Set ID.
+     * @return How many cards were fetched, and how many of them were saved or already up to date.
+     * @throws TcgFetchException if products or prices could not be fetched; nothing is saved.
      */
-    @Transactional
-    public void syncCards(Integer categoryId, Integer groupId) {
+    public CardSyncResult syncCards(Integer categoryId, Integer groupId) {
         log.info("Starting sync for Category: {}, Group: {}", categoryId, groupId);
 
-        // 1. Fetch Products and Prices
-        List<TcgProductDto> products = tcgConnectService.fetchProducts(categoryId, groupId);
-        List<TcgPriceDto> prices = tcgConnectService.fetchPrices(categoryId, groupId);
+        // 1. Fetch Products and Prices, prices on the sync executor while products load here
+        Future<List<TcgPriceDto>> pricesFetch =
+                fetchExecutor.submit(() -> tcgConnectService.fetchPrices(categoryId, groupId));
+        List<TcgProductDto> products;
+        try {
+            products = tcgConnectService.fetchProducts(categoryId, groupId);
+        } catch (RuntimeException e) {
+            pricesFetch.cancel(true);
+            throw e;
+        }
+        List<TcgPriceDto> prices = awaitPrices(pricesFetch);
 
         // 2. Map prices by ProductId
         Map<Long, TcgPriceDto> priceMap = prices.stream()
                 .collect(Collectors.toMap(TcgPriceDto::getProductId, Function.identity(), (p1, p2) -> p1));
 
-        // 3. Fetch existing cards for this set to avoid N+1 selects
-        List<Card> existingCards = cardRepository.findBySetId(groupId);
-        Map<Long, Card> existingCardMap =
-                existingCards.stream().collect(Collectors.toMap(Card::getCardId, Function.identity()));
-
-        // 4. Map Products to Cards
-        List<Card> cardsToSave = products.stream()
-                .filter(tcgConnectService::isCard)
-                .map(product -> prepareCard(
-                        product, priceMap.get(product.getProductId()), existingCardMap.get(product.getProductId())))
-                .collect(Collectors.toList());
+        CardSyncResult result = transactionTemplate.execute(status -> {
+            // 3. Fetch existing cards for this set to avoid N+1 selects
+            List<Card> existingCards = cardRepository.findBySetId(groupId);
+            Map<Long, Card> existingCardMap =
+                    existingCards.stream().collect(Collectors.toMap(Card::getCardId, Function.identity()));
+
+            // 4. Map Products to Cards, skipping cards that already match what is stored
+            List<Card> cardsToSave = new ArrayList<>();
+            int fetched = 0;
+            int unchanged = 0;
+            for (TcgProductDto product : products) {
+                if (!tcgConnectService.isCard(product)) {
+                    continue;
+                }
+                fetched++;
+                Card existingCard = existingCardMap.get(product.getProductId());
+                Card before = (existingCard != null) ? copyOf(existingCard) : null;
+                Card card = prepareCard(product, priceMap.get(product.getProductId()), existingCard);
+                if (before != null && sameContent(before, card)) {
+                    unchanged++;
+                } else {
+                    cardsToSave.add(card);
+                }
+            }
 
-        // 5. Batch Save
-        cardRepository.saveAll(cardsToSave);
+            // 5. Batch Save
+            cardRepository.saveAll(cardsToSave);
+            return new CardSyncResult(fetched, cardsToSave.size(), unchanged);
+        });
+
+        log.info(
+                "Sync completed. Fetched {} cards: {} saved, {} unchanged.",
+                result.getFetched(),
+                result.getUpserted(),
+                result.getUnchanged());
+        return result;
+    }
 
-        log.info("Sync completed. Processed {} cards.", cardsToSave.size());
+    /**
+     * Waits for the price fetch, rethrowing its failure as it was thrown.
+     *
+     * @throws TcgFetchException if the wait is interrupted; the fetch is cancelled.
+     */
+    private static List<TcgPriceDto> awaitPrices(Future<List<TcgPriceDto>> pricesFetch) {
+        try {
+            return pricesFetch.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new TcgFetchException("Price fetch failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pricesFetch.cancel(true);
+            throw new TcgFetchException("Interrupted while fetching prices", e);
+        }
     }
 
     /**
@@ -109,6 +178,33 @@ public class CardService {
         return card;
     }
 
+    private static Card copyOf(Card card) {
+        return new Card(
+                card.getCardId(),
+                card.getName(),
+                card.getCleanName(),
+                card.getImageUrl(),
+                card.getSetId(),
+                card.getCategoryId(),
+                card.getPrice());
+    }
+
+    /**
+     * Whether two cards hold the same data.
+     * Prices are compared by value, since the database may return them with a different scale.
+     */
+    private static boolean sameContent(Card a, Card b) {
+        boolean samePrice = (a.getPrice() == null || b.getPrice() == null)
+                ? a.getPrice() == b.getPrice()
+                : a.getPrice().compareTo(b.getPrice()) == 0;
+        return samePrice
+                && Objects.equals(a.getName(), b.getName())
+                && Objects.equals(a.getCleanName(), b.getCleanName())
+                && Objects.equals(a.getImageUrl(), b.getImageUrl())
+                && Objects.equals(a.getSetId(), b.getSetId())
+                && Objects.equals(a.getCategoryId(), b.getCategoryId());
+    }
+
     /**
      * Retrieves all cards currently persisted in the database.
      *
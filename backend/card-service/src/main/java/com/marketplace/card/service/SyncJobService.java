@@ -0,0 +1,428 @@
+package com.marketplace.card.service;
+
+import com.marketplace.card.dto.CardSyncResult;
+import com.marketplace.card.dto.GroupSyncStatus;
+import com.marketplace.card.dto.SyncJobResponse;
+import com.marketplace.card.dto.TcgGroupDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Service class for running card synchronization as background jobs.
+ * <p>
+ * A set sync runs {@link CardService#syncCards} for one set. A catalog sync enumerates every
+ * group (set) of a category and syncs them at most {@code cards.sync.parallelism} at a time, each
+ * on its own virtual thread. Either way, a set that fails is retried up to
+ * {@code cards.sync.max-attempts} times with exponential backoff; in a catalog sync, one set
+ * failing for good does not stop the others.
+ * <p>
+ * Submitting a sync that is already covered by a running job (the same set, or any set of a
+ * category whose catalog sync is running) returns the running job rather than starting a second
+ * one. A catalog sync that reaches a set a set sync is still working on waits for it, so no set
+ * is ever synced by two jobs at once. Jobs are tracked in memory, per set, and can be polled while they run. The most
+ * recent {@code cards.sync.retained-jobs} are kept. The wall-clock time of every job is recorded
+ * in the {@code cards.catalog.sync} or {@code cards.set.sync} timer.
+ */
+@Service
+public class SyncJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(SyncJobService.class);
+
+    private final TcgConnectService tcgConnectService;
+    private final CardService cardService;
+    private final Executor syncExecutor;
+    private final MeterRegistry meterRegistry;
+    private final int parallelism;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final int retainedJobs;
+    private final Clock clock;
+
+    private final Map<String, SyncJob> jobs = new ConcurrentHashMap<>();
+
+    /** One lock per set ever synced, held while it is synced; keyed by category and set ID. */
+    private final Map<String, ReentrantLock> setLocks = new ConcurrentHashMap<>();
+
+    @Autowired
+    public SyncJobService(
+            TcgConnectService tcgConnectService,
+            CardService cardService,
+            @Qualifier("cardSyncExecutor") Executor syncExecutor,
+            MeterRegistry meterRegistry,
+            @Value("${cards.sync.parallelism:4}") int parallelism,
+            @Value("${cards.sync.max-attempts:3}") int maxAttempts,
+            @Value("${cards.sync.retry-backoff:2s}") Duration retryBackoff,
+            @Value("${cards.sync.retained-jobs:50}") int retainedJobs) {
+        this(
+                tcgConnectService,
+                cardService,
+                syncExecutor,
+                meterRegistry,
+                parallelism,
+                maxAttempts,
+                retryBackoff,
+                retainedJobs,
+                Clock.systemUTC());
+    }
+
+    SyncJobService(
+            TcgConnectService tcgConnectService,
+            CardService cardService,
+            Executor syncExecutor,
+            MeterRegistry meterRegistry,
+            int parallelism,
+            int maxAttempts,
+            Duration retryBackoff,
+            int retainedJobs,
+            Clock clock) {
+        this.tcgConnectService = tcgConnectService;
+        this.cardService = cardService;
+        this.syncExecutor = syncExecutor;
+        this.meterRegistry = meterRegistry;
+        this.parallelism = parallelism;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        this.retainedJobs = retainedJobs;
+        this.clock = clock;
+    }
+
+    /**
+     * Starts syncing every group of a category in the background.
+     * If a catalog sync of the same category is already running, that job is returned instead.
+     *
+     * @param categoryId TCGPlayer Category ID (e.g., 3 for Pokemon).
+     * @return The job, as it stands once submitted.
+     */
+    public SyncJobResponse startCatalogSync(Integer categoryId) {
+        return start(SyncJobResponse.Type.CATALOG, categoryId, null);
+    }
+
+    /**
+     * Starts syncing one set in the background.
+     * If a sync of the same set, or a catalog sync of its category, is already running, that job
+     * is returned instead.
+     *
+     * @param categoryId TCGPlayer Category ID (e.g., 3 for Pokemon).
+     * @param setId      TCGPlayer Group/Set ID.
+     * @return The job, as it stands once submitted.
+     */
+    public SyncJobResponse startSetSync(Integer categoryId, Integer setId) {
+        return start(SyncJobResponse.Type.SET, categoryId, setId);
+    }
+
+    /**
+     * Retrieves the current state of a job.
+     *
+     * @param jobId The job ID returned when the job was started.
+     * @return The job, or empty if it is unknown or no longer retained.
+     */
+    public Optional<SyncJobResponse> getJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId)).map(job -> job.snapshot(clock.instant()));
+    }
+
+    private synchronized SyncJobResponse start(SyncJobResponse.Type type, Integer categoryId, Integer setId) {
+        SyncJob job = new SyncJob(UUID.randomUUID().toString(), type, categoryId, setId, clock.instant());
+        for (SyncJob running : jobs.values()) {
+            if (running.state == SyncJobResponse.State.RUNNING && running.covers(job)) {
+                log.info("Sync {} already covered by running job {} ({})", job.key(), running.id, running.key());
+                return running.snapshot(clock.instant());
+            }
+        }
+
+        jobs.put(job.id, job);
+        evictFinishedJobs();
+        log.info("Starting sync {} as job {}", job.key(), job.id);
+        try {
+            syncExecutor.execute(() -> run(job));
+        } catch (RuntimeException e) {
+            jobs.remove(job.id);
+            throw e;
+        }
+        return job.snapshot(clock.instant());
+    }
+
+    private void run(SyncJob job) {
+        long started = System.nanoTime();
+        try {
+            if (job.type == SyncJobResponse.Type.CATALOG) {
+                List<TcgGroupDto> groups = withRetries(
+                        "Fetching groups of category " + job.categoryId,
+                        attempt -> {},
+                        () -> tcgConnectService.fetchGroups(job.categoryId));
+                job.groups = groups.stream()
+                        .map(group -> new GroupProgress(group.getGroupId(), group.getName()))
+                        .toList();
+            } else {
+                job.groups = List.of(new GroupProgress(job.setId, null));
+            }
+
+            Semaphore permits = new Semaphore(parallelism);
+            List<CompletableFuture<Void>> syncs = new ArrayList<>(job.groups.size());
+            for (GroupProgress group : job.groups) {
+                syncs.add(CompletableFuture.runAsync(() -> syncGroup(job, group, permits), syncExecutor));
+            }
+            CompletableFuture.allOf(syncs.toArray(CompletableFuture[]::new)).join();
+
+            List<GroupProgress> failed = job.groups.stream()
+                    .filter(group -> group.state == GroupSyncStatus.State.FAILED)
+                    .toList();
+            if (failed.isEmpty()) {
+                job.finish(SyncJobResponse.State.COMPLETED, null, clock.instant());
+            } else if (job.type == SyncJobResponse.Type.SET) {
+                job.finish(SyncJobResponse.State.FAILED, failed.get(0).error, clock.instant());
+            } else {
+                job.finish(SyncJobResponse.State.COMPLETED_WITH_ERRORS, null, clock.instant());
+            }
+        } catch (RuntimeException e) {
+            log.error("Sync job {} ({}) failed", job.id, job.key(), e);
+            job.finish(SyncJobResponse.State.FAILED, e.getMessage(), clock.instant());
+        } finally {
+            long elapsed = System.nanoTime() - started;
+            Timer.builder(job.type == SyncJobResponse.Type.CATALOG ? "cards.catalog.sync" : "cards.set.sync")
+                    .description("Wall-clock time of card sync jobs")
+                    .tag("category", String.valueOf(job.categoryId))
+                    .tag("outcome", job.state.name().toLowerCase())
+                    .register(meterRegistry)
+                    .record(Duration.ofNanos(elapsed));
+            log.info(
+                    "Sync job {} ({}) finished {}: {} sets, {} cards fetched, {} upserted, {} unchanged in {} ms",
+                    job.id,
+                    job.key(),
+                    job.state,
+                    job.groups.size(),
+                    job.cardsFetched.get(),
+                    job.cardsUpserted.get(),
+                    job.cardsUnchanged.get(),
+                    elapsed / 1_000_000);
+        }
+    }
+
+    /** Syncs one group once a permit is free, retrying failures; records the outcome on the group. */
+    private void syncGroup(SyncJob job, GroupProgress group, Semaphore permits) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            group.failed("Interrupted before starting");
+            return;
+        }
+        ReentrantLock setLock =
+                setLocks.computeIfAbsent(job.categoryId + "/" + group.groupId, key -> new ReentrantLock());
+        setLock.lock();
+        try {
+            CardSyncResult result = withRetries(
+                    "Sync of group " + group.groupId,
+                    group::started,
+                    () -> cardService.syncCards(job.categoryId, group.groupId));
+            group.synced(result);
+            job.cardsFetched.addAndGet(result.getFetched());
+            job.cardsUpserted.addAndGet(result.getUpserted());
+            job.cardsUnchanged.addAndGet(result.getUnchanged());
+        } catch (RuntimeException e) {
+            log.error(
+                    "Giving up on group {} of category {} after {} attempts",
+                    group.groupId,
+                    job.categoryId,
+                    group.attempts,
+                    e);
+            group.failed(e.getMessage());
+        } finally {
+            setLock.unlock();
+            permits.release();
+        }
+    }
+
+    /**
+     * Runs {@code action}, retrying it after a growing pause until it succeeds or
+     * {@code maxAttempts} is reached.
+     *
+     * @throws RuntimeException the last failure, once there are no attempts left.
+     */
+    private <T> T withRetries(String description, IntConsumer onAttempt, Supplier<T> action) {
+        for (int attempt = 1; ; attempt++) {
+            onAttempt.accept(attempt);
+            try {
+                return action.get();
+            } catch (RuntimeException e) {
+                if (attempt >= maxAttempts || !pauseBeforeRetry(attempt)) {
+                    throw e;
+                }
+                log.warn(
+                        "{} failed (attempt {} of {}), retrying: {}",
+                        description,
+                        attempt,
+                        maxAttempts,
+                        e.getMessage());
+            }
+        }
+    }
+
+    /** Waits {@code retryBackoff}, doubled for every earlier retry; false if interrupted. */
+    private boolean pauseBeforeRetry(int attempt) {
+        try {
+            Thread.sleep(retryBackoff.multipliedBy(1L << (attempt - 1)));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /** Drops the oldest finished jobs once more than {@code retainedJobs} are held. */
+    private void evictFinishedJobs() {
+        int excess = jobs.size() - retainedJobs;
+        if (excess <= 0) {
+            return;
+        }
+        jobs.values().stream()
+                .filter(job -> job.state != SyncJobResponse.State.RUNNING)
+                .sorted(Comparator.comparing(job -> job.startedAt))
+                .limit(excess)
+                .map(job -> job.id)
+                .toList()
+                .forEach(jobs::remove);
+    }
+
+    /** A running or finished job. Fields are written by the job's threads and read by pollers. */
+    private static final class SyncJob {
+        private final String id;
+        private final SyncJobResponse.Type type;
+        private final Integer categoryId;
+        private final Integer setId; // Only for SET jobs
+        private final Instant startedAt;
+        private final AtomicLong cardsFetched = new AtomicLong();
+        private final AtomicLong cardsUpserted = new AtomicLong();
+        private final AtomicLong cardsUnchanged = new AtomicLong();
+        private volatile List<GroupProgress> groups = List.of();
+        private volatile SyncJobResponse.State state = SyncJobResponse.State.RUNNING;
+        private volatile String error;
+        private volatile Instant finishedAt;
+
+        private SyncJob(String id, SyncJobResponse.Type type, Integer categoryId, Integer setId, Instant startedAt) {
+            this.id = id;
+            this.type = type;
+            this.categoryId = categoryId;
+            this.setId = setId;
+            this.startedAt = startedAt;
+        }
+
+        /** What the job syncs, for logs. */
+        private String key() {
+            return type == SyncJobResponse.Type.CATALOG
+                    ? "category " + categoryId
+                    : "set " + setId + " of category " + categoryId;
+        }
+
+        /** Whether this job syncs every set {@code other} would. */
+        private boolean covers(SyncJob other) {
+            return categoryId.equals(other.categoryId)
+                    && (type == SyncJobResponse.Type.CATALOG
+                            || (other.type == SyncJobResponse.Type.SET && setId.equals(other.setId)));
+        }
+
+        private void finish(SyncJobResponse.State finalState, String finalError, Instant now) {
+            error = finalError;
+            finishedAt = now;
+            state = finalState; // Last, so a poller that sees the final state sees everything else
+        }
+
+        private SyncJobResponse snapshot(Instant now) {
+            SyncJobResponse.State currentState = state;
+            List<GroupSyncStatus> groupStatuses =
+                    groups.stream().map(GroupProgress::snapshot).toList();
+            Instant end = finishedAt != null ? finishedAt : now;
+            return SyncJobResponse.builder()
+                    .jobId(id)
+                    .type(type)
+                    .categoryId(categoryId)
+                    .setId(setId)
+                    .state(currentState)
+                    .groupsTotal(groupStatuses.size())
+                    .groupsSynced(count(groupStatuses, GroupSyncStatus.State.SYNCED))
+                    .groupsFailed(count(groupStatuses, GroupSyncStatus.State.FAILED))
+                    .cardsFetched(cardsFetched.get())
+                    .cardsUpserted(cardsUpserted.get())
+                    .cardsUnchanged(cardsUnchanged.get())
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .durationMs(Duration.between(startedAt, end).toMillis())
+                    .error(error)
+                    .groups(groupStatuses)
+                    .build();
+        }
+
+        private static int count(List<GroupSyncStatus> groups, GroupSyncStatus.State state) {
+            return (int)
+                    groups.stream().filter(group -> group.getState() == state).count();
+        }
+    }
+
+    /** Progress of one group within a job. */
+    private static final class GroupProgress {
+        private final Integer groupId;
+        private final String name;
+        private volatile GroupSyncStatus.State state = GroupSyncStatus.State.PENDING;
+        private volatile int attempts;
+        private volatile CardSyncResult result;
+        private volatile String error;
+
+        private GroupProgress(Integer groupId, String name) {
+            this.groupId = groupId;
+            this.name = name;
+        }
+
+        private void started(int attempt) {
+            attempts = attempt;
+            state = GroupSyncStatus.State.RUNNING;
+        }
+
+        private void synced(CardSyncResult syncResult) {
+            result = syncResult;
+            error = null;
+            state = GroupSyncStatus.State.SYNCED;
+        }
+
+        private void failed(String failure) {
+            error = failure;
+            state = GroupSyncStatus.State.FAILED;
+        }
+
+        private GroupSyncStatus snapshot() {
+            CardSyncResult synced = result;
+            return GroupSyncStatus.builder()
+                    .groupId(groupId)
+                    .name(name)
+                    .state(state)
+                    .attempts(attempts)
+                    .cardsFetched(synced != null ? synced.getFetched() : 0)
+                    .cardsUpserted(synced != null ? synced.getUpserted() : 0)
+                    .cardsUnchanged(synced != null ? synced.getUnchanged() : 0)
+                    .error(error)
+                    .build();
+        }
+    }
+}
@@ -2,15 +2,19 @@
 // Reviewed and modified by Liam Ruiz
 package com.marketplace.card.service;
 
+import com.marketplace.card.dto.TcgGroupDto;
 import com.marketplace.card.dto.TcgPriceDto;
 import com.marketplace.card.dto.TcgProductDto;
 import com.marketplace.card.dto.TcgWrapperDto;
+import com.marketplace.card.exception.TcgFetchException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -30,30 +34,31 @@ public class TcgConnectService {
         this.restClient = RestClient.builder().baseUrl(BASE_URL).build();
     }
 
+    /**
+     * Fetches the groups (sets) of a category from the API.
+     *
+     * @param categoryId Category ID.
+     * @return List of TcgGroupDto.
+     * @throws TcgFetchException if the groups could not be fetched.
+     */
+    public List<TcgGroupDto> fetchGroups(Integer categoryId) {
+        String url = "/{categoryId}/groups";
+        log.info("Fetching groups from: {}", url);
+        return fetch(url, new ParameterizedTypeReference<TcgWrapperDto<TcgGroupDto>>() {}, categoryId);
+    }
+
     /**
      * Fetches the list of products for a given group from the API.
      *
      * @param categoryId Category ID.
      * @param groupId    Group/Set ID.
      * @return List of TcgProductDto.
+     * @throws TcgFetchException if the products could not be fetched.
      */
     public List<TcgProductDto> fetchProducts(Integer categoryId, Integer groupId) {
         String url = "/{categoryId}/{groupId}/products";
         log.info("Fetching products from: {}", url);
-        try {
-            TcgWrapperDto<TcgProductDto> response = restClient
-                    .get()
-                    .uri(url, categoryId, groupId)
-                    .retrieve()
-                    .body(new ParameterizedTypeReference<>() {});
-
-            if (response != null && response.isSuccess()) {
-                return response.getResults();
-            }
-        } catch (Exception e) {
-            log.error("Error fetching products", e);
-        }
-        return Collections.emptyList();
+        return fetch(url, new ParameterizedTypeReference<TcgWrapperDto<TcgProductDto>>() {}, categoryId, groupId);
     }
 
     /**
@@ -62,24 +67,31 @@ public class TcgConnectService {
      * @param categoryId Category ID.
      * @param groupId    Group/Set ID.
      * @return List of TcgPriceDto.
+     * @throws TcgFetchException if the prices could not be fetched.
      */
     public List<TcgPriceDto> fetchPrices(Integer categoryId, Integer groupId) {
         String url = "/{categoryId}/{groupId}/prices";
         log.info("Fetching prices from: {}", url);
-        try {
-            TcgWrapperDto<TcgPriceDto> response = restClient
-                    .get()
-                    .uri(url, categoryId, groupId)
-                    .retrieve()
-                    .body(new ParameterizedTypeReference<>() {});
+        return fetch(url, new ParameterizedTypeReference<TcgWrapperDto<TcgPriceDto>>() {}, categoryId, groupId);
+    }
 
-            if (response != null && response.isSuccess()) {
-                return response.getResults();
-            }
-        } catch (Exception e) {
-            log.error("Error fetching prices", e);
+    /**
+     * Performs a GET and unwraps the results.
+     * A failed request or an unsuccessful response throws rather than returning an empty list,
+     * so a sync never mistakes an outage for a set with no cards.
+     */
+    private <T> List<T> fetch(String url, ParameterizedTypeReference<TcgWrapperDto<T>> type, Object... uriVariables) {
+        TcgWrapperDto<T> response;
+        try {
+            response = restClient.get().uri(url, uriVariables).retrieve().body(type);
+        } catch (RestClientException e) {
+            throw new TcgFetchException("Could not fetch " + url + " for " + Arrays.toString(uriVariables), e);
+        }
+        if (response == null || !response.isSuccess()) {
+            throw new TcgFetchException("Unsuccessful response from " + url + " for " + Arrays.toString(uriVariables)
+                    + (response != null ? ": " + response.getErrors() : ""));
         }
-        return Collections.emptyList();
+        return response.getResults() != null ? response.getResults() : Collections.emptyList();
     }
 
     /**
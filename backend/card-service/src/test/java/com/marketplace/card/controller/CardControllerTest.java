@@ -1,13 +1,16 @@
 package com.marketplace.card.controller;
 
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import com.marketplace.card.dto.SyncJobResponse;
 import com.marketplace.card.model.Card;
 import com.marketplace.card.service.CardService;
+import com.marketplace.card.service.SyncJobService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -35,6 +38,9 @@ class CardControllerTest {
     @MockitoBean
     private CardService cardService;
 
+    @MockitoBean
+    private SyncJobService syncJobService;
+
     private Card testCard;
 
     @BeforeEach
@@ -54,25 +60,93 @@ class CardControllerTest {
     class SyncEndpointTests {
 
         @Test
-        @DisplayName("POST /api/cards/sync/{categoryId}/{setId} - should return success message")
-        void syncCards_ValidRequest_ReturnsSuccessMessage() throws Exception {
+        @DisplayName("POST /api/cards/sync/{categoryId}/{setId} - should start a set sync and return 202 with the job")
+        void syncCards_ValidRequest_ReturnsAcceptedWithJob() throws Exception {
+            // Arrange
+            when(syncJobService.startSetSync(3, 100))
+                    .thenReturn(SyncJobResponse.builder()
+                            .jobId("job-1")
+                            .type(SyncJobResponse.Type.SET)
+                            .categoryId(3)
+                            .setId(100)
+                            .state(SyncJobResponse.State.RUNNING)
+                            .build());
+
             // Act & Assert
             mockMvc.perform(post("/api/cards/sync/3/100"))
-                    .andExpect(status().isOk())
-                    .andExpect(content().string("Sync requested for Set ID: 100"));
+                    .andExpect(status().isAccepted())
+                    .andExpect(jsonPath("$.jobId").value("job-1"))
+                    .andExpect(jsonPath("$.setId").value(100))
+                    .andExpect(jsonPath("$.state").value("RUNNING"));
 
-            verify(cardService).syncCards(3, 100);
+            verifyNoInteractions(cardService);
         }
 
         @Test
         @DisplayName("POST /api/cards/sync - should handle different category and set IDs")
         void syncCards_DifferentIds_CallsServiceWithCorrectParams() throws Exception {
+            // Arrange
+            when(syncJobService.startSetSync(5, 250))
+                    .thenReturn(SyncJobResponse.builder().jobId("job-2").build());
+
             // Act & Assert
             mockMvc.perform(post("/api/cards/sync/5/250"))
+                    .andExpect(status().isAccepted())
+                    .andExpect(jsonPath("$.jobId").value("job-2"));
+
+            verify(syncJobService).startSetSync(5, 250);
+        }
+
+        @Test
+        @DisplayName("GET /api/cards/sync/jobs/{jobId} - should return the job's card counts and duration")
+        void getSyncJob_Known_ReturnsCounts() throws Exception {
+            // Arrange
+            when(syncJobService.getJob("job-1"))
+                    .thenReturn(Optional.of(SyncJobResponse.builder()
+                            .jobId("job-1")
+                            .state(SyncJobResponse.State.COMPLETED)
+                            .cardsFetched(102)
+                            .cardsUpserted(2)
+                            .cardsUnchanged(100)
+                            .durationMs(850L)
+                            .build()));
+
+            // Act & Assert
+            mockMvc.perform(get("/api/cards/sync/jobs/job-1"))
                     .andExpect(status().isOk())
-                    .andExpect(content().string("Sync requested for Set ID: 250"));
+                    .andExpect(header().string("Cache-Control", "no-store"))
+                    .andExpect(jsonPath("$.cardsFetched").value(102))
+                    .andExpect(jsonPath("$.cardsUpserted").value(2))
+                    .andExpect(jsonPath("$.cardsUnchanged").value(100))
+                    .andExpect(jsonPath("$.durationMs").value(850));
+        }
+
+        @Test
+        @DisplayName("POST /api/cards/sync/{categoryId} - should start a catalog sync and return 202 with the job")
+        void syncCatalog_ReturnsAcceptedWithJob() throws Exception {
+            // Arrange
+            when(syncJobService.startCatalogSync(3))
+                    .thenReturn(SyncJobResponse.builder()
+                            .jobId("job-1")
+                            .categoryId(3)
+                            .state(SyncJobResponse.State.RUNNING)
+                            .build());
+
+            // Act & Assert
+            mockMvc.perform(post("/api/cards/sync/3"))
+                    .andExpect(status().isAccepted())
+                    .andExpect(jsonPath("$.jobId").value("job-1"))
+                    .andExpect(jsonPath("$.state").value("RUNNING"));
+        }
+
+        @Test
+        @DisplayName("GET /api/cards/sync/jobs/{jobId} - should return 404 for an unknown job")
+        void getSyncJob_Unknown_Returns404() throws Exception {
+            // Arrange
+            when(syncJobService.getJob("nope")).thenReturn(Optional.empty());
 
-            verify(cardService).syncCards(5, 250);
+            // Act & Assert
+            mockMvc.perform(get("/api/cards/sync/jobs/nope")).andExpect(status().isNotFound());
         }
     }
 
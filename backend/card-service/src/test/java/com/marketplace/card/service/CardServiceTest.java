@@ -3,25 +3,31 @@
 package com.marketplace.card.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
+import com.marketplace.card.dto.CardSyncResult;
 import com.marketplace.card.dto.TcgPriceDto;
 import com.marketplace.card.dto.TcgProductDto;
+import com.marketplace.card.exception.TcgFetchException;
 import com.marketplace.card.model.Card;
 import com.marketplace.card.repository.CardRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 @ExtendWith(MockitoExtension.class)
 class CardServiceTest {
@@ -32,7 +38,11 @@ class CardServiceTest {
     @Mock
     private CardRepository cardRepository;
 
-    @InjectMocks
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleAsyncTaskExecutor fetchExecutor;
+
     private CardService cardService;
 
     private TcgProductDto productCard;
@@ -41,6 +51,10 @@ class CardServiceTest {
 
     @BeforeEach
     void setUp() {
+        fetchExecutor = new SimpleAsyncTaskExecutor("card-sync-");
+        fetchExecutor.setVirtualThreads(true);
+        cardService = new CardService(tcgConnectService, cardRepository, transactionManager, fetchExecutor);
+
         productCard = new TcgProductDto();
         productCard.setProductId(1L);
         productCard.setName("Pikachu");
@@ -69,9 +83,10 @@ class CardServiceTest {
         when(cardRepository.findBySetId(100)).thenReturn(Collections.emptyList());
 
         // Act
-        cardService.syncCards(3, 100);
+        CardSyncResult result = cardService.syncCards(3, 100);
 
         // Assert
+        assertEquals(new CardSyncResult(1, 1, 0), result);
         verify(cardRepository, times(1)).saveAll(anyList());
         verify(tcgConnectService, times(1)).isCard(productCard);
         verify(tcgConnectService, times(1)).isCard(productBooster);
@@ -147,10 +162,30 @@ class CardServiceTest {
         when(cardRepository.findBySetId(100)).thenReturn(Collections.singletonList(existingCard));
 
         // Act
-        cardService.syncCards(3, 100);
+        CardSyncResult result = cardService.syncCards(3, 100);
 
         // Assert - saveAll should be called with existing card updated
-        verify(cardRepository, times(1)).saveAll(anyList());
+        assertEquals(1, result.getUpserted());
+        verify(cardRepository, times(1)).saveAll(List.of(existingCard));
+        assertEquals("Pikachu", existingCard.getName());
+    }
+
+    @Test
+    void testSyncCards_ExistingCardUnchanged_NotSavedAgain() {
+        // Arrange - stored price has a different scale but the same value
+        Card existingCard = new Card(1L, "Pikachu", "Pikachu", null, 100, 3, new BigDecimal("10.5000"));
+
+        when(tcgConnectService.fetchProducts(3, 100)).thenReturn(Collections.singletonList(productCard));
+        when(tcgConnectService.fetchPrices(3, 100)).thenReturn(Collections.singletonList(priceDto));
+        when(tcgConnectService.isCard(productCard)).thenReturn(true);
+        when(cardRepository.findBySetId(100)).thenReturn(Collections.singletonList(existingCard));
+
+        // Act
+        CardSyncResult result = cardService.syncCards(3, 100);
+
+        // Assert
+        assertEquals(new CardSyncResult(1, 0, 1), result);
+        verify(cardRepository, times(1)).saveAll(Collections.emptyList());
     }
 
     @Test
@@ -187,4 +222,42 @@ class CardServiceTest {
         // Assert - should still save cards even without prices
         verify(cardRepository, times(1)).saveAll(anyList());
     }
+
+    @Test
+    void testSyncCards_PriceFetchFails_SavesNothing() {
+        // Arrange
+        when(tcgConnectService.fetchProducts(3, 100)).thenReturn(Collections.singletonList(productCard));
+        when(tcgConnectService.fetchPrices(3, 100)).thenThrow(new TcgFetchException("timeout"));
+
+        // Act & Assert - the failure surfaces so callers can retry, instead of an empty price list
+        assertThrows(TcgFetchException.class, () -> cardService.syncCards(3, 100));
+        verify(cardRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void testSyncCards_ProductFetchFails_CancelsPriceFetch() throws InterruptedException {
+        // Arrange
+        CountDownLatch priceFetchStarted = new CountDownLatch(1);
+        CountDownLatch priceFetchInterrupted = new CountDownLatch(1);
+        when(tcgConnectService.fetchPrices(3, 100)).thenAnswer(invocation -> {
+            priceFetchStarted.countDown();
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException e) {
+                priceFetchInterrupted.countDown();
+            }
+            return Collections.emptyList();
+        });
+        when(tcgConnectService.fetchProducts(3, 100)).thenAnswer(invocation -> {
+            priceFetchStarted.await(5, TimeUnit.SECONDS);
+            throw new TcgFetchException("502 from TCGCSV");
+        });
+
+        // Act
+        assertThrows(TcgFetchException.class, () -> cardService.syncCards(3, 100));
+
+        // Assert - the price fetch does not keep running unobserved
+        assertTrue(priceFetchInterrupted.await(5, TimeUnit.SECONDS));
+        verify(cardRepository, never()).saveAll(anyList());
+    }
 }
@@ -0,0 +1,334 @@
+package com.marketplace.card.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.marketplace.card.dto.CardSyncResult;
+import com.marketplace.card.dto.GroupSyncStatus;
+import com.marketplace.card.dto.SyncJobResponse;
+import com.marketplace.card.dto.TcgGroupDto;
+import com.marketplace.card.exception.TcgFetchException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * Unit tests for SyncJobService.
+ */
+@ExtendWith(MockitoExtension.class)
+class SyncJobServiceTest {
+
+    @Mock
+    private TcgConnectService tcgConnectService;
+
+    @Mock
+    private CardService cardService;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("Should sync every group of the category and report progress per group")
+    void startCatalogSync_AllGroupsSucceed_Completed() {
+        // Arrange
+        when(tcgConnectService.fetchGroups(3)).thenReturn(List.of(group(100, "Base Set"), group(200, "Jungle")));
+        when(cardService.syncCards(3, 100)).thenReturn(new CardSyncResult(102, 2, 100));
+        when(cardService.syncCards(3, 200)).thenReturn(new CardSyncResult(64, 64, 0));
+        SyncJobService service = service(Runnable::run, 2);
+
+        // Act
+        SyncJobResponse job = service.startCatalogSync(3);
+
+        // Assert
+        assertEquals(SyncJobResponse.State.COMPLETED, job.getState());
+        assertEquals(2, job.getGroupsTotal());
+        assertEquals(2, job.getGroupsSynced());
+        assertEquals(SyncJobResponse.Type.CATALOG, job.getType());
+        assertEquals(166, job.getCardsFetched());
+        assertEquals(66, job.getCardsUpserted());
+        assertEquals(100, job.getCardsUnchanged());
+        assertNotNull(job.getFinishedAt());
+        assertEquals("Base Set", job.getGroups().get(0).getName());
+        assertEquals(100, job.getGroups().get(0).getCardsUnchanged());
+        assertEquals(job, service.getJob(job.getJobId()).orElseThrow());
+        assertEquals(
+                1,
+                meterRegistry
+                        .get("cards.catalog.sync")
+                        .tags("category", "3", "outcome", "completed")
+                        .timer()
+                        .count());
+    }
+
+    @Test
+    @DisplayName("Should retry a failing group, then give up on it without stopping the others")
+    void startCatalogSync_GroupKeepsFailing_RetriedThenFailed() {
+        // Arrange
+        when(tcgConnectService.fetchGroups(3)).thenReturn(List.of(group(100, "Base Set"), group(200, "Jungle")));
+        when(cardService.syncCards(3, 100)).thenThrow(new TcgFetchException("502 from TCGCSV"));
+        when(cardService.syncCards(3, 200))
+                .thenThrow(new TcgFetchException("timeout"))
+                .thenReturn(new CardSyncResult(64, 64, 0));
+        SyncJobService service = service(Runnable::run, 2);
+
+        // Act
+        SyncJobResponse job = service.startCatalogSync(3);
+
+        // Assert
+        assertEquals(SyncJobResponse.State.COMPLETED_WITH_ERRORS, job.getState());
+        GroupSyncStatus failed = job.getGroups().get(0);
+        assertEquals(GroupSyncStatus.State.FAILED, failed.getState());
+        assertEquals(3, failed.getAttempts());
+        assertEquals("502 from TCGCSV", failed.getError());
+        GroupSyncStatus retried = job.getGroups().get(1);
+        assertEquals(GroupSyncStatus.State.SYNCED, retried.getState());
+        assertEquals(2, retried.getAttempts());
+        verify(cardService, times(3)).syncCards(3, 100);
+    }
+
+    @Test
+    @DisplayName("Should fail the job when the category's groups cannot be listed")
+    void startCatalogSync_GroupsUnavailable_Failed() {
+        // Arrange
+        when(tcgConnectService.fetchGroups(3)).thenThrow(new TcgFetchException("Unsuccessful response"));
+        SyncJobService service = service(Runnable::run, 2);
+
+        // Act
+        SyncJobResponse job = service.startCatalogSync(3);
+
+        // Assert
+        assertEquals(SyncJobResponse.State.FAILED, job.getState());
+        assertEquals("Unsuccessful response", job.getError());
+        verify(tcgConnectService, times(3)).fetchGroups(3);
+        verifyNoInteractions(cardService);
+    }
+
+    @Test
+    @DisplayName("Should return the running job instead of starting a second sync of the same category")
+    void startCatalogSync_AlreadyRunning_ReturnsSameJob() {
+        // Arrange
+        List<Runnable> submitted = new ArrayList<>();
+        SyncJobService service = service(submitted::add, 2);
+
+        // Act
+        SyncJobResponse first = service.startCatalogSync(3);
+        SyncJobResponse second = service.startCatalogSync(3);
+        SyncJobResponse otherCategory = service.startCatalogSync(1);
+
+        // Assert
+        assertEquals(first.getJobId(), second.getJobId());
+        assertEquals(SyncJobResponse.State.RUNNING, second.getState());
+        assertNotEquals(first.getJobId(), otherCategory.getJobId());
+        assertEquals(2, submitted.size());
+    }
+
+    @Test
+    @DisplayName("Should sync a single set in the background and report its card counts")
+    void startSetSync_Succeeds_Completed() {
+        // Arrange
+        when(cardService.syncCards(3, 100)).thenReturn(new CardSyncResult(102, 2, 100));
+        SyncJobService service = service(Runnable::run, 2);
+
+        // Act
+        SyncJobResponse job = service.startSetSync(3, 100);
+
+        // Assert
+        assertEquals(SyncJobResponse.Type.SET, job.getType());
+        assertEquals(100, job.getSetId());
+        assertEquals(SyncJobResponse.State.COMPLETED, job.getState());
+        assertEquals(102, job.getCardsFetched());
+        assertEquals(2, job.getCardsUpserted());
+        assertEquals(100, job.getCardsUnchanged());
+        assertNotNull(job.getDurationMs());
+        verifyNoInteractions(tcgConnectService);
+        assertEquals(
+                1,
+                meterRegistry
+                        .get("cards.set.sync")
+                        .tags("category", "3", "outcome", "completed")
+                        .timer()
+                        .count());
+    }
+
+    @Test
+    @DisplayName("Should fail a set sync with the last error once its retries run out")
+    void startSetSync_KeepsFailing_Failed() {
+        // Arrange
+        when(cardService.syncCards(3, 100)).thenThrow(new TcgFetchException("502 from TCGCSV"));
+        SyncJobService service = service(Runnable::run, 2);
+
+        // Act
+        SyncJobResponse job = service.startSetSync(3, 100);
+
+        // Assert
+        assertEquals(SyncJobResponse.State.FAILED, job.getState());
+        assertEquals("502 from TCGCSV", job.getError());
+        verify(cardService, times(3)).syncCards(3, 100);
+    }
+
+    @Test
+    @DisplayName("Should return the running job instead of starting a second sync of the same set")
+    void startSetSync_AlreadyRunning_ReturnsSameJob() {
+        // Arrange
+        List<Runnable> submitted = new ArrayList<>();
+        SyncJobService service = service(submitted::add, 2);
+
+        // Act
+        SyncJobResponse first = service.startSetSync(3, 100);
+        SyncJobResponse second = service.startSetSync(3, 100);
+        SyncJobResponse otherSet = service.startSetSync(3, 200);
+        SyncJobResponse catalog = service.startCatalogSync(3);
+
+        // Assert
+        assertEquals(first.getJobId(), second.getJobId());
+        assertNotEquals(first.getJobId(), otherSet.getJobId());
+        assertNotEquals(first.getJobId(), catalog.getJobId());
+        assertEquals(3, submitted.size());
+    }
+
+    @Test
+    @DisplayName("Should return a running catalog sync for a set of the same category")
+    void startSetSync_CatalogOfCategoryRunning_ReturnsCatalogJob() {
+        // Arrange
+        List<Runnable> submitted = new ArrayList<>();
+        SyncJobService service = service(submitted::add, 2);
+
+        // Act
+        SyncJobResponse catalog = service.startCatalogSync(3);
+        SyncJobResponse set = service.startSetSync(3, 100);
+        SyncJobResponse otherCategory = service.startSetSync(1, 100);
+
+        // Assert
+        assertEquals(catalog.getJobId(), set.getJobId());
+        assertEquals(SyncJobResponse.Type.CATALOG, set.getType());
+        assertNotEquals(catalog.getJobId(), otherCategory.getJobId());
+        assertEquals(2, submitted.size());
+    }
+
+    @Test
+    @DisplayName("Should make a catalog sync wait for a set that a set sync is still syncing")
+    void startCatalogSync_SetSyncRunning_WaitsForSet() throws InterruptedException {
+        // Arrange
+        CountDownLatch setSyncStarted = new CountDownLatch(1);
+        CountDownLatch releaseSetSync = new CountDownLatch(1);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        when(tcgConnectService.fetchGroups(3)).thenReturn(List.of(group(100, "Base Set"), group(200, "Jungle")));
+        when(cardService.syncCards(3, 100)).thenAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            setSyncStarted.countDown();
+            releaseSetSync.await();
+            inFlight.decrementAndGet();
+            return new CardSyncResult(1, 1, 0);
+        });
+        when(cardService.syncCards(3, 200)).thenReturn(new CardSyncResult(1, 1, 0));
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            SyncJobService service = service(executor, 2);
+
+            // Act
+            SyncJobResponse set = service.startSetSync(3, 100);
+            assertTrue(setSyncStarted.await(5, TimeUnit.SECONDS));
+            SyncJobResponse catalog = service.startCatalogSync(3);
+            Thread.sleep(100);
+            releaseSetSync.countDown();
+            awaitFinished(service, set.getJobId());
+            awaitFinished(service, catalog.getJobId());
+
+            // Assert
+            assertNotEquals(set.getJobId(), catalog.getJobId());
+            assertEquals(
+                    SyncJobResponse.State.COMPLETED,
+                    service.getJob(set.getJobId()).orElseThrow().getState());
+            assertEquals(
+                    SyncJobResponse.State.COMPLETED,
+                    service.getJob(catalog.getJobId()).orElseThrow().getState());
+            assertEquals(1, maxInFlight.get());
+            verify(cardService, times(2)).syncCards(3, 100);
+        }
+    }
+
+    @Test
+    @DisplayName("Should never sync more groups at once than the configured parallelism")
+    void startCatalogSync_ManyGroups_BoundedParallelism() throws InterruptedException {
+        // Arrange
+        when(tcgConnectService.fetchGroups(3))
+                .thenReturn(IntStream.range(0, 8)
+                        .mapToObj(i -> group(i, "Set " + i))
+                        .toList());
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger mostRunning = new AtomicInteger();
+        when(cardService.syncCards(eq(3), anyInt())).thenAnswer(invocation -> {
+            mostRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(20);
+            running.decrementAndGet();
+            return new CardSyncResult(1, 1, 0);
+        });
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            SyncJobService service = service(executor, 2);
+
+            // Act
+            String jobId = service.startCatalogSync(3).getJobId();
+            SyncJobResponse job = service.getJob(jobId).orElseThrow();
+            for (int i = 0; i < 500 && job.getState() == SyncJobResponse.State.RUNNING; i++) {
+                Thread.sleep(10);
+                job = service.getJob(jobId).orElseThrow();
+            }
+
+            // Assert
+            assertEquals(SyncJobResponse.State.COMPLETED, job.getState());
+            assertEquals(8, job.getCardsFetched());
+            assertTrue(mostRunning.get() <= 2);
+        }
+    }
+
+    private static void awaitFinished(SyncJobService service, String jobId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (service.getJob(jobId).orElseThrow().getState() == SyncJobResponse.State.RUNNING) {
+            assertTrue(System.nanoTime() < deadline, "job " + jobId + " did not finish");
+            Thread.sleep(10);
+        }
+    }
+
+    private SyncJobService service(Executor executor, int parallelism) {
+        return new SyncJobService(
+                tcgConnectService,
+                cardService,
+                executor,
+                meterRegistry,
+                parallelism,
+                3,
+                Duration.ZERO,
+                50,
+                Clock.systemUTC());
+    }
+
+    private static TcgGroupDto group(int groupId, String name) {
+        TcgGroupDto group = new TcgGroupDto();
+        group.setGroupId(groupId);
+        group.setName(name);
+        group.setCategoryId(3);
+        return group;
+    }
+}
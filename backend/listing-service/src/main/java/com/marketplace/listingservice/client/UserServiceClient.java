@@ -7,7 +7,11 @@ import com.marketplace.listingservice.client.dto.UserResponse;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -25,4 +29,13 @@ public interface UserServiceClient {
      */
     @GetMapping("/api/users/{userId}")
     Optional<UserResponse> getUserById(@PathVariable("userId") Long userId);
+
+    /**
+     * Retrieves many users in one request, e.g. the owners of a page of listings.
+     *
+     * @param userIds the user IDs (at most 500)
+     * @return the users found, keyed by user ID; unknown IDs are absent
+     */
+    @PostMapping("/api/users/lookup")
+    Map<Long, UserResponse> getUsersByIds(@RequestBody Collection<Long> userIds);
 }
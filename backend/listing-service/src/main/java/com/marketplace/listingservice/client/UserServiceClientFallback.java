@@ -7,6 +7,8 @@ import com.marketplace.listingservice.client.dto.UserResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -22,4 +24,10 @@ public class UserServiceClientFallback implements UserServiceClient {
         log.warn("User service unavailable. Returning fallback response for user ID: {}", userId);
         return Optional.empty();
     }
+
+    @Override
+    public Map<Long, UserResponse> getUsersByIds(Collection<Long> userIds) {
+        log.warn("User service unavailable. Returning no users for {} user IDs", userIds.size());
+        return Map.of();
+    }
 }
@@ -7,6 +7,7 @@ import com.marketplace.listingservice.dto.CreateListingRequest;
 import com.marketplace.listingservice.dto.ListingResponse;
 import com.marketplace.listingservice.dto.UpdateListingRequest;
 import com.marketplace.listingservice.entity.ListingStatus;
+import com.marketplace.listingservice.security.TrustedIdentity;
 import com.marketplace.listingservice.service.ListingService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -48,9 +49,12 @@ public class ListingController {
                 @ApiResponse(responseCode = "400", description = "Invalid request data"),
                 @ApiResponse(responseCode = "500", description = "Internal server error")
             })
-    public ResponseEntity<ListingResponse> createListing(@Valid @RequestBody CreateListingRequest request) {
+    public ResponseEntity<ListingResponse> createListing(
+            @Valid @RequestBody CreateListingRequest request,
+            @Parameter(hidden = true) @RequestAttribute(name = TrustedIdentity.REQUEST_ATTRIBUTE, required = false)
+                    TrustedIdentity caller) {
         log.info("Received request to create listing for card ID: {}", request.getCardId());
-        ListingResponse response = listingService.createListing(request);
+        ListingResponse response = listingService.createListing(request, caller);
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
@@ -0,0 +1,14 @@
+package com.marketplace.listingservice.security;
+
+/**
+ * Caller identity taken from the signed headers that the api-gateway adds after verifying the JWT.
+ *
+ * @param userId   the caller's user ID
+ * @param username the caller's username
+ * @param role     the caller's role
+ */
+public record TrustedIdentity(Long userId, String username, String role) {
+
+    /** Request attribute under which {@link TrustedIdentityFilter} stores the verified identity. */
+    public static final String REQUEST_ATTRIBUTE = "trustedIdentity";
+}
@@ -0,0 +1,116 @@
+package com.marketplace.listingservice.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.util.Base64;
+import java.util.Optional;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Checks the identity headers signed by the api-gateway and, when the signature and timestamp
+ * are valid, exposes the caller as a {@link TrustedIdentity} request attribute.
+ * Requests without valid headers are passed on unchanged, so callers fall back to looking the user up.
+ */
+@Slf4j
+@Component
+public class TrustedIdentityFilter extends OncePerRequestFilter {
+
+    static final String USER_ID_HEADER = "X-User-Id";
+    static final String USERNAME_HEADER = "X-User-Name";
+    static final String ROLE_HEADER = "X-User-Role";
+    static final String TIMESTAMP_HEADER = "X-Identity-Timestamp";
+    static final String SIGNATURE_HEADER = "X-Identity-Signature";
+
+    private final SecretKeySpec signingKey;
+    private final long maxAgeSeconds;
+    private final Clock clock;
+
+    @Autowired
+    public TrustedIdentityFilter(
+            @Value("${identity.header.secret:}") String secret,
+            @Value("${identity.header.max-age-seconds:300}") long maxAgeSeconds) {
+        this(secret, maxAgeSeconds, Clock.systemUTC());
+    }
+
+    TrustedIdentityFilter(String secret, long maxAgeSeconds, Clock clock) {
+        this.signingKey = secret == null || secret.isBlank()
+                ? null
+                : new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+        this.maxAgeSeconds = maxAgeSeconds;
+        this.clock = clock;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        resolve(request).ifPresent(identity -> request.setAttribute(TrustedIdentity.REQUEST_ATTRIBUTE, identity));
+        chain.doFilter(request, response);
+    }
+
+    /**
+     * Reads and verifies the gateway identity headers.
+     *
+     * @param request the incoming request
+     * @return the caller's identity, or empty if the headers are missing, stale or not signed by the gateway
+     */
+    Optional<TrustedIdentity> resolve(HttpServletRequest request) {
+        String userId = request.getHeader(USER_ID_HEADER);
+        String signature = request.getHeader(SIGNATURE_HEADER);
+        if (signingKey == null || userId == null || signature == null) {
+            return Optional.empty();
+        }
+
+        String username = headerOrEmpty(request, USERNAME_HEADER);
+        String role = headerOrEmpty(request, ROLE_HEADER);
+        String timestamp = headerOrEmpty(request, TIMESTAMP_HEADER);
+
+        byte[] expected = sign(userId, username, role, timestamp).getBytes(StandardCharsets.UTF_8);
+        if (!MessageDigest.isEqual(expected, signature.getBytes(StandardCharsets.UTF_8))) {
+            log.warn("Rejected identity headers with an invalid signature for user ID {}", userId);
+            return Optional.empty();
+        }
+
+        try {
+            long age = clock.instant().getEpochSecond() - Long.parseLong(timestamp);
+            if (Math.abs(age) > maxAgeSeconds) {
+                log.warn("Rejected stale identity headers for user ID {}", userId);
+                return Optional.empty();
+            }
+            return Optional.of(new TrustedIdentity(Long.valueOf(userId), username, role));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    private String sign(String userId, String username, String role, String timestamp) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(signingKey);
+            byte[] payload =
+                    String.join("\n", userId, username, role, timestamp).getBytes(StandardCharsets.UTF_8);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(mac.doFinal(payload));
+        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+
+    private static String headerOrEmpty(HttpServletRequest request, String name) {
+        String value = request.getHeader(name);
+        return value == null ? "" : value;
+    }
+}
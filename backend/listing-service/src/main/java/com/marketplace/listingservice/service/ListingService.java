@@ -7,6 +7,7 @@ import com.marketplace.listingservice.dto.CreateListingRequest;
 import com.marketplace.listingservice.dto.ListingResponse;
 import com.marketplace.listingservice.dto.UpdateListingRequest;
 import com.marketplace.listingservice.entity.ListingStatus;
+import com.marketplace.listingservice.security.TrustedIdentity;
 
 import java.util.List;
 
@@ -23,6 +24,16 @@ public interface ListingService {
      */
     ListingResponse createListing(CreateListingRequest request);
 
+    /**
+     * Create a new listing for a caller whose identity the gateway has already verified.
+     * The user-service lookup is skipped when the caller is the listing owner.
+     *
+     * @param request the create listing request
+     * @param caller  the identity from the gateway's signed headers, or null if there is none
+     * @return the created listing response
+     */
+    ListingResponse createListing(CreateListingRequest request, TrustedIdentity caller);
+
     /**
      * Get a listing by ID.
      *
@@ -18,6 +18,7 @@ import com.marketplace.listingservice.exception.ListingNotFoundException;
 import com.marketplace.listingservice.exception.UserNotFoundException;
 // import com.marketplace.listingservice.kafka.ListingEventProducer;
 import com.marketplace.listingservice.repository.ListingRepository;
+import com.marketplace.listingservice.security.TrustedIdentity;
 import com.marketplace.listingservice.service.ListingService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -45,12 +46,21 @@ public class ListingServiceImpl implements ListingService {
 
     @Override
     public ListingResponse createListing(CreateListingRequest request) {
+        return createListing(request, null);
+    }
+
+    @Override
+    public ListingResponse createListing(CreateListingRequest request, TrustedIdentity caller) {
         log.info("Creating new listing for card ID: {} by user ID: {}", request.getCardId(), request.getOwnerUserId());
 
-        // Verify that the user exists via user service
-        Optional<UserResponse> userResponse = userServiceClient.getUserById(request.getOwnerUserId());
-        if (userResponse.isEmpty()) {
-            throw new UserNotFoundException(request.getOwnerUserId());
+        // Verify that the user exists via user service, unless the gateway has already verified this user
+        if (caller != null && request.getOwnerUserId().equals(caller.userId())) {
+            log.debug("Owner {} verified by gateway identity headers", caller.userId());
+        } else {
+            Optional<UserResponse> userResponse = userServiceClient.getUserById(request.getOwnerUserId());
+            if (userResponse.isEmpty()) {
+                throw new UserNotFoundException(request.getOwnerUserId());
+            }
         }
 
         // Verify that the card exists via card service
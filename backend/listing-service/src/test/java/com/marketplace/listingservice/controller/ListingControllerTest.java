@@ -80,7 +80,8 @@ class ListingControllerTest {
         @Test
         @DisplayName("POST /api/listings - Success")
         void createListing_Success() throws Exception {
-            when(listingService.createListing(any(CreateListingRequest.class))).thenReturn(testListingResponse);
+            when(listingService.createListing(any(CreateListingRequest.class), any()))
+                    .thenReturn(testListingResponse);
 
             mockMvc.perform(post("/api/listings")
                             .contentType(MediaType.APPLICATION_JSON)
@@ -92,7 +93,7 @@ class ListingControllerTest {
                     .andExpect(jsonPath("$.conditionRating", is(8)))
                     .andExpect(jsonPath("$.listingStatus", is("ACTIVE")));
 
-            verify(listingService, times(1)).createListing(any(CreateListingRequest.class));
+            verify(listingService, times(1)).createListing(any(CreateListingRequest.class), any());
         }
 
         @Test
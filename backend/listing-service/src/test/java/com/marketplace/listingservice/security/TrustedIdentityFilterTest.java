@@ -0,0 +1,110 @@
+package com.marketplace.listingservice.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Unit tests for TrustedIdentityFilter.
+ */
+class TrustedIdentityFilterTest {
+
+    private static final String SECRET = "test-identity-secret";
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    private TrustedIdentityFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new TrustedIdentityFilter(SECRET, 300, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    @DisplayName("Should expose the caller for correctly signed headers")
+    void doFilter_ValidSignature_SetsTrustedIdentity() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = signedRequest("42", "alice", "USER", NOW.getEpochSecond(), SECRET);
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        assertEquals(
+                new TrustedIdentity(42L, "alice", "USER"), request.getAttribute(TrustedIdentity.REQUEST_ATTRIBUTE));
+    }
+
+    @Test
+    @DisplayName("Should ignore headers signed with another secret")
+    void resolve_WrongSecret_ReturnsEmpty() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = signedRequest("42", "alice", "USER", NOW.getEpochSecond(), "forged");
+
+        // Act & Assert
+        assertTrue(filter.resolve(request).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should ignore headers that were tampered with after signing")
+    void resolve_TamperedUserId_ReturnsEmpty() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = signedRequest("42", "alice", "USER", NOW.getEpochSecond(), SECRET);
+        request.removeHeader(TrustedIdentityFilter.USER_ID_HEADER);
+        request.addHeader(TrustedIdentityFilter.USER_ID_HEADER, "1");
+
+        // Act & Assert
+        assertTrue(filter.resolve(request).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should ignore stale headers")
+    void resolve_StaleTimestamp_ReturnsEmpty() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = signedRequest("42", "alice", "USER", NOW.getEpochSecond() - 600, SECRET);
+
+        // Act & Assert
+        assertTrue(filter.resolve(request).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should trust nothing when no secret is configured")
+    void resolve_NoSecret_ReturnsEmpty() throws Exception {
+        // Arrange
+        TrustedIdentityFilter unconfigured = new TrustedIdentityFilter("", 300);
+        MockHttpServletRequest request = signedRequest("42", "alice", "USER", NOW.getEpochSecond(), SECRET);
+
+        // Act & Assert
+        assertTrue(unconfigured.resolve(request).isEmpty());
+        assertTrue(unconfigured.resolve(new MockHttpServletRequest()).isEmpty());
+    }
+
+    private static MockHttpServletRequest signedRequest(
+            String userId, String username, String role, long timestamp, String secret) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        String payload = String.join("\n", userId, username, role, Long.toString(timestamp));
+        String signature = Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(mac.doFinal(payload.getBytes(StandardCharsets.UTF_8)));
+
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/listings");
+        request.addHeader(TrustedIdentityFilter.USER_ID_HEADER, userId);
+        request.addHeader(TrustedIdentityFilter.USERNAME_HEADER, username);
+        request.addHeader(TrustedIdentityFilter.ROLE_HEADER, role);
+        request.addHeader(TrustedIdentityFilter.TIMESTAMP_HEADER, Long.toString(timestamp));
+        request.addHeader(TrustedIdentityFilter.SIGNATURE_HEADER, signature);
+        return request;
+    }
+}
@@ -25,6 +25,7 @@ import com.marketplace.listingservice.exception.ListingNotFoundException;
 import com.marketplace.listingservice.exception.UserNotFoundException;
 // import com.marketplace.listingservice.kafka.ListingEventProducer;
 import com.marketplace.listingservice.repository.ListingRepository;
+import com.marketplace.listingservice.security.TrustedIdentity;
 import com.marketplace.listingservice.service.impl.ListingServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -151,6 +152,33 @@ class ListingServiceImplTest {
             verify(listingRepository, never()).save(any(Listing.class));
         }
 
+        @Test
+        @DisplayName("Should skip the user lookup when the gateway has verified the owner")
+        void createListing_TrustedOwner_SkipsUserLookup() {
+            CardResponse cardResponse =
+                    CardResponse.builder().cardId(200L).name("Test Card").build();
+            when(cardServiceClient.getCardById(200L)).thenReturn(Optional.of(cardResponse));
+            when(listingRepository.save(any(Listing.class))).thenReturn(testListing);
+
+            ListingResponse response =
+                    listingService.createListing(createRequest, new TrustedIdentity(100L, "testuser", "USER"));
+
+            assertThat(response.getOwnerUserId()).isEqualTo(100L);
+            verify(userServiceClient, never()).getUserById(anyLong());
+        }
+
+        @Test
+        @DisplayName("Should still look up the owner when the caller is someone else")
+        void createListing_TrustedCallerNotOwner_LooksUpUser() {
+            when(userServiceClient.getUserById(100L)).thenReturn(Optional.empty());
+
+            assertThatThrownBy(
+                            () -> listingService.createListing(createRequest, new TrustedIdentity(7L, "other", "USER")))
+                    .isInstanceOf(UserNotFoundException.class);
+
+            verify(userServiceClient, times(1)).getUserById(100L);
+        }
+
         @Test
         @DisplayName("Should throw CardNotFoundException when card does not exist")
         void createListing_CardNotFound() {
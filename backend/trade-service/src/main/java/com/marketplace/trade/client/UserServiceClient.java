@@ -6,6 +6,11 @@ import com.marketplace.trade.client.dto.UserResponse;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+
+import java.util.Collection;
+import java.util.Map;
 
 /**
  * Feign client for communicating with user-service
@@ -15,4 +20,11 @@ public interface UserServiceClient {
 
     @GetMapping("/api/users/{userId}")
     UserResponse getUser(@PathVariable("userId") Long userId);
+
+    /**
+     * Looks up many users in one request (at most 500 IDs), e.g. the requesters of a page of
+     * trades. Unknown IDs are absent from the returned map.
+     */
+    @PostMapping("/api/users/lookup")
+    Map<Long, UserResponse> getUsersByIds(@RequestBody Collection<Long> userIds);
 }
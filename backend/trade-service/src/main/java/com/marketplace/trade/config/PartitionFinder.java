@@ -0,0 +1,29 @@
+package com.marketplace.trade.config;
+
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Looks up a topic's partitions for listeners that assign them manually rather than joining a
+ * consumer group.
+ */
+@Component("partitionFinder")
+@RequiredArgsConstructor
+public class PartitionFinder {
+
+    private final ConsumerFactory<String, Object> consumerFactory;
+
+    /**
+     * @param topic the topic name
+     * @return the topic's partition numbers
+     */
+    public String[] partitions(String topic) {
+        try (Consumer<String, Object> consumer = consumerFactory.createConsumer()) {
+            return consumer.partitionsFor(topic).stream()
+                    .map(partition -> String.valueOf(partition.partition()))
+                    .toArray(String[]::new);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.marketplace.trade.consumer;
+
+import com.marketplace.trade.service.TradeService;
+import com.marketplace.trade.stream.TradeEventStream;
+import com.marketplace.trade.stream.TradeStreamEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.PartitionOffset;
+import org.springframework.kafka.annotation.TopicPartition;
+import org.springframework.stereotype.Component;
+
+/**
+ * Feeds the trade events published by {@code TradeService} into the server-sent event stream.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TradeStreamConsumer {
+
+    private final TradeEventStream tradeEventStream;
+
+    /**
+     * Every instance needs every event for the clients connected to it, so the listener is
+     * assigned all partitions itself, starting at their end, instead of joining a consumer group.
+     * The producer's type header makes the payload a {@link TradeService.TradeEvent}.
+     */
+    @KafkaListener(
+            id = "trade-service-stream",
+            topicPartitions =
+                    @TopicPartition(
+                            topic = "trade-events",
+                            partitions = "#{@partitionFinder.partitions('trade-events')}",
+                            partitionOffsets =
+                                    @PartitionOffset(partition = "*", initialOffset = "0", seekPosition = "END")))
+    public void consumeTradeEvent(ConsumerRecord<String, Object> record) {
+        if (!(record.value() instanceof TradeService.TradeEvent event)) {
+            log.warn("Ignoring trade event with unexpected payload: {}", record.value());
+            return;
+        }
+
+        tradeEventStream.publish(new TradeStreamEvent(
+                record.partition() + "-" + record.offset(),
+                event.getEventType(),
+                event.getTradeId(),
+                event.getListingId(),
+                event.getRequestingUserId(),
+                event.getListingOwnerUserId(),
+                event.getTimestamp()));
+    }
+}
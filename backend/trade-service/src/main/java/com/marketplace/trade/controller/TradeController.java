@@ -4,6 +4,7 @@ package com.marketplace.trade.controller;
 
 import com.marketplace.trade.dto.TradeRequestDTO;
 import com.marketplace.trade.dto.TradeResponseDTO;
+import com.marketplace.trade.security.TrustedIdentity;
 import com.marketplace.trade.service.TradeService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -40,9 +41,12 @@ public class TradeController {
                 @ApiResponse(responseCode = "404", description = "Listing or user not found"),
                 @ApiResponse(responseCode = "409", description = "Trade request already exists")
             })
-    public ResponseEntity<TradeResponseDTO> createTradeRequest(@Valid @RequestBody TradeRequestDTO request) {
+    public ResponseEntity<TradeResponseDTO> createTradeRequest(
+            @Valid @RequestBody TradeRequestDTO request,
+            @Parameter(hidden = true) @RequestAttribute(name = TrustedIdentity.REQUEST_ATTRIBUTE, required = false)
+                    TrustedIdentity caller) {
         log.info("Received request to create trade for listing: {}", request.getListingId());
-        TradeResponseDTO response = tradeService.createTradeRequest(request);
+        TradeResponseDTO response = tradeService.createTradeRequest(request, caller);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
@@ -0,0 +1,59 @@
+package com.marketplace.trade.controller;
+
+import com.marketplace.trade.security.TrustedIdentity;
+import com.marketplace.trade.stream.TradeEventStream;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Server-sent event stream of trade status changes, replacing polling of the trade list endpoints.
+ */
+@RestController
+@RequestMapping("/api/trades")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Trade Stream", description = "Live trade status changes as server-sent events")
+public class TradeStreamController {
+
+    private final TradeEventStream tradeEventStream;
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+            summary = "Stream trade status changes",
+            description = "Pushes a 'trade' event whenever a trade the user requested or owns the listing of"
+                    + " changes status. Reconnect with Last-Event-ID to receive missed events; a 'resync'"
+                    + " event means they are no longer available and the trades should be reloaded.")
+    @ApiResponses(
+            value = {
+                @ApiResponse(responseCode = "200", description = "Stream opened"),
+                @ApiResponse(responseCode = "401", description = "No gateway-verified user to stream for")
+            })
+    public SseEmitter streamTrades(
+            @Parameter(description = "ID of the last event received, when reconnecting")
+                    @RequestHeader(name = "Last-Event-ID", required = false)
+                    String lastEventId,
+            @Parameter(hidden = true) @RequestAttribute(name = TrustedIdentity.REQUEST_ATTRIBUTE, required = false)
+                    TrustedIdentity caller) {
+        // Only the identity signed by the gateway says whose trades these are; tokens issued before
+        // the userId claim existed carry none, and their holders must sign in again.
+        if (caller == null || caller.userId() == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "A verified user is required");
+        }
+        log.info("Opening trade stream for user: {}", caller.userId());
+        return tradeEventStream.subscribe(caller.userId(), lastEventId);
+    }
+}
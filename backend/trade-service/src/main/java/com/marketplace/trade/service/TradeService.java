@@ -14,6 +14,7 @@ import com.marketplace.trade.model.Trade.TradeStatus;
 import com.marketplace.trade.model.TradeOfferedCard;
 import com.marketplace.trade.repository.TradeOfferedCardRepository;
 import com.marketplace.trade.repository.TradeRepository;
+import com.marketplace.trade.security.TrustedIdentity;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.core.KafkaTemplate;
@@ -44,6 +45,17 @@ public class TradeService {
      */
     @Transactional
     public TradeResponseDTO createTradeRequest(TradeRequestDTO request) {
+        return createTradeRequest(request, null);
+    }
+
+    /**
+     * Create a new trade request. When the gateway has already vouched for the requesting user,
+     * the user-service lookup is skipped.
+     *
+     * @param caller the identity from the gateway's signed headers, or null if there is none
+     */
+    @Transactional
+    public TradeResponseDTO createTradeRequest(TradeRequestDTO request, TrustedIdentity caller) {
         log.info(
                 "Creating trade request for listing: {} by user: {}",
                 request.getListingId(),
@@ -62,12 +74,16 @@ public class TradeService {
             throw new TradeException("Cannot create trade request for inactive listing");
         }
 
-        // Validate user exists
-        try {
-            userServiceClient.getUser(request.getRequestingUserId());
-        } catch (Exception e) {
-            log.error("Failed to fetch user: {}", request.getRequestingUserId(), e);
-            throw new ResourceNotFoundException("User not found: " + request.getRequestingUserId());
+        // Validate user exists, unless the gateway has already verified this user
+        if (caller != null && request.getRequestingUserId().equals(caller.userId())) {
+            log.debug("Requesting user {} verified by gateway identity headers", caller.userId());
+        } else {
+            try {
+                userServiceClient.getUser(request.getRequestingUserId());
+            } catch (Exception e) {
+                log.error("Failed to fetch user: {}", request.getRequestingUserId(), e);
+                throw new ResourceNotFoundException("User not found: " + request.getRequestingUserId());
+            }
         }
 
         // Check if user is trying to trade their own listing
@@ -106,7 +122,11 @@ public class TradeService {
 
         // Publish trade created event
         publishTradeEvent(
-                "TRADE_CREATED", savedTrade.getTradeId(), request.getListingId(), request.getRequestingUserId());
+                "TRADE_CREATED",
+                savedTrade.getTradeId(),
+                request.getListingId(),
+                request.getRequestingUserId(),
+                listing.getOwnerUserId());
 
         return mapToDTO(savedTrade);
     }
@@ -159,7 +179,12 @@ public class TradeService {
         });
 
         // Publish trade accepted event
-        publishTradeEvent("TRADE_ACCEPTED", savedTrade.getTradeId(), trade.getListingId(), trade.getRequestingUserId());
+        publishTradeEvent(
+                "TRADE_ACCEPTED",
+                savedTrade.getTradeId(),
+                trade.getListingId(),
+                trade.getRequestingUserId(),
+                trade.getListingOwnerUserId());
 
         log.info("Trade request accepted: {}", tradeId);
         return mapToDTO(savedTrade);
@@ -198,7 +223,12 @@ public class TradeService {
         Trade savedTrade = tradeRepository.save(trade);
 
         // Publish trade declined event
-        publishTradeEvent("TRADE_DECLINED", savedTrade.getTradeId(), trade.getListingId(), trade.getRequestingUserId());
+        publishTradeEvent(
+                "TRADE_DECLINED",
+                savedTrade.getTradeId(),
+                trade.getListingId(),
+                trade.getRequestingUserId(),
+                trade.getListingOwnerUserId());
 
         log.info("Trade request declined: {}", tradeId);
         return mapToDTO(savedTrade);
@@ -259,7 +289,8 @@ public class TradeService {
                     "TRADE_CANCELLED_LISTING_DELETED",
                     trade.getTradeId(),
                     trade.getListingId(),
-                    trade.getRequestingUserId()
+                    trade.getRequestingUserId(),
+                    trade.getListingOwnerUserId()
                 );
 
                 log.info(
@@ -287,7 +318,8 @@ public class TradeService {
                     "TRADE_CANCELLED_USER_DELETED",
                     trade.getTradeId(),
                     trade.getListingId(),
-                    trade.getRequestingUserId()
+                    trade.getRequestingUserId(),
+                    trade.getListingOwnerUserId()
                 );
 
                 log.info(
@@ -312,7 +344,8 @@ public class TradeService {
                     "TRADE_CANCELLED_LISTING_OWNER_DELETED",
                     trade.getTradeId(),
                     trade.getListingId(),
-                    trade.getRequestingUserId()
+                    trade.getRequestingUserId(),
+                    trade.getListingOwnerUserId()
                 );
 
                 log.info(
@@ -329,9 +362,10 @@ public class TradeService {
     /**
      * Publish trade event to Kafka
      */
-    private void publishTradeEvent(String eventType, Long tradeId, Long listingId, Long requestingUserId) {
+    private void publishTradeEvent(
+            String eventType, Long tradeId, Long listingId, Long requestingUserId, Long listingOwnerUserId) {
         try {
-            TradeEvent event = new TradeEvent(eventType, tradeId, listingId, requestingUserId);
+            TradeEvent event = new TradeEvent(eventType, tradeId, listingId, requestingUserId, listingOwnerUserId);
             kafkaTemplate.send(TRADE_EVENTS_TOPIC, event);
             log.info("Published trade event: {} for trade: {}", eventType, tradeId);
         } catch (Exception e) {
@@ -367,6 +401,7 @@ public class TradeService {
         private Long tradeId;
         private Long listingId;
         private Long requestingUserId;
+        private Long listingOwnerUserId;
         private Long timestamp;
 
         public TradeEvent() {
@@ -381,6 +416,12 @@ public class TradeService {
             this.timestamp = System.currentTimeMillis();
         }
 
+        public TradeEvent(
+                String eventType, Long tradeId, Long listingId, Long requestingUserId, Long listingOwnerUserId) {
+            this(eventType, tradeId, listingId, requestingUserId);
+            this.listingOwnerUserId = listingOwnerUserId;
+        }
+
         // Getters and setters
         public String getEventType() {
             return eventType;
@@ -414,6 +455,14 @@ public class TradeService {
             this.requestingUserId = requestingUserId;
         }
 
+        public Long getListingOwnerUserId() {
+            return listingOwnerUserId;
+        }
+
+        public void setListingOwnerUserId(Long listingOwnerUserId) {
+            this.listingOwnerUserId = listingOwnerUserId;
+        }
+
         public Long getTimestamp() {
             return timestamp;
         }
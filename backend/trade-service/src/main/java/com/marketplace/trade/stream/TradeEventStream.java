@@ -0,0 +1,261 @@
+package com.marketplace.trade.stream;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Fans trade events out to the server-sent event connections of the users involved (the requesting
+ * user and the listing owner).
+ *
+ * <p>Each connection has a bounded buffer drained on its own virtual thread, so a slow client never
+ * holds up the Kafka listener. A connection whose buffer overflows is closed; the client reconnects
+ * with {@code Last-Event-ID} and gets what it missed from the last {@code replaySize} events. If the
+ * ID is no longer known, the client gets a {@value #RESYNC_EVENT} event telling it to reload its
+ * trades once over REST. Comments are sent as heartbeats so idle connections are not dropped by
+ * proxies.
+ */
+@Component
+@Slf4j
+public class TradeEventStream {
+
+    static final String TRADE_EVENT = "trade";
+    static final String RESYNC_EVENT = "resync";
+
+    private static final long RECONNECT_MILLIS = 3_000;
+
+    private final int bufferSize;
+    private final int replaySize;
+    private final Supplier<SseEmitter> emitterFactory;
+    private final Executor senders;
+    private final Map<Long, Set<Subscription>> subscriptions = new ConcurrentHashMap<>();
+
+    /** Recent events, oldest first; also guards registration so replay and live delivery never overlap. */
+    private final Deque<TradeStreamEvent> recent = new ArrayDeque<>();
+
+    private ExecutorService senderPool;
+    private ScheduledExecutorService heartbeats;
+
+    @Autowired
+    public TradeEventStream(
+            @Value("${trade.stream.buffer-size:64}") int bufferSize,
+            @Value("${trade.stream.replay-size:1000}") int replaySize,
+            @Value("${trade.stream.timeout:30m}") Duration timeout,
+            @Value("${trade.stream.heartbeat-interval:15s}") Duration heartbeatInterval) {
+        this(
+                bufferSize,
+                replaySize,
+                () -> new SseEmitter(timeout.toMillis()),
+                Executors.newVirtualThreadPerTaskExecutor());
+        this.senderPool = (ExecutorService) senders;
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("trade-stream-heartbeat").daemon().factory());
+        heartbeats.scheduleAtFixedRate(
+                this::sendHeartbeats,
+                heartbeatInterval.toMillis(),
+                heartbeatInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    TradeEventStream(int bufferSize, int replaySize, Supplier<SseEmitter> emitterFactory, Executor senders) {
+        this.bufferSize = bufferSize;
+        this.replaySize = replaySize;
+        this.emitterFactory = emitterFactory;
+        this.senders = senders;
+    }
+
+    /**
+     * Opens a stream of the trade events involving {@code userId}.
+     *
+     * @param lastEventId the {@code Last-Event-ID} sent by a reconnecting client, or null
+     */
+    public SseEmitter subscribe(Long userId, String lastEventId) {
+        SseEmitter emitter = emitterFactory.get();
+        Subscription subscription = new Subscription(userId, emitter);
+        emitter.onCompletion(subscription::remove);
+        emitter.onTimeout(subscription::remove);
+        emitter.onError(error -> subscription.remove());
+
+        subscription.offer(SseEmitter.event().comment("connected").reconnectTime(RECONNECT_MILLIS));
+        synchronized (recent) {
+            if (lastEventId != null) {
+                replay(subscription, lastEventId);
+            }
+            subscriptions
+                    .computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet())
+                    .add(subscription);
+        }
+        log.debug("User {} subscribed to trade events (resuming after {})", userId, lastEventId);
+        return emitter;
+    }
+
+    /** Remembers the event for resuming clients and pushes it to the users it involves. */
+    public void publish(TradeStreamEvent event) {
+        synchronized (recent) {
+            recent.addLast(event);
+            if (recent.size() > replaySize) {
+                recent.removeFirst();
+            }
+            deliver(event, event.requestingUserId());
+            if (!Objects.equals(event.listingOwnerUserId(), event.requestingUserId())) {
+                deliver(event, event.listingOwnerUserId());
+            }
+        }
+    }
+
+    int subscriberCount() {
+        return subscriptions.values().stream().mapToInt(Set::size).sum();
+    }
+
+    /** Skipped for connections with a full buffer: they already have something to send. */
+    void sendHeartbeats() {
+        subscriptions
+                .values()
+                .forEach(set -> set.forEach(
+                        subscription -> subscription.offer(SseEmitter.event().comment("heartbeat"))));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (heartbeats != null) {
+            heartbeats.shutdownNow();
+        }
+        subscriptions.values().forEach(set -> set.forEach(Subscription::close));
+        if (senderPool != null) {
+            senderPool.shutdown();
+        }
+    }
+
+    private void deliver(TradeStreamEvent event, Long userId) {
+        if (userId == null) {
+            return;
+        }
+        Set<Subscription> targets = subscriptions.get(userId);
+        if (targets == null) {
+            return;
+        }
+        for (Subscription subscription : targets) {
+            if (!subscription.offer(toSse(event))) {
+                log.warn("Closing trade stream of user {}: client is not keeping up", userId);
+                subscription.close();
+            }
+        }
+    }
+
+    private void replay(Subscription subscription, String lastEventId) {
+        List<TradeStreamEvent> missed = new ArrayList<>();
+        boolean found = false;
+        for (Iterator<TradeStreamEvent> it = recent.iterator(); it.hasNext(); ) {
+            TradeStreamEvent event = it.next();
+            if (found && involves(event, subscription.userId)) {
+                missed.add(event);
+            } else if (event.id().equals(lastEventId)) {
+                found = true;
+            }
+        }
+
+        // More missed than fits the buffer, or too old to know: cheaper for the client to reload once
+        if (!found || missed.size() >= bufferSize - 1) {
+            subscription.offer(SseEmitter.event().name(RESYNC_EVENT).data(lastEventId));
+            return;
+        }
+        missed.forEach(event -> subscription.offer(toSse(event)));
+    }
+
+    private static boolean involves(TradeStreamEvent event, Long userId) {
+        return userId.equals(event.requestingUserId()) || userId.equals(event.listingOwnerUserId());
+    }
+
+    private static SseEmitter.SseEventBuilder toSse(TradeStreamEvent event) {
+        return SseEmitter.event().id(event.id()).name(TRADE_EVENT).data(event, MediaType.APPLICATION_JSON);
+    }
+
+    /** One open connection: a bounded buffer and at most one drain running at a time. */
+    private final class Subscription {
+
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+
+        private Subscription(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        boolean offer(SseEmitter.SseEventBuilder event) {
+            if (closed || !buffer.offer(event)) {
+                return false;
+            }
+            scheduleDrain();
+            return true;
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                SseEmitter.SseEventBuilder next;
+                while (!closed && (next = buffer.poll()) != null) {
+                    emitter.send(next);
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Trade stream of user {} went away: {}", userId, e.getMessage());
+                remove();
+            } finally {
+                draining.set(false);
+            }
+            // An event may have arrived after the last poll but before draining was cleared
+            if (!closed && !buffer.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+
+        void close() {
+            if (!closed) {
+                remove();
+                emitter.complete();
+            }
+        }
+
+        void remove() {
+            closed = true;
+            buffer.clear();
+            subscriptions.computeIfPresent(userId, (id, set) -> {
+                set.remove(this);
+                return set.isEmpty() ? null : set;
+            });
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.marketplace.trade.stream;
+
+/**
+ * A trade status change as pushed to subscribers of the trade stream.
+ *
+ * @param id stream position ({@code partition-offset} of the Kafka record), sent as the SSE id and
+ *           accepted back in {@code Last-Event-ID}
+ */
+public record TradeStreamEvent(
+        String id,
+        String eventType,
+        Long tradeId,
+        Long listingId,
+        Long requestingUserId,
+        Long listingOwnerUserId,
+        Long timestamp) {}
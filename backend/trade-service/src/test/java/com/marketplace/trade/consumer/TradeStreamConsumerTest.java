@@ -0,0 +1,88 @@
+package com.marketplace.trade.consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marketplace.trade.config.KafkaConfig;
+import com.marketplace.trade.service.TradeService;
+import com.marketplace.trade.stream.TradeEventStream;
+import com.marketplace.trade.stream.TradeStreamEvent;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serializer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Unit tests for TradeStreamConsumer
+ */
+@ExtendWith(MockitoExtension.class)
+class TradeStreamConsumerTest {
+
+    @Mock
+    private TradeEventStream tradeEventStream;
+
+    @InjectMocks
+    private TradeStreamConsumer consumer;
+
+    @Test
+    @DisplayName("Should publish the event with its partition and offset as the stream ID")
+    void consumeTradeEvent_TradeEvent_Published() {
+        // Arrange
+        TradeService.TradeEvent payload = new TradeService.TradeEvent("TRADE_ACCEPTED", 1L, 2L, 3L, 4L);
+        payload.setTimestamp(1700000000000L);
+
+        // Act
+        consumer.consumeTradeEvent(new ConsumerRecord<>("trade-events", 0, 42L, null, payload));
+
+        // Assert
+        ArgumentCaptor<TradeStreamEvent> captor = ArgumentCaptor.forClass(TradeStreamEvent.class);
+        verify(tradeEventStream).publish(captor.capture());
+        assertEquals(new TradeStreamEvent("0-42", "TRADE_ACCEPTED", 1L, 2L, 3L, 4L, 1700000000000L), captor.getValue());
+    }
+
+    @Test
+    @DisplayName("Should publish an event sent through the configured Kafka serializer and deserializer")
+    void consumeTradeEvent_KafkaRoundTrip_Published() {
+        // Arrange
+        KafkaConfig kafkaConfig = new KafkaConfig();
+        ReflectionTestUtils.setField(kafkaConfig, "bootstrapServers", "localhost:9092");
+        ObjectMapper objectMapper = kafkaConfig.objectMapper();
+        Serializer<Object> serializer =
+                kafkaConfig.producerFactory(objectMapper).getValueSerializer();
+        Deserializer<Object> deserializer =
+                kafkaConfig.consumerFactory(objectMapper).getValueDeserializer();
+        TradeService.TradeEvent sent = new TradeService.TradeEvent("TRADE_CREATED", 5L, 6L, 7L, 8L);
+        sent.setTimestamp(1700000000000L);
+        RecordHeaders headers = new RecordHeaders();
+
+        // Act
+        byte[] bytes = serializer.serialize("trade-events", headers, sent);
+        Object received = deserializer.deserialize("trade-events", headers, bytes);
+        consumer.consumeTradeEvent(new ConsumerRecord<>("trade-events", 1, 9L, null, received));
+
+        // Assert
+        assertInstanceOf(TradeService.TradeEvent.class, received);
+        verify(tradeEventStream).publish(new TradeStreamEvent("1-9", "TRADE_CREATED", 5L, 6L, 7L, 8L, 1700000000000L));
+    }
+
+    @Test
+    @DisplayName("Should ignore payloads that are not trade events")
+    void consumeTradeEvent_UnexpectedPayload_Ignored() {
+        // Act
+        consumer.consumeTradeEvent(new ConsumerRecord<>("trade-events", 0, 1L, null, "not-an-event"));
+
+        // Assert
+        verify(tradeEventStream, never()).publish(any());
+    }
+}
@@ -75,7 +75,8 @@ class TradeControllerTest {
         @Test
         @DisplayName("POST /api/trades - Success")
         void createTrade_Success() throws Exception {
-            when(tradeService.createTradeRequest(any(TradeRequestDTO.class))).thenReturn(tradeResponseDTO);
+            when(tradeService.createTradeRequest(any(TradeRequestDTO.class), any()))
+                    .thenReturn(tradeResponseDTO);
 
             mockMvc.perform(post("/api/trades")
                             .contentType(MediaType.APPLICATION_JSON)
@@ -87,7 +88,7 @@ class TradeControllerTest {
                     .andExpect(jsonPath("$.tradeStatus", is("pending")))
                     .andExpect(jsonPath("$.offeredCardIds", hasSize(2)));
 
-            verify(tradeService, times(1)).createTradeRequest(any(TradeRequestDTO.class));
+            verify(tradeService, times(1)).createTradeRequest(any(TradeRequestDTO.class), any());
         }
     }
 
@@ -180,7 +181,7 @@ class TradeControllerTest {
                         .content(objectMapper.writeValueAsString(invalidRequest)))
                 .andExpect(status().isBadRequest());
 
-        verify(tradeService, never()).createTradeRequest(any());
+        verify(tradeService, never()).createTradeRequest(any(), any());
     }
 
     @Test
@@ -237,7 +238,7 @@ class TradeControllerTest {
     @Test
     @DisplayName("POST /api/trades - TradeService throws ResourceNotFoundException")
     void createTrade_TradeServiceNotFound_Returns404() throws Exception {
-        when(tradeService.createTradeRequest(any())).thenThrow(new RuntimeException("Listing not found"));
+        when(tradeService.createTradeRequest(any(), any())).thenThrow(new RuntimeException("Listing not found"));
 
         mockMvc.perform(post("/api/trades")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -287,7 +288,8 @@ class TradeControllerTest {
     @Test
     @DisplayName("POST /api/trades - ResourceNotFoundException returns 404")
     void createTrade_ResourceNotFound_Returns404() throws Exception {
-        when(tradeService.createTradeRequest(any())).thenThrow(new ResourceNotFoundException("Listing not found: 1"));
+        when(tradeService.createTradeRequest(any(), any()))
+                .thenThrow(new ResourceNotFoundException("Listing not found: 1"));
 
         mockMvc.perform(post("/api/trades")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -298,7 +300,7 @@ class TradeControllerTest {
     @Test
     @DisplayName("POST /api/trades - TradeException returns 400")
     void createTrade_TradeException_Returns400() throws Exception {
-        when(tradeService.createTradeRequest(any()))
+        when(tradeService.createTradeRequest(any(), any()))
                 .thenThrow(new TradeException("Cannot create trade for your own listing"));
 
         mockMvc.perform(post("/api/trades")
@@ -410,7 +412,7 @@ class TradeControllerTest {
         TradeResponseDTO singleCardResponse =
                 new TradeResponseDTO(1L, 1L, 100L, TradeStatus.pending, LocalDateTime.now(), Arrays.asList(10L));
 
-        when(tradeService.createTradeRequest(any(TradeRequestDTO.class))).thenReturn(singleCardResponse);
+        when(tradeService.createTradeRequest(any(TradeRequestDTO.class), any())).thenReturn(singleCardResponse);
 
         mockMvc.perform(post("/api/trades")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -426,7 +428,7 @@ class TradeControllerTest {
         TradeResponseDTO manyCardsResponse = new TradeResponseDTO(
                 1L, 1L, 100L, TradeStatus.pending, LocalDateTime.now(), Arrays.asList(10L, 20L, 30L, 40L, 50L));
 
-        when(tradeService.createTradeRequest(any(TradeRequestDTO.class))).thenReturn(manyCardsResponse);
+        when(tradeService.createTradeRequest(any(TradeRequestDTO.class), any())).thenReturn(manyCardsResponse);
 
         mockMvc.perform(post("/api/trades")
                         .contentType(MediaType.APPLICATION_JSON)
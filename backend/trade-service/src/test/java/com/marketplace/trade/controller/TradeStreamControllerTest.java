@@ -0,0 +1,77 @@
+package com.marketplace.trade.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.marketplace.trade.security.TrustedIdentity;
+import com.marketplace.trade.stream.TradeEventStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Unit tests for TradeStreamController
+ */
+@WebMvcTest(TradeStreamController.class)
+class TradeStreamControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private TradeEventStream tradeEventStream;
+
+    @Test
+    @DisplayName("Should open a stream for the authenticated user, resuming after Last-Event-ID")
+    void streamTrades_TrustedCaller_Subscribes() throws Exception {
+        when(tradeEventStream.subscribe(any(), any())).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/api/trades/stream")
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .header("Last-Event-ID", "0-7")
+                        .requestAttr(TrustedIdentity.REQUEST_ATTRIBUTE, new TrustedIdentity(5L, "alice", "USER")))
+                .andExpect(request().asyncStarted());
+
+        verify(tradeEventStream).subscribe(5L, "0-7");
+    }
+
+    @Test
+    @DisplayName("Should ignore a userId parameter and stream only the authenticated user's trades")
+    void streamTrades_OtherUserParam_SubscribesCaller() throws Exception {
+        when(tradeEventStream.subscribe(any(), any())).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/api/trades/stream")
+                        .param("userId", "9")
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .requestAttr(TrustedIdentity.REQUEST_ATTRIBUTE, new TrustedIdentity(5L, "alice", "USER")))
+                .andExpect(request().asyncStarted());
+
+        verify(tradeEventStream).subscribe(eq(5L), isNull());
+    }
+
+    @Test
+    @DisplayName("Should return 401 without a trusted identity, even with a userId parameter")
+    void streamTrades_NoTrustedIdentity_ReturnsUnauthorized() throws Exception {
+        mockMvc.perform(get("/api/trades/stream").param("userId", "8")).andExpect(status().isUnauthorized());
+
+        verify(tradeEventStream, never()).subscribe(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should return 401 when the trusted identity has no user ID")
+    void streamTrades_IdentityWithoutUserId_ReturnsUnauthorized() throws Exception {
+        mockMvc.perform(get("/api/trades/stream")
+                        .requestAttr(TrustedIdentity.REQUEST_ATTRIBUTE, new TrustedIdentity(null, "alice", "USER")))
+                .andExpect(status().isUnauthorized());
+
+        verify(tradeEventStream, never()).subscribe(any(), any());
+    }
+}
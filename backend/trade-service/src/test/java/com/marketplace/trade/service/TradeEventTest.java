@@ -94,6 +94,19 @@ class TradeEventTest {
         assertEquals(15L, event.getRequestingUserId());
     }
 
+    @Test
+    @DisplayName("Should carry the listing owner so both parties can be notified")
+    void tradeEvent_WithListingOwner() {
+        TradeService.TradeEvent event = new TradeService.TradeEvent("TRADE_ACCEPTED", 5L, 10L, 15L, 20L);
+
+        assertEquals("TRADE_ACCEPTED", event.getEventType());
+        assertEquals(15L, event.getRequestingUserId());
+        assertEquals(20L, event.getListingOwnerUserId());
+
+        event.setListingOwnerUserId(21L);
+        assertEquals(21L, event.getListingOwnerUserId());
+    }
+
     @Test
     @DisplayName("Timestamp should be auto-set on creation")
     void tradeEvent_TimestampAutoSet() {
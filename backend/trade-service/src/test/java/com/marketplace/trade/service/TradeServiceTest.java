@@ -20,6 +20,7 @@ import com.marketplace.trade.model.Trade.TradeStatus;
 import com.marketplace.trade.model.TradeOfferedCard;
 import com.marketplace.trade.repository.TradeOfferedCardRepository;
 import com.marketplace.trade.repository.TradeRepository;
+import com.marketplace.trade.security.TrustedIdentity;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -518,6 +519,31 @@ class TradeServiceTest {
         assertThrows(ResourceNotFoundException.class, () -> tradeService.createTradeRequest(tradeRequestDTO));
     }
 
+    @Test
+    void createTradeRequest_withTrustedIdentity_shouldSkipUserLookup() {
+        when(listingServiceClient.getListing(1L)).thenReturn(listingResponse);
+        when(tradeRepository.findPendingTradeByListingAndUser(1L, 2L)).thenReturn(Optional.empty());
+        when(tradeRepository.save(any(Trade.class))).thenReturn(trade);
+
+        TradeResponseDTO result =
+                tradeService.createTradeRequest(tradeRequestDTO, new TrustedIdentity(2L, "testuser", "USER"));
+
+        assertEquals(1L, result.getTradeId());
+        verify(userServiceClient, never()).getUser(anyLong());
+    }
+
+    @Test
+    void createTradeRequest_withIdentityForOtherUser_shouldLookUpUser() {
+        when(listingServiceClient.getListing(1L)).thenReturn(listingResponse);
+        when(userServiceClient.getUser(2L)).thenReturn(userResponse);
+        when(tradeRepository.findPendingTradeByListingAndUser(1L, 2L)).thenReturn(Optional.empty());
+        when(tradeRepository.save(any(Trade.class))).thenReturn(trade);
+
+        tradeService.createTradeRequest(tradeRequestDTO, new TrustedIdentity(9L, "someoneelse", "USER"));
+
+        verify(userServiceClient).getUser(2L);
+    }
+
     @Test
     void getTradeById_withNullOfferedCards_shouldSucceed() {
         trade.setOfferedCards(null);
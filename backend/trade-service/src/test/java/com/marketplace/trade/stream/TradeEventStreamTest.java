@@ -0,0 +1,139 @@
+package com.marketplace.trade.stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Unit tests for TradeEventStream
+ */
+class TradeEventStreamTest {
+
+    private final List<RecordingEmitter> emitters = new ArrayList<>();
+
+    @Test
+    @DisplayName("Should push an event only to the requesting user and the listing owner")
+    void publish_DeliversOnlyToInvolvedUsers() {
+        // Arrange
+        TradeEventStream stream = stream(8, Runnable::run);
+        stream.subscribe(1L, null);
+        stream.subscribe(2L, null);
+        stream.subscribe(3L, null);
+
+        // Act
+        stream.publish(event("0-1", 1L, 2L));
+
+        // Assert
+        assertTrue(emitters.get(0).received("id:0-1"));
+        assertTrue(emitters.get(1).received("id:0-1"));
+        assertFalse(emitters.get(2).received("id:0-1"));
+    }
+
+    @Test
+    @DisplayName("Should disconnect a client whose buffer is full instead of blocking")
+    void publish_SlowClient_Disconnected() {
+        // Arrange: sends are never run, so the buffer of 3 only fills up
+        TradeEventStream stream = stream(3, task -> {});
+        stream.subscribe(1L, null);
+
+        // Act
+        stream.publish(event("0-1", 1L, 2L));
+        stream.publish(event("0-2", 1L, 2L));
+        stream.publish(event("0-3", 1L, 2L));
+
+        // Assert
+        assertTrue(emitters.getFirst().completed);
+        assertEquals(0, stream.subscriberCount());
+    }
+
+    @Test
+    @DisplayName("Should replay the user's missed events after Last-Event-ID")
+    void subscribe_KnownLastEventId_ReplaysMissed() {
+        // Arrange
+        TradeEventStream stream = stream(8, Runnable::run);
+        stream.publish(event("0-1", 1L, 2L));
+        stream.publish(event("0-2", 5L, 1L));
+        stream.publish(event("0-3", 7L, 9L));
+
+        // Act
+        stream.subscribe(1L, "0-1");
+
+        // Assert
+        RecordingEmitter emitter = emitters.getFirst();
+        assertFalse(emitter.received("id:0-1"));
+        assertTrue(emitter.received("id:0-2"));
+        assertFalse(emitter.received("id:0-3"));
+    }
+
+    @Test
+    @DisplayName("Should ask the client to reload when Last-Event-ID is no longer known")
+    void subscribe_UnknownLastEventId_SendsResync() {
+        // Arrange
+        TradeEventStream stream = stream(8, Runnable::run);
+        stream.publish(event("0-5", 1L, 2L));
+
+        // Act
+        stream.subscribe(1L, "0-1");
+
+        // Assert
+        assertTrue(emitters.getFirst().received("event:" + TradeEventStream.RESYNC_EVENT));
+        assertFalse(emitters.getFirst().received("id:0-5"));
+    }
+
+    @Test
+    @DisplayName("Should send heartbeat comments to open connections")
+    void sendHeartbeats_OpenConnection_ReceivesComment() {
+        // Arrange
+        TradeEventStream stream = stream(8, Runnable::run);
+        stream.subscribe(1L, null);
+
+        // Act
+        stream.sendHeartbeats();
+
+        // Assert
+        assertTrue(emitters.getFirst().received(":heartbeat"));
+    }
+
+    private TradeEventStream stream(int bufferSize, java.util.concurrent.Executor senders) {
+        return new TradeEventStream(
+                bufferSize,
+                100,
+                () -> {
+                    RecordingEmitter emitter = new RecordingEmitter();
+                    emitters.add(emitter);
+                    return emitter;
+                },
+                senders);
+    }
+
+    private static TradeStreamEvent event(String id, Long requestingUserId, Long listingOwnerUserId) {
+        return new TradeStreamEvent(id, "TRADE_ACCEPTED", 10L, 20L, requestingUserId, listingOwnerUserId, 0L);
+    }
+
+    private static final class RecordingEmitter extends SseEmitter {
+        private final List<String> sent = new ArrayList<>();
+        private boolean completed;
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            sent.add(builder.build().stream()
+                    .map(part -> String.valueOf(part.getData()))
+                    .collect(Collectors.joining()));
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed = true;
+        }
+
+        boolean received(String fragment) {
+            return sent.stream().anyMatch(event -> event.contains(fragment));
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package org.example.availability;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.repository.UserIdentityView;
+import org.example.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Bloom filters over every username and email in use, so most availability checks are answered
+ * without a query: a name the filter has never seen is definitely free.
+ *
+ * <p>Built from the database in ID order once the application is ready. Names claimed through this
+ * instance are added through {@link #add} before the transaction that claims them commits; names
+ * claimed on other instances are added when their user event arrives (see
+ * {@code UserEventConsumer}), usually within a second of the commit. Until then this instance may
+ * report such a name free, so a "free" answer is advice for the signup form, not a reservation:
+ * the unique constraints decide at registration. A rolled-back or since-changed name only costs a
+ * query. Until the build has finished (or if it failed, or the filter is disabled)
+ * {@link #isReady()} is false and callers ask the database.
+ */
+@Component
+@Slf4j
+public class AvailabilityFilter {
+
+    private final UserRepository userRepository;
+    private final boolean enabled;
+    private final int loadPageSize;
+    private final BloomFilter usernames;
+    private final BloomFilter emails;
+
+    private volatile boolean ready;
+
+    public AvailabilityFilter(
+            UserRepository userRepository,
+            @Value("${users.availability.filter.enabled:true}") boolean enabled,
+            @Value("${users.availability.filter.expected-users:1000000}") long expectedUsers,
+            @Value("${users.availability.filter.false-positive-rate:0.01}") double falsePositiveRate,
+            @Value("${users.availability.filter.load-page-size:5000}") int loadPageSize) {
+        this.userRepository = userRepository;
+        this.enabled = enabled;
+        this.loadPageSize = loadPageSize;
+        this.usernames = new BloomFilter(expectedUsers, falsePositiveRate);
+        this.emails = new BloomFilter(expectedUsers, falsePositiveRate);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadInBackground() {
+        if (enabled) {
+            Thread.ofVirtual().name("availability-filter-load").start(this::load);
+        }
+    }
+
+    /** Adds every username and email in the user table, a page at a time. */
+    void load() {
+        long started = System.nanoTime();
+        long loaded = 0;
+        try {
+            long afterId = 0;
+            List<UserIdentityView> page;
+            do {
+                page = userRepository.findIdentitiesAfter(afterId, PageRequest.of(0, loadPageSize));
+                for (UserIdentityView row : page) {
+                    add(row.getUsername(), row.getEmail());
+                    afterId = row.getUserId();
+                }
+                loaded += page.size();
+            } while (page.size() == loadPageSize);
+            ready = true;
+            log.info(
+                    "Loaded {} users into the availability filters ({} bits, {} hashes each) in {} ms",
+                    loaded,
+                    usernames.bitCount(),
+                    usernames.hashCount(),
+                    (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.error("Could not build the availability filters; availability checks will use the database", e);
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Records a username and email as taken. Call before a change on this instance that takes them
+     * commits, and for every user event from the other instances.
+     */
+    public void add(String username, String email) {
+        if (username != null) {
+            usernames.put(username);
+        }
+        if (email != null) {
+            emails.put(email);
+        }
+    }
+
+    /** False only if no user known to this instance has had this username since the filter was built. */
+    public boolean mightHaveUsername(String username) {
+        return usernames.mightContain(username);
+    }
+
+    /** False only if no user known to this instance has had this email since the filter was built. */
+    public boolean mightHaveEmail(String email) {
+        return emails.mightContain(email);
+    }
+}
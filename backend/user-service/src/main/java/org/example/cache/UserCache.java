@@ -0,0 +1,290 @@
+package org.example.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.example.dto.UserResponse;
+import org.example.model.User;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of {@link UserResponse}s by ID, username and email, for the lookups other
+ * services make on every listing and trade.
+ *
+ * <p>Each lookup keeps at most {@code users.cache.max-entries} entries for {@code users.cache.ttl},
+ * evicting the least recently used entry when full.
+ * Lookups that find no user are remembered too, for the shorter {@code users.cache.negative-ttl},
+ * so repeated requests for missing users do not each reach the database.
+ *
+ * <p>Writers call {@link #invalidate(User)} or {@link #invalidate(Long)}, which take effect after
+ * the surrounding transaction commits. A load that an invalidation overtook, before or while its
+ * result was stored, is removed again, so a reader racing a writer cannot put back the old row.
+ */
+@Component
+@Slf4j
+public class UserCache {
+
+    private final boolean enabled;
+    private final Duration ttl;
+    private final Duration negativeTtl;
+    private final Clock clock;
+
+    private final Lookup<Long> byId;
+    private final Lookup<String> byUsername;
+    private final Lookup<String> byEmail;
+
+    /** Bumped by every invalidation; a load only keeps its result cached if this has not moved. */
+    private final AtomicLong generation = new AtomicLong();
+
+    @Autowired
+    public UserCache(
+            MeterRegistry meterRegistry,
+            @Value("${users.cache.enabled:true}") boolean enabled,
+            @Value("${users.cache.max-entries:10000}") int maxEntries,
+            @Value("${users.cache.ttl:5m}") Duration ttl,
+            @Value("${users.cache.negative-ttl:30s}") Duration negativeTtl) {
+        this(meterRegistry, enabled, maxEntries, ttl, negativeTtl, Clock.systemUTC());
+    }
+
+    UserCache(
+            MeterRegistry meterRegistry,
+            boolean enabled,
+            int maxEntries,
+            Duration ttl,
+            Duration negativeTtl,
+            Clock clock) {
+        this.enabled = enabled;
+        this.ttl = ttl;
+        this.negativeTtl = negativeTtl;
+        this.clock = clock;
+        this.byId = new Lookup<>("id", maxEntries, meterRegistry);
+        this.byUsername = new Lookup<>("username", maxEntries, meterRegistry);
+        this.byEmail = new Lookup<>("email", maxEntries, meterRegistry);
+        if (enabled) {
+            log.info("User cache: {} entries per lookup, TTL {}, negative TTL {}", maxEntries, ttl, negativeTtl);
+        }
+    }
+
+    public Optional<UserResponse> getById(Long userId, Supplier<Optional<User>> loader) {
+        return get(byId, userId, loader);
+    }
+
+    public Optional<UserResponse> getByUsername(String username, Supplier<Optional<User>> loader) {
+        return get(byUsername, username, loader);
+    }
+
+    public Optional<UserResponse> getByEmail(String email, Supplier<Optional<User>> loader) {
+        return get(byEmail, email, loader);
+    }
+
+    /**
+     * Drops everything cached for the user, under their current username and email as well as
+     * any earlier ones, including "not found" entries for the current values.
+     */
+    public void invalidate(User user) {
+        Long userId = user.getUserId();
+        String username = user.getUsername();
+        String email = user.getEmail();
+        afterCommit(() -> {
+            generation.incrementAndGet();
+            evictUser(userId);
+            byUsername.remove(username);
+            byEmail.remove(email);
+        });
+    }
+
+    /** Drops everything cached for the user, for when only the ID is known (e.g. on delete). */
+    public void invalidate(Long userId) {
+        afterCommit(() -> {
+            generation.incrementAndGet();
+            evictUser(userId);
+        });
+    }
+
+    /**
+     * Drops the "not found" entries a batch of newly created users may have under their ID,
+     * username or email. New users cannot be cached under anything else, so unlike
+     * {@link #invalidate(User)} this needs no scan and stays cheap for large imports.
+     */
+    public void invalidateCreated(Collection<User> users) {
+        List<User> created = List.copyOf(users);
+        afterCommit(() -> {
+            generation.incrementAndGet();
+            for (User user : created) {
+                byId.remove(user.getUserId());
+                byUsername.remove(user.getUsername());
+                byEmail.remove(user.getEmail());
+            }
+        });
+    }
+
+    int size() {
+        return byId.size() + byUsername.size() + byEmail.size();
+    }
+
+    private <K> Optional<UserResponse> get(Lookup<K> lookup, K key, Supplier<Optional<User>> loader) {
+        if (!enabled || key == null) {
+            return loader.get().map(UserResponse::fromUser);
+        }
+
+        Instant now = clock.instant();
+        Entry cached = lookup.get(key);
+        if (cached != null) {
+            if (!cached.isExpired(now)) {
+                lookup.hits.incrementAndGet();
+                return Optional.ofNullable(cached.user());
+            }
+            lookup.remove(key, cached);
+        }
+        lookup.misses.incrementAndGet();
+
+        long loadedAt = generation.get();
+        Optional<UserResponse> user = loader.get().map(UserResponse::fromUser);
+        if (user.isPresent()) {
+            // Whichever way it was found, the user can now be served by every lookup
+            UserResponse found = user.get();
+            Entry entry = new Entry(found, now.plus(ttl));
+            byId.put(found.getUserId(), entry);
+            byUsername.put(found.getUsername(), entry);
+            byEmail.put(found.getEmail(), entry);
+            // Checked after storing: an invalidation that ran before the puts has bumped it by now
+            if (generation.get() != loadedAt) {
+                byId.remove(found.getUserId(), entry);
+                byUsername.remove(found.getUsername(), entry);
+                byEmail.remove(found.getEmail(), entry);
+            }
+        } else {
+            Entry miss = new Entry(null, now.plus(negativeTtl));
+            lookup.put(key, miss);
+            if (generation.get() != loadedAt) {
+                lookup.remove(key, miss);
+            }
+        }
+        return user;
+    }
+
+    private void evictUser(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        byId.remove(userId);
+        byUsername.removeUser(userId);
+        byEmail.removeUser(userId);
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+
+    /** A cached user, or a remembered miss when {@code user} is null. */
+    private record Entry(UserResponse user, Instant expiresAt) {
+
+        boolean isExpired(Instant now) {
+            return !now.isBefore(expiresAt);
+        }
+
+        boolean isFor(Long userId) {
+            return user != null && userId.equals(user.getUserId());
+        }
+    }
+
+    /**
+     * One of the three ways users are looked up, with its own hit counts and entries. The entries
+     * are kept in access order, so a full lookup drops its least recently used entry in O(1).
+     */
+    private static final class Lookup<K> {
+        private final Map<K, Entry> entries;
+        private final AtomicLong hits = new AtomicLong();
+        private final AtomicLong misses = new AtomicLong();
+
+        private Lookup(String name, int maxEntries, MeterRegistry meterRegistry) {
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<K, Entry> eldest) {
+                    return size() > maxEntries;
+                }
+            };
+            FunctionCounter.builder("users.cache.gets", hits, AtomicLong::get)
+                    .description("User cache lookups")
+                    .tag("lookup", name)
+                    .tag("result", "hit")
+                    .register(meterRegistry);
+            FunctionCounter.builder("users.cache.gets", misses, AtomicLong::get)
+                    .description("User cache lookups")
+                    .tag("lookup", name)
+                    .tag("result", "miss")
+                    .register(meterRegistry);
+            Gauge.builder("users.cache.hit.ratio", this, Lookup::hitRatio)
+                    .description("Share of user cache lookups served from memory")
+                    .tag("lookup", name)
+                    .register(meterRegistry);
+            Gauge.builder("users.cache.size", this, Lookup::size)
+                    .description("Users and misses held by the user cache")
+                    .tag("lookup", name)
+                    .register(meterRegistry);
+        }
+
+        private synchronized Entry get(K key) {
+            return entries.get(key);
+        }
+
+        private synchronized void put(K key, Entry entry) {
+            if (key != null) {
+                entries.put(key, entry);
+            }
+        }
+
+        private synchronized void remove(K key) {
+            if (key != null) {
+                entries.remove(key);
+            }
+        }
+
+        /** Removes the entry only if it is still the one given, not a newer load. */
+        private synchronized void remove(K key, Entry entry) {
+            if (key != null) {
+                entries.remove(key, entry);
+            }
+        }
+
+        /** Username and email entries are found by scanning, which is fine for the rate of writes. */
+        private synchronized void removeUser(Long userId) {
+            entries.values().removeIf(entry -> entry.isFor(userId));
+        }
+
+        private synchronized int size() {
+            return entries.size();
+        }
+
+        private double hitRatio() {
+            long hitCount = hits.get();
+            long total = hitCount + misses.get();
+            return total == 0 ? 0 : (double) hitCount / total;
+        }
+    }
+}
@@ -5,15 +5,35 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.example.dto.AuthUserResponse;
+import org.example.dto.AvailabilityResponse;
+import org.example.dto.BatchCreateUserResult;
 import org.example.dto.CreateUserRequest;
+import org.example.dto.NearbyUserResponse;
+import org.example.dto.UpdatePasswordHashRequest;
 import org.example.dto.UpdateUserRequest;
+import org.example.dto.UserImportResult;
+import org.example.dto.UserPageResponse;
 import org.example.dto.UserResponse;
+import org.example.service.AvailabilityService;
+import org.example.service.NearbyUserService;
+import org.example.service.UserImportService;
 import org.example.service.UserService;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.ObjectMapper;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -23,6 +43,10 @@ import java.util.Optional;
 public class UserController {
 
     private final UserService userService;
+    private final NearbyUserService nearbyUserService;
+    private final AvailabilityService availabilityService;
+    private final UserImportService userImportService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     @Operation(summary = "Create a new user", description = "Creates a new user in the system")
@@ -33,6 +57,71 @@ public class UserController {
                 .orElseGet(() -> ResponseEntity.status(HttpStatus.CONFLICT).build());
     }
 
+    @PostMapping("/batch")
+    @Operation(
+            summary = "Create users in bulk",
+            description = "Creates up to " + UserService.MAX_BATCH_SIZE
+                    + " users and reports, per user in request order, whether it was created")
+    public ResponseEntity<List<BatchCreateUserResult>> createUsers(@RequestBody List<CreateUserRequest> requests) {
+        try {
+            return ResponseEntity.ok(userService.createUsers(requests));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+            summary = "Import users",
+            description = "Creates users from newline-delimited JSON, one create-user request per line, in"
+                    + " batched chunks; reports every line that was not imported, with its line number")
+    public ResponseEntity<UserImportResult> importUsers(InputStream body) {
+        return ResponseEntity.ok(userImportService.importUsers(new InputStreamReader(body, StandardCharsets.UTF_8)));
+    }
+
+    @PostMapping("/lookup")
+    @Operation(
+            summary = "Get users by IDs",
+            description = "Resolves up to " + UserService.MAX_LOOKUP_SIZE
+                    + " user IDs in one request; returns the users found, keyed by ID")
+    public ResponseEntity<Map<Long, UserResponse>> getUsersByIds(@RequestBody List<Long> userIds) {
+        try {
+            return ResponseEntity.ok(userService.getUsersByIds(userIds));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+    }
+
+    @GetMapping("/availability")
+    @Operation(
+            summary = "Check username and email availability",
+            description = "Tells a signup form whether a username and/or email are still free")
+    public ResponseEntity<AvailabilityResponse> checkAvailability(
+            @RequestParam(required = false) String username, @RequestParam(required = false) String email) {
+        try {
+            return ResponseEntity.ok(availabilityService.check(username, email));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+    }
+
+    @GetMapping("/nearby")
+    @Operation(
+            summary = "Find users near a point",
+            description = "Returns the usernames of up to limit users within radiusKm of the point, nearest first,"
+                    + " with their distance rounded up to whole kilometres")
+    public ResponseEntity<List<NearbyUserResponse>> findNearby(
+            @RequestParam double latitude,
+            @RequestParam double longitude,
+            @RequestParam(defaultValue = "25") double radiusKm,
+            @RequestParam(defaultValue = "20") int limit) {
+        try {
+            return ResponseEntity.ok(nearbyUserService.findNearby(latitude, longitude, radiusKm, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+    }
+
     @GetMapping("/{userId}")
     @Operation(summary = "Get user by ID", description = "Retrieves a user by their ID")
     public ResponseEntity<UserResponse> getUserById(@PathVariable Long userId) {
@@ -74,11 +163,60 @@ public class UserController {
         return ResponseEntity.of(userService.getUserForAuth(email));
     }
 
+    @PutMapping("/internal/{userId}/password-hash")
+    @Operation(
+            summary = "Replace a user's password hash for internal use",
+            description = "Stores a password hash re-computed by auth-service with current parameters")
+    public ResponseEntity<Void> updatePasswordHash(
+            @PathVariable Long userId, @RequestBody @Valid UpdatePasswordHashRequest request) {
+        try {
+            userService.updatePasswordHash(userId, request.getPasswordHash());
+            return ResponseEntity.noContent().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+    }
+
     @GetMapping
-    @Operation(summary = "Get all users", description = "Retrieves all users in the system")
-    public ResponseEntity<List<UserResponse>> getAllUsers() {
-        List<UserResponse> users = userService.getAllUsers();
-        return ResponseEntity.ok(users);
+    @Operation(
+            summary = "List users",
+            description = "Returns up to size users (at most " + UserService.MAX_PAGE_SIZE
+                    + ") in ID order after afterId; pass the response's nextAfterId to get the next page."
+                    + " Admin only at the gateway")
+    public ResponseEntity<UserPageResponse> getUsers(
+            @RequestParam(required = false) Long afterId, @RequestParam(defaultValue = "50") int size) {
+        try {
+            return ResponseEntity.ok(userService.getUsers(afterId, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+            summary = "Export all users",
+            description = "Streams every user as newline-delimited JSON, one user per line, in ID order."
+                    + " Admin only at the gateway")
+    public ResponseEntity<StreamingResponseBody> exportUsers() {
+        StreamingResponseBody body = response -> {
+            OutputStream out = new BufferedOutputStream(response);
+            try {
+                userService.exportUsers(user -> writeLine(out, user));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            out.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    private void writeLine(OutputStream out, UserResponse user) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(user));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
     @PutMapping("/{userId}")
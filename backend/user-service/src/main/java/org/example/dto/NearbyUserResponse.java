@@ -0,0 +1,22 @@
+package org.example.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A user found by a proximity search: the username and how far away they are, rounded up to whole
+ * kilometres. Never the user's exact location, which repeated searches could otherwise pin down.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NearbyUserResponse {
+    private String username;
+    private Long distanceKm;
+
+    /** @param distanceKm the exact distance, reported as the next whole kilometre (at least 1) */
+    public static NearbyUserResponse of(String username, double distanceKm) {
+        return new NearbyUserResponse(username, Math.max(1, (long) Math.ceil(distanceKm)));
+    }
+}
@@ -0,0 +1,18 @@
+package org.example.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Replacement password hash sent by auth-service when it re-hashes a password with stronger
+ * parameters after a successful login.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UpdatePasswordHashRequest {
+    @NotBlank
+    private String passwordHash;
+}
@@ -0,0 +1,29 @@
+package org.example.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A line of a user import that was not imported, and why.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserImportRejection {
+
+    public enum Status {
+        INVALID, // Not JSON, or a required field is missing
+        DUPLICATE, // Username or email already used by an earlier line of the same import
+        CONFLICT, // Username or email already taken by an existing user
+        FAILED
+    }
+
+    private long line; // 1-based line number in the import
+    private Status status;
+    private String username;
+    private String email;
+    private String error;
+}
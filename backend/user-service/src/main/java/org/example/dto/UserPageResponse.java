@@ -0,0 +1,18 @@
+package org.example.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/** One page of the user directory; pass {@code nextAfterId} as {@code afterId} for the next page. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserPageResponse {
+    private List<UserResponse> users;
+
+    /** The last user ID on this page, or null on the last page. */
+    private Long nextAfterId;
+}
@@ -0,0 +1,179 @@
+package org.example.geo;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Points bucketed into fixed-size latitude/longitude cells (the same idea as a geohash grid,
+ * without the string encoding). A radius query only looks at the cells under the circle's
+ * bounding box, so its cost follows the number of users nearby rather than the number of users.
+ *
+ * <p>Safe for concurrent use: queries share a read lock, updates take the write lock.
+ */
+class GeoGrid {
+
+    /** One indexed user. */
+    record Location(Long userId, String username, double latitude, double longitude) {}
+
+    /** A location and its distance from the query point. */
+    record Hit(Location location, double distanceKm) {}
+
+    private static final Comparator<Hit> BY_DISTANCE = Comparator.comparingDouble(Hit::distanceKm)
+            .thenComparing(hit -> hit.location().userId());
+
+    private final double cellDegrees;
+    private final int latCells;
+    private final int lonCells;
+    private final Map<Long, Map<Long, Location>> cells = new HashMap<>();
+    private final Map<Long, Long> cellOfUser = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    GeoGrid(double cellDegrees) {
+        if (cellDegrees <= 0 || cellDegrees > 90) {
+            throw new IllegalArgumentException("Cell size must be in (0, 90] degrees");
+        }
+        this.cellDegrees = cellDegrees;
+        this.latCells = (int) Math.ceil(180 / cellDegrees);
+        this.lonCells = (int) Math.ceil(360 / cellDegrees);
+    }
+
+    /** Adds the user, or moves them if already indexed. */
+    void put(Location location) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(location.userId());
+            long cell = cellKey(latCell(location.latitude()), lonCell(location.longitude()));
+            cells.computeIfAbsent(cell, key -> new HashMap<>()).put(location.userId(), location);
+            cellOfUser.put(location.userId(), cell);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Adds the user only if not indexed yet; used while bulk loading so newer updates win. */
+    void putIfAbsent(Location location) {
+        lock.writeLock().lock();
+        try {
+            if (!cellOfUser.containsKey(location.userId())) {
+                long cell = cellKey(latCell(location.latitude()), lonCell(location.longitude()));
+                cells.computeIfAbsent(cell, key -> new HashMap<>()).put(location.userId(), location);
+                cellOfUser.put(location.userId(), cell);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(Long userId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(userId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return cellOfUser.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Every user within {@code radiusKm} of the point, nearest first. */
+    List<Hit> within(double lat, double lon, double radiusKm) {
+        GeoMath.Bounds bounds = GeoMath.bounds(lat, lon, radiusKm);
+        List<Hit> hits = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            int fromLat = latCell(bounds.minLat());
+            int toLat = latCell(bounds.maxLat());
+            long boxCells = (long) (toLat - fromLat + 1) * lonCellCount(bounds);
+            if (boxCells >= cells.size()) {
+                // A box over more cells than are occupied: cheaper to check the occupied ones
+                cells.values().forEach(cell -> collect(cell, lat, lon, radiusKm, hits));
+            } else {
+                for (double[] range : bounds.lonRanges()) {
+                    int fromLon = lonCell(range[0]);
+                    int toLon = lonCell(range[1]);
+                    for (int latCell = fromLat; latCell <= toLat; latCell++) {
+                        for (int lonCell = fromLon; lonCell <= toLon; lonCell++) {
+                            Map<Long, Location> cell = cells.get(cellKey(latCell, lonCell));
+                            if (cell != null) {
+                                collect(cell, lat, lon, radiusKm, hits);
+                            }
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        hits.sort(BY_DISTANCE);
+        return hits;
+    }
+
+    /**
+     * The {@code limit} users nearest the point, no further than {@code maxRadiusKm}. Searches a
+     * radius of one cell first and doubles it until enough users are found: once at least
+     * {@code limit} users lie within a radius, the nearest {@code limit} are all among them.
+     */
+    List<Hit> nearest(double lat, double lon, int limit, double maxRadiusKm) {
+        double radius = Math.min(maxRadiusKm, cellDegrees * Math.PI / 180 * GeoMath.EARTH_RADIUS_KM);
+        while (true) {
+            List<Hit> hits = within(lat, lon, radius);
+            if (hits.size() >= limit || radius >= maxRadiusKm) {
+                return hits.size() > limit ? List.copyOf(hits.subList(0, limit)) : hits;
+            }
+            radius = Math.min(maxRadiusKm, radius * 2);
+        }
+    }
+
+    private void removeLocked(Long userId) {
+        Long cell = cellOfUser.remove(userId);
+        if (cell == null) {
+            return;
+        }
+        Map<Long, Location> members = cells.get(cell);
+        members.remove(userId);
+        if (members.isEmpty()) {
+            cells.remove(cell);
+        }
+    }
+
+    private static void collect(Map<Long, Location> cell, double lat, double lon, double radiusKm, List<Hit> hits) {
+        for (Location location : cell.values()) {
+            double distance = GeoMath.distanceKm(lat, lon, location.latitude(), location.longitude());
+            if (distance <= radiusKm) {
+                hits.add(new Hit(location, distance));
+            }
+        }
+    }
+
+    private long lonCellCount(GeoMath.Bounds bounds) {
+        long count = 0;
+        for (double[] range : bounds.lonRanges()) {
+            count += lonCell(range[1]) - lonCell(range[0]) + 1;
+        }
+        return count;
+    }
+
+    private int latCell(double lat) {
+        return Math.min(latCells - 1, Math.max(0, (int) Math.floor((lat + 90) / cellDegrees)));
+    }
+
+    private int lonCell(double lon) {
+        return Math.min(lonCells - 1, Math.max(0, (int) Math.floor((lon + 180) / cellDegrees)));
+    }
+
+    private long cellKey(int latCell, int lonCell) {
+        return (long) latCell * lonCells + lonCell;
+    }
+}
@@ -0,0 +1,70 @@
+package org.example.geo;
+
+/**
+ * Great-circle helpers on a spherical Earth, accurate to well under a percent at trading
+ * distances.
+ */
+public final class GeoMath {
+
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+
+    private GeoMath() {}
+
+    /** Haversine distance in kilometres. */
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1))
+                        * Math.cos(Math.toRadians(lat2))
+                        * Math.sin(dLon / 2)
+                        * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    /**
+     * The smallest latitude/longitude box containing every point within {@code radiusKm} of the
+     * centre. Near a pole, or when the circle is wide enough, the box spans every longitude.
+     */
+    public static Bounds bounds(double lat, double lon, double radiusKm) {
+        double angular = radiusKm / EARTH_RADIUS_KM;
+        double dLat = Math.toDegrees(angular);
+        double minLat = lat - dLat;
+        double maxLat = lat + dLat;
+        if (minLat <= -90 || maxLat >= 90) {
+            return new Bounds(Math.max(-90, minLat), Math.min(90, maxLat), -180, 180);
+        }
+        double ratio = Math.sin(angular) / Math.cos(Math.toRadians(lat));
+        if (ratio >= 1) {
+            return new Bounds(minLat, maxLat, -180, 180);
+        }
+        double dLon = Math.toDegrees(Math.asin(ratio));
+        return new Bounds(minLat, maxLat, lon - dLon, lon + dLon);
+    }
+
+    /**
+     * A latitude/longitude box. {@code minLon} may be below -180 or {@code maxLon} above 180 when
+     * the box crosses the antimeridian; {@link #lonRanges()} splits it into ranges within
+     * -180..180.
+     */
+    public record Bounds(double minLat, double maxLat, double minLon, double maxLon) {
+
+        public boolean spansAllLongitudes() {
+            return maxLon - minLon >= 360;
+        }
+
+        /** One {@code {min, max}} pair, or two when the box crosses the antimeridian. */
+        public double[][] lonRanges() {
+            if (spansAllLongitudes()) {
+                return new double[][] {{-180, 180}};
+            }
+            if (minLon < -180) {
+                return new double[][] {{minLon + 360, 180}, {-180, maxLon}};
+            }
+            if (maxLon > 180) {
+                return new double[][] {{minLon, 180}, {-180, maxLon - 360}};
+            }
+            return new double[][] {{minLon, maxLon}};
+        }
+    }
+}
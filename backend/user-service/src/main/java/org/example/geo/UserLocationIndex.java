@@ -0,0 +1,145 @@
+package org.example.geo;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.dto.NearbyUserResponse;
+import org.example.model.User;
+import org.example.repository.UserLocationView;
+import org.example.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory spatial index of user locations for "traders near me" searches.
+ *
+ * <p>Loaded from the database in ID order once the application is ready, then kept current by
+ * {@link #update} and {@link #remove}: for changes made on this instance, after the surrounding
+ * transaction commits, and for changes made on other instances, when their user event arrives
+ * (see {@code UserEventConsumer}).
+ * Until the load has finished (or if it failed, or the index is disabled) {@link #isReady()} is
+ * false and callers fall back to the database.
+ */
+@Component
+@Slf4j
+public class UserLocationIndex {
+
+    private final UserRepository userRepository;
+    private final boolean enabled;
+    private final int loadPageSize;
+    private final GeoGrid grid;
+
+    /** Users deleted while the load was running, which a page read earlier must not bring back. */
+    private final Set<Long> removedWhileLoading = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean loading;
+    private volatile boolean ready;
+
+    public UserLocationIndex(
+            UserRepository userRepository,
+            @Value("${users.nearby.index.enabled:true}") boolean enabled,
+            @Value("${users.nearby.index.cell-degrees:0.1}") double cellDegrees,
+            @Value("${users.nearby.index.load-page-size:5000}") int loadPageSize) {
+        this.userRepository = userRepository;
+        this.enabled = enabled;
+        this.loadPageSize = loadPageSize;
+        this.grid = new GeoGrid(cellDegrees);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadInBackground() {
+        if (enabled) {
+            Thread.ofVirtual().name("user-location-index-load").start(this::load);
+        }
+    }
+
+    /** Reads every located user into the index, a page at a time. */
+    void load() {
+        loading = true;
+        long started = System.nanoTime();
+        try {
+            long afterId = 0;
+            List<UserLocationView> page;
+            do {
+                page = userRepository.findLocationsAfter(afterId, PageRequest.of(0, loadPageSize));
+                for (UserLocationView row : page) {
+                    if (!removedWhileLoading.contains(row.getUserId())) {
+                        // Live updates applied meanwhile are newer than this page
+                        grid.putIfAbsent(new GeoGrid.Location(
+                                row.getUserId(), row.getUsername(), row.getLatitude(), row.getLongitude()));
+                    }
+                    afterId = row.getUserId();
+                }
+            } while (page.size() == loadPageSize);
+            ready = true;
+            log.info(
+                    "Loaded {} user locations into the proximity index in {} ms",
+                    grid.size(),
+                    (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.error("Could not load the user location index; proximity searches will use the database", e);
+        } finally {
+            loading = false;
+            removedWhileLoading.clear();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /** Indexes the user's current location, or drops them if they no longer have one. */
+    public void update(User user) {
+        update(user.getUserId(), user.getUsername(), user.getLatitude(), user.getLongitude());
+    }
+
+    /** Indexes a user's location, or drops them if the location is missing. */
+    public void update(Long userId, String username, Double latitude, Double longitude) {
+        if (latitude == null || longitude == null) {
+            remove(userId);
+            return;
+        }
+        GeoGrid.Location location = new GeoGrid.Location(userId, username, latitude, longitude);
+        afterCommit(() -> grid.put(location));
+    }
+
+    public void remove(Long userId) {
+        afterCommit(() -> {
+            if (loading) {
+                removedWhileLoading.add(userId);
+            }
+            grid.remove(userId);
+        });
+    }
+
+    /** The nearest {@code limit} users within {@code radiusKm}, nearest first. */
+    public List<NearbyUserResponse> nearest(double latitude, double longitude, double radiusKm, int limit) {
+        return grid.nearest(latitude, longitude, limit, radiusKm).stream()
+                .map(hit -> NearbyUserResponse.of(hit.location().username(), hit.distanceKm()))
+                .toList();
+    }
+
+    int size() {
+        return grid.size();
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+}
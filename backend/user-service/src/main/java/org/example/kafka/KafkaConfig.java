@@ -1,91 +1,112 @@
-// // Generated with assistance from ChatGPT 4.0
-// // Reviewed and modified by Matt Selle
-// package org.example.kafka;
-
-// import com.fasterxml.jackson.databind.ObjectMapper;
-// import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
-// import org.apache.kafka.clients.consumer.ConsumerConfig;
-// import org.apache.kafka.clients.producer.ProducerConfig;
-// import org.apache.kafka.common.serialization.StringDeserializer;
-// import org.apache.kafka.common.serialization.StringSerializer;
-// import org.springframework.beans.factory.annotation.Value;
-// import org.springframework.context.annotation.Bean;
-// import org.springframework.context.annotation.Configuration;
-// import org.springframework.kafka.annotation.EnableKafka;
-// import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
-// import org.springframework.kafka.core.ConsumerFactory;
-// import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
-// import org.springframework.kafka.core.DefaultKafkaProducerFactory;
-// import org.springframework.kafka.core.KafkaTemplate;
-// import org.springframework.kafka.core.ProducerFactory;
-// import org.springframework.kafka.support.serializer.JsonDeserializer;
-// import org.springframework.kafka.support.serializer.JsonSerializer;
-
-// import java.util.HashMap;
-// import java.util.Map;
-
-// /**
-//  * Kafka configuration for producer
-//  */
-// @Configuration
-// @EnableKafka
-// public class KafkaConfig {
-
-//     @Value("${spring.kafka.bootstrap-servers}")
-//     private String bootstrapServers;
-
-//     /* ---------- ObjectMapper ---------- */
-
-//     @Bean
-//     public ObjectMapper objectMapper() {
-//         ObjectMapper mapper = new ObjectMapper();
-//         mapper.registerModule(new JavaTimeModule());
-//         return mapper;
-//     }
-
-//     /* ---------- PRODUCER ---------- */
-
-//     @Bean
-//     public ProducerFactory<String, Object> producerFactory(ObjectMapper objectMapper) {
-//         Map<String, Object> props = new HashMap<>();
-//         props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
-//         props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-//         props.put(ProducerConfig.ACKS_CONFIG, "all");
-//         props.put(ProducerConfig.RETRIES_CONFIG, 3);
-
-//         DefaultKafkaProducerFactory<String, Object> factory = new DefaultKafkaProducerFactory<>(props);
-//         factory.setValueSerializer(new JsonSerializer<>(objectMapper));
-//         return factory;
-//     }
-
-//     @Bean
-//     public KafkaTemplate<String, Object> kafkaTemplate(ProducerFactory<String, Object> producerFactory) {
-//         return new KafkaTemplate<>(producerFactory);
-//     }
-
-//     /* ---------- CONSUMER ---------- */
-
-//     @Bean
-//     public ConsumerFactory<String, Object> consumerFactory(ObjectMapper objectMapper) {
-//         Map<String, Object> props = new HashMap<>();
-//         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
-//         props.put(ConsumerConfig.GROUP_ID_CONFIG, "trade-service-group");
-//         props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
-//         props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-
-//         JsonDeserializer<Object> valueDeserializer = new JsonDeserializer<>(Object.class, objectMapper);
-//         valueDeserializer.addTrustedPackages("*");
-
-//         return new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(), valueDeserializer);
-//     }
-
-//     @Bean
-//     public ConcurrentKafkaListenerContainerFactory<String, Object> kafkaListenerContainerFactory(
-//             ConsumerFactory<String, Object> consumerFactory) {
-
-//         ConcurrentKafkaListenerContainerFactory<String, Object> factory =
-//                 new ConcurrentKafkaListenerContainerFactory<>();
-//         factory.setConsumerFactory(consumerFactory);
-//         return factory;
-//     }
-// }
+package org.example.kafka;
+
+import org.apache.kafka.clients.admin.AdminClientConfig;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+import org.springframework.kafka.support.serializer.JacksonJsonDeserializer;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Kafka configuration for the outbox relay and the user events listener.
+ */
+@Configuration
+@EnableKafka
+public class KafkaConfig {
+
+    @Value("${spring.kafka.bootstrap-servers}")
+    private String bootstrapServers;
+
+    /* ---------- PRODUCER ---------- */
+
+    /**
+     * Outbox payloads are already JSON, so values are sent as strings: consumers see the same bytes
+     * as before, without type headers. Idempotent with one in-flight order per partition, and a short
+     * linger so each relay batch goes out in a few large requests.
+     */
+    @Bean
+    public ProducerFactory<String, String> outboxProducerFactory() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        props.put(ProducerConfig.ACKS_CONFIG, "all");
+        props.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        props.put(ProducerConfig.LINGER_MS_CONFIG, 10);
+        props.put(ProducerConfig.BATCH_SIZE_CONFIG, 64 * 1024);
+        // The relay retries from the outbox, so don't block it long when the broker is down
+        props.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, 5000);
+        return new DefaultKafkaProducerFactory<>(props);
+    }
+
+    @Bean
+    public KafkaTemplate<String, String> outboxKafkaTemplate(ProducerFactory<String, String> outboxProducerFactory) {
+        return new KafkaTemplate<>(outboxProducerFactory);
+    }
+
+    /* ---------- CONSUMER ---------- */
+
+    /**
+     * Reads this service's own user events, so every instance sees changes made on the others.
+     * Payloads carry no type headers; a malformed record is logged and skipped, not retried forever.
+     */
+    @Bean
+    public ConsumerFactory<String, UserLifecycleEvent> userEventsConsumerFactory() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+
+        JacksonJsonDeserializer<UserLifecycleEvent> json =
+                new JacksonJsonDeserializer<>(UserLifecycleEvent.class, false);
+        return new DefaultKafkaConsumerFactory<>(
+                props, new StringDeserializer(), new ErrorHandlingDeserializer<>(json));
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, UserLifecycleEvent> kafkaListenerContainerFactory(
+            ConsumerFactory<String, UserLifecycleEvent> userEventsConsumerFactory) {
+        ConcurrentKafkaListenerContainerFactory<String, UserLifecycleEvent> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(userEventsConsumerFactory);
+        return factory;
+    }
+
+    /* ---------- TOPICS ---------- */
+
+    @Bean
+    public KafkaAdmin kafkaAdmin() {
+        return new KafkaAdmin(Map.of(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers));
+    }
+
+    /**
+     * Latest credentials per user, keyed by user ID. Compacted, so a consumer reading it from the
+     * start gets exactly one record per live user (deleted users leave a tombstone).
+     */
+    @Bean
+    public NewTopic userCredentialsTopic(@Value("${kafka.topics.user-credentials:user-credentials}") String topic) {
+        return TopicBuilder.name(topic).partitions(3).replicas(1).compact().build();
+    }
+
+    /** USER_CREATED, USER_UPDATED and USER_DELETED, keyed by user ID. */
+    @Bean
+    public NewTopic userEventsTopic(@Value("${kafka.topics.user-events:user-events}") String topic) {
+        return TopicBuilder.name(topic).partitions(3).replicas(1).build();
+    }
+}
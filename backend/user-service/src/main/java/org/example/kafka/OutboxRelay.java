@@ -0,0 +1,167 @@
+package org.example.kafka;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.model.OutboxEvent;
+import org.example.repository.OutboxEventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Publishes outbox rows to Kafka.
+ *
+ * <p>Every poll takes up to {@code users.outbox.batch-size} unsent rows in ID order, hands them all
+ * to the producer (which packs them into a few requests), waits for the acknowledgements and marks
+ * the acknowledged prefix sent with one update. A row that fails stops the batch there, so it and
+ * everything after it are retried on the next poll: events are delivered at least once, and in
+ * order per user.
+ *
+ * <p>Each batch runs in a transaction holding a Postgres advisory lock, so with several instances
+ * running only one of them publishes at a time.
+ */
+@Component
+@Slf4j
+public class OutboxRelay {
+
+    /** Advisory lock key for the relay: "UOUTBOX" in ASCII. */
+    static final long RELAY_LOCK_KEY = 0x554F5554424F58L;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final KafkaTemplate<String, String> outboxKafkaTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration sendTimeout;
+    private final Duration retention;
+    private final Clock clock;
+
+    @Autowired
+    public OutboxRelay(
+            OutboxEventRepository outboxEventRepository,
+            KafkaTemplate<String, String> outboxKafkaTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${users.outbox.batch-size:500}") int batchSize,
+            @Value("${users.outbox.send-timeout:10s}") Duration sendTimeout,
+            @Value("${users.outbox.retention:1d}") Duration retention) {
+        this(
+                outboxEventRepository,
+                outboxKafkaTemplate,
+                new TransactionTemplate(transactionManager),
+                batchSize,
+                sendTimeout,
+                retention,
+                Clock.systemDefaultZone());
+    }
+
+    OutboxRelay(
+            OutboxEventRepository outboxEventRepository,
+            KafkaTemplate<String, String> outboxKafkaTemplate,
+            TransactionTemplate transactionTemplate,
+            int batchSize,
+            Duration sendTimeout,
+            Duration retention,
+            Clock clock) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxKafkaTemplate = outboxKafkaTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.sendTimeout = sendTimeout;
+        this.retention = retention;
+        this.clock = clock;
+    }
+
+    /** Publishes until the outbox is drained or a send fails. */
+    @Scheduled(fixedDelayString = "${users.outbox.poll-interval:500ms}")
+    public void relay() {
+        try {
+            int published;
+            do {
+                published = publishBatch();
+            } while (published == batchSize);
+        } catch (RuntimeException e) {
+            log.error("Outbox relay failed; unsent events will be retried", e);
+        }
+    }
+
+    /**
+     * Publishes one batch.
+     *
+     * @return how many events were published; less than the batch size when the outbox is drained,
+     *     a send failed or another instance holds the relay lock
+     */
+    int publishBatch() {
+        Integer published = transactionTemplate.execute(status -> {
+            if (!outboxEventRepository.tryRelayLock(RELAY_LOCK_KEY)) {
+                return 0;
+            }
+            List<OutboxEvent> events = outboxEventRepository.findUnsent(PageRequest.of(0, batchSize));
+            if (events.isEmpty()) {
+                return 0;
+            }
+
+            List<CompletableFuture<SendResult<String, String>>> sends = new ArrayList<>(events.size());
+            for (OutboxEvent event : events) {
+                sends.add(outboxKafkaTemplate.send(event.getTopic(), event.getEventKey(), event.getPayload()));
+            }
+            outboxKafkaTemplate.flush();
+
+            List<Long> sent = new ArrayList<>(events.size());
+            for (int i = 0; i < events.size(); i++) {
+                if (!acknowledged(events.get(i), sends.get(i))) {
+                    break;
+                }
+                sent.add(events.get(i).getId());
+            }
+            if (!sent.isEmpty()) {
+                outboxEventRepository.markSent(sent, LocalDateTime.now(clock));
+            }
+            log.debug("Published {} of {} outbox events", sent.size(), events.size());
+            return sent.size();
+        });
+        return published != null ? published : 0;
+    }
+
+    /** Deletes published rows once they are older than {@code users.outbox.retention}. */
+    @Scheduled(fixedDelayString = "${users.outbox.purge-interval:1h}")
+    public void purge() {
+        Integer deleted = transactionTemplate.execute(status ->
+                outboxEventRepository.deleteSentBefore(LocalDateTime.now(clock).minus(retention)));
+        if (deleted != null && deleted > 0) {
+            log.info("Purged {} published outbox events", deleted);
+        }
+    }
+
+    private boolean acknowledged(OutboxEvent event, CompletableFuture<SendResult<String, String>> send) {
+        try {
+            send.get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException | TimeoutException e) {
+            log.warn(
+                    "Could not publish outbox event {} ({} for key {}) to {}; retrying on the next poll",
+                    event.getId(),
+                    event.getEventType(),
+                    event.getEventKey(),
+                    event.getTopic(),
+                    e);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package org.example.kafka;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.model.User;
+
+/**
+ * Current credentials of a user, published to the compacted credentials topic whenever any of
+ * them change. auth-service keeps the latest one per user to verify logins locally.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserCredentialEvent {
+    private Long userId;
+    private String email;
+    private String username;
+    private String passwordHash;
+    private String role;
+    private long timestamp;
+
+    public static UserCredentialEvent fromUser(User user) {
+        return UserCredentialEvent.builder()
+                .userId(user.getUserId())
+                .email(user.getEmail())
+                .username(user.getUsername())
+                .passwordHash(user.getPasswordHash())
+                .role(user.getRole())
+                .timestamp(System.currentTimeMillis())
+                .build();
+    }
+}
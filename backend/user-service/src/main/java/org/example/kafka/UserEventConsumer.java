@@ -0,0 +1,57 @@
+package org.example.kafka;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.availability.AvailabilityFilter;
+import org.example.geo.UserLocationIndex;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.PartitionOffset;
+import org.springframework.kafka.annotation.TopicPartition;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies the user events published through the outbox to this instance's in-memory structures,
+ * so users created or renamed on another instance are known here too.
+ */
+@Component
+@Slf4j
+public class UserEventConsumer {
+
+    private final AvailabilityFilter availabilityFilter;
+    private final UserLocationIndex userLocationIndex;
+
+    public UserEventConsumer(AvailabilityFilter availabilityFilter, UserLocationIndex userLocationIndex) {
+        this.availabilityFilter = availabilityFilter;
+        this.userLocationIndex = userLocationIndex;
+    }
+
+    /**
+     * Every instance needs every event, so the listener is assigned all partitions itself, starting
+     * at their end, instead of joining a consumer group. Anything committed before it started is
+     * read from the database when the structures load. Events for this instance's own changes are
+     * applied twice, which is harmless.
+     */
+    @KafkaListener(
+            id = "user-service-user-events",
+            topicPartitions =
+                    @TopicPartition(
+                            topic = "${kafka.topics.user-events:user-events}",
+                            partitions = "#{@partitionFinder.partitions('${kafka.topics.user-events:user-events}')}",
+                            partitionOffsets =
+                                    @PartitionOffset(partition = "*", initialOffset = "0", seekPosition = "END")))
+    public void consumeUserEvent(UserLifecycleEvent event) {
+        if (event == null || event.getEventType() == null || event.getUserId() == null) {
+            log.warn("Ignoring incomplete user event: {}", event);
+            return;
+        }
+        switch (event.getEventType()) {
+            case UserLifecycleEvent.USER_CREATED, UserLifecycleEvent.USER_UPDATED -> {
+                availabilityFilter.add(event.getUsername(), event.getEmail());
+                userLocationIndex.update(
+                        event.getUserId(), event.getUsername(), event.getLatitude(), event.getLongitude());
+            }
+            // A deleted user's names stay in the filter; a later check for them asks the database
+            case UserLifecycleEvent.USER_DELETED -> userLocationIndex.remove(event.getUserId());
+            default -> log.warn("Ignoring user event of unknown type {}", event.getEventType());
+        }
+    }
+}
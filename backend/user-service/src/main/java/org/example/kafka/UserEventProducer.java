@@ -1,99 +1,109 @@
-// package org.example.kafka;
-
-// // Generated with assistance from ChatGPT
-// // Reviewed and modified by Matt Selle
-
-// import lombok.Builder;
-// import lombok.Data;
-// import lombok.RequiredArgsConstructor;
-// import lombok.extern.slf4j.Slf4j;
-
-// import org.springframework.beans.factory.annotation.Value;
-// import org.springframework.kafka.core.KafkaTemplate;
-// import org.springframework.kafka.support.SendResult;
-// import org.springframework.stereotype.Component;
-
-// import java.time.LocalDateTime;
-// import java.util.concurrent.CompletableFuture;
-
-// /**
-//  * Kafka producer for user-related events.
-//  */
-// @Component
-// @RequiredArgsConstructor
-// @Slf4j
-// public class UserEventProducer {
-
-//     private final KafkaTemplate<String, Object> kafkaTemplate;
-
-//     @Value("${kafka.topics.user-created:user-created}")
-//     private String userCreatedTopic;
-
-//     @Value("${kafka.topics.user-deleted:user-deleted}")
-//     private String userDeletedTopic;
-
-//     /**
-//      * Publish user created event.
-//      */
-//     public void sendUserCreatedEvent(Long userId, String username, String email) {
-//         UserEvent event = UserEvent.builder()
-//                 .eventType("USER_CREATED")
-//                 .userId(userId)
-//                 .username(username)
-//                 .email(email)
-//                 .timestamp(LocalDateTime.now())
-//                 .build();
-
-//         sendEvent(userCreatedTopic, userId.toString(), event);
-//     }
-
-//     /**
-//      * Publish user deleted event.
-//      */
-//     public void sendUserDeletedEvent(Long userId) {
-//         UserEvent event = UserEvent.builder()
-//                 .eventType("USER_DELETED")
-//                 .userId(userId)
-//                 .timestamp(LocalDateTime.now())
-//                 .build();
-
-//         sendEvent(userDeletedTopic, userId.toString(), event);
-//     }
-
-//     private void sendEvent(String topic, String key, UserEvent event) {
-//         log.info("Sending user event to topic {}: {}", topic, event);
-
-//         CompletableFuture<SendResult<String, Object>> future =
-//                 kafkaTemplate.send(topic, key, event);
-
-//         future.whenComplete((result, ex) -> {
-//             if (ex == null) {
-//                 log.info(
-//                     "User event sent successfully to topic {} with offset {}",
-//                     topic,
-//                     result.getRecordMetadata().offset()
-//                 );
-//             } else {
-//                 log.error(
-//                     "Failed to send user event to topic {}",
-//                     topic,
-//                     ex
-//                 );
-//             }
-//         });
-//     }
-
-//     /**
-//      * User event payload.
-//      */
-//     @Data
-//     @Builder
-//     public static class UserEvent {
-//         private String eventType;
-//         private Long userId;
-//         private String username;
-//         private String email;
-//         private LocalDateTime timestamp;
-//     }
-// }
-
+package org.example.kafka;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.model.OutboxEvent;
+import org.example.model.User;
+import org.example.repository.OutboxEventRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.ObjectMapper;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records user-related Kafka events in the outbox.
+ *
+ * <p>Each event is a row in {@code user_outbox}, saved in the caller's transaction, so it exists if
+ * and only if the user change commits. {@link OutboxRelay} publishes the rows afterwards; nothing
+ * here waits on Kafka.
+ */
+@Component
+@Slf4j
+public class UserEventProducer {
+
+    static final String CREDENTIALS_CHANGED = "CREDENTIALS_CHANGED";
+    static final String CREDENTIALS_REMOVED = "CREDENTIALS_REMOVED";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+    private final String userCredentialsTopic;
+    private final String userEventsTopic;
+
+    public UserEventProducer(
+            OutboxEventRepository outboxEventRepository,
+            ObjectMapper objectMapper,
+            @Value("${kafka.topics.user-credentials:user-credentials}") String userCredentialsTopic,
+            @Value("${kafka.topics.user-events:user-events}") String userEventsTopic) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+        this.userCredentialsTopic = userCredentialsTopic;
+        this.userEventsTopic = userEventsTopic;
+    }
+
+    /**
+     * Publish the user's current credentials, replacing any earlier ones for the same user.
+     */
+    public void sendCredentialsChanged(User user) {
+        append(userCredentialsTopic, user.getUserId(), CREDENTIALS_CHANGED, UserCredentialEvent.fromUser(user));
+    }
+
+    /**
+     * Publish a tombstone so the user's credentials are dropped by consumers and by compaction.
+     */
+    public void sendCredentialsRemoved(Long userId) {
+        append(userCredentialsTopic, userId, CREDENTIALS_REMOVED, null);
+    }
+
+    public void sendUserCreated(User user) {
+        append(
+                userEventsTopic,
+                user.getUserId(),
+                UserLifecycleEvent.USER_CREATED,
+                UserLifecycleEvent.of(UserLifecycleEvent.USER_CREATED, user));
+    }
+
+    public void sendUserUpdated(User user) {
+        append(
+                userEventsTopic,
+                user.getUserId(),
+                UserLifecycleEvent.USER_UPDATED,
+                UserLifecycleEvent.of(UserLifecycleEvent.USER_UPDATED, user));
+    }
+
+    public void sendUserDeleted(Long userId) {
+        append(userEventsTopic, userId, UserLifecycleEvent.USER_DELETED, UserLifecycleEvent.deleted(userId));
+    }
+
+    /**
+     * The events {@link #sendCredentialsChanged} and {@link #sendUserCreated} would queue for each
+     * user, written as one batch; for imports, where saving them one by one would dominate.
+     */
+    public void sendUsersCreated(List<User> users) {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> events = new ArrayList<>(users.size() * 2);
+        for (User user : users) {
+            events.add(event(
+                    userCredentialsTopic, user.getUserId(), CREDENTIALS_CHANGED, UserCredentialEvent.fromUser(user)));
+            events.add(event(
+                    userEventsTopic,
+                    user.getUserId(),
+                    UserLifecycleEvent.USER_CREATED,
+                    UserLifecycleEvent.of(UserLifecycleEvent.USER_CREATED, user)));
+        }
+        events.forEach(event -> event.setCreatedAt(now));
+        outboxEventRepository.insertAll(events);
+        log.debug("Queued credentials and {} for {} users", UserLifecycleEvent.USER_CREATED, users.size());
+    }
+
+    private void append(String topic, Long userId, String eventType, Object event) {
+        outboxEventRepository.save(event(topic, userId, eventType, event));
+        log.debug("Queued {} for user {} on {}", eventType, userId, topic);
+    }
+
+    private OutboxEvent event(String topic, Long userId, String eventType, Object event) {
+        String payload = event != null ? objectMapper.writeValueAsString(event) : null;
+        return new OutboxEvent(topic, userId.toString(), eventType, payload);
+    }
+}
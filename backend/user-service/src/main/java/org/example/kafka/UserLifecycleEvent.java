@@ -0,0 +1,50 @@
+package org.example.kafka;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.model.User;
+
+/**
+ * A user was created, updated or deleted; published to the user-events topic keyed by user ID.
+ * trade-service cancels a deleted user's open trades on USER_DELETED; every user-service instance
+ * applies all three to its availability filter and location index.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserLifecycleEvent {
+    public static final String USER_CREATED = "USER_CREATED";
+    public static final String USER_UPDATED = "USER_UPDATED";
+    public static final String USER_DELETED = "USER_DELETED";
+
+    private String eventType;
+    private Long userId;
+    private String username;
+    private String email;
+    private Double latitude;
+    private Double longitude;
+    private long timestamp;
+
+    public static UserLifecycleEvent of(String eventType, User user) {
+        return UserLifecycleEvent.builder()
+                .eventType(eventType)
+                .userId(user.getUserId())
+                .username(user.getUsername())
+                .email(user.getEmail())
+                .latitude(user.getLatitude())
+                .longitude(user.getLongitude())
+                .timestamp(System.currentTimeMillis())
+                .build();
+    }
+
+    public static UserLifecycleEvent deleted(Long userId) {
+        return UserLifecycleEvent.builder()
+                .eventType(USER_DELETED)
+                .userId(userId)
+                .timestamp(System.currentTimeMillis())
+                .build();
+    }
+}
@@ -0,0 +1,56 @@
+package org.example.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A Kafka record waiting to be published, written in the same transaction as the user change it
+ * describes. {@link org.example.kafka.OutboxRelay} publishes unsent rows in ID order and stamps
+ * {@code sentAt}.
+ */
+@Entity
+@Table(
+        name = "user_outbox",
+        schema = "user_management",
+        indexes = {@Index(name = "idx_user_outbox_unsent", columnList = "sentAt, id")})
+@Data
+@NoArgsConstructor
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 100)
+    private String topic;
+
+    /** The record key: the user ID, so every event for a user lands on one partition in order. */
+    @Column(nullable = false, length = 100)
+    private String eventKey;
+
+    @Column(nullable = false, length = 50)
+    private String eventType;
+
+    /** JSON value; null publishes a tombstone. */
+    @Column(columnDefinition = "text")
+    private String payload;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime sentAt;
+
+    public OutboxEvent(String topic, String eventKey, String eventType, String payload) {
+        this.topic = topic;
+        this.eventKey = eventKey;
+        this.eventType = eventType;
+        this.payload = payload;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -11,7 +11,8 @@ import java.time.LocalDateTime;
 @Table(
         name = "appUser",
         schema = "user_management",
-        uniqueConstraints = {@UniqueConstraint(columnNames = {"username"}), @UniqueConstraint(columnNames = {"email"})})
+        uniqueConstraints = {@UniqueConstraint(columnNames = {"username"}), @UniqueConstraint(columnNames = {"email"})},
+        indexes = {@Index(name = "idx_app_user_location", columnList = "latitude, longitude")})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,15 @@
+package org.example.repository;
+
+import org.example.model.OutboxEvent;
+
+import java.util.List;
+
+/** Batched outbox inserts for bulk imports, which write two events per user. */
+public interface OutboxEventBulkInsert {
+
+    /**
+     * Inserts the events as one JDBC batch in the current transaction, in list order so the relay
+     * publishes them in that order. IDs come from the table's identity column and are not read back.
+     */
+    void insertAll(List<OutboxEvent> events);
+}
@@ -0,0 +1,31 @@
+package org.example.repository;
+
+import org.example.model.OutboxEvent;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/** {@link OutboxEventBulkInsert} over the {@code user_management.user_outbox} table. */
+public class OutboxEventBulkInsertImpl implements OutboxEventBulkInsert {
+
+    private static final String INSERT_SQL = "insert into user_management.user_outbox"
+            + " (topic, event_key, event_type, payload, created_at) values (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OutboxEventBulkInsertImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void insertAll(List<OutboxEvent> events) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, events, events.size(), (statement, event) -> {
+            statement.setString(1, event.getTopic());
+            statement.setString(2, event.getEventKey());
+            statement.setString(3, event.getEventType());
+            statement.setString(4, event.getPayload());
+            statement.setTimestamp(5, Timestamp.valueOf(event.getCreatedAt()));
+        });
+    }
+}
@@ -0,0 +1,36 @@
+package org.example.repository;
+
+import org.example.model.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long>, OutboxEventBulkInsert {
+
+    /**
+     * Takes the relay lock until the current transaction ends, so only one user-service instance
+     * publishes at a time and events keep their order. Returns false if another instance holds it.
+     */
+    @Query(value = "select pg_try_advisory_xact_lock(:lockKey)", nativeQuery = true)
+    boolean tryRelayLock(@Param("lockKey") long lockKey);
+
+    /** The oldest events not yet published, in the order they were written. */
+    @Query("select e from OutboxEvent e where e.sentAt is null order by e.id")
+    List<OutboxEvent> findUnsent(Pageable page);
+
+    @Modifying
+    @Query("update OutboxEvent e set e.sentAt = :sentAt where e.id in :ids")
+    int markSent(@Param("ids") Collection<Long> ids, @Param("sentAt") LocalDateTime sentAt);
+
+    @Modifying
+    @Query("delete from OutboxEvent e where e.sentAt < :before")
+    int deleteSentBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,22 @@
+package org.example.repository;
+
+import org.example.model.User;
+
+import java.util.List;
+
+/**
+ * Plain-JDBC inserts for bulk imports. {@link User} takes its ID from an identity column, which
+ * makes Hibernate insert one row per statement; these methods take IDs from the same sequence up
+ * front so thousands of users can go in as batched statements.
+ */
+public interface UserBulkInsert {
+
+    /** Reserves {@code count} user IDs from the user table's identity sequence in one round trip. */
+    List<Long> allocateUserIds(int count);
+
+    /**
+     * Inserts users that already have an ID (from {@link #allocateUserIds}) and a creation time,
+     * as one JDBC batch in the current transaction. Nothing is cached in the persistence context.
+     */
+    void insertAll(List<User> users);
+}
@@ -0,0 +1,48 @@
+package org.example.repository;
+
+import org.example.model.User;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+/** {@link UserBulkInsert} over the {@code user_management.app_user} table Hibernate maps {@link User} to. */
+public class UserBulkInsertImpl implements UserBulkInsert {
+
+    private static final String ALLOCATE_IDS_SQL =
+            "select nextval(pg_get_serial_sequence('user_management.app_user', 'user_id'))"
+                    + " from generate_series(1, ?)";
+
+    private static final String INSERT_SQL = "insert into user_management.app_user"
+            + " (user_id, email, username, latitude, longitude, password_hash, role, created_at)"
+            + " values (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public UserBulkInsertImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<Long> allocateUserIds(int count) {
+        if (count == 0) {
+            return List.of();
+        }
+        return jdbcTemplate.queryForList(ALLOCATE_IDS_SQL, Long.class, count);
+    }
+
+    @Override
+    public void insertAll(List<User> users) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, users, users.size(), (statement, user) -> {
+            statement.setLong(1, user.getUserId());
+            statement.setString(2, user.getEmail());
+            statement.setString(3, user.getUsername());
+            statement.setObject(4, user.getLatitude(), Types.DOUBLE);
+            statement.setObject(5, user.getLongitude(), Types.DOUBLE);
+            statement.setString(6, user.getPasswordHash());
+            statement.setString(7, user.getRole());
+            statement.setTimestamp(8, Timestamp.valueOf(user.getCreatedAt()));
+        });
+    }
+}
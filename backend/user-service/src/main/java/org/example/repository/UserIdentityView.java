@@ -0,0 +1,12 @@
+package org.example.repository;
+
+/**
+ * The columns the availability filters need, so building them does not materialise whole users.
+ */
+public interface UserIdentityView {
+    Long getUserId();
+
+    String getUsername();
+
+    String getEmail();
+}
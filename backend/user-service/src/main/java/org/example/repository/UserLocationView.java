@@ -0,0 +1,14 @@
+package org.example.repository;
+
+/**
+ * The columns the location index needs, so loading it does not materialise whole users.
+ */
+public interface UserLocationView {
+    Long getUserId();
+
+    String getUsername();
+
+    Double getLatitude();
+
+    Double getLongitude();
+}
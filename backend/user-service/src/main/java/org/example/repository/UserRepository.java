@@ -1,13 +1,24 @@
 package org.example.repository;
 
+import jakarta.persistence.QueryHint;
+import org.example.dto.UserResponse;
 import org.example.model.User;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserBulkInsert {
     Optional<User> findByUsername(String username);
 
     Optional<User> findByEmail(String email);
@@ -15,4 +26,44 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByUsername(String username);
 
     boolean existsByEmail(String email);
+
+    /** Which of {@code usernames} are taken: one query for a whole import chunk. */
+    @Query("select u.username from User u where u.username in :usernames")
+    Set<String> findTakenUsernames(@Param("usernames") Collection<String> usernames);
+
+    /** Which of {@code emails} are taken: one query for a whole import chunk. */
+    @Query("select u.email from User u where u.email in :emails")
+    Set<String> findTakenEmails(@Param("emails") Collection<String> emails);
+
+    /** Users with an ID above {@code afterId}, in ID order: one page of the user directory. */
+    @Query("select u from User u where u.userId > :afterId order by u.userId")
+    List<User> findPageAfter(@Param("afterId") Long afterId, Pageable page);
+
+    /**
+     * Every user as a response DTO, in ID order, read through a database cursor. The rows are not
+     * managed entities, so memory stays flat however many are read. Must be consumed, and closed,
+     * inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new org.example.dto.UserResponse(u.userId, u.email, u.username, u.latitude, u.longitude,"
+            + " u.role, u.createdAt) from User u order by u.userId")
+    Stream<UserResponse> streamAllForExport();
+
+    /**
+     * Located users with an ID above {@code afterId}, in ID order; the location index loads
+     * page by page from the last ID seen.
+     */
+    @Query("select u.userId as userId, u.username as username, u.latitude as latitude, u.longitude as longitude"
+            + " from User u where u.latitude is not null and u.longitude is not null and u.userId > :afterId"
+            + " order by u.userId")
+    List<UserLocationView> findLocationsAfter(@Param("afterId") Long afterId, Pageable page);
+
+    /** Usernames and emails of users with an ID above {@code afterId}, in ID order. */
+    @Query("select u.userId as userId, u.username as username, u.email as email"
+            + " from User u where u.userId > :afterId order by u.userId")
+    List<UserIdentityView> findIdentitiesAfter(@Param("afterId") Long afterId, Pageable page);
+
+    /** Users inside a latitude/longitude box, for proximity searches while the index is unavailable. */
+    List<User> findByLatitudeBetweenAndLongitudeBetween(
+            Double minLatitude, Double maxLatitude, Double minLongitude, Double maxLongitude);
 }
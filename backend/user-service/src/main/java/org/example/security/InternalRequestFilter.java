@@ -0,0 +1,120 @@
+package org.example.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.util.Base64;
+import java.util.List;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Restricts endpoints meant only for other services (credential lookups, password hash updates,
+ * batch creation and imports) to callers that sign the request with {@code internal.auth.secret}.
+ *
+ * <p>A caller sends the current epoch second in {@code X-Internal-Timestamp} and, in
+ * {@code X-Internal-Signature}, the HMAC-SHA256 of the method, decoded path and timestamp, one per
+ * line. Paths are matched and signed after decoding, as Spring MVC maps them. Requests to these
+ * paths without a valid, recent signature get 403; with no secret configured, all of them do.
+ */
+@Slf4j
+@Component
+public class InternalRequestFilter extends OncePerRequestFilter {
+
+    public static final String TIMESTAMP_HEADER = "X-Internal-Timestamp";
+    public static final String SIGNATURE_HEADER = "X-Internal-Signature";
+
+    /** Paths only other services may call; the api-gateway refuses them as well. */
+    static final List<String> INTERNAL_PATHS =
+            List.of("/api/users/internal/**", "/api/users/batch", "/api/users/import");
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final SecretKeySpec signingKey;
+    private final long maxAgeSeconds;
+    private final Clock clock;
+
+    @Autowired
+    public InternalRequestFilter(
+            @Value("${internal.auth.secret:}") String secret,
+            @Value("${internal.auth.max-age-seconds:300}") long maxAgeSeconds) {
+        this(secret, maxAgeSeconds, Clock.systemUTC());
+    }
+
+    InternalRequestFilter(String secret, long maxAgeSeconds, Clock clock) {
+        this.signingKey = secret == null || secret.isBlank()
+                ? null
+                : new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+        this.maxAgeSeconds = maxAgeSeconds;
+        this.clock = clock;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = UrlPathHelper.defaultInstance.getPathWithinApplication(request);
+        return INTERNAL_PATHS.stream().noneMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!isSigned(request)) {
+            log.warn("Refused unsigned internal request {} {}", request.getMethod(), request.getRequestURI());
+            response.sendError(HttpServletResponse.SC_FORBIDDEN);
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    /**
+     * Checks the internal signature headers.
+     *
+     * @param request the incoming request
+     * @return whether the request was signed with the shared secret within the last max-age seconds
+     */
+    boolean isSigned(HttpServletRequest request) {
+        String timestamp = request.getHeader(TIMESTAMP_HEADER);
+        String signature = request.getHeader(SIGNATURE_HEADER);
+        if (signingKey == null || timestamp == null || signature == null) {
+            return false;
+        }
+
+        String path = UrlPathHelper.defaultInstance.getPathWithinApplication(request);
+        byte[] expected = sign(request.getMethod(), path, timestamp).getBytes(StandardCharsets.UTF_8);
+        if (!MessageDigest.isEqual(expected, signature.getBytes(StandardCharsets.UTF_8))) {
+            return false;
+        }
+
+        try {
+            long age = clock.instant().getEpochSecond() - Long.parseLong(timestamp);
+            return Math.abs(age) <= maxAgeSeconds;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private String sign(String method, String path, String timestamp) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(signingKey);
+            byte[] payload = String.join("\n", method, path, timestamp).getBytes(StandardCharsets.UTF_8);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(mac.doFinal(payload));
+        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+}
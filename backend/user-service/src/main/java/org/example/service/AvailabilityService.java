@@ -0,0 +1,70 @@
+package org.example.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.example.availability.AvailabilityFilter;
+import org.example.dto.AvailabilityResponse;
+import org.example.repository.UserRepository;
+import org.springframework.stereotype.Service;
+
+import java.util.function.Predicate;
+
+/**
+ * Tells the signup form whether a username or email is still free, on every keystroke.
+ *
+ * <p>The {@link AvailabilityFilter} answers names it has never seen, which is most of what people
+ * type, without a query; only names it might have seen are checked in the database.
+ */
+@Service
+@Slf4j
+public class AvailabilityService {
+
+    private final AvailabilityFilter availabilityFilter;
+    private final UserRepository userRepository;
+    private final Counter filterAnswers;
+    private final Counter databaseAnswers;
+
+    public AvailabilityService(
+            AvailabilityFilter availabilityFilter, UserRepository userRepository, MeterRegistry meterRegistry) {
+        this.availabilityFilter = availabilityFilter;
+        this.userRepository = userRepository;
+        this.filterAnswers = Counter.builder("users.availability.checks")
+                .description("Availability checks, by what answered them")
+                .tag("answered.by", "filter")
+                .register(meterRegistry);
+        this.databaseAnswers = Counter.builder("users.availability.checks")
+                .description("Availability checks, by what answered them")
+                .tag("answered.by", "database")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param username the username to check, or null to skip it
+     * @param email the email to check, or null to skip it
+     * @throws IllegalArgumentException if neither is given, or one is blank
+     */
+    public AvailabilityResponse check(String username, String email) {
+        if (username == null && email == null) {
+            throw new IllegalArgumentException("Give a username, an email or both");
+        }
+        if ((username != null && username.isBlank()) || (email != null && email.isBlank())) {
+            throw new IllegalArgumentException("Username and email must not be blank");
+        }
+        Boolean usernameAvailable = username == null
+                ? null
+                : isFree(username, availabilityFilter::mightHaveUsername, userRepository::existsByUsername);
+        Boolean emailAvailable =
+                email == null ? null : isFree(email, availabilityFilter::mightHaveEmail, userRepository::existsByEmail);
+        return new AvailabilityResponse(usernameAvailable, emailAvailable);
+    }
+
+    private boolean isFree(String value, Predicate<String> mightBeTaken, Predicate<String> isTaken) {
+        if (availabilityFilter.isReady() && !mightBeTaken.test(value)) {
+            filterAnswers.increment();
+            return true;
+        }
+        databaseAnswers.increment();
+        return !isTaken.test(value);
+    }
+}
@@ -0,0 +1,88 @@
+package org.example.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.dto.NearbyUserResponse;
+import org.example.geo.GeoMath;
+import org.example.geo.UserLocationIndex;
+import org.example.model.User;
+import org.example.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Finds the users nearest a point, for arranging in-person trades.
+ *
+ * <p>Served from the {@link UserLocationIndex} when it is ready; otherwise the database is asked
+ * for the users in the search circle's bounding box and distances are computed here.
+ */
+@Service
+@Slf4j
+public class NearbyUserService {
+
+    private final UserLocationIndex userLocationIndex;
+    private final UserRepository userRepository;
+    private final double maxRadiusKm;
+    private final int maxLimit;
+
+    public NearbyUserService(
+            UserLocationIndex userLocationIndex,
+            UserRepository userRepository,
+            @Value("${users.nearby.max-radius-km:500}") double maxRadiusKm,
+            @Value("${users.nearby.max-limit:100}") int maxLimit) {
+        this.userLocationIndex = userLocationIndex;
+        this.userRepository = userRepository;
+        this.maxRadiusKm = maxRadiusKm;
+        this.maxLimit = maxLimit;
+    }
+
+    /**
+     * The {@code limit} users nearest the point within {@code radiusKm}, nearest first.
+     *
+     * @throws IllegalArgumentException if the point is not a valid coordinate, or the radius or
+     *     limit is out of range
+     */
+    public List<NearbyUserResponse> findNearby(double latitude, double longitude, double radiusKm, int limit) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new IllegalArgumentException("Latitude must be within [-90, 90] and longitude within [-180, 180]");
+        }
+        if (!(radiusKm > 0) || radiusKm > maxRadiusKm) {
+            throw new IllegalArgumentException("Radius must be greater than 0 and at most " + maxRadiusKm + " km");
+        }
+        if (limit < 1 || limit > maxLimit) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + maxLimit);
+        }
+
+        if (userLocationIndex.isReady()) {
+            return userLocationIndex.nearest(latitude, longitude, radiusKm, limit);
+        }
+        log.debug("Location index not ready, searching the database around ({}, {})", latitude, longitude);
+        return findInDatabase(latitude, longitude, radiusKm, limit);
+    }
+
+    private List<NearbyUserResponse> findInDatabase(double latitude, double longitude, double radiusKm, int limit) {
+        GeoMath.Bounds bounds = GeoMath.bounds(latitude, longitude, radiusKm);
+        List<Hit> found = new ArrayList<>();
+        for (double[] lonRange : bounds.lonRanges()) {
+            for (User user : userRepository.findByLatitudeBetweenAndLongitudeBetween(
+                    bounds.minLat(), bounds.maxLat(), lonRange[0], lonRange[1])) {
+                double distance = GeoMath.distanceKm(latitude, longitude, user.getLatitude(), user.getLongitude());
+                if (distance <= radiusKm) {
+                    found.add(new Hit(user, distance));
+                }
+            }
+        }
+        return found.stream()
+                .sorted(Comparator.comparingDouble(Hit::distanceKm)
+                        .thenComparing(hit -> hit.user().getUserId()))
+                .limit(limit)
+                .map(hit -> NearbyUserResponse.of(hit.user().getUsername(), hit.distanceKm()))
+                .toList();
+    }
+
+    /** A user in the search circle with their exact distance, which is only used for ordering. */
+    private record Hit(User user, double distanceKm) {}
+}
@@ -0,0 +1,300 @@
+package org.example.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.availability.AvailabilityFilter;
+import org.example.cache.UserCache;
+import org.example.dto.CreateUserRequest;
+import org.example.dto.UserImportRejection;
+import org.example.dto.UserImportResult;
+import org.example.geo.UserLocationIndex;
+import org.example.kafka.UserEventProducer;
+import org.example.model.User;
+import org.example.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Imports users in bulk from newline-delimited JSON, one {@link CreateUserRequest} per line, for
+ * migrations where {@link UserService#createUsers}, at two existence queries and a few inserts per
+ * user, would take minutes.
+ *
+ * <p>Lines are read as a stream and handled in chunks of {@code users.import.chunk-size}. Each chunk
+ * is one transaction: one query finds the usernames it would take that are already taken and one
+ * the emails, IDs for the rest are drawn from the user table's sequence in a single round trip, and
+ * the users and their outbox events are written as JDBC batches. The cache, availability filter and
+ * location index are kept in step exactly as for single creates. Every imported user gets the USER
+ * role, whatever the line says.
+ *
+ * <p>A line that is not imported is reported with its line number; the rest of the import carries
+ * on. If a chunk hits a unique constraint anyway (a user registered between the check and the
+ * insert), it is rolled back and checked again once; should it fail a second time, its lines are
+ * reported as failed.
+ */
+@Service
+@Slf4j
+public class UserImportService {
+
+    private static final int MAX_CHUNK_ATTEMPTS = 2;
+
+    private final UserRepository userRepository;
+    private final UserEventProducer userEventProducer;
+    private final UserLocationIndex userLocationIndex;
+    private final UserCache userCache;
+    private final AvailabilityFilter availabilityFilter;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    @Autowired
+    public UserImportService(
+            UserRepository userRepository,
+            UserEventProducer userEventProducer,
+            UserLocationIndex userLocationIndex,
+            UserCache userCache,
+            AvailabilityFilter availabilityFilter,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            @Value("${users.import.chunk-size:1000}") int chunkSize) {
+        this(
+                userRepository,
+                userEventProducer,
+                userLocationIndex,
+                userCache,
+                availabilityFilter,
+                objectMapper,
+                new TransactionTemplate(transactionManager),
+                chunkSize);
+    }
+
+    UserImportService(
+            UserRepository userRepository,
+            UserEventProducer userEventProducer,
+            UserLocationIndex userLocationIndex,
+            UserCache userCache,
+            AvailabilityFilter availabilityFilter,
+            ObjectMapper objectMapper,
+            TransactionTemplate transactionTemplate,
+            int chunkSize) {
+        this.userRepository = userRepository;
+        this.userEventProducer = userEventProducer;
+        this.userLocationIndex = userLocationIndex;
+        this.userCache = userCache;
+        this.availabilityFilter = availabilityFilter;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Imports every user in {@code ndjson}; blank lines are skipped. Chunks that were imported
+     * stay imported if a later one fails.
+     *
+     * @throws UncheckedIOException if the input cannot be read
+     */
+    public UserImportResult importUsers(Reader ndjson) {
+        long started = System.nanoTime();
+        Import current = new Import();
+        List<Row> chunk = new ArrayList<>(chunkSize);
+        try (BufferedReader reader = new BufferedReader(ndjson)) {
+            long lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                current.received++;
+                Row row = parse(current, lineNumber, line);
+                if (row != null) {
+                    chunk.add(row);
+                }
+                if (chunk.size() == chunkSize) {
+                    importChunk(current, chunk);
+                    chunk.clear();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read the user import", e);
+        }
+        importChunk(current, chunk);
+
+        long durationMs = (System.nanoTime() - started) / 1_000_000;
+        log.info(
+                "Imported {} of {} users in {} ms ({} rejected)",
+                current.imported,
+                current.received,
+                durationMs,
+                current.rejected.size());
+        return UserImportResult.builder()
+                .received(current.received)
+                .imported(current.imported)
+                .rejected(current.rejected)
+                .durationMs(durationMs)
+                .build();
+    }
+
+    /** The line as a request, or null if it was rejected without needing the database. */
+    private Row parse(Import current, long lineNumber, String line) {
+        CreateUserRequest request;
+        try {
+            request = objectMapper.readValue(line, CreateUserRequest.class);
+        } catch (JacksonException e) {
+            current.reject(lineNumber, null, UserImportRejection.Status.INVALID, "Not a valid user JSON object");
+            return null;
+        }
+        if (request == null
+                || request.getEmail() == null
+                || request.getUsername() == null
+                || request.getPasswordHash() == null) {
+            current.reject(
+                    lineNumber,
+                    request,
+                    UserImportRejection.Status.INVALID,
+                    "email, username and passwordHash are required");
+            return null;
+        }
+        if (current.usernames.contains(request.getUsername()) || current.emails.contains(request.getEmail())) {
+            current.reject(
+                    lineNumber,
+                    request,
+                    UserImportRejection.Status.DUPLICATE,
+                    "Username or email already used earlier in this import");
+            return null;
+        }
+        current.usernames.add(request.getUsername());
+        current.emails.add(request.getEmail());
+        return new Row(lineNumber, request);
+    }
+
+    private void importChunk(Import current, List<Row> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                ChunkOutcome outcome = transactionTemplate.execute(status -> insertChunk(rows));
+                current.imported += outcome.imported();
+                current.rejected.addAll(outcome.conflicts());
+                return;
+            } catch (DataIntegrityViolationException e) {
+                if (attempt < MAX_CHUNK_ATTEMPTS) {
+                    log.debug(
+                            "Import chunk at line {} raced a registration; checking it again",
+                            rows.get(0).line());
+                    continue;
+                }
+                log.error(
+                        "Could not import the chunk starting at line {}",
+                        rows.get(0).line(),
+                        e);
+            } catch (RuntimeException e) {
+                log.error(
+                        "Could not import the chunk starting at line {}",
+                        rows.get(0).line(),
+                        e);
+            }
+            for (Row row : rows) {
+                current.reject(row.line(), row.request(), UserImportRejection.Status.FAILED, "Could not create user");
+            }
+            return;
+        }
+    }
+
+    private ChunkOutcome insertChunk(List<Row> rows) {
+        Set<String> takenUsernames = userRepository.findTakenUsernames(
+                rows.stream().map(row -> row.request().getUsername()).toList());
+        Set<String> takenEmails = userRepository.findTakenEmails(
+                rows.stream().map(row -> row.request().getEmail()).toList());
+
+        LocalDateTime now = LocalDateTime.now();
+        List<UserImportRejection> conflicts = new ArrayList<>();
+        List<User> users = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            CreateUserRequest request = row.request();
+            if (takenUsernames.contains(request.getUsername())) {
+                conflicts.add(
+                        rejection(row.line(), request, UserImportRejection.Status.CONFLICT, "Username already exists"));
+            } else if (takenEmails.contains(request.getEmail())) {
+                conflicts.add(
+                        rejection(row.line(), request, UserImportRejection.Status.CONFLICT, "Email already exists"));
+            } else {
+                users.add(toUser(request, now));
+            }
+        }
+        if (users.isEmpty()) {
+            return new ChunkOutcome(0, conflicts);
+        }
+
+        List<Long> ids = userRepository.allocateUserIds(users.size());
+        for (int i = 0; i < users.size(); i++) {
+            User user = users.get(i);
+            user.setUserId(ids.get(i));
+            availabilityFilter.add(user.getUsername(), user.getEmail()); // Before commit, as for createUser
+        }
+        userRepository.insertAll(users);
+        userEventProducer.sendUsersCreated(users);
+        for (User user : users) {
+            if (user.getLatitude() != null && user.getLongitude() != null) {
+                userLocationIndex.update(user);
+            }
+        }
+        userCache.invalidateCreated(users);
+        return new ChunkOutcome(users.size(), conflicts);
+    }
+
+    private static User toUser(CreateUserRequest request, LocalDateTime createdAt) {
+        User user = new User();
+        user.setEmail(request.getEmail());
+        user.setUsername(request.getUsername());
+        user.setPasswordHash(request.getPasswordHash());
+        user.setLatitude(request.getLatitude());
+        user.setLongitude(request.getLongitude());
+        user.setRole("USER"); // Never taken from the file; admins are made one at a time
+        user.setCreatedAt(createdAt);
+        return user;
+    }
+
+    private static UserImportRejection rejection(
+            long line, CreateUserRequest request, UserImportRejection.Status status, String error) {
+        return UserImportRejection.builder()
+                .line(line)
+                .status(status)
+                .username(request != null ? request.getUsername() : null)
+                .email(request != null ? request.getEmail() : null)
+                .error(error)
+                .build();
+    }
+
+    private record Row(long line, CreateUserRequest request) {}
+
+    private record ChunkOutcome(int imported, List<UserImportRejection> conflicts) {}
+
+    /** Running totals of one import, and the names its earlier lines have claimed. */
+    private static final class Import {
+        private long received;
+        private long imported;
+        private final List<UserImportRejection> rejected = new ArrayList<>();
+        private final Set<String> usernames = new HashSet<>();
+        private final Set<String> emails = new HashSet<>();
+
+        private void reject(long line, CreateUserRequest request, UserImportRejection.Status status, String error) {
+            rejected.add(rejection(line, request, status, error));
+        }
+    }
+}
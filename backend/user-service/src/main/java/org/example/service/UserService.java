@@ -1,28 +1,59 @@
 package org.example.service;
 
 import lombok.RequiredArgsConstructor;
+import org.example.availability.AvailabilityFilter;
+import org.example.cache.UserCache;
 import org.example.dto.AuthUserResponse;
+import org.example.dto.BatchCreateUserResult;
 import org.example.dto.CreateUserRequest;
 import org.example.dto.UpdateUserRequest;
+import org.example.dto.UserPageResponse;
 import org.example.dto.UserResponse;
-// import org.example.kafka.UserEventProducer;
+import org.example.geo.UserLocationIndex;
+import org.example.kafka.UserEventProducer;
 import org.example.model.User;
 import org.example.repository.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class UserService {
     private static final Logger log = LoggerFactory.getLogger(UserService.class);
+
+    /** Largest batch accepted by {@link #createUsers}; callers split bigger imports into chunks. */
+    public static final int MAX_BATCH_SIZE = 500;
+
+    /** Most IDs resolved by one {@link #getUsersByIds} call. */
+    public static final int MAX_LOOKUP_SIZE = 500;
+
+    /** Largest page {@link #getUsers} returns; use {@link #exportUsers} to read every user. */
+    public static final int MAX_PAGE_SIZE = 200;
+
     private final UserRepository userRepository;
-    // private final UserEventProducer userEventProducer;
+    private final UserEventProducer userEventProducer;
+    private final UserLocationIndex userLocationIndex;
+    private final UserCache userCache;
+    private final AvailabilityFilter availabilityFilter;
+    private final TransactionTemplate transactionTemplate;
 
     @Transactional
     public Optional<UserResponse> createUser(CreateUserRequest request) {
@@ -44,40 +75,148 @@ public class UserService {
         user.setLongitude(request.getLongitude());
         user.setRole(request.getRole() != null ? request.getRole() : "USER");
 
+        availabilityFilter.add(user.getUsername(), user.getEmail()); // Before commit: never "free" once taken
         User savedUser = userRepository.save(user);
-
-        // userEventProducer.sendUserCreatedEvent(
-        //     savedUser.getUserId(),
-        //     savedUser.getUsername(),
-        //     savedUser.getEmail()
-        // );
+        userEventProducer.sendCredentialsChanged(savedUser);
+        userEventProducer.sendUserCreated(savedUser);
+        userLocationIndex.update(savedUser);
+        userCache.invalidate(savedUser); // Clears any earlier "not found" for the new username and email
 
         return Optional.of(UserResponse.fromUser(savedUser));
     }
 
+    /**
+     * Creates a batch of users, one result per request in the same order. Deliberately not one
+     * transaction: each user is saved in a transaction of its own, together with its outbox events,
+     * so a conflict, including a unique-constraint race with a concurrent registration, only fails
+     * (and rolls back) that user.
+     */
+    public List<BatchCreateUserResult> createUsers(List<CreateUserRequest> requests) {
+        if (requests.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_SIZE + " users per batch");
+        }
+
+        List<BatchCreateUserResult> results = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            results.add(createInBatch(i, requests.get(i)));
+        }
+        return results;
+    }
+
+    private BatchCreateUserResult createInBatch(int index, CreateUserRequest request) {
+        BatchCreateUserResult.BatchCreateUserResultBuilder result =
+                BatchCreateUserResult.builder().index(index);
+        if (request == null
+                || request.getEmail() == null
+                || request.getUsername() == null
+                || request.getPasswordHash() == null) {
+            return result.status(BatchCreateUserResult.Status.INVALID)
+                    .error("email, username and passwordHash are required")
+                    .build();
+        }
+        try {
+            // createUser's @Transactional does not apply to a call from this class
+            Optional<UserResponse> created = transactionTemplate.execute(status -> createUser(request));
+            return created.map(user -> result.status(BatchCreateUserResult.Status.CREATED)
+                            .user(user)
+                            .build())
+                    .orElseGet(() -> result.status(BatchCreateUserResult.Status.CONFLICT)
+                            .error("Username or email already exists")
+                            .build());
+        } catch (DataIntegrityViolationException e) {
+            return result.status(BatchCreateUserResult.Status.CONFLICT)
+                    .error("Username or email already exists")
+                    .build();
+        } catch (RuntimeException e) {
+            log.error("Failed to create user {} in batch", request.getEmail(), e);
+            return result.status(BatchCreateUserResult.Status.FAILED)
+                    .error("Could not create user")
+                    .build();
+        }
+    }
+
     public UserResponse getUserById(Long userId) {
-        User user = userRepository
-                .findById(userId)
+        return userCache
+                .getById(userId, () -> userRepository.findById(userId))
                 .orElseThrow(() -> new IllegalArgumentException("User not found with ID: " + userId));
-        return UserResponse.fromUser(user);
+    }
+
+    /**
+     * Resolves many users with one query, for services showing user names next to many rows.
+     * Unknown IDs are left out of the map; duplicates are looked up once.
+     *
+     * @return the users found, keyed by ID, in the order the IDs were first given
+     */
+    public Map<Long, UserResponse> getUsersByIds(Collection<Long> userIds) {
+        Set<Long> distinct = new LinkedHashSet<>(userIds);
+        distinct.remove(null);
+        if (distinct.size() > MAX_LOOKUP_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_LOOKUP_SIZE + " user IDs per lookup");
+        }
+        if (distinct.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<Long, User> found = userRepository.findAllById(distinct).stream()
+                .collect(Collectors.toMap(User::getUserId, Function.identity()));
+        Map<Long, UserResponse> users = new LinkedHashMap<>();
+        for (Long userId : distinct) {
+            User user = found.get(userId);
+            if (user != null) {
+                users.put(userId, UserResponse.fromUser(user));
+            }
+        }
+        return users;
     }
 
     public UserResponse getUserByUsername(String username) {
-        User user = userRepository
-                .findByUsername(username)
+        return userCache
+                .getByUsername(username, () -> userRepository.findByUsername(username))
                 .orElseThrow(() -> new IllegalArgumentException("User not found with username: " + username));
-        return UserResponse.fromUser(user);
     }
 
     public UserResponse getUserByEmail(String email) {
-        User user = userRepository
-                .findByEmail(email)
+        return userCache
+                .getByEmail(email, () -> userRepository.findByEmail(email))
                 .orElseThrow(() -> new IllegalArgumentException("User not found with email: " + email));
-        return UserResponse.fromUser(user);
     }
 
-    public List<UserResponse> getAllUsers() {
-        return userRepository.findAll().stream().map(UserResponse::fromUser).collect(Collectors.toList());
+    /**
+     * One page of users in ID order, starting after {@code afterId} (null for the first page). The
+     * page is found through the primary key, so late pages cost the same as the first one.
+     *
+     * @throws IllegalArgumentException if {@code size} is not between 1 and {@link #MAX_PAGE_SIZE}
+     */
+    public UserPageResponse getUsers(Long afterId, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        // One extra row tells whether another page follows
+        List<User> rows = userRepository.findPageAfter(afterId != null ? afterId : 0L, PageRequest.of(0, size + 1));
+        boolean more = rows.size() > size;
+        List<UserResponse> users =
+                rows.stream().limit(size).map(UserResponse::fromUser).toList();
+        Long nextAfterId = more ? users.get(users.size() - 1).getUserId() : null;
+        return new UserPageResponse(users, nextAfterId);
+    }
+
+    /**
+     * Hands every user, in ID order, to {@code sink} while reading them from a database cursor, so
+     * exporting the whole directory needs memory for one fetch, not for every user.
+     *
+     * @return how many users were exported
+     */
+    @Transactional(readOnly = true)
+    public long exportUsers(Consumer<UserResponse> sink) {
+        long count = 0;
+        try (Stream<UserResponse> users = userRepository.streamAllForExport()) {
+            for (UserResponse user : (Iterable<UserResponse>) users::iterator) {
+                sink.accept(user);
+                count++;
+            }
+        }
+        log.info("Exported {} users", count);
+        return count;
     }
 
     @Transactional
@@ -86,12 +225,16 @@ public class UserService {
                 .findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("User not found with ID: " + userId));
 
+        // Email and username are part of the credentials auth-service keeps
+        boolean credentialsChanged = false;
+
         // Check if email is being changed and if it already exists
         if (request.getEmail() != null && !request.getEmail().equals(user.getEmail())) {
             if (userRepository.existsByEmail(request.getEmail())) {
                 throw new IllegalArgumentException("Email already exists");
             }
             user.setEmail(request.getEmail());
+            credentialsChanged = true;
         }
 
         // Check if username is being changed and if it already exists
@@ -100,16 +243,31 @@ public class UserService {
                 throw new IllegalArgumentException("Username already exists");
             }
             user.setUsername(request.getUsername());
+            credentialsChanged = true;
         }
 
+        boolean locationChanged = credentialsChanged; // The index also holds the username
         if (request.getLatitude() != null) {
+            locationChanged |= !request.getLatitude().equals(user.getLatitude());
             user.setLatitude(request.getLatitude());
         }
         if (request.getLongitude() != null) {
+            locationChanged |= !request.getLongitude().equals(user.getLongitude());
             user.setLongitude(request.getLongitude());
         }
 
+        if (credentialsChanged) {
+            availabilityFilter.add(user.getUsername(), user.getEmail());
+        }
         User updatedUser = userRepository.save(user);
+        if (credentialsChanged) {
+            userEventProducer.sendCredentialsChanged(updatedUser);
+        }
+        if (locationChanged) {
+            userLocationIndex.update(updatedUser);
+            userEventProducer.sendUserUpdated(updatedUser);
+        }
+        userCache.invalidate(updatedUser);
         return UserResponse.fromUser(updatedUser);
     }
 
@@ -119,8 +277,11 @@ public class UserService {
             throw new IllegalArgumentException("User not found with ID: " + userId);
         }
 
-        // userEventProducer.sendUserDeletedEvent(userId);
         userRepository.deleteById(userId);
+        userEventProducer.sendCredentialsRemoved(userId);
+        userEventProducer.sendUserDeleted(userId);
+        userLocationIndex.remove(userId);
+        userCache.invalidate(userId);
     }
 
     /**
@@ -129,4 +290,16 @@ public class UserService {
     public Optional<AuthUserResponse> getUserForAuth(String email) {
         return userRepository.findByEmail(email).map(AuthUserResponse::fromUser);
     }
+
+    /**
+     * Internal method for auth-service to store a password re-hashed with current parameters.
+     */
+    @Transactional
+    public void updatePasswordHash(Long userId, String passwordHash) {
+        User user = userRepository
+                .findById(userId)
+                .orElseThrow(() -> new IllegalArgumentException("User not found with ID: " + userId));
+        user.setPasswordHash(passwordHash);
+        userEventProducer.sendCredentialsChanged(userRepository.save(user));
+    }
 }
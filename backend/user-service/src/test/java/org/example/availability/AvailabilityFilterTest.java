@@ -0,0 +1,91 @@
+package org.example.availability;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import org.example.repository.UserIdentityView;
+import org.example.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+/**
+ * Unit tests for AvailabilityFilter.
+ */
+@ExtendWith(MockitoExtension.class)
+class AvailabilityFilterTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private AvailabilityFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new AvailabilityFilter(userRepository, true, 1_000, 0.01, 2);
+    }
+
+    @Test
+    @DisplayName("Should load usernames and emails page by page from the last ID and then report ready")
+    void load_PagesByLastId() {
+        // Arrange
+        when(userRepository.findIdentitiesAfter(eq(0L), any()))
+                .thenReturn(
+                        List.of(identity(1L, "ash", "ash@example.com"), identity(4L, "misty", "misty@example.com")));
+        when(userRepository.findIdentitiesAfter(eq(4L), any()))
+                .thenReturn(List.of(identity(9L, "brock", "brock@example.com")));
+
+        // Act
+        assertFalse(filter.isReady());
+        filter.load();
+
+        // Assert
+        assertTrue(filter.isReady());
+        assertTrue(filter.mightHaveUsername("brock"));
+        assertTrue(filter.mightHaveEmail("misty@example.com"));
+        assertFalse(filter.mightHaveUsername("gary"));
+        verify(userRepository, times(2)).findIdentitiesAfter(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should stay not ready when the load fails, and keep names added meanwhile")
+    void load_Fails_NotReady() {
+        // Arrange
+        when(userRepository.findIdentitiesAfter(any(), any())).thenThrow(new IllegalStateException("db down"));
+        filter.add("gary", "gary@example.com");
+
+        // Act
+        filter.load();
+
+        // Assert
+        assertFalse(filter.isReady());
+        assertTrue(filter.mightHaveUsername("gary"));
+        assertTrue(filter.mightHaveEmail("gary@example.com"));
+    }
+
+    private static UserIdentityView identity(Long userId, String username, String email) {
+        return new UserIdentityView() {
+            @Override
+            public Long getUserId() {
+                return userId;
+            }
+
+            @Override
+            public String getUsername() {
+                return username;
+            }
+
+            @Override
+            public String getEmail() {
+                return email;
+            }
+        };
+    }
+}
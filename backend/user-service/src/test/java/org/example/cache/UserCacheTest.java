@@ -0,0 +1,239 @@
+package org.example.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.dto.UserResponse;
+import org.example.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unit tests for UserCache.
+ */
+class UserCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private MutableClock clock;
+    private UserCache cache;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+        cache = new UserCache(meterRegistry, true, 4, Duration.ofMinutes(5), Duration.ofSeconds(30), clock);
+        user = new User();
+        user.setUserId(1L);
+        user.setUsername("ash");
+        user.setEmail("ash@example.com");
+    }
+
+    @Test
+    @DisplayName("Should load a user once and serve it until the TTL passes")
+    void get_ServesFromCacheUntilExpired() {
+        // Arrange
+        AtomicInteger loads = new AtomicInteger();
+
+        // Act
+        cache.getById(1L, () -> load(loads, user));
+        Optional<UserResponse> cached = cache.getById(1L, () -> load(loads, user));
+        clock.now = clock.now.plus(Duration.ofMinutes(5));
+        cache.getById(1L, () -> load(loads, user));
+
+        // Assert
+        assertEquals("ash", cached.orElseThrow().getUsername());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should remember a missing user for the shorter negative TTL")
+    void get_Missing_CachedForNegativeTtl() {
+        // Arrange
+        AtomicInteger loads = new AtomicInteger();
+
+        // Act
+        cache.getByUsername("nobody", () -> load(loads, null));
+        Optional<UserResponse> again = cache.getByUsername("nobody", () -> load(loads, null));
+        clock.now = clock.now.plus(Duration.ofSeconds(30));
+        cache.getByUsername("nobody", () -> load(loads, null));
+
+        // Assert
+        assertTrue(again.isEmpty());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should drop the user under every key, including old ones and misses for new ones")
+    void invalidate_DropsEveryKeyForUser() {
+        // Arrange
+        AtomicInteger loads = new AtomicInteger();
+        cache.getById(1L, () -> load(loads, user));
+        cache.getByUsername("misty", () -> load(loads, null));
+        user.setUsername("misty");
+
+        // Act
+        cache.invalidate(user);
+
+        // Assert
+        assertEquals(0, cache.size());
+        assertEquals(
+                "misty",
+                cache.getByUsername("misty", () -> load(loads, user))
+                        .orElseThrow()
+                        .getUsername());
+    }
+
+    @Test
+    @DisplayName("Should drop remembered misses for newly created users under each of their keys")
+    void invalidateCreated_DropsMissesForNewUsers() {
+        // Arrange
+        AtomicInteger loads = new AtomicInteger();
+        cache.getById(1L, () -> load(loads, null));
+        cache.getByUsername("ash", () -> load(loads, null));
+        cache.getByEmail("ash@example.com", () -> load(loads, null));
+
+        // Act
+        cache.invalidateCreated(List.of(user));
+
+        // Assert
+        assertEquals(0, cache.size());
+        assertEquals(
+                "ash",
+                cache.getByEmail("ash@example.com", () -> load(loads, user))
+                        .orElseThrow()
+                        .getUsername());
+    }
+
+    @Test
+    @DisplayName("Should not cache a load that an invalidation overtook")
+    void get_InvalidatedDuringLoad_NotCached() {
+        // Arrange
+        AtomicInteger loads = new AtomicInteger();
+
+        // Act
+        cache.getById(1L, () -> {
+            cache.invalidate(1L);
+            return load(loads, user);
+        });
+        cache.getById(1L, () -> load(loads, user));
+
+        // Assert
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should never grow beyond the configured number of entries per lookup")
+    void get_ManyUsers_StaysBounded() {
+        // Act
+        for (long id = 1; id <= 20; id++) {
+            cache.getById(id, Optional::empty);
+        }
+
+        // Assert
+        assertTrue(cache.size() <= 4);
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used entry when a lookup is full")
+    void get_Full_EvictsLeastRecentlyUsed() {
+        // Arrange
+        AtomicInteger loads = new AtomicInteger();
+        for (long id = 1; id <= 4; id++) {
+            cache.getById(id, () -> load(loads, null));
+        }
+        cache.getById(1L, () -> load(loads, null));
+
+        // Act
+        cache.getById(5L, () -> load(loads, null));
+        cache.getById(1L, () -> load(loads, null));
+        cache.getById(2L, () -> load(loads, null));
+
+        // Assert
+        assertEquals(6, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should publish hits, misses and hit ratio per lookup")
+    void get_RecordsMetrics() {
+        // Arrange
+        AtomicInteger loads = new AtomicInteger();
+
+        // Act
+        cache.getById(1L, () -> load(loads, user));
+        cache.getById(1L, () -> load(loads, user));
+        cache.getById(1L, () -> load(loads, user));
+
+        // Assert
+        assertEquals(
+                2.0,
+                meterRegistry
+                        .get("users.cache.gets")
+                        .tags("lookup", "id", "result", "hit")
+                        .functionCounter()
+                        .count());
+        assertEquals(
+                2.0 / 3,
+                meterRegistry
+                        .get("users.cache.hit.ratio")
+                        .tag("lookup", "id")
+                        .gauge()
+                        .value(),
+                1e-9);
+    }
+
+    @Test
+    @DisplayName("Should go straight to the loader when disabled")
+    void get_Disabled_AlwaysLoads() {
+        // Arrange
+        UserCache disabled =
+                new UserCache(new SimpleMeterRegistry(), false, 4, Duration.ofMinutes(5), Duration.ZERO, clock);
+        AtomicInteger loads = new AtomicInteger();
+
+        // Act
+        disabled.getById(1L, () -> load(loads, user));
+        disabled.getById(1L, () -> load(loads, user));
+
+        // Assert
+        assertEquals(2, loads.get());
+        assertEquals(0, disabled.size());
+    }
+
+    private static Optional<User> load(AtomicInteger loads, User user) {
+        loads.incrementAndGet();
+        return Optional.ofNullable(user);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package org.example.controller;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
@@ -9,29 +12,49 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.dto.AvailabilityResponse;
+import org.example.dto.BatchCreateUserResult;
 import org.example.dto.CreateUserRequest;
+import org.example.dto.NearbyUserResponse;
+import org.example.dto.UpdatePasswordHashRequest;
 import org.example.dto.UpdateUserRequest;
+import org.example.dto.UserImportRejection;
+import org.example.dto.UserImportResult;
+import org.example.dto.UserPageResponse;
 import org.example.dto.UserResponse;
+import org.example.service.AvailabilityService;
+import org.example.service.NearbyUserService;
+import org.example.service.UserImportService;
 import org.example.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
 import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.BufferedReader;
+import java.io.Reader;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 /**
  * Unit tests for UserController using MockMvc.
+ * Internal request signing is covered by InternalRequestFilterTest.
  */
 @WebMvcTest(UserController.class)
+@AutoConfigureMockMvc(addFilters = false)
 class UserControllerTest {
 
     @Autowired
@@ -43,6 +66,15 @@ class UserControllerTest {
     @MockitoBean
     private UserService userService;
 
+    @MockitoBean
+    private NearbyUserService nearbyUserService;
+
+    @MockitoBean
+    private AvailabilityService availabilityService;
+
+    @MockitoBean
+    private UserImportService userImportService;
+
     private UserResponse mockUserResponse;
 
     @BeforeEach
@@ -96,6 +128,88 @@ class UserControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("Batch Create Endpoint Tests")
+    class BatchCreateEndpointTests {
+
+        @Test
+        @DisplayName("POST /api/users/batch - should return a result per user")
+        void createUsers_ValidBatch_Returns200WithResults() throws Exception {
+            // Arrange
+            CreateUserRequest request = new CreateUserRequest("test@example.com", "testuser", "hash", null, null, null);
+            when(userService.createUsers(anyList()))
+                    .thenReturn(List.of(
+                            BatchCreateUserResult.builder()
+                                    .index(0)
+                                    .status(BatchCreateUserResult.Status.CREATED)
+                                    .user(mockUserResponse)
+                                    .build(),
+                            BatchCreateUserResult.builder()
+                                    .index(1)
+                                    .status(BatchCreateUserResult.Status.CONFLICT)
+                                    .error("Username or email already exists")
+                                    .build()));
+
+            // Act & Assert
+            mockMvc.perform(post("/api/users/batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(List.of(request, request))))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].status").value("CREATED"))
+                    .andExpect(jsonPath("$[0].user.userId").value(1))
+                    .andExpect(jsonPath("$[1].status").value("CONFLICT"));
+        }
+
+        @Test
+        @DisplayName("POST /api/users/batch - should return 400 when the batch is too large")
+        void createUsers_TooLarge_Returns400() throws Exception {
+            // Arrange
+            when(userService.createUsers(anyList())).thenThrow(new IllegalArgumentException("At most 500 users"));
+
+            // Act & Assert
+            mockMvc.perform(post("/api/users/batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("[]"))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Nested
+    @DisplayName("Import Endpoint Tests")
+    class ImportEndpointTests {
+
+        @Test
+        @DisplayName("POST /api/users/import - should pass the NDJSON body to the importer and return its result")
+        void importUsers_Ndjson_Returns200WithResult() throws Exception {
+            // Arrange
+            String body = "{\"email\":\"a@example.com\",\"username\":\"a\",\"passwordHash\":\"hash\"}\nnot json\n";
+            when(userImportService.importUsers(any(Reader.class))).thenAnswer(invocation -> {
+                String received = new BufferedReader(invocation.getArgument(0, Reader.class))
+                        .lines()
+                        .collect(Collectors.joining("\n", "", "\n"));
+                assertEquals(body, received);
+                return UserImportResult.builder()
+                        .received(2)
+                        .imported(1)
+                        .rejected(List.of(UserImportRejection.builder()
+                                .line(2)
+                                .status(UserImportRejection.Status.INVALID)
+                                .error("Not a valid user JSON object")
+                                .build()))
+                        .build();
+            });
+
+            // Act & Assert
+            mockMvc.perform(post("/api/users/import")
+                            .contentType(MediaType.APPLICATION_NDJSON)
+                            .content(body))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.imported").value(1))
+                    .andExpect(jsonPath("$.rejected[0].line").value(2))
+                    .andExpect(jsonPath("$.rejected[0].status").value("INVALID"));
+        }
+    }
+
     @Nested
     @DisplayName("Get User Endpoint Tests")
     class GetUserEndpointTests {
@@ -149,32 +263,69 @@ class UserControllerTest {
         }
 
         @Test
-        @DisplayName("GET /api/users - should return all users")
-        void getAllUsers_ReturnsUserList() throws Exception {
+        @DisplayName("GET /api/users - should return a page of users with the next cursor")
+        void getUsers_ReturnsPage() throws Exception {
             // Arrange
             UserResponse user2 = new UserResponse();
             user2.setUserId(2L);
             user2.setEmail("user2@example.com");
             user2.setUsername("user2");
-            when(userService.getAllUsers()).thenReturn(Arrays.asList(mockUserResponse, user2));
+            when(userService.getUsers(null, 50))
+                    .thenReturn(new UserPageResponse(Arrays.asList(mockUserResponse, user2), 2L));
 
             // Act & Assert
             mockMvc.perform(get("/api/users"))
                     .andExpect(status().isOk())
                     .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                    .andExpect(jsonPath("$.length()").value(2));
+                    .andExpect(jsonPath("$.users.length()").value(2))
+                    .andExpect(jsonPath("$.nextAfterId").value(2));
         }
 
         @Test
-        @DisplayName("GET /api/users - should return empty list when no users")
-        void getAllUsers_NoUsers_ReturnsEmptyList() throws Exception {
+        @DisplayName("GET /api/users - should pass the cursor and return 400 for an invalid page size")
+        void getUsers_InvalidSize_Returns400() throws Exception {
             // Arrange
-            when(userService.getAllUsers()).thenReturn(Collections.emptyList());
+            when(userService.getUsers(10L, 1000)).thenThrow(new IllegalArgumentException("too large"));
+            when(userService.getUsers(10L, 5)).thenReturn(new UserPageResponse(Collections.emptyList(), null));
 
             // Act & Assert
-            mockMvc.perform(get("/api/users"))
+            mockMvc.perform(get("/api/users").param("afterId", "10").param("size", "1000"))
+                    .andExpect(status().isBadRequest());
+            mockMvc.perform(get("/api/users").param("afterId", "10").param("size", "5"))
                     .andExpect(status().isOk())
-                    .andExpect(jsonPath("$.length()").value(0));
+                    .andExpect(jsonPath("$.users.length()").value(0));
+        }
+
+        @Test
+        @DisplayName("GET /api/users/export - should stream one JSON user per line")
+        void exportUsers_StreamsNdjson() throws Exception {
+            // Arrange
+            UserResponse user2 = new UserResponse();
+            user2.setUserId(2L);
+            user2.setUsername("user2");
+            when(userService.exportUsers(any())).thenAnswer(invocation -> {
+                Consumer<UserResponse> sink = invocation.getArgument(0);
+                sink.accept(mockUserResponse);
+                sink.accept(user2);
+                return 2L;
+            });
+
+            // Act
+            MvcResult started = mockMvc.perform(get("/api/users/export"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            String body = mockMvc.perform(asyncDispatch(started))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString();
+
+            // Assert
+            String[] lines = body.split("\n");
+            assertEquals(2, lines.length);
+            assertTrue(lines[0].contains("\"username\":\"testuser\""));
+            assertTrue(lines[1].contains("\"userId\":2"));
         }
     }
 
@@ -219,6 +370,40 @@ class UserControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("Internal Password Hash Endpoint Tests")
+    class UpdatePasswordHashEndpointTests {
+
+        @Test
+        @DisplayName("PUT /api/users/internal/{userId}/password-hash - should return 204 when stored")
+        void updatePasswordHash_UserExists_Returns204() throws Exception {
+            // Arrange
+            doNothing().when(userService).updatePasswordHash(1L, "{bcrypt}$2a$12$rehashed");
+
+            // Act & Assert
+            mockMvc.perform(put("/api/users/internal/1/password-hash")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(
+                                    new UpdatePasswordHashRequest("{bcrypt}$2a$12$rehashed"))))
+                    .andExpect(status().isNoContent());
+        }
+
+        @Test
+        @DisplayName("PUT /api/users/internal/{userId}/password-hash - should return 404 when not found")
+        void updatePasswordHash_UserNotFound_Returns404() throws Exception {
+            // Arrange
+            doThrow(new IllegalArgumentException("User not found"))
+                    .when(userService)
+                    .updatePasswordHash(999L, "hash");
+
+            // Act & Assert
+            mockMvc.perform(put("/api/users/internal/999/password-hash")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new UpdatePasswordHashRequest("hash"))))
+                    .andExpect(status().isNotFound());
+        }
+    }
+
     @Nested
     @DisplayName("Delete User Endpoint Tests")
     class DeleteUserEndpointTests {
@@ -245,4 +430,101 @@ class UserControllerTest {
             mockMvc.perform(delete("/api/users/999")).andExpect(status().isNotFound());
         }
     }
+
+    @Nested
+    @DisplayName("Nearby Users Endpoint Tests")
+    class NearbyUsersEndpointTests {
+
+        @Test
+        @DisplayName("GET /api/users/nearby - should return nearby users with default radius and limit")
+        void findNearby_ValidPoint_Returns200() throws Exception {
+            // Arrange
+            when(nearbyUserService.findNearby(40.7128, -74.006, 25, 20))
+                    .thenReturn(List.of(NearbyUserResponse.of("neighbour", 0.02)));
+
+            // Act & Assert
+            mockMvc.perform(get("/api/users/nearby")
+                            .param("latitude", "40.7128")
+                            .param("longitude", "-74.006"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].username").value("neighbour"))
+                    .andExpect(jsonPath("$[0].distanceKm").value(1))
+                    .andExpect(jsonPath("$[0].latitude").doesNotExist())
+                    .andExpect(jsonPath("$[0].email").doesNotExist());
+        }
+
+        @Test
+        @DisplayName("GET /api/users/nearby - should return 400 for an invalid search")
+        void findNearby_InvalidSearch_Returns400() throws Exception {
+            // Arrange
+            when(nearbyUserService.findNearby(95, 0, 25, 20)).thenThrow(new IllegalArgumentException("Latitude"));
+
+            // Act & Assert
+            mockMvc.perform(get("/api/users/nearby").param("latitude", "95").param("longitude", "0"))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Nested
+    @DisplayName("Bulk Lookup Endpoint Tests")
+    class BulkLookupEndpointTests {
+
+        @Test
+        @DisplayName("POST /api/users/lookup - should return found users keyed by ID")
+        void getUsersByIds_Returns200WithMap() throws Exception {
+            // Arrange
+            when(userService.getUsersByIds(List.of(1L, 2L))).thenReturn(Map.of(1L, mockUserResponse));
+
+            // Act & Assert
+            mockMvc.perform(post("/api/users/lookup")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("[1, 2]"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$['1'].username").value("testuser"))
+                    .andExpect(jsonPath("$['2']").doesNotExist());
+        }
+
+        @Test
+        @DisplayName("POST /api/users/lookup - should return 400 when too many IDs are given")
+        void getUsersByIds_TooMany_Returns400() throws Exception {
+            // Arrange
+            when(userService.getUsersByIds(anyList())).thenThrow(new IllegalArgumentException("too many"));
+
+            // Act & Assert
+            mockMvc.perform(post("/api/users/lookup")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("[1]"))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Nested
+    @DisplayName("Availability Endpoint Tests")
+    class AvailabilityEndpointTests {
+
+        @Test
+        @DisplayName("GET /api/users/availability - should report whether the username and email are free")
+        void checkAvailability_Returns200() throws Exception {
+            // Arrange
+            when(availabilityService.check("ash", "ash@example.com")).thenReturn(new AvailabilityResponse(false, true));
+
+            // Act & Assert
+            mockMvc.perform(get("/api/users/availability")
+                            .param("username", "ash")
+                            .param("email", "ash@example.com"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.usernameAvailable").value(false))
+                    .andExpect(jsonPath("$.emailAvailable").value(true));
+        }
+
+        @Test
+        @DisplayName("GET /api/users/availability - should return 400 when there is nothing to check")
+        void checkAvailability_NothingToCheck_Returns400() throws Exception {
+            // Arrange
+            when(availabilityService.check(null, null)).thenThrow(new IllegalArgumentException("nothing"));
+
+            // Act & Assert
+            mockMvc.perform(get("/api/users/availability")).andExpect(status().isBadRequest());
+        }
+    }
 }
@@ -0,0 +1,118 @@
+package org.example.geo;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Unit tests for GeoGrid.
+ */
+class GeoGridTest {
+
+    private final GeoGrid grid = new GeoGrid(0.1);
+
+    @Test
+    @DisplayName("Should find users within the radius, nearest first")
+    void within_ReturnsUsersInRadiusByDistance() {
+        // Arrange: Manhattan, Brooklyn, Newark and Philadelphia
+        grid.put(new GeoGrid.Location(1L, "manhattan", 40.7831, -73.9712));
+        grid.put(new GeoGrid.Location(2L, "brooklyn", 40.6782, -73.9442));
+        grid.put(new GeoGrid.Location(3L, "newark", 40.7357, -74.1724));
+        grid.put(new GeoGrid.Location(4L, "philadelphia", 39.9526, -75.1652));
+
+        // Act
+        List<GeoGrid.Hit> hits = grid.within(40.7128, -74.0060, 20);
+
+        // Assert
+        assertEquals(
+                List.of(2L, 1L, 3L),
+                hits.stream().map(hit -> hit.location().userId()).toList());
+        assertEquals(
+                GeoMath.distanceKm(40.7128, -74.0060, 40.6782, -73.9442),
+                hits.get(0).distanceKm(),
+                1e-9);
+    }
+
+    @Test
+    @DisplayName("Should find neighbours across the antimeridian")
+    void within_AcrossAntimeridian_FindsBothSides() {
+        // Arrange
+        grid.put(new GeoGrid.Location(1L, "east", -17.0, 179.95));
+        grid.put(new GeoGrid.Location(2L, "west", -17.0, -179.95));
+
+        // Act
+        List<GeoGrid.Hit> hits = grid.within(-17.0, 179.99, 20);
+
+        // Assert
+        assertEquals(2, hits.size());
+    }
+
+    @Test
+    @DisplayName("Should move users on update and forget them on removal")
+    void putAndRemove_KeepsOneEntryPerUser() {
+        // Arrange
+        grid.put(new GeoGrid.Location(1L, "trader", 40.7128, -74.0060));
+
+        // Act
+        grid.put(new GeoGrid.Location(1L, "trader", 34.0522, -118.2437));
+        grid.putIfAbsent(new GeoGrid.Location(1L, "stale", 40.7128, -74.0060));
+
+        // Assert
+        assertEquals(1, grid.size());
+        assertTrue(grid.within(40.7128, -74.0060, 50).isEmpty());
+        assertEquals(
+                "trader", grid.within(34.0522, -118.2437, 1).get(0).location().username());
+
+        grid.remove(1L);
+        assertEquals(0, grid.size());
+        assertTrue(grid.within(34.0522, -118.2437, 1).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should return the same nearest users as a full scan")
+    void nearest_MatchesBruteForce() {
+        // Arrange
+        Random random = new Random(7);
+        List<GeoGrid.Location> locations = new ArrayList<>();
+        for (long id = 1; id <= 2000; id++) {
+            GeoGrid.Location location =
+                    new GeoGrid.Location(id, "u" + id, 40 + random.nextDouble() * 2, -75 + random.nextDouble() * 2);
+            locations.add(location);
+            grid.put(location);
+        }
+
+        // Act
+        List<GeoGrid.Hit> nearest = grid.nearest(41, -74, 10, 500);
+
+        // Assert
+        List<Long> expected = locations.stream()
+                .sorted(Comparator.comparingDouble(
+                        (GeoGrid.Location l) -> GeoMath.distanceKm(41, -74, l.latitude(), l.longitude())))
+                .limit(10)
+                .map(GeoGrid.Location::userId)
+                .toList();
+        assertEquals(
+                expected, nearest.stream().map(hit -> hit.location().userId()).toList());
+    }
+
+    @Test
+    @DisplayName("Should stop at the maximum radius even with fewer users than asked for")
+    void nearest_FewUsers_StopsAtMaxRadius() {
+        // Arrange
+        grid.put(new GeoGrid.Location(1L, "near", 40.72, -74.0));
+        grid.put(new GeoGrid.Location(2L, "far", 51.5074, -0.1278));
+
+        // Act
+        List<GeoGrid.Hit> nearest = grid.nearest(40.7128, -74.0060, 5, 100);
+
+        // Assert
+        assertEquals(1, nearest.size());
+        assertEquals(1L, nearest.get(0).location().userId());
+    }
+}
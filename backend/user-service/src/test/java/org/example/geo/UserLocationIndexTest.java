@@ -0,0 +1,130 @@
+package org.example.geo;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import org.example.dto.NearbyUserResponse;
+import org.example.model.User;
+import org.example.repository.UserLocationView;
+import org.example.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/**
+ * Unit tests for UserLocationIndex.
+ */
+@ExtendWith(MockitoExtension.class)
+class UserLocationIndexTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserLocationIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new UserLocationIndex(userRepository, true, 0.1, 2);
+    }
+
+    @Test
+    @DisplayName("Should load located users page by page from the last ID and then report ready")
+    void load_PagesByLastId() {
+        // Arrange
+        when(userRepository.findLocationsAfter(eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(view(1L, 40.71, -74.00), view(2L, 40.72, -74.01)));
+        when(userRepository.findLocationsAfter(eq(2L), any(Pageable.class)))
+                .thenReturn(List.of(view(5L, 40.73, -74.02)));
+
+        // Act
+        index.load();
+
+        // Assert
+        assertTrue(index.isReady());
+        assertEquals(3, index.size());
+        verify(userRepository, never()).findLocationsAfter(eq(5L), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Should not report ready when loading fails")
+    void load_Fails_NotReady() {
+        // Arrange
+        when(userRepository.findLocationsAfter(eq(0L), any(Pageable.class)))
+                .thenThrow(new IllegalStateException("database down"));
+
+        // Act
+        index.load();
+
+        // Assert
+        assertFalse(index.isReady());
+    }
+
+    @Test
+    @DisplayName("Should index updated users, drop users without a location, and return nearest first")
+    void updateAndRemove_ChangeSearchResults() {
+        // Arrange
+        User near = user(1L, 40.7130, -74.0060);
+        User far = user(2L, 40.80, -74.00);
+        User unlocated = user(3L, null, null);
+
+        // Act
+        index.update(near);
+        index.update(far);
+        index.update(unlocated);
+        List<NearbyUserResponse> before = index.nearest(40.7128, -74.0060, 25, 10);
+        index.remove(1L);
+        List<NearbyUserResponse> after = index.nearest(40.7128, -74.0060, 25, 10);
+
+        // Assert
+        assertEquals(
+                List.of("user1", "user2"),
+                before.stream().map(NearbyUserResponse::getUsername).toList());
+        assertEquals(
+                List.of(1L, 10L),
+                before.stream().map(NearbyUserResponse::getDistanceKm).toList());
+        assertEquals(
+                List.of("user2"),
+                after.stream().map(NearbyUserResponse::getUsername).toList());
+    }
+
+    private static User user(Long id, Double latitude, Double longitude) {
+        User user = new User();
+        user.setUserId(id);
+        user.setUsername("user" + id);
+        user.setLatitude(latitude);
+        user.setLongitude(longitude);
+        return user;
+    }
+
+    private static UserLocationView view(Long id, double latitude, double longitude) {
+        return new UserLocationView() {
+            @Override
+            public Long getUserId() {
+                return id;
+            }
+
+            @Override
+            public String getUsername() {
+                return "user" + id;
+            }
+
+            @Override
+            public Double getLatitude() {
+                return latitude;
+            }
+
+            @Override
+            public Double getLongitude() {
+                return longitude;
+            }
+        };
+    }
+}
@@ -0,0 +1,146 @@
+package org.example.kafka;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import org.example.model.OutboxEvent;
+import org.example.repository.OutboxEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Unit tests for OutboxRelay.
+ */
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T12:00:00Z");
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private KafkaTemplate<String, String> kafkaTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        relay = new OutboxRelay(
+                outboxEventRepository,
+                kafkaTemplate,
+                new TransactionTemplate(transactionManager),
+                3,
+                Duration.ofSeconds(1),
+                Duration.ofDays(1),
+                Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    @DisplayName("Should publish a batch keyed by user ID and mark it sent with one update")
+    void publishBatch_AllAcknowledged_MarksAllSent() {
+        // Arrange
+        when(outboxEventRepository.tryRelayLock(OutboxRelay.RELAY_LOCK_KEY)).thenReturn(true);
+        when(outboxEventRepository.findUnsent(any()))
+                .thenReturn(List.of(event(1L, "7", "{\"eventType\":\"USER_DELETED\"}"), event(2L, "8", null)));
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(acknowledged());
+
+        // Act
+        int published = relay.publishBatch();
+
+        // Assert
+        assertEquals(2, published);
+        verify(kafkaTemplate).send("user-events", "7", "{\"eventType\":\"USER_DELETED\"}");
+        verify(kafkaTemplate).send("user-events", "8", null);
+        verify(kafkaTemplate).flush();
+        verify(outboxEventRepository).markSent(List.of(1L, 2L), LocalDateTime.ofInstant(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    @DisplayName("Should mark only the events before the first failed send, leaving the rest for the next poll")
+    void publishBatch_SendFails_MarksAcknowledgedPrefix() {
+        // Arrange
+        when(outboxEventRepository.tryRelayLock(anyLong())).thenReturn(true);
+        when(outboxEventRepository.findUnsent(any()))
+                .thenReturn(List.of(event(1L, "7", "{}"), event(2L, "7", "{}"), event(3L, "9", "{}")));
+        when(kafkaTemplate.send(anyString(), anyString(), any()))
+                .thenReturn(acknowledged())
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")))
+                .thenReturn(acknowledged());
+
+        // Act
+        int published = relay.publishBatch();
+
+        // Assert
+        assertEquals(1, published);
+        verify(outboxEventRepository).markSent(eq(List.of(1L)), any());
+    }
+
+    @Test
+    @DisplayName("Should publish nothing while another instance holds the relay lock")
+    void publishBatch_LockHeldElsewhere_Skips() {
+        // Arrange
+        when(outboxEventRepository.tryRelayLock(anyLong())).thenReturn(false);
+
+        // Act
+        int published = relay.publishBatch();
+
+        // Assert
+        assertEquals(0, published);
+        verify(outboxEventRepository, never()).findUnsent(any());
+        verifyNoInteractions(kafkaTemplate);
+    }
+
+    @Test
+    @DisplayName("Should keep polling while batches come back full")
+    void relay_FullBatches_DrainsOutbox() {
+        // Arrange
+        when(outboxEventRepository.tryRelayLock(anyLong())).thenReturn(true);
+        when(outboxEventRepository.findUnsent(any()))
+                .thenReturn(List.of(event(1L, "1", "{}"), event(2L, "2", "{}"), event(3L, "3", "{}")))
+                .thenReturn(List.of(event(4L, "4", "{}")));
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(acknowledged());
+
+        // Act
+        relay.relay();
+
+        // Assert
+        verify(outboxEventRepository, times(2)).findUnsent(any());
+        verify(outboxEventRepository, times(2)).markSent(anyList(), any());
+    }
+
+    private static OutboxEvent event(Long id, String key, String payload) {
+        OutboxEvent event = new OutboxEvent("user-events", key, "USER_DELETED", payload);
+        event.setId(id);
+        return event;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static CompletableFuture<SendResult<String, String>> acknowledged() {
+        return CompletableFuture.completedFuture(mock(SendResult.class));
+    }
+}
@@ -0,0 +1,121 @@
+package org.example.kafka;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.example.availability.AvailabilityFilter;
+import org.example.geo.UserLocationIndex;
+import org.example.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Unit tests for UserEventConsumer.
+ */
+@ExtendWith(MockitoExtension.class)
+class UserEventConsumerTest {
+
+    @Mock
+    private AvailabilityFilter availabilityFilter;
+
+    @Mock
+    private UserLocationIndex userLocationIndex;
+
+    private UserEventConsumer consumer;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        consumer = new UserEventConsumer(availabilityFilter, userLocationIndex);
+        user = new User();
+        user.setUserId(5L);
+        user.setUsername("ash");
+        user.setEmail("ash@example.com");
+        user.setLatitude(40.7128);
+        user.setLongitude(-74.0060);
+    }
+
+    @Test
+    @DisplayName("Should mark the names of a user created on another instance as taken and index them")
+    void consumeUserEvent_Created_AddsNamesAndLocation() {
+        // Act
+        consumer.consumeUserEvent(UserLifecycleEvent.of(UserLifecycleEvent.USER_CREATED, user));
+
+        // Assert
+        verify(availabilityFilter).add("ash", "ash@example.com");
+        verify(userLocationIndex).update(5L, "ash", 40.7128, -74.0060);
+    }
+
+    @Test
+    @DisplayName("Should mark the new names of a user updated on another instance as taken")
+    void consumeUserEvent_Updated_AddsNames() {
+        // Arrange
+        user.setUsername("ash-ketchum");
+
+        // Act
+        consumer.consumeUserEvent(UserLifecycleEvent.of(UserLifecycleEvent.USER_UPDATED, user));
+
+        // Assert
+        verify(availabilityFilter).add("ash-ketchum", "ash@example.com");
+    }
+
+    @Test
+    @DisplayName("Should drop a user deleted on another instance from the index but not the filter")
+    void consumeUserEvent_Deleted_RemovesLocation() {
+        // Act
+        consumer.consumeUserEvent(UserLifecycleEvent.deleted(5L));
+
+        // Assert
+        verify(userLocationIndex).remove(5L);
+        verifyNoInteractions(availabilityFilter);
+    }
+
+    @Test
+    @DisplayName("Should ignore incomplete events")
+    void consumeUserEvent_Incomplete_Ignored() {
+        // Act
+        consumer.consumeUserEvent(new UserLifecycleEvent());
+        consumer.consumeUserEvent(UserLifecycleEvent.builder()
+                .eventType(UserLifecycleEvent.USER_CREATED)
+                .username("ash")
+                .build());
+        consumer.consumeUserEvent(null);
+
+        // Assert
+        verifyNoInteractions(availabilityFilter, userLocationIndex);
+    }
+
+    @Test
+    @DisplayName("Should read the outbox's JSON payloads, which carry no type headers")
+    void consumerFactory_OutboxPayload_DeserializesEvent() {
+        // Arrange
+        KafkaConfig kafkaConfig = new KafkaConfig();
+        ReflectionTestUtils.setField(kafkaConfig, "bootstrapServers", "localhost:9092");
+        Deserializer<UserLifecycleEvent> deserializer =
+                kafkaConfig.userEventsConsumerFactory().getValueDeserializer();
+        byte[] payload = JsonMapper.builder()
+                .build()
+                .writeValueAsString(UserLifecycleEvent.of(UserLifecycleEvent.USER_CREATED, user))
+                .getBytes(StandardCharsets.UTF_8);
+
+        // Act
+        UserLifecycleEvent event = deserializer.deserialize("user-events", new RecordHeaders(), payload);
+
+        // Assert
+        assertEquals(UserLifecycleEvent.USER_CREATED, event.getEventType());
+        assertEquals(5L, event.getUserId());
+        assertEquals("ash", event.getUsername());
+        assertEquals(40.7128, event.getLatitude());
+    }
+}
@@ -0,0 +1,132 @@
+package org.example.kafka;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import org.example.model.OutboxEvent;
+import org.example.model.User;
+import org.example.repository.OutboxEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.List;
+
+/**
+ * Unit tests for UserEventProducer.
+ */
+@ExtendWith(MockitoExtension.class)
+class UserEventProducerTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().build();
+
+    private UserEventProducer producer;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        producer = new UserEventProducer(outboxEventRepository, objectMapper, "user-credentials", "user-events");
+        user = new User();
+        user.setUserId(5L);
+        user.setEmail("test@example.com");
+        user.setUsername("testuser");
+        user.setPasswordHash("{bcrypt}$2a$10$hash");
+        user.setRole("USER");
+        lenient().when(outboxEventRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    @DisplayName("Should queue credentials as JSON keyed by user ID")
+    void sendCredentialsChanged_QueuesCredentialsJson() {
+        // Act
+        producer.sendCredentialsChanged(user);
+
+        // Assert
+        OutboxEvent event = savedEvent();
+        assertEquals("user-credentials", event.getTopic());
+        assertEquals("5", event.getEventKey());
+        assertEquals(UserEventProducer.CREDENTIALS_CHANGED, event.getEventType());
+        JsonNode payload = objectMapper.readTree(event.getPayload());
+        assertEquals("test@example.com", payload.get("email").asString());
+        assertEquals("{bcrypt}$2a$10$hash", payload.get("passwordHash").asString());
+        assertEquals("USER", payload.get("role").asString());
+    }
+
+    @Test
+    @DisplayName("Should queue a tombstone when credentials are removed")
+    void sendCredentialsRemoved_QueuesTombstone() {
+        // Act
+        producer.sendCredentialsRemoved(5L);
+
+        // Assert
+        OutboxEvent event = savedEvent();
+        assertEquals("user-credentials", event.getTopic());
+        assertEquals("5", event.getEventKey());
+        assertNull(event.getPayload());
+    }
+
+    @Test
+    @DisplayName("Should queue USER_DELETED on the user events topic in the shape trade-service reads")
+    void sendUserDeleted_QueuesLifecycleEvent() {
+        // Act
+        producer.sendUserDeleted(5L);
+
+        // Assert
+        OutboxEvent event = savedEvent();
+        assertEquals("user-events", event.getTopic());
+        assertEquals("5", event.getEventKey());
+        assertEquals(UserLifecycleEvent.USER_DELETED, event.getEventType());
+        JsonNode payload = objectMapper.readTree(event.getPayload());
+        assertEquals("USER_DELETED", payload.get("eventType").asString());
+        assertEquals(5L, payload.get("userId").asLong());
+    }
+
+    @Test
+    @DisplayName("Should write credentials and USER_CREATED for every imported user as one batch")
+    void sendUsersCreated_InsertsBothEventsPerUserInOneBatch() {
+        // Arrange
+        User other = new User();
+        other.setUserId(6L);
+        other.setEmail("other@example.com");
+        other.setUsername("other");
+        other.setPasswordHash("{bcrypt}$2a$10$other");
+        other.setRole("USER");
+
+        // Act
+        producer.sendUsersCreated(List.of(user, other));
+
+        // Assert
+        ArgumentCaptor<List<OutboxEvent>> events = ArgumentCaptor.captor();
+        verify(outboxEventRepository).insertAll(events.capture());
+        verify(outboxEventRepository, never()).save(any());
+        assertEquals(
+                List.of("5", "5", "6", "6"),
+                events.getValue().stream().map(OutboxEvent::getEventKey).toList());
+        assertEquals(
+                List.of(
+                        UserEventProducer.CREDENTIALS_CHANGED,
+                        UserLifecycleEvent.USER_CREATED,
+                        UserEventProducer.CREDENTIALS_CHANGED,
+                        UserLifecycleEvent.USER_CREATED),
+                events.getValue().stream().map(OutboxEvent::getEventType).toList());
+        assertTrue(events.getValue().stream().allMatch(event -> event.getCreatedAt() != null));
+    }
+
+    private OutboxEvent savedEvent() {
+        ArgumentCaptor<OutboxEvent> event = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outboxEventRepository).save(event.capture());
+        return event.getValue();
+    }
+}
@@ -0,0 +1,147 @@
+package org.example.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Unit tests for InternalRequestFilter.
+ */
+class InternalRequestFilterTest {
+
+    private static final String SECRET = "test-internal-secret";
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+    private static final String PASSWORD_HASH_PATH = "/api/users/internal/42/password-hash";
+
+    private InternalRequestFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new InternalRequestFilter(SECRET, 300, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    @DisplayName("Should pass internal requests signed with the shared secret")
+    void doFilter_ValidSignature_Passes() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = signedRequest("PUT", PASSWORD_HASH_PATH, NOW.getEpochSecond(), SECRET);
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        // Assert
+        assertSame(request, chain.getRequest());
+    }
+
+    @Test
+    @DisplayName("Should refuse internal requests without a signature")
+    void doFilter_Unsigned_Returns403() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("PUT", PASSWORD_HASH_PATH);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        filter.doFilter(request, response, chain);
+
+        // Assert
+        assertEquals(403, response.getStatus());
+        assertNull(chain.getRequest());
+    }
+
+    @Test
+    @DisplayName("Should refuse requests signed with another secret, for another path or too long ago")
+    void isSigned_ForgedReplayedOrStale_ReturnsFalse() throws Exception {
+        // Arrange
+        MockHttpServletRequest forged = signedRequest("PUT", PASSWORD_HASH_PATH, NOW.getEpochSecond(), "forged");
+        MockHttpServletRequest otherPath = signedRequest("PUT", PASSWORD_HASH_PATH, NOW.getEpochSecond(), SECRET);
+        otherPath.setRequestURI("/api/users/internal/43/password-hash");
+        MockHttpServletRequest stale = signedRequest("PUT", PASSWORD_HASH_PATH, NOW.getEpochSecond() - 301, SECRET);
+
+        // Act & Assert
+        assertFalse(filter.isSigned(forged));
+        assertFalse(filter.isSigned(otherPath));
+        assertFalse(filter.isSigned(stale));
+    }
+
+    @Test
+    @DisplayName("Should match internal paths after decoding, so encoding them does not skip the check")
+    void doFilter_EncodedInternalPath_Returns403() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/%69nternal/email/a@b.com");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(request, response, new MockFilterChain());
+
+        // Assert
+        assertEquals(403, response.getStatus());
+    }
+
+    @Test
+    @DisplayName("Should refuse every internal request when no secret is configured")
+    void isSigned_NoSecret_ReturnsFalse() throws Exception {
+        // Arrange
+        InternalRequestFilter unconfigured = new InternalRequestFilter("", 300, Clock.fixed(NOW, ZoneOffset.UTC));
+
+        // Act & Assert
+        assertFalse(unconfigured.isSigned(signedRequest("PUT", PASSWORD_HASH_PATH, NOW.getEpochSecond(), "")));
+    }
+
+    @Test
+    @DisplayName("Should refuse unsigned batch user creation")
+    void doFilter_UnsignedBatch_Returns403() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/users/batch");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(request, response, new MockFilterChain());
+
+        // Assert
+        assertEquals(403, response.getStatus());
+    }
+
+    @Test
+    @DisplayName("Should leave public endpoints alone")
+    void doFilter_PublicPath_Passes() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/42");
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        // Assert
+        assertSame(request, chain.getRequest());
+    }
+
+    private static MockHttpServletRequest signedRequest(String method, String path, long timestamp, String secret)
+            throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        String ts = Long.toString(timestamp);
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(
+                secret.isEmpty() ? new byte[1] : secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        String signature = Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(mac.doFinal(String.join("\n", method, path, ts).getBytes(StandardCharsets.UTF_8)));
+        request.addHeader(InternalRequestFilter.TIMESTAMP_HEADER, ts);
+        request.addHeader(InternalRequestFilter.SIGNATURE_HEADER, signature);
+        return request;
+    }
+}
@@ -0,0 +1,102 @@
+package org.example.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.availability.AvailabilityFilter;
+import org.example.dto.AvailabilityResponse;
+import org.example.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * Unit tests for AvailabilityService.
+ */
+@ExtendWith(MockitoExtension.class)
+class AvailabilityServiceTest {
+
+    @Mock
+    private AvailabilityFilter availabilityFilter;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private AvailabilityService availabilityService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        availabilityService = new AvailabilityService(availabilityFilter, userRepository, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should answer names the filter has never seen without querying the database")
+    void check_FilterMiss_NoQuery() {
+        // Arrange
+        when(availabilityFilter.isReady()).thenReturn(true);
+        when(availabilityFilter.mightHaveUsername("gary")).thenReturn(false);
+        when(availabilityFilter.mightHaveEmail("gary@example.com")).thenReturn(false);
+
+        // Act
+        AvailabilityResponse response = availabilityService.check("gary", "gary@example.com");
+
+        // Assert
+        assertTrue(response.getUsernameAvailable());
+        assertTrue(response.getEmailAvailable());
+        verifyNoInteractions(userRepository);
+        assertEquals(
+                2.0,
+                meterRegistry
+                        .get("users.availability.checks")
+                        .tag("answered.by", "filter")
+                        .counter()
+                        .count());
+    }
+
+    @Test
+    @DisplayName("Should confirm possible hits in the database, and only check what was asked")
+    void check_FilterHit_QueriesDatabase() {
+        // Arrange
+        when(availabilityFilter.isReady()).thenReturn(true);
+        when(availabilityFilter.mightHaveUsername("ash")).thenReturn(true);
+        when(userRepository.existsByUsername("ash")).thenReturn(true);
+
+        // Act
+        AvailabilityResponse response = availabilityService.check("ash", null);
+
+        // Assert
+        assertFalse(response.getUsernameAvailable());
+        assertNull(response.getEmailAvailable());
+        verify(userRepository, never()).existsByEmail(anyString());
+    }
+
+    @Test
+    @DisplayName("Should ask the database while the filter is not ready")
+    void check_FilterNotReady_QueriesDatabase() {
+        // Arrange
+        when(availabilityFilter.isReady()).thenReturn(false);
+        when(userRepository.existsByEmail("new@example.com")).thenReturn(false);
+
+        // Act
+        AvailabilityResponse response = availabilityService.check(null, "new@example.com");
+
+        // Assert
+        assertTrue(response.getEmailAvailable());
+        verify(availabilityFilter, never()).mightHaveEmail(anyString());
+    }
+
+    @Test
+    @DisplayName("Should reject a check with nothing to check or a blank value")
+    void check_NothingOrBlank_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> availabilityService.check(null, null));
+        assertThrows(IllegalArgumentException.class, () -> availabilityService.check(" ", null));
+    }
+}
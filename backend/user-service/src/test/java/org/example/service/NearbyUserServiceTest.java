@@ -0,0 +1,97 @@
+package org.example.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.Mockito.*;
+
+import org.example.dto.NearbyUserResponse;
+import org.example.geo.UserLocationIndex;
+import org.example.model.User;
+import org.example.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+/**
+ * Unit tests for NearbyUserService.
+ */
+@ExtendWith(MockitoExtension.class)
+class NearbyUserServiceTest {
+
+    @Mock
+    private UserLocationIndex userLocationIndex;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private NearbyUserService nearbyUserService;
+
+    @BeforeEach
+    void setUp() {
+        nearbyUserService = new NearbyUserService(userLocationIndex, userRepository, 500, 100);
+    }
+
+    @Test
+    @DisplayName("Should answer from the index when it is ready")
+    void findNearby_IndexReady_UsesIndex() {
+        // Arrange
+        List<NearbyUserResponse> nearby = List.of(NearbyUserResponse.of("trader", 0.3));
+        when(userLocationIndex.isReady()).thenReturn(true);
+        when(userLocationIndex.nearest(40.7128, -74.0060, 25, 10)).thenReturn(nearby);
+
+        // Act
+        List<NearbyUserResponse> result = nearbyUserService.findNearby(40.7128, -74.0060, 25, 10);
+
+        // Assert
+        assertEquals(nearby, result);
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    @DisplayName("Should fall back to a bounding-box query, filtered by distance, while the index loads")
+    void findNearby_IndexNotReady_QueriesDatabase() {
+        // Arrange
+        when(userLocationIndex.isReady()).thenReturn(false);
+        when(userRepository.findByLatitudeBetweenAndLongitudeBetween(
+                        anyDouble(), anyDouble(), anyDouble(), anyDouble()))
+                .thenReturn(List.of(
+                        user(1L, 40.80, -74.00), // about 9.7 km away
+                        user(2L, 40.7130, -74.0060), // next door
+                        user(3L, 40.95, -74.25))); // in the box corner, over 25 km away
+
+        // Act
+        List<NearbyUserResponse> result = nearbyUserService.findNearby(40.7128, -74.0060, 25, 10);
+
+        // Assert
+        assertEquals(
+                List.of("user2", "user1"),
+                result.stream().map(NearbyUserResponse::getUsername).toList());
+        assertEquals(
+                List.of(1L, 10L),
+                result.stream().map(NearbyUserResponse::getDistanceKm).toList());
+    }
+
+    @Test
+    @DisplayName("Should reject invalid coordinates, radius or limit")
+    void findNearby_InvalidArguments_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> nearbyUserService.findNearby(91, 0, 10, 10));
+        assertThrows(IllegalArgumentException.class, () -> nearbyUserService.findNearby(0, 181, 10, 10));
+        assertThrows(IllegalArgumentException.class, () -> nearbyUserService.findNearby(0, 0, 501, 10));
+        assertThrows(IllegalArgumentException.class, () -> nearbyUserService.findNearby(0, 0, 10, 101));
+        verifyNoInteractions(userLocationIndex, userRepository);
+    }
+
+    private static User user(Long id, double latitude, double longitude) {
+        User user = new User();
+        user.setUserId(id);
+        user.setUsername("user" + id);
+        user.setLatitude(latitude);
+        user.setLongitude(longitude);
+        return user;
+    }
+}
@@ -0,0 +1,215 @@
+package org.example.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+import org.example.availability.AvailabilityFilter;
+import org.example.cache.UserCache;
+import org.example.dto.UserImportRejection;
+import org.example.dto.UserImportResult;
+import org.example.geo.UserLocationIndex;
+import org.example.kafka.UserEventProducer;
+import org.example.model.User;
+import org.example.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.StringReader;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+/**
+ * Unit tests for UserImportService.
+ */
+@ExtendWith(MockitoExtension.class)
+class UserImportServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserEventProducer userEventProducer;
+
+    @Mock
+    private UserLocationIndex userLocationIndex;
+
+    @Mock
+    private UserCache userCache;
+
+    @Mock
+    private AvailabilityFilter availabilityFilter;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private UserImportService importService;
+
+    private final AtomicLong nextId = new AtomicLong(100);
+
+    @BeforeEach
+    void setUp() {
+        importService = new UserImportService(
+                userRepository,
+                userEventProducer,
+                userLocationIndex,
+                userCache,
+                availabilityFilter,
+                JsonMapper.builder().build(),
+                new TransactionTemplate(transactionManager),
+                2);
+        lenient().when(userRepository.findTakenUsernames(anyCollection())).thenReturn(Set.of());
+        lenient().when(userRepository.findTakenEmails(anyCollection())).thenReturn(Set.of());
+        lenient().when(userRepository.allocateUserIds(anyInt())).thenAnswer(invocation -> LongStream.range(
+                        0, invocation.<Integer>getArgument(0))
+                .mapToObj(i -> nextId.getAndIncrement())
+                .toList());
+    }
+
+    @Test
+    @DisplayName("Should check and insert each chunk with a fixed number of statements, whatever its size")
+    void importUsers_ValidLines_ImportedChunkByChunk() {
+        // Arrange
+        String ndjson = line("ash", 40.7, -74.0) + line("misty", null, null) + "\n" + line("brock", null, null);
+
+        // Act
+        UserImportResult result = importService.importUsers(new StringReader(ndjson));
+
+        // Assert
+        assertEquals(3, result.getReceived());
+        assertEquals(3, result.getImported());
+        assertTrue(result.getRejected().isEmpty());
+        verify(userRepository, times(2)).findTakenUsernames(anyCollection());
+        verify(userRepository, times(2)).findTakenEmails(anyCollection());
+        verify(userRepository, never()).existsByUsername(any());
+
+        ArgumentCaptor<List<User>> inserted = ArgumentCaptor.captor();
+        verify(userRepository, times(2)).insertAll(inserted.capture());
+        List<User> firstChunk = inserted.getAllValues().get(0);
+        assertEquals(
+                List.of(100L, 101L), firstChunk.stream().map(User::getUserId).toList());
+        assertEquals("USER", firstChunk.get(0).getRole());
+        assertNotNull(firstChunk.get(0).getCreatedAt());
+
+        verify(userEventProducer, times(2)).sendUsersCreated(anyList());
+        verify(userCache, times(2)).invalidateCreated(anyList());
+        verify(availabilityFilter).add("misty", "misty@example.com");
+        verify(userLocationIndex).update(firstChunk.get(0)); // Only ash has a location
+        verifyNoMoreInteractions(userLocationIndex);
+    }
+
+    @Test
+    @DisplayName("Should create every imported user with the USER role, whatever the line asks for")
+    void importUsers_RoleInLine_Ignored() {
+        // Arrange
+        String ndjson =
+                "{\"email\":\"eve@example.com\",\"username\":\"eve\",\"passwordHash\":\"h\",\"role\":\"ADMIN\"}\n";
+
+        // Act
+        importService.importUsers(new StringReader(ndjson));
+
+        // Assert
+        ArgumentCaptor<List<User>> inserted = ArgumentCaptor.captor();
+        verify(userRepository).insertAll(inserted.capture());
+        assertEquals("USER", inserted.getValue().get(0).getRole());
+    }
+
+    @Test
+    @DisplayName("Should report invalid lines, repeats within the import and existing users by line number")
+    void importUsers_BadLines_ReportedAndSkipped() {
+        // Arrange
+        when(userRepository.findTakenUsernames(anyCollection())).thenReturn(Set.of("brock"));
+        String ndjson = "not json\n"
+                + "{\"email\":\"x@example.com\",\"username\":\"x\"}\n"
+                + line("ash", null, null)
+                + "{\"email\":\"ash@example.com\",\"username\":\"ash2\",\"passwordHash\":\"h\"}\n"
+                + line("brock", null, null);
+
+        // Act
+        UserImportResult result = importService.importUsers(new StringReader(ndjson));
+
+        // Assert
+        assertEquals(5, result.getReceived());
+        assertEquals(1, result.getImported());
+        List<UserImportRejection> rejected = result.getRejected();
+        assertEquals(
+                List.of(1L, 2L, 4L, 5L),
+                rejected.stream().map(UserImportRejection::getLine).toList());
+        assertEquals(
+                List.of(
+                        UserImportRejection.Status.INVALID,
+                        UserImportRejection.Status.INVALID,
+                        UserImportRejection.Status.DUPLICATE,
+                        UserImportRejection.Status.CONFLICT),
+                rejected.stream().map(UserImportRejection::getStatus).toList());
+        assertEquals("Username already exists", rejected.get(3).getError());
+    }
+
+    @Test
+    @DisplayName("Should check a chunk again when its insert races a registration, keeping the other users")
+    void importUsers_UniqueViolation_RetriedOnce() {
+        // Arrange
+        when(userRepository.findTakenEmails(anyCollection()))
+                .thenReturn(Set.of())
+                .thenReturn(Set.of("misty@example.com"));
+        doThrow(new DuplicateKeyException("app_user_email_key"))
+                .doNothing()
+                .when(userRepository)
+                .insertAll(anyList());
+
+        // Act
+        UserImportResult result =
+                importService.importUsers(new StringReader(line("ash", null, null) + line("misty", null, null)));
+
+        // Assert
+        assertEquals(1, result.getImported());
+        assertEquals(1, result.getRejected().size());
+        assertEquals(
+                UserImportRejection.Status.CONFLICT, result.getRejected().get(0).getStatus());
+        assertEquals("misty", result.getRejected().get(0).getUsername());
+        verify(userRepository, times(2)).insertAll(anyList());
+    }
+
+    @Test
+    @DisplayName("Should report every line of a chunk as failed when it cannot be written, and carry on")
+    void importUsers_ChunkFails_LinesFailedRestImported() {
+        // Arrange
+        doThrow(new IllegalStateException("connection reset"))
+                .doNothing()
+                .when(userRepository)
+                .insertAll(anyList());
+
+        // Act
+        UserImportResult result = importService.importUsers(
+                new StringReader(line("ash", null, null) + line("misty", null, null) + line("brock", null, null)));
+
+        // Assert
+        assertEquals(1, result.getImported());
+        assertEquals(
+                List.of(UserImportRejection.Status.FAILED, UserImportRejection.Status.FAILED),
+                result.getRejected().stream()
+                        .map(UserImportRejection::getStatus)
+                        .toList());
+        verify(userEventProducer, times(1)).sendUsersCreated(anyList());
+    }
+
+    private static String line(String username, Double latitude, Double longitude) {
+        return "{\"email\":\"" + username + "@example.com\",\"username\":\"" + username
+                + "\",\"passwordHash\":\"{bcrypt}hash\",\"latitude\":" + latitude + ",\"longitude\":" + longitude
+                + "}\n";
+    }
+}
@@ -2,13 +2,23 @@ package org.example.service;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.availability.AvailabilityFilter;
+import org.example.cache.UserCache;
 import org.example.dto.AuthUserResponse;
+import org.example.dto.BatchCreateUserResult;
 import org.example.dto.CreateUserRequest;
 import org.example.dto.UpdateUserRequest;
+import org.example.dto.UserPageResponse;
 import org.example.dto.UserResponse;
-// import org.example.kafka.UserEventProducer;
+import org.example.geo.UserLocationIndex;
+import org.example.kafka.UserEventProducer;
 import org.example.model.User;
 import org.example.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -18,13 +28,21 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Unit tests for UserService.
@@ -36,7 +54,20 @@ class UserServiceTest {
     private UserRepository userRepository;
 
     @Mock
-    // private UserEventProducer userEventProducer;
+    private UserEventProducer userEventProducer;
+
+    @Mock
+    private UserLocationIndex userLocationIndex;
+
+    @Mock
+    private AvailabilityFilter availabilityFilter;
+
+    @Spy
+    private UserCache userCache =
+            new UserCache(new SimpleMeterRegistry(), true, 100, Duration.ofMinutes(5), Duration.ofSeconds(30));
+
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
 
     @InjectMocks
     private UserService userService;
@@ -140,6 +171,89 @@ class UserServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("Batch Create User Tests")
+    class BatchCreateUserTests {
+
+        @Test
+        @DisplayName("Should report a result per user in request order")
+        void createUsers_MixedBatch_ReturnsResultPerUser() {
+            // Arrange
+            CreateUserRequest created = new CreateUserRequest("a@example.com", "a", "hash", null, null, null);
+            CreateUserRequest duplicate = new CreateUserRequest("b@example.com", "taken", "hash", null, null, null);
+            CreateUserRequest invalid = new CreateUserRequest(null, "c", "hash", null, null, null);
+            CreateUserRequest raced = new CreateUserRequest("d@example.com", "d", "hash", null, null, null);
+
+            when(userRepository.existsByUsername(anyString())).thenReturn(false);
+            when(userRepository.existsByUsername("taken")).thenReturn(true);
+            when(userRepository.existsByEmail(anyString())).thenReturn(false);
+            when(userRepository.save(any(User.class))).thenAnswer(invocation -> {
+                User u = invocation.getArgument(0);
+                if ("d".equals(u.getUsername())) {
+                    throw new DataIntegrityViolationException("duplicate key");
+                }
+                u.setUserId(10L);
+                return u;
+            });
+
+            // Act
+            List<BatchCreateUserResult> results =
+                    userService.createUsers(Arrays.asList(created, duplicate, invalid, raced));
+
+            // Assert
+            assertEquals(4, results.size());
+            assertEquals(BatchCreateUserResult.Status.CREATED, results.get(0).getStatus());
+            assertEquals(10L, results.get(0).getUser().getUserId());
+            assertEquals(BatchCreateUserResult.Status.CONFLICT, results.get(1).getStatus());
+            assertEquals(BatchCreateUserResult.Status.INVALID, results.get(2).getStatus());
+            assertEquals(BatchCreateUserResult.Status.CONFLICT, results.get(3).getStatus());
+            for (int i = 0; i < results.size(); i++) {
+                assertEquals(i, results.get(i).getIndex());
+            }
+            verify(userEventProducer, times(1)).sendCredentialsChanged(any(User.class));
+        }
+
+        @Test
+        @DisplayName("Should save each user and its events in a transaction of its own, rolling back failures")
+        void createUsers_EachUserOwnTransaction() {
+            // Arrange
+            PlatformTransactionManager transactionManager = transactionTemplate.getTransactionManager();
+            when(userRepository.existsByUsername(anyString())).thenReturn(false);
+            when(userRepository.existsByEmail(anyString())).thenReturn(false);
+            when(userRepository.save(any(User.class))).thenAnswer(invocation -> {
+                User u = invocation.getArgument(0);
+                if ("b".equals(u.getUsername())) {
+                    throw new DataIntegrityViolationException("duplicate key");
+                }
+                u.setUserId(10L);
+                return u;
+            });
+
+            // Act
+            userService.createUsers(List.of(
+                    new CreateUserRequest("a@example.com", "a", "hash", null, null, null),
+                    new CreateUserRequest("b@example.com", "b", "hash", null, null, null)));
+
+            // Assert
+            verify(transactionManager, times(2)).getTransaction(any());
+            verify(transactionManager, times(1)).commit(any());
+            verify(transactionManager, times(1)).rollback(any());
+        }
+
+        @Test
+        @DisplayName("Should reject batches over the maximum size")
+        void createUsers_TooMany_ThrowsException() {
+            // Arrange
+            List<CreateUserRequest> requests = Collections.nCopies(
+                    UserService.MAX_BATCH_SIZE + 1,
+                    new CreateUserRequest("a@example.com", "a", "hash", null, null, null));
+
+            // Act & Assert
+            assertThrows(IllegalArgumentException.class, () -> userService.createUsers(requests));
+            verify(userRepository, never()).save(any(User.class));
+        }
+    }
+
     @Nested
     @DisplayName("Get User Tests")
     class GetUserTests {
@@ -198,34 +312,67 @@ class UserServiceTest {
         }
 
         @Test
-        @DisplayName("Should get all users")
-        void getAllUsers_ReturnsAllUsers() {
+        @DisplayName("Should return a page of users after the cursor with the next cursor")
+        void getUsers_MoreRowsThanPage_ReturnsPageAndNextCursor() {
             // Arrange
             User user2 = new User();
             user2.setUserId(2L);
-            user2.setEmail("user2@example.com");
             user2.setUsername("user2");
-            user2.setRole("USER");
-            when(userRepository.findAll()).thenReturn(Arrays.asList(testUser, user2));
+            User user3 = new User();
+            user3.setUserId(3L);
+            user3.setUsername("user3");
+            when(userRepository.findPageAfter(eq(0L), argThat(page -> page.getPageSize() == 3)))
+                    .thenReturn(Arrays.asList(testUser, user2, user3));
 
             // Act
-            List<UserResponse> result = userService.getAllUsers();
+            UserPageResponse result = userService.getUsers(null, 2);
 
             // Assert
-            assertEquals(2, result.size());
+            assertEquals(2, result.getUsers().size());
+            assertEquals("user2", result.getUsers().get(1).getUsername());
+            assertEquals(2L, result.getNextAfterId());
         }
 
         @Test
-        @DisplayName("Should return empty list when no users")
-        void getAllUsers_NoUsers_ReturnsEmptyList() {
+        @DisplayName("Should return no next cursor on the last page")
+        void getUsers_LastPage_ReturnsNullCursor() {
             // Arrange
-            when(userRepository.findAll()).thenReturn(Collections.emptyList());
+            when(userRepository.findPageAfter(eq(1L), any())).thenReturn(Collections.emptyList());
 
             // Act
-            List<UserResponse> result = userService.getAllUsers();
+            UserPageResponse result = userService.getUsers(1L, 50);
 
             // Assert
-            assertTrue(result.isEmpty());
+            assertTrue(result.getUsers().isEmpty());
+            assertNull(result.getNextAfterId());
+        }
+
+        @Test
+        @DisplayName("Should reject page sizes outside the allowed range")
+        void getUsers_InvalidSize_Throws() {
+            // Act & Assert
+            assertThrows(IllegalArgumentException.class, () -> userService.getUsers(null, 0));
+            assertThrows(
+                    IllegalArgumentException.class, () -> userService.getUsers(null, UserService.MAX_PAGE_SIZE + 1));
+            verify(userRepository, never()).findPageAfter(any(), any());
+        }
+
+        @Test
+        @DisplayName("Should hand every streamed user to the sink and count them")
+        void exportUsers_StreamsEveryUser() {
+            // Arrange
+            UserResponse first = UserResponse.fromUser(testUser);
+            UserResponse second = new UserResponse();
+            second.setUserId(2L);
+            when(userRepository.streamAllForExport()).thenReturn(Stream.of(first, second));
+            List<UserResponse> exported = new ArrayList<>();
+
+            // Act
+            long count = userService.exportUsers(exported::add);
+
+            // Assert
+            assertEquals(2, count);
+            assertEquals(List.of(first, second), exported);
         }
     }
 
@@ -280,6 +427,38 @@ class UserServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("Update Password Hash Tests")
+    class UpdatePasswordHashTests {
+
+        @Test
+        @DisplayName("Should replace the stored password hash")
+        void updatePasswordHash_UserExists_SavesNewHash() {
+            // Arrange
+            when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+            when(userRepository.save(testUser)).thenReturn(testUser);
+
+            // Act
+            userService.updatePasswordHash(1L, "{bcrypt}$2a$12$rehashed");
+
+            // Assert
+            assertEquals("{bcrypt}$2a$12$rehashed", testUser.getPasswordHash());
+            verify(userRepository).save(testUser);
+            verify(userEventProducer).sendCredentialsChanged(testUser);
+        }
+
+        @Test
+        @DisplayName("Should throw exception when user does not exist")
+        void updatePasswordHash_UserNotFound_ThrowsException() {
+            // Arrange
+            when(userRepository.findById(999L)).thenReturn(Optional.empty());
+
+            // Act & Assert
+            assertThrows(IllegalArgumentException.class, () -> userService.updatePasswordHash(999L, "hash"));
+            verify(userRepository, never()).save(any(User.class));
+        }
+    }
+
     @Nested
     @DisplayName("Delete User Tests")
     class DeleteUserTests {
@@ -302,14 +481,14 @@ class UserServiceTest {
     @Nested
     @DisplayName("Kafka Event Tests")
     class KafkaEventTests {
-    
+
         @Test
         @DisplayName("Should send user created event when user is created")
         void createUser_ShouldCallKafkaProducer() {
             // Arrange
             CreateUserRequest request =
                     new CreateUserRequest("kafka@example.com", "kafkatest", "password", null, null, "USER");
-    
+
             when(userRepository.existsByUsername("kafkatest")).thenReturn(false);
             when(userRepository.existsByEmail("kafka@example.com")).thenReturn(false);
             when(userRepository.save(any(User.class))).thenAnswer(invocation -> {
@@ -317,91 +496,95 @@ class UserServiceTest {
                 u.setUserId(123L);
                 return u;
             });
-    
+
             // Act
             Optional<UserResponse> result = userService.createUser(request);
-    
+
             // Assert
             assertTrue(result.isPresent());
-            // verify(userEventProducer, times(1))
-            //         .sendUserCreatedEvent(123L, "kafkatest", "kafka@example.com");
+            verify(userEventProducer, times(1)).sendCredentialsChanged(argThat(user -> user.getUserId() == 123L));
+            verify(userEventProducer, times(1)).sendUserCreated(argThat(user -> user.getUserId() == 123L));
+            verify(availabilityFilter).add("kafkatest", "kafka@example.com");
         }
-    
+
         @Test
         @DisplayName("Should send user deleted event when user is deleted")
         void deleteUser_ShouldCallKafkaProducer() {
             // Arrange
             when(userRepository.existsById(1L)).thenReturn(true);
             doNothing().when(userRepository).deleteById(1L);
-    
+
             // Act
             userService.deleteUser(1L);
-    
+
             // Assert
-            // verify(userEventProducer, times(1)).sendUserDeletedEvent(1L);
+            verify(userEventProducer, times(1)).sendCredentialsRemoved(1L);
+            verify(userEventProducer, times(1)).sendUserDeleted(1L);
             verify(userRepository).deleteById(1L);
+            verify(userLocationIndex).remove(1L);
         }
-    
+
         @Test
         @DisplayName("Should NOT send user created event when creation fails due to duplicate username")
         void createUser_DuplicateUsername_ShouldNotCallKafkaProducer() {
             // Arrange
             CreateUserRequest request =
                     new CreateUserRequest("dup@example.com", "existinguser", "password", null, null, "USER");
-    
+
             when(userRepository.existsByUsername("existinguser")).thenReturn(true);
-    
+
             // Act
             Optional<UserResponse> result = userService.createUser(request);
-    
+
             // Assert
             assertTrue(result.isEmpty());
-            // verify(userEventProducer, never()).sendUserCreatedEvent(anyLong(), any(), any());
+            verify(userEventProducer, never()).sendCredentialsChanged(any());
         }
-    
+
         @Test
         @DisplayName("Should NOT send user created event when creation fails due to duplicate email")
         void createUser_DuplicateEmail_ShouldNotCallKafkaProducer() {
             // Arrange
             CreateUserRequest request =
                     new CreateUserRequest("existing@example.com", "newuser", "password", null, null, "USER");
-    
+
             when(userRepository.existsByUsername("newuser")).thenReturn(false);
             when(userRepository.existsByEmail("existing@example.com")).thenReturn(true);
-    
+
             // Act
             Optional<UserResponse> result = userService.createUser(request);
-    
+
             // Assert
             assertTrue(result.isEmpty());
-            // verify(userEventProducer, never()).sendUserCreatedEvent(anyLong(), any(), any());
+            verify(userEventProducer, never()).sendCredentialsChanged(any());
         }
-    
+
         @Test
         @DisplayName("Should NOT send user deleted event when user does not exist")
         void deleteUser_UserNotFound_ShouldNotCallKafkaProducer() {
             // Arrange
             when(userRepository.existsById(999L)).thenReturn(false);
-    
+
             // Act & Assert
             IllegalArgumentException ex =
                     assertThrows(IllegalArgumentException.class, () -> userService.deleteUser(999L));
             assertTrue(ex.getMessage().contains("User not found"));
-    
-            // verify(userEventProducer, never()).sendUserDeletedEvent(anyLong());
+
+            verify(userEventProducer, never()).sendCredentialsRemoved(anyLong());
+            verify(userEventProducer, never()).sendUserDeleted(anyLong());
         }
     }
 
     @Nested
     @DisplayName("Additional Edge Case Tests")
     class AdditionalUserServiceTests {
-    
+
         @Test
         @DisplayName("Should default role to USER when null in create request")
         void createUser_NoRoleAssigned_DefaultsToUser() {
-            CreateUserRequest request = new CreateUserRequest(
-                    "norole@example.com", "noroleuser", "pass", null, null, null);
-    
+            CreateUserRequest request =
+                    new CreateUserRequest("norole@example.com", "noroleuser", "pass", null, null, null);
+
             when(userRepository.existsByUsername("noroleuser")).thenReturn(false);
             when(userRepository.existsByEmail("norole@example.com")).thenReturn(false);
             when(userRepository.save(any(User.class))).thenAnswer(invocation -> {
@@ -409,74 +592,248 @@ class UserServiceTest {
                 u.setUserId(42L);
                 return u;
             });
-    
+
             Optional<UserResponse> result = userService.createUser(request);
-    
+
             assertTrue(result.isPresent());
             assertEquals("USER", result.get().getRole());
-            // verify(userEventProducer).sendUserCreatedEvent(42L, "noroleuser", "norole@example.com");
+            verify(userEventProducer).sendCredentialsChanged(argThat(user -> user.getUserId() == 42L));
         }
-    
+
         @Test
         @DisplayName("Should update user with only some fields set")
         void updateUser_PartialUpdate_UpdatesOnlyProvidedFields() {
             UpdateUserRequest request = new UpdateUserRequest(null, "updatedUsername", null, null);
-    
+
             when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
             when(userRepository.existsByUsername("updatedUsername")).thenReturn(false);
             when(userRepository.save(any(User.class))).thenReturn(testUser);
-    
+
             UserResponse response = userService.updateUser(1L, request);
-    
+
             assertNotNull(response);
             assertEquals("updatedUsername", response.getUsername());
             verify(userRepository).save(testUser);
         }
-    
+
+        @Test
+        @DisplayName("Should publish credentials when the email changes")
+        void updateUser_EmailChanged_PublishesCredentials() {
+            UpdateUserRequest request = new UpdateUserRequest("changed@example.com", null, null, null);
+
+            when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+            when(userRepository.existsByEmail("changed@example.com")).thenReturn(false);
+            when(userRepository.save(any(User.class))).thenReturn(testUser);
+
+            userService.updateUser(1L, request);
+
+            verify(userEventProducer).sendCredentialsChanged(testUser);
+        }
+
+        @Test
+        @DisplayName("Should not publish credentials when only the location changes")
+        void updateUser_LocationOnly_DoesNotPublishCredentials() {
+            UpdateUserRequest request = new UpdateUserRequest(null, null, 41.0, -75.0);
+
+            when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+            when(userRepository.save(any(User.class))).thenReturn(testUser);
+
+            userService.updateUser(1L, request);
+
+            verify(userEventProducer, never()).sendCredentialsChanged(any());
+            verify(userEventProducer).sendUserUpdated(testUser);
+        }
+
         @Test
         @DisplayName("Should update user with no changes")
         void updateUser_NoChanges_ShouldSaveOriginal() {
             UpdateUserRequest request = new UpdateUserRequest(null, null, null, null);
-    
+
             when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
             when(userRepository.save(any(User.class))).thenReturn(testUser);
-    
+
             UserResponse response = userService.updateUser(1L, request);
-    
+
             assertNotNull(response);
             assertEquals("testuser", response.getUsername());
             verify(userRepository).save(testUser);
         }
-    
+
         @Test
         @DisplayName("Should get user for auth")
         void getUserForAuth_UserExists_ReturnsAuthUserResponse() {
             when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
-    
+
             Optional<AuthUserResponse> response = userService.getUserForAuth("test@example.com");
-    
+
             assertTrue(response.isPresent());
             assertEquals("testuser", response.get().getUsername());
         }
-    
+
         @Test
         @DisplayName("Should get empty auth response if user not found")
         void getUserForAuth_UserNotFound_ReturnsEmpty() {
             when(userRepository.findByEmail("notfound@example.com")).thenReturn(Optional.empty());
-    
+
             Optional<AuthUserResponse> response = userService.getUserForAuth("notfound@example.com");
-    
+
             assertTrue(response.isEmpty());
         }
-    
+
         @Test
         @DisplayName("Delete user should throw exception if userId is null")
         void deleteUser_NullUserId_ShouldThrowException() {
             assertThrows(IllegalArgumentException.class, () -> userService.deleteUser(null));
-            // verify(userEventProducer, never()).sendUserDeletedEvent(any());
+            verify(userEventProducer, never()).sendCredentialsRemoved(any());
             verify(userRepository, never()).deleteById(any());
         }
     }
-    
-    
+
+    @Nested
+    @DisplayName("Location Index Tests")
+    class LocationIndexTests {
+
+        @Test
+        @DisplayName("Should index a created user")
+        void createUser_UpdatesLocationIndex() {
+            // Arrange
+            CreateUserRequest request =
+                    new CreateUserRequest("geo@example.com", "geo", "password", 40.7128, -74.0060, "USER");
+            when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+            // Act
+            userService.createUser(request);
+
+            // Assert
+            verify(userLocationIndex).update(argThat(user -> user.getLatitude() == 40.7128));
+        }
+
+        @Test
+        @DisplayName("Should re-index a user whose location changed, and not one whose location did not")
+        void updateUser_ReindexesOnlyWhenLocationChanges() {
+            // Arrange
+            when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+            when(userRepository.save(testUser)).thenReturn(testUser);
+            UpdateUserRequest sameLocation = new UpdateUserRequest();
+            sameLocation.setLatitude(40.7128);
+            sameLocation.setLongitude(-74.0060);
+            UpdateUserRequest moved = new UpdateUserRequest();
+            moved.setLatitude(34.0522);
+            moved.setLongitude(-118.2437);
+
+            // Act
+            userService.updateUser(1L, sameLocation);
+            verify(userLocationIndex, never()).update(any());
+            userService.updateUser(1L, moved);
+
+            // Assert
+            verify(userLocationIndex).update(testUser);
+            assertEquals(34.0522, testUser.getLatitude());
+        }
+    }
+
+    @Nested
+    @DisplayName("User Cache Tests")
+    class UserCacheTests {
+
+        @Test
+        @DisplayName("Should serve repeat lookups by ID, username and email from the cache")
+        void getUser_RepeatLookups_QueryOnce() {
+            // Arrange
+            when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+
+            // Act
+            userService.getUserById(1L);
+            UserResponse byId = userService.getUserById(1L);
+            UserResponse byUsername = userService.getUserByUsername("testuser");
+            UserResponse byEmail = userService.getUserByEmail("test@example.com");
+
+            // Assert
+            assertEquals("testuser", byId.getUsername());
+            assertEquals(1L, byUsername.getUserId());
+            assertEquals(1L, byEmail.getUserId());
+            verify(userRepository, times(1)).findById(1L);
+            verify(userRepository, never()).findByUsername(anyString());
+            verify(userRepository, never()).findByEmail(anyString());
+        }
+
+        @Test
+        @DisplayName("Should drop the cached user on update so the old username no longer resolves")
+        void updateUser_InvalidatesCachedUser() {
+            // Arrange
+            when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+            when(userRepository.existsByUsername("renamed")).thenReturn(false);
+            when(userRepository.save(testUser)).thenReturn(testUser);
+            when(userRepository.findByUsername("testuser")).thenReturn(Optional.empty());
+            userService.getUserById(1L);
+            UpdateUserRequest request = new UpdateUserRequest();
+            request.setUsername("renamed");
+
+            // Act
+            userService.updateUser(1L, request);
+
+            // Assert
+            assertEquals("renamed", userService.getUserById(1L).getUsername());
+            assertThrows(IllegalArgumentException.class, () -> userService.getUserByUsername("testuser"));
+            verify(userCache).invalidate(testUser);
+        }
+
+        @Test
+        @DisplayName("Should remember a missing user until one is created or deleted")
+        void getUser_Missing_IsCachedUntilInvalidated() {
+            // Arrange
+            when(userRepository.findById(1L)).thenReturn(Optional.empty());
+            when(userRepository.existsById(1L)).thenReturn(true);
+
+            // Act
+            assertThrows(IllegalArgumentException.class, () -> userService.getUserById(1L));
+            assertThrows(IllegalArgumentException.class, () -> userService.getUserById(1L));
+            userService.deleteUser(1L);
+            assertThrows(IllegalArgumentException.class, () -> userService.getUserById(1L));
+
+            // Assert
+            verify(userRepository, times(2)).findById(1L);
+        }
+    }
+
+    @Nested
+    @DisplayName("Bulk Lookup Tests")
+    class BulkLookupTests {
+
+        @Test
+        @DisplayName("Should resolve distinct IDs in one query and key found users by ID in request order")
+        void getUsersByIds_MixedIds_ReturnsFoundUsersInOrder() {
+            // Arrange
+            User other = new User();
+            other.setUserId(7L);
+            other.setUsername("other");
+            when(userRepository.findAllById(
+                            argThat((Iterable<Long> ids) -> ids.toString().equals("[7, 1, 99]"))))
+                    .thenReturn(List.of(testUser, other));
+
+            // Act
+            Map<Long, UserResponse> result = userService.getUsersByIds(Arrays.asList(7L, 1L, 7L, null, 99L));
+
+            // Assert
+            assertEquals(List.of(7L, 1L), List.copyOf(result.keySet()));
+            assertEquals("other", result.get(7L).getUsername());
+            assertEquals("testuser", result.get(1L).getUsername());
+            verify(userRepository, times(1)).findAllById(any());
+        }
+
+        @Test
+        @DisplayName("Should skip the query for no IDs and reject too many")
+        void getUsersByIds_EmptyOrTooMany() {
+            // Arrange
+            List<Long> tooMany = new ArrayList<>();
+            for (long id = 1; id <= UserService.MAX_LOOKUP_SIZE + 1; id++) {
+                tooMany.add(id);
+            }
+
+            // Act & Assert
+            assertTrue(userService.getUsersByIds(List.of()).isEmpty());
+            assertThrows(IllegalArgumentException.class, () -> userService.getUsersByIds(tooMany));
+            verify(userRepository, never()).findAllById(any());
+        }
+    }
 }